@@ -10,7 +10,8 @@ import com.xiaoleilu.hutool.util.HashUtil;
 
 /**
  * BloomFilter实现方式2，此方式使用BitSet存储。<br>
- * Hash算法的使用使用固定顺序，只需指定个数既可
+ * Hash算法的使用使用固定顺序，只需指定个数既可，最多支持8个Hash算法<br>
+ * 需要按预期元素数和误判率计算大小时，使用{@link OptimalBloomFilter}
  * @author loolly
  *
  */
@@ -0,0 +1,215 @@
+package com.xiaoleilu.hutool.bloomFilter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.xiaoleilu.hutool.util.StrUtil;
+
+/**
+ * 计数布隆过滤器，支持删除<br>
+ * 每个位置使用4bit计数器代替1bit，加入时k个计数器加1，删除时减1，计数器全部大于0即认为包含。<br>
+ * 计数器达到15后饱和，不再增加也不再减少，避免溢出导致误删；只能删除确实加入过的元素，否则会产生漏判。<br>
+ * 大小和Hash方式与{@link OptimalBloomFilter}相同，内存占用为其4倍。<br>
+ * 计数器使用CAS增减，线程安全；但一次加入或删除涉及的k个计数器不是整体原子的，并发删除同一元素的次数不应超过其加入次数。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public class CountingBloomFilter implements BloomFilter {
+
+	/** 计数器最大值 */
+	private static final int MAX_COUNT = 15;
+
+	/** 预期元素数 */
+	private final long expectedInsertions;
+	/** 计数器个数 */
+	private final long counterSize;
+	/** Hash函数个数 */
+	private final int hashNumber;
+	/** 计数器数组，每个long包含16个4bit计数器 */
+	private final AtomicLongArray counters;
+	/** 当前元素数 */
+	private final AtomicLong count = new AtomicLong();
+
+	/**
+	 * 构造
+	 *
+	 * @param expectedInsertions 预期元素数
+	 * @param fpp 期望误判率，取值(0, 1)
+	 */
+	public CountingBloomFilter(long expectedInsertions, double fpp) {
+		if (expectedInsertions <= 0) {
+			throw new IllegalArgumentException(StrUtil.format("Expected insertions [{}] must be > 0", expectedInsertions));
+		}
+		if (fpp <= 0 || fpp >= 1) {
+			throw new IllegalArgumentException(StrUtil.format("False positive probability [{}] must be in (0, 1)", fpp));
+		}
+		this.expectedInsertions = expectedInsertions;
+		this.counterSize = OptimalBloomFilter.optimalBitSize(expectedInsertions, fpp);
+		this.hashNumber = OptimalBloomFilter.optimalHashNumber(expectedInsertions, counterSize);
+		final long length = (counterSize + 15) >>> 4;
+		if (length > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(StrUtil.format("Filter of {} bits is too large", counterSize));
+		}
+		this.counters = new AtomicLongArray((int) length);
+	}
+
+	/**
+	 * 加入字符串，总是计数，同一字符串加入几次就需要删除几次<br>
+	 * 若因判断已存在而跳过计数，误判时删除其它元素会使该元素产生漏判
+	 *
+	 * @param str 字符串
+	 * @return 加入前是否不存在，已存在（可能误判）返回<code>false</code>
+	 */
+	@Override
+	public boolean add(String str) {
+		final long[] hash = OptimalBloomFilter.hash128(str);
+		final boolean exists = contains(hash);
+		for (int i = 0; i < hashNumber; i++) {
+			increment(OptimalBloomFilter.position(hash, i, counterSize));
+		}
+		count.incrementAndGet();
+		return false == exists;
+	}
+
+	/**
+	 * 判定是否包含指定字符串
+	 *
+	 * @param str 字符串
+	 * @return 是否包含，存在误差
+	 */
+	@Override
+	public boolean contains(String str) {
+		return contains(OptimalBloomFilter.hash128(str));
+	}
+
+	/**
+	 * 删除字符串，只能删除确实加入过的字符串
+	 *
+	 * @param str 字符串
+	 * @return 是否删除成功，不存在返回<code>false</code>
+	 */
+	public boolean remove(String str) {
+		final long[] hash = OptimalBloomFilter.hash128(str);
+		if (false == contains(hash)) {
+			return false;
+		}
+		for (int i = 0; i < hashNumber; i++) {
+			decrement(OptimalBloomFilter.position(hash, i, counterSize));
+		}
+		count.decrementAndGet();
+		return true;
+	}
+
+	/**
+	 * @return 预期元素数
+	 */
+	public long getExpectedInsertions() {
+		return expectedInsertions;
+	}
+
+	/**
+	 * @return 计数器个数
+	 */
+	public long getCounterSize() {
+		return counterSize;
+	}
+
+	/**
+	 * @return Hash函数个数
+	 */
+	public int getHashNumber() {
+		return hashNumber;
+	}
+
+	/**
+	 * @return 当前元素数
+	 */
+	public long count() {
+		return count.get();
+	}
+
+	/**
+	 * 按当前元素数计算误判率
+	 *
+	 * @return 当前误判率
+	 */
+	public double getFalsePositiveProbability() {
+		// (1 - e^(-k * n / m)) ^ k
+		return Math.pow(1 - Math.exp(-hashNumber * (double) count.get() / counterSize), hashNumber);
+	}
+
+	// ---------------------------------------------------------------- private method start
+	/**
+	 * 按Hash判断是否包含
+	 *
+	 * @param hash 128位Hash
+	 * @return 是否包含
+	 */
+	private boolean contains(long[] hash) {
+		for (int i = 0; i < hashNumber; i++) {
+			if (get(OptimalBloomFilter.position(hash, i, counterSize)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 获取计数器的值
+	 *
+	 * @param index 计数器位置
+	 * @return 值
+	 */
+	private int get(long index) {
+		return counter(counters.get((int) (index >>> 4)), index);
+	}
+
+	/**
+	 * 计数器加1，饱和后不再增加
+	 *
+	 * @param index 计数器位置
+	 */
+	private void increment(long index) {
+		final int offset = (int) (index >>> 4);
+		final long delta = 1L << ((index & 15) << 2);
+		long old;
+		do {
+			old = counters.get(offset);
+			if (counter(old, index) >= MAX_COUNT) {
+				return;
+			}
+		} while (false == counters.compareAndSet(offset, old, old + delta));
+	}
+
+	/**
+	 * 计数器减1，饱和的计数器不再减少
+	 *
+	 * @param index 计数器位置
+	 */
+	private void decrement(long index) {
+		final int offset = (int) (index >>> 4);
+		final long delta = 1L << ((index & 15) << 2);
+		long old;
+		int value;
+		do {
+			old = counters.get(offset);
+			value = counter(old, index);
+			if (value == 0 || value >= MAX_COUNT) {
+				return;
+			}
+		} while (false == counters.compareAndSet(offset, old, old - delta));
+	}
+
+	/**
+	 * 从long中取出指定位置的4bit计数器
+	 *
+	 * @param word 包含计数器的long
+	 * @param index 计数器位置
+	 * @return 值
+	 */
+	private static int counter(long word, long index) {
+		return (int) ((word >>> ((index & 15) << 2)) & 0xF);
+	}
+	// ---------------------------------------------------------------- private method end
+}
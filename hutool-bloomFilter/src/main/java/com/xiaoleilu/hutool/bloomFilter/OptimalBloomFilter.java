@@ -0,0 +1,188 @@
+package com.xiaoleilu.hutool.bloomFilter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.xiaoleilu.hutool.bloomFilter.bitMap.AtomicBitMap;
+import com.xiaoleilu.hutool.util.CharsetUtil;
+import com.xiaoleilu.hutool.util.HashUtil;
+import com.xiaoleilu.hutool.util.StrUtil;
+
+/**
+ * 按预期元素数和期望误判率计算大小的布隆过滤器<br>
+ * <ul>
+ * 		<li>bit数 m = -n * ln(p) / (ln2)^2，Hash函数个数 k = m / n * ln2</li>
+ * 		<li>只计算一次128位MurmurHash3，使用双重散列 h1 + i * h2 得到k个位置（Kirsch-Mitzenmacher），k不受Hash算法个数的限制</li>
+ * 		<li>使用{@link AtomicBitMap}存储，线程安全，bit数可超过2^31</li>
+ * </ul>
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public class OptimalBloomFilter implements BloomFilter {
+
+	/** 预期元素数 */
+	private final long expectedInsertions;
+	/** 期望误判率 */
+	private final double fpp;
+	/** bit数 */
+	private final long bitSize;
+	/** Hash函数个数 */
+	private final int hashNumber;
+	/** bit数组 */
+	private final AtomicBitMap bits;
+	/** 已加入的元素数 */
+	private final AtomicLong count = new AtomicLong();
+
+	/**
+	 * 构造
+	 *
+	 * @param expectedInsertions 预期元素数
+	 * @param fpp 期望误判率，取值(0, 1)
+	 */
+	public OptimalBloomFilter(long expectedInsertions, double fpp) {
+		if (expectedInsertions <= 0) {
+			throw new IllegalArgumentException(StrUtil.format("Expected insertions [{}] must be > 0", expectedInsertions));
+		}
+		if (fpp <= 0 || fpp >= 1) {
+			throw new IllegalArgumentException(StrUtil.format("False positive probability [{}] must be in (0, 1)", fpp));
+		}
+		this.expectedInsertions = expectedInsertions;
+		this.fpp = fpp;
+		this.bitSize = optimalBitSize(expectedInsertions, fpp);
+		this.hashNumber = optimalHashNumber(expectedInsertions, bitSize);
+		this.bits = new AtomicBitMap(bitSize);
+	}
+
+	@Override
+	public boolean add(String str) {
+		final boolean changed = bits.addAll(positions(str));
+		if (changed) {
+			count.incrementAndGet();
+		}
+		return changed;
+	}
+
+	/**
+	 * 判定是否包含指定字符串
+	 *
+	 * @param str 字符串
+	 * @return 是否包含，存在误差
+	 */
+	@Override
+	public boolean contains(String str) {
+		return bits.containsAll(positions(str));
+	}
+
+	/**
+	 * @return 预期元素数
+	 */
+	public long getExpectedInsertions() {
+		return expectedInsertions;
+	}
+
+	/**
+	 * @return 期望误判率
+	 */
+	public double getFpp() {
+		return fpp;
+	}
+
+	/**
+	 * @return bit数
+	 */
+	public long getBitSize() {
+		return bitSize;
+	}
+
+	/**
+	 * @return Hash函数个数
+	 */
+	public int getHashNumber() {
+		return hashNumber;
+	}
+
+	/**
+	 * @return 已加入的元素数，被误判为已存在的元素不计入
+	 */
+	public long count() {
+		return count.get();
+	}
+
+	/**
+	 * @return 已加入的元素数是否达到预期元素数，达到后误判率将超出期望值
+	 */
+	public boolean isFull() {
+		return count.get() >= expectedInsertions;
+	}
+
+	/**
+	 * 按已加入的元素数计算当前的误判率
+	 *
+	 * @return 当前误判率
+	 */
+	public double getFalsePositiveProbability() {
+		// (1 - e^(-k * n / m)) ^ k
+		return Math.pow(1 - Math.exp(-hashNumber * (double) count.get() / bitSize), hashNumber);
+	}
+
+	/**
+	 * 计算字符串的k个位置
+	 *
+	 * @param str 字符串
+	 * @return 位置
+	 */
+	private long[] positions(String str) {
+		final long[] hash = hash128(str);
+		final long[] positions = new long[hashNumber];
+		for (int i = 0; i < hashNumber; i++) {
+			positions[i] = position(hash, i, bitSize);
+		}
+		return positions;
+	}
+
+	// ---------------------------------------------------------------- static method start
+	/**
+	 * 计算最优bit数：m = -n * ln(p) / (ln2)^2
+	 *
+	 * @param n 预期元素数
+	 * @param p 期望误判率
+	 * @return bit数，至少64
+	 */
+	static long optimalBitSize(long n, double p) {
+		return Math.max(64, (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2))));
+	}
+
+	/**
+	 * 计算最优Hash函数个数：k = m / n * ln2
+	 *
+	 * @param n 预期元素数
+	 * @param m bit数
+	 * @return Hash函数个数，至少1
+	 */
+	static int optimalHashNumber(long n, long m) {
+		return Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+	}
+
+	/**
+	 * 计算字符串的128位Hash
+	 *
+	 * @param str 字符串
+	 * @return 128位Hash，由两个long组成
+	 */
+	static long[] hash128(String str) {
+		return HashUtil.murmur128(StrUtil.bytes(str, CharsetUtil.CHARSET_UTF_8));
+	}
+
+	/**
+	 * 双重散列计算第i个位置：(h1 + i * h2) mod m
+	 *
+	 * @param hash 128位Hash
+	 * @param i 序号
+	 * @param m 位置总数
+	 * @return 位置
+	 */
+	static long position(long[] hash, int i, long m) {
+		return ((hash[0] + i * hash[1]) & Long.MAX_VALUE) % m;
+	}
+	// ---------------------------------------------------------------- static method end
+}
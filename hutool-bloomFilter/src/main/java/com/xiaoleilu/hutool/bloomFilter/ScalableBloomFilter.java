@@ -0,0 +1,149 @@
+package com.xiaoleilu.hutool.bloomFilter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.xiaoleilu.hutool.util.StrUtil;
+
+/**
+ * 可扩展的布隆过滤器，无需预知元素总数<br>
+ * 由多个{@link OptimalBloomFilter}分片组成，最后一个分片的元素数达到预期后新增分片：
+ * <ul>
+ * 		<li>新分片的预期元素数为上一分片的growth倍</li>
+ * 		<li>新分片的误判率为上一分片的tightening倍，使总误判率收敛于 p0 / (1 - tightening)</li>
+ * </ul>
+ * 判断时任一分片包含即认为包含，线程安全。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public class ScalableBloomFilter implements BloomFilter {
+
+	/** 默认分片增长倍数 */
+	public static final int DEFAULT_GROWTH = 2;
+	/** 默认误判率收紧比例 */
+	public static final double DEFAULT_TIGHTENING = 0.5;
+
+	/** 分片增长倍数 */
+	private final int growth;
+	/** 误判率收紧比例 */
+	private final double tightening;
+	/** 分片 */
+	private final List<OptimalBloomFilter> slices = new CopyOnWriteArrayList<>();
+
+	/**
+	 * 构造，分片按2倍增长，误判率按0.5收紧
+	 *
+	 * @param initialCapacity 第一个分片的预期元素数
+	 * @param fpp 总体期望误判率
+	 */
+	public ScalableBloomFilter(long initialCapacity, double fpp) {
+		this(initialCapacity, fpp, DEFAULT_GROWTH, DEFAULT_TIGHTENING);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param initialCapacity 第一个分片的预期元素数
+	 * @param fpp 总体期望误判率
+	 * @param growth 分片增长倍数，至少为1
+	 * @param tightening 误判率收紧比例，取值(0, 1)
+	 */
+	public ScalableBloomFilter(long initialCapacity, double fpp, int growth, double tightening) {
+		if (growth < 1) {
+			throw new IllegalArgumentException(StrUtil.format("Growth [{}] must be >= 1", growth));
+		}
+		if (tightening <= 0 || tightening >= 1) {
+			throw new IllegalArgumentException(StrUtil.format("Tightening ratio [{}] must be in (0, 1)", tightening));
+		}
+		this.growth = growth;
+		this.tightening = tightening;
+		// 第一个分片的误判率为 p * (1 - r)，使所有分片的误判率之和不超过p
+		slices.add(new OptimalBloomFilter(initialCapacity, fpp * (1 - tightening)));
+	}
+
+	@Override
+	public boolean add(String str) {
+		if (contains(str)) {
+			return false;
+		}
+
+		OptimalBloomFilter last = slices.get(slices.size() - 1);
+		if (last.isFull()) {
+			last = grow();
+		}
+		return last.add(str);
+	}
+
+	/**
+	 * 新增分片，多个线程同时发现最后一个分片已满时只新增一次
+	 *
+	 * @return 最后一个分片
+	 */
+	private synchronized OptimalBloomFilter grow() {
+		OptimalBloomFilter last = slices.get(slices.size() - 1);
+		if (last.isFull()) {
+			last = new OptimalBloomFilter(last.getExpectedInsertions() * growth, last.getFpp() * tightening);
+			slices.add(last);
+		}
+		return last;
+	}
+
+	/**
+	 * 判定是否包含指定字符串，从最新的分片开始查找
+	 *
+	 * @param str 字符串
+	 * @return 是否包含，存在误差
+	 */
+	@Override
+	public boolean contains(String str) {
+		for (int i = slices.size() - 1; i >= 0; i--) {
+			if (slices.get(i).contains(str)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return 分片数
+	 */
+	public int getSliceCount() {
+		return slices.size();
+	}
+
+	/**
+	 * @return 已加入的元素数
+	 */
+	public long count() {
+		long count = 0;
+		for (OptimalBloomFilter slice : slices) {
+			count += slice.count();
+		}
+		return count;
+	}
+
+	/**
+	 * @return 所有分片的总bit数
+	 */
+	public long getBitSize() {
+		long bitSize = 0;
+		for (OptimalBloomFilter slice : slices) {
+			bitSize += slice.getBitSize();
+		}
+		return bitSize;
+	}
+
+	/**
+	 * 按各分片已加入的元素数计算当前的总误判率：1 - ∏(1 - pi)
+	 *
+	 * @return 当前误判率
+	 */
+	public double getFalsePositiveProbability() {
+		double notFalsePositive = 1;
+		for (OptimalBloomFilter slice : slices) {
+			notFalsePositive *= 1 - slice.getFalsePositiveProbability();
+		}
+		return 1 - notFalsePositive;
+	}
+}
@@ -0,0 +1,212 @@
+package com.xiaoleilu.hutool.bloomFilter.bitMap;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.xiaoleilu.hutool.util.StrUtil;
+
+/**
+ * 线程安全的无锁BitMap<br>
+ * 使用分页的{@link AtomicLongArray}存储，置位和清除使用CAS，并发加入不会丢失bit；位置为long，容量可超过2^31个bit。<br>
+ * 批量操作先将位置排序，同一个long中的多个bit合并为一次CAS，相邻位置按内存顺序访问，减少缓存行的重复加载。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public class AtomicBitMap implements BitMap {
+
+	/** 每页long个数的位移，每页2^20个long，即8MB */
+	private static final int PAGE_SHIFT = 20;
+	private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+	private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+	/** bit数 */
+	private final long size;
+	/** 分页存储 */
+	private final AtomicLongArray[] pages;
+
+	/**
+	 * 构造
+	 *
+	 * @param size bit数
+	 */
+	public AtomicBitMap(long size) {
+		if (size <= 0) {
+			throw new IllegalArgumentException(StrUtil.format("BitMap size [{}] must be > 0", size));
+		}
+		this.size = size;
+		final long words = (size + 63) >>> 6;
+		final int pageCount = (int) ((words + PAGE_SIZE - 1) >>> PAGE_SHIFT);
+		this.pages = new AtomicLongArray[pageCount];
+		for (int i = 0; i < pageCount; i++) {
+			pages[i] = new AtomicLongArray((int) Math.min(PAGE_SIZE, words - ((long) i << PAGE_SHIFT)));
+		}
+	}
+
+	@Override
+	public void add(long i) {
+		set(i);
+	}
+
+	/**
+	 * 置位
+	 *
+	 * @param i 位置
+	 * @return 此位置之前是否未置位
+	 */
+	public boolean set(long i) {
+		checkIndex(i);
+		return setBits(i >>> 6, 1L << i);
+	}
+
+	@Override
+	public boolean contains(long i) {
+		checkIndex(i);
+		return (getWord(i >>> 6) & (1L << i)) != 0;
+	}
+
+	@Override
+	public void remove(long i) {
+		checkIndex(i);
+		final long wordIndex = i >>> 6;
+		final AtomicLongArray page = pages[(int) (wordIndex >>> PAGE_SHIFT)];
+		final int offset = (int) (wordIndex & PAGE_MASK);
+		final long mask = 1L << i;
+		long old;
+		do {
+			old = page.get(offset);
+			if ((old & mask) == 0) {
+				return;
+			}
+		} while (false == page.compareAndSet(offset, old, old & ~mask));
+	}
+
+	/**
+	 * 批量置位，同一个long中的位置合并为一次CAS
+	 *
+	 * @param indexes 位置
+	 * @return 是否有位置之前未置位
+	 */
+	public boolean addAll(long... indexes) {
+		final long[] sorted = sort(indexes);
+		boolean changed = false;
+		int j = 0;
+		long wordIndex;
+		long mask;
+		while (j < sorted.length) {
+			wordIndex = sorted[j] >>> 6;
+			mask = 0;
+			while (j < sorted.length && (sorted[j] >>> 6) == wordIndex) {
+				mask |= 1L << sorted[j];
+				j++;
+			}
+			changed |= setBits(wordIndex, mask);
+		}
+		return changed;
+	}
+
+	/**
+	 * 批量判断是否全部置位，同一个long中的位置只读取一次
+	 *
+	 * @param indexes 位置
+	 * @return 是否全部置位
+	 */
+	public boolean containsAll(long... indexes) {
+		final long[] sorted = sort(indexes);
+		int j = 0;
+		long wordIndex;
+		long mask;
+		while (j < sorted.length) {
+			wordIndex = sorted[j] >>> 6;
+			mask = 0;
+			while (j < sorted.length && (sorted[j] >>> 6) == wordIndex) {
+				mask |= 1L << sorted[j];
+				j++;
+			}
+			if ((getWord(wordIndex) & mask) != mask) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return bit数
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * @return 已置位的bit数
+	 */
+	public long cardinality() {
+		long count = 0;
+		AtomicLongArray page;
+		for (int i = 0; i < pages.length; i++) {
+			page = pages[i];
+			for (int j = 0; j < page.length(); j++) {
+				count += Long.bitCount(page.get(j));
+			}
+		}
+		return count;
+	}
+
+	// ---------------------------------------------------------------- private method start
+	/**
+	 * 使用CAS将指定long中的多个bit置位
+	 *
+	 * @param wordIndex long的位置
+	 * @param mask 要置位的bit
+	 * @return 是否有bit之前未置位
+	 */
+	private boolean setBits(long wordIndex, long mask) {
+		final AtomicLongArray page = pages[(int) (wordIndex >>> PAGE_SHIFT)];
+		final int offset = (int) (wordIndex & PAGE_MASK);
+		long old;
+		do {
+			old = page.get(offset);
+			if ((old & mask) == mask) {
+				return false;
+			}
+		} while (false == page.compareAndSet(offset, old, old | mask));
+		return true;
+	}
+
+	/**
+	 * 获取指定位置的long
+	 *
+	 * @param wordIndex long的位置
+	 * @return long值
+	 */
+	private long getWord(long wordIndex) {
+		return pages[(int) (wordIndex >>> PAGE_SHIFT)].get((int) (wordIndex & PAGE_MASK));
+	}
+
+	/**
+	 * 检查位置并排序，不修改原数组
+	 *
+	 * @param indexes 位置
+	 * @return 排序后的位置
+	 */
+	private long[] sort(long[] indexes) {
+		final long[] sorted = indexes.clone();
+		for (long i : sorted) {
+			checkIndex(i);
+		}
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	/**
+	 * 检查位置是否越界
+	 *
+	 * @param i 位置
+	 */
+	private void checkIndex(long i) {
+		if (i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException(StrUtil.format("Index [{}] out of bounds [0, {})", i, size));
+		}
+	}
+	// ---------------------------------------------------------------- private method end
+}
@@ -1,43 +1,56 @@
 package com.xiaoleilu.hutool.bloomFilter.bitMap;
 
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
 /**
- * 过滤器BitMap在32位机器上.这个类能发生更好的效果.一般情况下建议使用此类
+ * 过滤器BitMap在32位机器上.这个类能发生更好的效果.一般情况下建议使用此类<br>
+ * 使用CAS修改，线程安全
  * @author loolly
  *
  */
 public class IntMap implements BitMap {
 
-	private static final int MAX = Integer.MAX_VALUE;
-
 	public IntMap() {
-		ints = new int[93750000];
+		this(93750000);
 	}
 
 	public IntMap(int size) {
-		ints = new int[size];
+		ints = new AtomicIntegerArray(size);
 	}
 
-	private int[] ints = null;
+	private final AtomicIntegerArray ints;
 
+	@Override
 	public void add(long i) {
 		int r = (int) (i / BitMap.MACHINE32);
-		int c = (int) (i % BitMap.MACHINE32);
-		ints[r] = (int) (ints[r] | (1 << c));
+		int mask = 1 << (int) (i % BitMap.MACHINE32);
+		int old;
+		do {
+			old = ints.get(r);
+			if ((old & mask) != 0) {
+				return;
+			}
+		} while (false == ints.compareAndSet(r, old, old | mask));
 	}
 
+	@Override
 	public boolean contains(long i) {
 		int r = (int) (i / BitMap.MACHINE32);
 		int c = (int) (i % BitMap.MACHINE32);
-		if (((int) ((ints[r] >>> c)) & 1) == 1) {
-			return true;
-		}
-		return false;
+		return ((ints.get(r) >>> c) & 1) == 1;
 	}
 
+	@Override
 	public void remove(long i) {
 		int r = (int) (i / BitMap.MACHINE32);
-		int c = (int) (i % BitMap.MACHINE32);
-		ints[r] = (int) (ints[r] & (((1 << (c + 1)) - 1) ^ MAX));
+		int mask = 1 << (int) (i % BitMap.MACHINE32);
+		int old;
+		do {
+			old = ints.get(r);
+			if ((old & mask) == 0) {
+				return;
+			}
+		} while (false == ints.compareAndSet(r, old, old & ~mask));
 	}
 
-}
\ No newline at end of file
+}
@@ -1,43 +1,56 @@
 package com.xiaoleilu.hutool.bloomFilter.bitMap;
 
+import java.util.concurrent.atomic.AtomicLongArray;
+
 /**
- * 过滤器BitMap在64位机器上.这个类能发生更好的效果.一般机器不建议使用
+ * 过滤器BitMap在64位机器上.这个类能发生更好的效果.一般机器不建议使用<br>
+ * 使用CAS修改，线程安全
  * @author loolly
  *
  */
 public class LongMap implements BitMap {
 
-	private static final long MAX = Long.MAX_VALUE;
-
 	public LongMap() {
-		longs = new long[93750000];
+		this(93750000);
 	}
 
 	public LongMap(int size) {
-		longs = new long[size];
+		longs = new AtomicLongArray(size);
 	}
 
-	private long[] longs = null;
+	private final AtomicLongArray longs;
 
+	@Override
 	public void add(long i) {
 		int r = (int) (i / BitMap.MACHINE64);
-		long c = i % BitMap.MACHINE64;
-		longs[r] = longs[r] | (1 << c);
+		long mask = 1L << (i % BitMap.MACHINE64);
+		long old;
+		do {
+			old = longs.get(r);
+			if ((old & mask) != 0) {
+				return;
+			}
+		} while (false == longs.compareAndSet(r, old, old | mask));
 	}
 
+	@Override
 	public boolean contains(long i) {
 		int r = (int) (i / BitMap.MACHINE64);
 		long c = i % BitMap.MACHINE64;
-		if (((longs[r] >>> c) & 1) == 1) {
-			return true;
-		}
-		return false;
+		return ((longs.get(r) >>> c) & 1) == 1;
 	}
 
+	@Override
 	public void remove(long i) {
 		int r = (int) (i / BitMap.MACHINE64);
-		long c =i % BitMap.MACHINE64;
-		longs[r] = longs[r] & (((1 << (c + 1)) - 1) ^ MAX);
+		long mask = 1L << (i % BitMap.MACHINE64);
+		long old;
+		do {
+			old = longs.get(r);
+			if ((old & mask) == 0) {
+				return;
+			}
+		} while (false == longs.compareAndSet(r, old, old & ~mask));
 	}
 
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.xiaoleilu.hutool.bloomFilter.filter;
 
 import com.xiaoleilu.hutool.bloomFilter.BloomFilter;
+import com.xiaoleilu.hutool.bloomFilter.bitMap.AtomicBitMap;
 import com.xiaoleilu.hutool.bloomFilter.bitMap.BitMap;
 import com.xiaoleilu.hutool.bloomFilter.bitMap.IntMap;
 import com.xiaoleilu.hutool.bloomFilter.bitMap.LongMap;
@@ -25,35 +26,53 @@ public abstract class AbstractFilter implements BloomFilter {
 		this(maxValue, BitMap.MACHINE32);
 	}
 
+	/**
+	 * 初始化BitMap，数组长度超出int范围时使用分页的{@link AtomicBitMap}
+	 * 
+	 * @param maxValue bit数
+	 * @param machineNum 机器位数，{@link BitMap#MACHINE32}或{@link BitMap#MACHINE64}
+	 */
 	public void init(long maxValue, int machineNum) {
 		this.size = maxValue;
-		switch (machineNum) {
-			case BitMap.MACHINE32:
-				bm = new IntMap((int) (size / machineNum));
-				break;
-			case BitMap.MACHINE64:
-				bm = new LongMap((int) (size / machineNum));
-				break;
-			default:
-				throw new RuntimeException("Error Machine number!");
+		if (machineNum != BitMap.MACHINE32 && machineNum != BitMap.MACHINE64) {
+			throw new RuntimeException("Error Machine number!");
+		}
+		// 向上取整，保证最大位置size - 1不越界
+		final long length = (size + machineNum - 1) / machineNum;
+		if (length > Integer.MAX_VALUE) {
+			bm = new AtomicBitMap(size);
+		} else if (BitMap.MACHINE32 == machineNum) {
+			bm = new IntMap((int) length);
+		} else {
+			bm = new LongMap((int) length);
 		}
 	}
 
 	@Override
 	public boolean contains(String str) {
-		return bm.contains(hash(str));
+		return bm.contains(index(str));
 	}
 
 	@Override
 	public boolean add(String str) {
-		final long hash = this.hash(str);
-		if (bm.contains(hash)) {
+		final long index = index(str);
+		if (bm.contains(index)) {
 			return false;
 		}
 
-		bm.add(hash);
+		bm.add(index);
 		return true;
 	}
+	
+	/**
+	 * 计算字符串在BitMap中的位置，Hash值为负数或超出大小时取模到[0, size)
+	 * @param str 字符串
+	 * @return 位置
+	 */
+	private long index(String str) {
+		final long index = hash(str) % size;
+		return index < 0 ? index + size : index;
+	}
 
 	/**
 	 * 自定义Hash方法
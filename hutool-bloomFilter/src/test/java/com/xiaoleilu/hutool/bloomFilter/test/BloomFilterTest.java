@@ -0,0 +1,135 @@
+package com.xiaoleilu.hutool.bloomFilter.test;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xiaoleilu.hutool.bloomFilter.BitMapBloomFilter;
+import com.xiaoleilu.hutool.bloomFilter.BloomFilter;
+import com.xiaoleilu.hutool.bloomFilter.CountingBloomFilter;
+import com.xiaoleilu.hutool.bloomFilter.OptimalBloomFilter;
+import com.xiaoleilu.hutool.bloomFilter.ScalableBloomFilter;
+
+/**
+ * 布隆过滤器单元测试
+ * @author Looly
+ *
+ */
+public class BloomFilterTest {
+
+	private static final int SIZE = 10000;
+	private static final double FPP = 0.01;
+
+	@Test
+	public void bitMapTest(){
+		BloomFilter filter = new BitMapBloomFilter(10);
+		filter.add("abc");
+		filter.add("ddd");
+		Assert.assertTrue(filter.contains("abc"));
+		Assert.assertTrue(filter.contains("ddd"));
+		Assert.assertFalse(filter.contains("ccc"));
+	}
+
+	@Test
+	public void optimalTest(){
+		OptimalBloomFilter filter = new OptimalBloomFilter(SIZE, FPP);
+		addAll(filter, SIZE);
+		Assert.assertTrue(filter.count() <= SIZE);
+		Assert.assertTrue(filter.isFull() || filter.count() > SIZE * 0.99);
+		assertBounds(filter, SIZE, FPP);
+	}
+
+	@Test
+	public void scalableTest(){
+		// 元素数远超初始容量，分片增长后误判率之和仍不超过期望值
+		ScalableBloomFilter filter = new ScalableBloomFilter(SIZE / 10, FPP);
+		addAll(filter, SIZE);
+		Assert.assertTrue(filter.getSliceCount() > 1);
+		Assert.assertTrue(filter.getFalsePositiveProbability() <= FPP);
+		assertBounds(filter, SIZE, FPP);
+	}
+
+	@Test
+	public void countingTest(){
+		CountingBloomFilter filter = new CountingBloomFilter(SIZE, FPP);
+		Assert.assertTrue(filter.add("abc"));
+		Assert.assertFalse(filter.add("abc"));
+		Assert.assertEquals(2, filter.count());
+
+		// 加入几次就需要删除几次
+		Assert.assertTrue(filter.remove("abc"));
+		Assert.assertTrue(filter.contains("abc"));
+		Assert.assertTrue(filter.remove("abc"));
+		Assert.assertFalse(filter.contains("abc"));
+		Assert.assertFalse(filter.remove("abc"));
+		Assert.assertEquals(0, filter.count());
+
+		addAll(filter, SIZE);
+		assertBounds(filter, SIZE, FPP);
+
+		// 删除一半后剩余元素无漏判
+		for (int i = 0; i < SIZE; i += 2) {
+			Assert.assertTrue(filter.remove("key" + i));
+		}
+		for (int i = 1; i < SIZE; i += 2) {
+			Assert.assertTrue(filter.contains("key" + i));
+		}
+		Assert.assertEquals(SIZE / 2, filter.count());
+	}
+
+	@Test
+	public void countingConcurrentTest() throws InterruptedException{
+		final CountingBloomFilter filter = new CountingBloomFilter(SIZE, FPP);
+		final int threadCount = 4;
+		final CountDownLatch latch = new CountDownLatch(threadCount);
+		for (int t = 0; t < threadCount; t++) {
+			final int start = t;
+			new Thread(){
+				@Override
+				public void run() {
+					for (int i = start; i < SIZE; i += threadCount) {
+						filter.add("key" + i);
+					}
+					latch.countDown();
+				}
+			}.start();
+		}
+		latch.await();
+
+		Assert.assertEquals(SIZE, filter.count());
+		for (int i = 0; i < SIZE; i++) {
+			Assert.assertTrue(filter.contains("key" + i));
+		}
+	}
+
+	/**
+	 * 加入key0到key(n-1)
+	 * @param filter 过滤器
+	 * @param n 元素数
+	 */
+	private static void addAll(BloomFilter filter, int n){
+		for (int i = 0; i < n; i++) {
+			filter.add("key" + i);
+		}
+	}
+
+	/**
+	 * 检查加入的元素无漏判，未加入元素的误判率不超过期望值的2倍
+	 * @param filter 过滤器
+	 * @param n 已加入的元素数
+	 * @param fpp 期望误判率
+	 */
+	private static void assertBounds(BloomFilter filter, int n, double fpp){
+		for (int i = 0; i < n; i++) {
+			Assert.assertTrue(filter.contains("key" + i));
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < n; i++) {
+			if(filter.contains("other" + i)){
+				falsePositives++;
+			}
+		}
+		Assert.assertTrue("False positives: " + falsePositives, falsePositives <= n * fpp * 2);
+	}
+}
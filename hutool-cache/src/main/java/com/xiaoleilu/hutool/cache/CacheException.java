@@ -0,0 +1,28 @@
+package com.xiaoleilu.hutool.cache;
+
+import com.xiaoleilu.hutool.util.StrUtil;
+
+/**
+ * 缓存异常
+ * @author Looly
+ * @since 3.1.0
+ */
+public class CacheException extends RuntimeException{
+	private static final long serialVersionUID = 6534721948612907453L;
+
+	public CacheException(Throwable e) {
+		super(e.getMessage(), e);
+	}
+	
+	public CacheException(String message) {
+		super(message);
+	}
+	
+	public CacheException(String messageTemplate, Object... params) {
+		super(StrUtil.format(messageTemplate, params));
+	}
+	
+	public CacheException(Throwable throwable, String messageTemplate, Object... params) {
+		super(StrUtil.format(messageTemplate, params), throwable);
+	}
+}
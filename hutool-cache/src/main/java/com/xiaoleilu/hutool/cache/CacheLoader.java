@@ -0,0 +1,22 @@
+package com.xiaoleilu.hutool.cache;
+
+/**
+ * 缓存加载器，用于在缓存中不存在对象时加载对象
+ *
+ * @author Looly
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @since 3.1.0
+ */
+public interface CacheLoader<K, V> {
+
+	/**
+	 * 加载键对应的对象
+	 *
+	 * @param key 键
+	 * @return 加载的对象，<code>null</code>表示对象不存在，不会被缓存
+	 * @throws Exception 加载异常
+	 */
+	V load(K key) throws Exception;
+}
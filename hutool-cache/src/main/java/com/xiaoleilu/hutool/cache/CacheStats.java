@@ -0,0 +1,191 @@
+package com.xiaoleilu.hutool.cache;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * 缓存统计信息快照，不可变<br>
+ * 由{@link Cache#stats()}获得，可用于计算命中率、平均加载耗时、平均存活时长等指标
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public final class CacheStats implements Serializable {
+	private static final long serialVersionUID = -2373493853165186318L;
+
+	/** 空统计 */
+	public static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, new long[RemovalCause.values().length], 0);
+
+	private final long hitCount;
+	private final long missCount;
+	private final long loadSuccessCount;
+	private final long loadFailureCount;
+	private final long totalLoadTime;
+	/** 各移除原因的移除数，下标为{@link RemovalCause#ordinal()} */
+	private final long[] removalCounts;
+	private final long totalLifetime;
+
+	/**
+	 * 构造
+	 *
+	 * @param hitCount 命中数
+	 * @param missCount 丢失数
+	 * @param loadSuccessCount 加载成功数
+	 * @param loadFailureCount 加载失败数
+	 * @param totalLoadTime 总加载耗时，单位：纳秒
+	 * @param removalCounts 各移除原因的移除数，下标为{@link RemovalCause#ordinal()}
+	 * @param totalLifetime 被移除对象的总存活时长，单位：毫秒
+	 */
+	public CacheStats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount, long totalLoadTime, long[] removalCounts, long totalLifetime) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.loadSuccessCount = loadSuccessCount;
+		this.loadFailureCount = loadFailureCount;
+		this.totalLoadTime = totalLoadTime;
+		this.removalCounts = Arrays.copyOf(removalCounts, RemovalCause.values().length);
+		this.totalLifetime = totalLifetime;
+	}
+
+	/**
+	 * @return 请求数，即命中数与丢失数之和
+	 */
+	public long requestCount() {
+		return hitCount + missCount;
+	}
+
+	/**
+	 * @return 命中数
+	 */
+	public long hitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return 命中率，无请求时为1.0
+	 */
+	public double hitRate() {
+		final long requestCount = requestCount();
+		return (requestCount == 0) ? 1.0 : (double) hitCount / requestCount;
+	}
+
+	/**
+	 * @return 丢失数
+	 */
+	public long missCount() {
+		return missCount;
+	}
+
+	/**
+	 * @return 丢失率，无请求时为0.0
+	 */
+	public double missRate() {
+		final long requestCount = requestCount();
+		return (requestCount == 0) ? 0.0 : (double) missCount / requestCount;
+	}
+
+	/**
+	 * @return 加载次数，包括成功和失败
+	 */
+	public long loadCount() {
+		return loadSuccessCount + loadFailureCount;
+	}
+
+	/**
+	 * @return 加载成功数
+	 */
+	public long loadSuccessCount() {
+		return loadSuccessCount;
+	}
+
+	/**
+	 * @return 加载失败数
+	 */
+	public long loadFailureCount() {
+		return loadFailureCount;
+	}
+
+	/**
+	 * @return 总加载耗时，单位：纳秒
+	 */
+	public long totalLoadTime() {
+		return totalLoadTime;
+	}
+
+	/**
+	 * @return 平均加载耗时，单位：纳秒
+	 */
+	public double averageLoadPenalty() {
+		final long loadCount = loadCount();
+		return (loadCount == 0) ? 0.0 : (double) totalLoadTime / loadCount;
+	}
+
+	/**
+	 * @return 淘汰数，即过期和缓存满被移除的对象数
+	 */
+	public long evictionCount() {
+		return removalCount(RemovalCause.EXPIRED) + removalCount(RemovalCause.SIZE);
+	}
+
+	/**
+	 * 获取指定原因的移除数
+	 *
+	 * @param cause 移除原因
+	 * @return 移除数
+	 */
+	public long removalCount(RemovalCause cause) {
+		return removalCounts[cause.ordinal()];
+	}
+
+	/**
+	 * @return 所有原因的移除数之和
+	 */
+	public long totalRemovalCount() {
+		long count = 0;
+		for (long removalCount : removalCounts) {
+			count += removalCount;
+		}
+		return count;
+	}
+
+	/**
+	 * @return 被移除对象的总存活时长，单位：毫秒
+	 */
+	public long totalLifetime() {
+		return totalLifetime;
+	}
+
+	/**
+	 * @return 被移除对象的平均存活时长，单位：毫秒
+	 */
+	public double averageLifetime() {
+		final long removalCount = totalRemovalCount();
+		return (removalCount == 0) ? 0.0 : (double) totalLifetime / removalCount;
+	}
+
+	/**
+	 * 与另一个统计相加，返回新的统计
+	 *
+	 * @param other 另一个统计
+	 * @return 相加后的统计
+	 */
+	public CacheStats plus(CacheStats other) {
+		final long[] counts = new long[removalCounts.length];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = removalCounts[i] + other.removalCounts[i];
+		}
+		return new CacheStats(//
+				hitCount + other.hitCount, //
+				missCount + other.missCount, //
+				loadSuccessCount + other.loadSuccessCount, //
+				loadFailureCount + other.loadFailureCount, //
+				totalLoadTime + other.totalLoadTime, //
+				counts, //
+				totalLifetime + other.totalLifetime);
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStats [hitCount=" + hitCount + ", missCount=" + missCount + ", hitRate=" + hitRate() + ", loadSuccessCount=" + loadSuccessCount + ", loadFailureCount=" + loadFailureCount + ", totalLoadTime=" + totalLoadTime
+				+ ", evictionCount=" + evictionCount() + ", removalCounts=" + Arrays.toString(removalCounts) + ", averageLifetime=" + averageLifetime() + "]";
+	}
+}
@@ -1,10 +1,17 @@
 package com.xiaoleilu.hutool.cache;
 
+import java.io.File;
+
+import com.xiaoleilu.hutool.cache.impl.AbstractCache;
 import com.xiaoleilu.hutool.cache.impl.FIFOCache;
 import com.xiaoleilu.hutool.cache.impl.LFUCache;
 import com.xiaoleilu.hutool.cache.impl.LRUCache;
+import com.xiaoleilu.hutool.cache.impl.LoadingCache;
 import com.xiaoleilu.hutool.cache.impl.NoCache;
+import com.xiaoleilu.hutool.cache.impl.SegmentedCache;
 import com.xiaoleilu.hutool.cache.impl.TimedCache;
+import com.xiaoleilu.hutool.cache.impl.TinyLFUCache;
+import com.xiaoleilu.hutool.cache.impl.TwoLevelCache;
 import com.xiaoleilu.hutool.cache.impl.WeakCache;
 
 /**
@@ -14,6 +21,21 @@ import com.xiaoleilu.hutool.cache.impl.WeakCache;
  */
 public class CacheUtil {
 	
+	/**
+	 * 创建FIFO(first in first out) 先进先出缓存，容量为所有对象的总权重（例如字节数）.
+	 * 
+	 * @param <K> Key类型
+	 * @param <V> Value类型
+	 * @param capacity 容量（总权重）
+	 * @param timeout 过期时长，单位：毫秒
+	 * @param weigher 权重计算器
+	 * @return {@link FIFOCache}
+	 * @since 3.1.0
+	 */
+	public static <K, V> Cache<K, V> newFIFOCache(int capacity, long timeout, Weigher<K, V> weigher){
+		return new FIFOCache<K, V>(capacity, timeout, weigher);
+	}
+	
 	/**
 	 * 创建FIFO(first in first out) 先进先出缓存.
 	 * 
@@ -39,6 +61,21 @@ public class CacheUtil {
 		return new FIFOCache<K, V>(capacity);
 	}
 	
+	/**
+	 * 创建LFU(least frequently used) 最少使用率缓存，容量为所有对象的总权重（例如字节数）.
+	 * 
+	 * @param <K> Key类型
+	 * @param <V> Value类型
+	 * @param capacity 容量（总权重）
+	 * @param timeout 过期时长，单位：毫秒
+	 * @param weigher 权重计算器
+	 * @return {@link LFUCache}
+	 * @since 3.1.0
+	 */
+	public static <K, V> Cache<K, V> newLFUCache(int capacity, long timeout, Weigher<K, V> weigher){
+		return new LFUCache<K, V>(capacity, timeout, weigher);
+	}
+	
 	/**
 	 * 创建LFU(least frequently used) 最少使用率缓存.
 	 * 
@@ -65,6 +102,49 @@ public class CacheUtil {
 	}
 	
 	
+	/**
+	 * 创建W-TinyLFU缓存，基于访问频率估算决定是否接纳新对象，淘汰为O(1)，适用于访问分布倾斜的大容量缓存.
+	 * 
+	 * @param <K> Key类型
+	 * @param <V> Value类型
+	 * @param capacity 容量，必须大于0
+	 * @param timeout 过期时长，单位：毫秒
+	 * @return {@link TinyLFUCache}
+	 * @since 3.1.0
+	 */
+	public static <K, V> Cache<K, V> newTinyLFUCache(int capacity, long timeout){
+		return new TinyLFUCache<K, V>(capacity, timeout);
+	}
+	
+	/**
+	 * 创建W-TinyLFU缓存，基于访问频率估算决定是否接纳新对象，淘汰为O(1)，适用于访问分布倾斜的大容量缓存.
+	 * 
+	 * @param <K> Key类型
+	 * @param <V> Value类型
+	 * @param capacity 容量，必须大于0
+	 * @return {@link TinyLFUCache}
+	 * @since 3.1.0
+	 */
+	public static <K, V> Cache<K, V> newTinyLFUCache(int capacity){
+		return new TinyLFUCache<K, V>(capacity);
+	}
+	
+	
+	/**
+	 * 创建LRU (least recently used)最近最久未使用缓存，容量为所有对象的总权重（例如字节数）.
+	 * 
+	 * @param <K> Key类型
+	 * @param <V> Value类型
+	 * @param capacity 容量（总权重）
+	 * @param timeout 过期时长，单位：毫秒
+	 * @param weigher 权重计算器
+	 * @return {@link LRUCache}
+	 * @since 3.1.0
+	 */
+	public static <K, V> Cache<K, V> newLRUCache(int capacity, long timeout, Weigher<K, V> weigher){
+		return new LRUCache<K, V>(capacity, timeout, weigher);
+	}
+	
 	/**
 	 * 创建LRU (least recently used)最近最久未使用缓存.
 	 * 
@@ -115,6 +195,94 @@ public class CacheUtil {
 		return new WeakCache<K, V>(timeout);
 	}
 	
+	/**
+	 * 创建分段并发缓存，读取无锁，写入和淘汰只锁定key所在的段，适用于高并发场景.
+	 * 
+	 * @param <K> Key类型
+	 * @param <V> Value类型
+	 * @param policy 淘汰策略
+	 * @param capacity 容量，0表示无大小限制
+	 * @param timeout 过期时长，单位：毫秒
+	 * @return {@link SegmentedCache}
+	 * @since 3.1.0
+	 */
+	public static <K, V> Cache<K, V> newSegmentedCache(SegmentedCache.Policy policy, int capacity, long timeout){
+		return new SegmentedCache<K, V>(policy, capacity, timeout);
+	}
+	
+	/**
+	 * 创建分段并发缓存，读取无锁，写入和淘汰只锁定key所在的段，适用于高并发场景.
+	 * 
+	 * @param <K> Key类型
+	 * @param <V> Value类型
+	 * @param policy 淘汰策略
+	 * @param capacity 容量，0表示无大小限制
+	 * @return {@link SegmentedCache}
+	 * @since 3.1.0
+	 */
+	public static <K, V> Cache<K, V> newSegmentedCache(SegmentedCache.Policy policy, int capacity){
+		return new SegmentedCache<K, V>(policy, capacity);
+	}
+	
+	/**
+	 * 创建二级缓存，一级缓存满时淘汰的对象写入磁盘数据文件，关闭时保存所有对象，重新创建时从数据文件恢复.
+	 * 
+	 * @param <K> Key类型
+	 * @param <V> Value类型
+	 * @param cache 一级缓存
+	 * @param file 磁盘数据文件
+	 * @param diskTimeout 对象写入磁盘后的存活时长，0表示永久存活，单位：毫秒
+	 * @return {@link TwoLevelCache}
+	 * @since 3.1.0
+	 */
+	public static <K, V> TwoLevelCache<K, V> newTwoLevelCache(AbstractCache<K, V> cache, File file, long diskTimeout){
+		return new TwoLevelCache<K, V>(cache, file, diskTimeout);
+	}
+	
+	/**
+	 * 创建二级缓存，一级缓存满时淘汰的对象写入磁盘数据文件，关闭时保存所有对象，重新创建时从数据文件恢复.
+	 * 
+	 * @param <K> Key类型
+	 * @param <V> Value类型
+	 * @param cache 一级缓存
+	 * @param file 磁盘数据文件
+	 * @return {@link TwoLevelCache}
+	 * @since 3.1.0
+	 */
+	public static <K, V> TwoLevelCache<K, V> newTwoLevelCache(AbstractCache<K, V> cache, File file){
+		return new TwoLevelCache<K, V>(cache, file);
+	}
+	
+	/**
+	 * 创建自动加载缓存，未命中时使用加载器加载，同一key的并发加载被合并为一次.
+	 * 
+	 * @param <K> Key类型
+	 * @param <V> Value类型
+	 * @param cache 被包装的缓存
+	 * @param loader 加载器
+	 * @return {@link LoadingCache}
+	 * @since 3.1.0
+	 */
+	public static <K, V> LoadingCache<K, V> newLoadingCache(Cache<K, V> cache, CacheLoader<K, V> loader){
+		return new LoadingCache<K, V>(cache, loader);
+	}
+	
+	/**
+	 * 创建自动加载缓存，未命中时使用加载器加载，同一key的并发加载被合并为一次.<br>
+	 * 对象写入超过refreshAfterWrite后被读取时，在后台刷新，读取线程直接返回旧值.
+	 * 
+	 * @param <K> Key类型
+	 * @param <V> Value类型
+	 * @param cache 被包装的缓存
+	 * @param loader 加载器
+	 * @param refreshAfterWrite 写入后多久触发后台刷新，单位：毫秒，应小于缓存的过期时长
+	 * @return {@link LoadingCache}
+	 * @since 3.1.0
+	 */
+	public static <K, V> LoadingCache<K, V> newLoadingCache(Cache<K, V> cache, CacheLoader<K, V> loader, long refreshAfterWrite){
+		return new LoadingCache<K, V>(cache, loader, refreshAfterWrite);
+	}
+	
 	/**
 	 * 创建无缓存实现.
 	 * 
@@ -0,0 +1,81 @@
+package com.xiaoleilu.hutool.cache;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 全局缓存清理定时器<br>
+ * 所有定时缓存共用一个守护线程执行清理任务，避免每个缓存创建一个{@link java.util.Timer}线程<br>
+ * 停止单个缓存的定时清理请调用该缓存的cancelPruneSchedule方法，{@link #shutdown()}和{@link #shutdownNow()}会停止所有缓存的定时清理
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public enum GlobalPruneTimer {
+	/** 单例 */
+	INSTANCE;
+
+	/** 线程编号 */
+	private final AtomicInteger threadNumber = new AtomicInteger(1);
+	/** 定时器 */
+	private ScheduledExecutorService pruneTimer;
+
+	private GlobalPruneTimer() {
+		create();
+	}
+
+	/**
+	 * 启动定时任务
+	 *
+	 * @param task 任务
+	 * @param delay 周期，单位：毫秒
+	 * @return {@link ScheduledFuture}，用于取消任务
+	 */
+	synchronized public ScheduledFuture<?> schedule(Runnable task, long delay) {
+		// 定时器被关闭后重新创建
+		create();
+		return this.pruneTimer.scheduleAtFixedRate(task, delay, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 创建定时器，定时器已在运行时不做任何操作，其它缓存已提交的清理任务不受影响
+	 */
+	synchronized public void create() {
+		if (null != pruneTimer && false == pruneTimer.isShutdown()) {
+			return;
+		}
+		final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread thread = new Thread(r, "Prune-Timer-" + threadNumber.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		// 取消的任务立即从队列中移除，避免频繁启停清理时任务堆积
+		executor.setRemoveOnCancelPolicy(true);
+		this.pruneTimer = executor;
+	}
+
+	/**
+	 * 关闭定时器，已提交的任务继续执行完毕
+	 */
+	synchronized public void shutdown() {
+		if (null != pruneTimer) {
+			pruneTimer.shutdown();
+		}
+	}
+
+	/**
+	 * 立即关闭定时器，正在执行的任务将被中断
+	 */
+	synchronized public void shutdownNow() {
+		if (null != pruneTimer) {
+			pruneTimer.shutdownNow();
+		}
+	}
+}
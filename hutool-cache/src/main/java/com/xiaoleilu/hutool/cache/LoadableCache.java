@@ -0,0 +1,35 @@
+package com.xiaoleilu.hutool.cache;
+
+/**
+ * 支持加载和统计的缓存接口<br>
+ * 在{@link Cache}基础上增加未命中时合并加载和统计信息，Hutool内置的缓存实现均实现此接口
+ *
+ * @author Looly
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @since 3.1.0
+ */
+public interface LoadableCache<K, V> extends Cache<K, V> {
+
+	/**
+	 * 从缓存中获得对象，当对象不在缓存中或已经过期时，使用加载器加载对象并放入缓存<br>
+	 * 同一个key的并发加载会被合并，只有一个线程执行加载，其它线程等待并共享加载结果
+	 * @param key 键
+	 * @param loader 加载器，加载结果为<code>null</code>时不放入缓存
+	 * @return 键对应的对象
+	 * @throws CacheException 加载器抛出非运行时异常时包装抛出
+	 */
+	V get(K key, CacheLoader<K, V> loader);
+
+	/**
+	 * 获得缓存统计信息快照，包括命中、丢失、加载、淘汰和对象存活时长等
+	 * @return {@link CacheStats}
+	 */
+	CacheStats stats();
+
+	/**
+	 * 重置缓存统计信息
+	 */
+	void resetStats();
+}
@@ -0,0 +1,25 @@
+package com.xiaoleilu.hutool.cache;
+
+/**
+ * 缓存对象被移除的原因
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public enum RemovalCause {
+	/** 用户主动移除 */
+	EXPLICIT,
+	/** 被同一key的新对象替换 */
+	REPLACED,
+	/** 过期被清理 */
+	EXPIRED,
+	/** 缓存满被淘汰 */
+	SIZE;
+
+	/**
+	 * @return 是否为淘汰（过期或缓存满），而非主动移除或替换
+	 */
+	public boolean isEvicted() {
+		return this == EXPIRED || this == SIZE;
+	}
+}
@@ -0,0 +1,23 @@
+package com.xiaoleilu.hutool.cache;
+
+/**
+ * 缓存对象移除监听器，对象过期、被淘汰或被主动移除后回调<br>
+ * 回调在缓存的写锁内执行，实现应尽量快速返回
+ *
+ * @author Looly
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @since 3.1.0
+ */
+public interface RemovalListener<K, V> {
+
+	/**
+	 * 对象被移除后调用
+	 *
+	 * @param key 键
+	 * @param value 被移除的对象
+	 * @param cause 移除原因
+	 */
+	void onRemoval(K key, V value, RemovalCause cause);
+}
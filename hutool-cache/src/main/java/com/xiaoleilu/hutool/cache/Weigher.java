@@ -0,0 +1,23 @@
+package com.xiaoleilu.hutool.cache;
+
+/**
+ * 缓存对象权重计算器<br>
+ * 设置权重计算器后，缓存容量表示所有对象的总权重（例如字节数），而不再是对象个数
+ *
+ * @author Looly
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @since 3.1.0
+ */
+public interface Weigher<K, V> {
+
+	/**
+	 * 计算缓存对象的权重，同一对象多次计算的结果应相同
+	 *
+	 * @param key 键
+	 * @param value 值
+	 * @return 权重，必须大于等于0
+	 */
+	int weigh(K key, V value);
+}
@@ -4,6 +4,8 @@ import java.io.File;
 import java.io.IOException;
 
 import com.xiaoleilu.hutool.cache.Cache;
+import com.xiaoleilu.hutool.cache.Weigher;
+import com.xiaoleilu.hutool.cache.impl.AbstractCache;
 import com.xiaoleilu.hutool.io.FileUtil;
 
 /**
@@ -13,6 +15,14 @@ import com.xiaoleilu.hutool.io.FileUtil;
  */
 public abstract class FileCache {
 
+	/** 按文件字节数计算权重，使缓存容量表示总字节数 */
+	protected static final Weigher<File, byte[]> BYTES_WEIGHER = new Weigher<File, byte[]>() {
+		@Override
+		public int weigh(File key, byte[] value) {
+			return value.length;
+		}
+	};
+
 	/** 容量 */
 	protected final int capacity;
 	/** 缓存的最大文件大小，文件大于此大小时将不被缓存 */
@@ -22,7 +32,11 @@ public abstract class FileCache {
 	/** 缓存实现 */
 	protected final Cache<File, byte[]> cache;
 	
-	/** 已使用缓存空间 */
+	/**
+	 * 已使用缓存空间，仅在缓存未使用权重计算器时由本类累加，子类在淘汰时自行扣减
+	 * @deprecated 缓存使用{@link #BYTES_WEIGHER}时已使用空间为缓存的总权重，请使用{@link #getUsedSize()}
+	 */
+	@Deprecated
 	protected int usedSize;
 
 	/**
@@ -49,6 +63,9 @@ public abstract class FileCache {
 	 * @return 已使用空间大小（byte数）
 	 */
 	public int getUsedSize() {
+		if (isWeighted()) {
+			return (int) ((AbstractCache<File, byte[]>) cache).totalWeight();
+		}
 		return usedSize;
 	}
 
@@ -113,9 +130,12 @@ public abstract class FileCache {
 			return bytes;
 		}
 
-		usedSize += bytes.length;
+		if (false == isWeighted()) {
+			// 未使用权重计算器的子类通过usedSize判断是否已满
+			usedSize += bytes.length;
+		}
 
-		//文件放入缓存，如果usedSize > capacity，purge()方法将被调用
+		//文件放入缓存，总字节数超出容量时按缓存策略淘汰
 		cache.put(file, bytes);
 
 		return bytes;
@@ -123,10 +143,19 @@ public abstract class FileCache {
 	
 	// ---------------------------------------------------------------- protected method start
 	/**
-	 * 初始化实现文件缓存的缓存对象
+	 * 初始化实现文件缓存的缓存对象<br>
+	 * 推荐返回使用{@link #BYTES_WEIGHER}计算权重的{@link AbstractCache}，以保证已缓存的总字节数不超过容量；
+	 * 否则需子类自行维护{@link #usedSize}
 	 * @return {@link Cache}
 	 */
 	protected abstract Cache<File, byte[]> initCache();
 	// ---------------------------------------------------------------- protected method end
+	
+	/**
+	 * @return 缓存是否按权重（字节数）限制容量
+	 */
+	private boolean isWeighted() {
+		return (cache instanceof AbstractCache) && null != ((AbstractCache<File, byte[]>) cache).weigher();
+	}
 
 }
@@ -44,18 +44,7 @@ public class LFUFileCache extends FileCache{
 
 	@Override
 	protected Cache<File, byte[]> initCache() {
-		Cache<File, byte[]> cache = new LFUCache<File, byte[]>(this.capacity, this.timeout) {
-			@Override
-			public boolean isFull() {
-				return LFUFileCache.this.usedSize > this.capacity;
-			}
-			
-			@Override
-			protected void onRemove(File key, byte[] cachedObject) {
-				usedSize -= cachedObject.length;
-			}
-		};
-		return cache;
+		return new LFUCache<File, byte[]>(this.capacity, this.timeout, BYTES_WEIGHER);
 	}
 
 }
@@ -44,18 +44,7 @@ public class LRUFileCache extends FileCache{
 
 	@Override
 	protected Cache<File, byte[]> initCache() {
-		Cache<File, byte[]> cache = new LRUCache<File, byte[]>(this.capacity, super.timeout) {
-			@Override
-			public boolean isFull() {
-				return LRUFileCache.this.usedSize > this.capacity;
-			}
-			
-			@Override
-			protected void onRemove(File key, byte[] cachedObject) {
-				usedSize -= cachedObject.length;
-			}
-		};
-		return cache;
+		return new LRUCache<File, byte[]>(this.capacity, super.timeout, BYTES_WEIGHER);
 	}
 
 }
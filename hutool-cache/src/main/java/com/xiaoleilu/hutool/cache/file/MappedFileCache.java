@@ -0,0 +1,288 @@
+package com.xiaoleilu.hutool.cache.file;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.xiaoleilu.hutool.cache.CacheException;
+import com.xiaoleilu.hutool.cache.CacheLoader;
+import com.xiaoleilu.hutool.cache.Weigher;
+import com.xiaoleilu.hutool.cache.impl.AbstractCache;
+import com.xiaoleilu.hutool.cache.impl.LRUCache;
+import com.xiaoleilu.hutool.io.IORuntimeException;
+import com.xiaoleilu.hutool.io.IoUtil;
+import com.xiaoleilu.hutool.util.StrUtil;
+
+/**
+ * 堆外文件缓存，文件内容保存在堆外内存中，不占用Java堆，适用于缓存大量静态文件<br>
+ * <ul>
+ * 		<li>小于映射阈值的文件读入直接内存（{@link ByteBuffer#allocateDirect(int)}）</li>
+ * 		<li>大于等于映射阈值的文件使用内存映射（{@link FileChannel#map(FileChannel.MapMode, long, long)}），由操作系统页缓存管理</li>
+ * 		<li>每次返回缓存内容前比对文件的修改时间和大小，文件变化（包括被截断或删除）后重新加载</li>
+ * 		<li>容量为总字节数，按LRU策略淘汰，同一文件的并发加载被合并为一次</li>
+ * 		<li>单个文件不能超过{@link #MAX_FILE_SIZE}（ByteBuffer容量上限，约2GB），更大的文件抛出异常</li>
+ * </ul>
+ * 注意：修改检查只能发现返回之前的变化，映射的文件在返回的视图被读取期间被其它进程截断时，读取会导致JVM崩溃（SIGBUS）；
+ * 可能被并发修改的文件应通过增大mapThreshold读入直接内存，而不是使用内存映射。<br>
+ * 返回的是只读视图，每次调用返回独立的position和limit，多线程读取互不影响。<br>
+ * 被淘汰的缓冲区在被GC回收后才会释放堆外内存或解除映射；在Windows下被映射的文件在解除映射前无法删除。<br>
+ * 小文件仍可使用基于堆的{@link LRUFileCache}或{@link LFUFileCache}。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public class MappedFileCache {
+
+	/** 容量计算单位，按4KB页计算，使字节容量可超过int范围 */
+	private static final int PAGE_SIZE = 4096;
+	/** 单个文件的最大大小，ByteBuffer容量不能超过int范围 */
+	public static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+	/** 默认映射阈值，小于此大小的文件读入直接内存 */
+	public static final int DEFAULT_MAP_THRESHOLD = 64 * 1024;
+
+	/** 容量（byte数） */
+	private final long capacity;
+	/** 缓存的最大文件大小，文件大于此大小时将不被缓存，0表示不限制 */
+	private final long maxFileSize;
+	/** 映射阈值，大于等于此大小的文件使用内存映射 */
+	private final int mapThreshold;
+	/** 默认超时时间，0表示无默认超时 */
+	private final long timeout;
+	/** 缓存实现 */
+	private final AbstractCache<File, FileBuffer> cache;
+	/** 文件加载器 */
+	private final CacheLoader<File, FileBuffer> loader = new CacheLoader<File, FileBuffer>() {
+		@Override
+		public FileBuffer load(File file) throws Exception {
+			return readBuffer(file);
+		}
+	};
+
+	/**
+	 * 构造<br>
+	 * 最大文件大小为缓存容量的一半，默认无超时
+	 *
+	 * @param capacity 缓存容量（byte数）
+	 */
+	public MappedFileCache(long capacity) {
+		this(capacity, capacity / 2, DEFAULT_MAP_THRESHOLD, 0);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param capacity 缓存容量（byte数）
+	 * @param maxFileSize 文件最大大小，0表示不限制，超过此大小的文件直接读取不缓存；任何文件均不能超过{@link #MAX_FILE_SIZE}
+	 * @param mapThreshold 映射阈值，大于等于此大小的文件使用内存映射
+	 * @param timeout 默认超时时间，0表示无默认超时
+	 */
+	public MappedFileCache(long capacity, long maxFileSize, int mapThreshold, long timeout) {
+		this.capacity = capacity;
+		this.maxFileSize = maxFileSize;
+		this.mapThreshold = mapThreshold;
+		this.timeout = timeout;
+
+		// 容量为0表示无限制，否则至少为1页
+		final int pages = (capacity <= 0) ? 0 : (int) Math.max(1, Math.min(Integer.MAX_VALUE, capacity / PAGE_SIZE));
+		this.cache = new LRUCache<File, FileBuffer>(pages, timeout, new Weigher<File, FileBuffer>() {
+			@Override
+			public int weigh(File key, FileBuffer value) {
+				return (int) ((value.length + PAGE_SIZE - 1) / PAGE_SIZE);
+			}
+		});
+	}
+
+	/**
+	 * @return 缓存容量（byte数）
+	 */
+	public long capacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return 已使用空间大小（byte数），按4KB页取整
+	 */
+	public long getUsedSize() {
+		return cache.totalWeight() * PAGE_SIZE;
+	}
+
+	/**
+	 * @return 允许被缓存文件的最大byte数
+	 */
+	public long maxFileSize() {
+		return maxFileSize;
+	}
+
+	/**
+	 * @return 映射阈值，大于等于此大小的文件使用内存映射
+	 */
+	public int mapThreshold() {
+		return mapThreshold;
+	}
+
+	/**
+	 * @return 缓存的文件数
+	 */
+	public int getCachedFilesCount() {
+		return cache.size();
+	}
+
+	/**
+	 * @return 超时时间
+	 */
+	public long timeout() {
+		return this.timeout;
+	}
+
+	/**
+	 * 清空缓存
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	// ---------------------------------------------------------------- get
+
+	/**
+	 * 获得缓存过的文件内容
+	 *
+	 * @param path 文件路径
+	 * @return 文件内容的只读视图
+	 * @throws IORuntimeException IO异常
+	 */
+	public ByteBuffer getFileBuffer(String path) throws IORuntimeException {
+		return getFileBuffer(new File(path));
+	}
+
+	/**
+	 * 获得缓存过的文件内容，文件的修改时间或大小变化时重新加载<br>
+	 * 返回前总会校验缓存内容与当前文件一致，包括其它线程并发加载的内容
+	 *
+	 * @param file 文件
+	 * @return 文件内容的只读视图
+	 * @throws IORuntimeException 读取文件失败、文件超过{@link #MAX_FILE_SIZE}，或等待其它线程加载时被中断
+	 */
+	public ByteBuffer getFileBuffer(File file) throws IORuntimeException {
+		final FileBuffer fileBuffer = cache.get(file);
+		if (null != fileBuffer) {
+			if (fileBuffer.isModified(file) == false) {
+				return fileBuffer.view();
+			}
+			// 文件已修改，移除旧内容后重新加载
+			cache.remove(file);
+		}
+
+		final long length = file.length();
+		if (length > MAX_FILE_SIZE) {
+			throw new IORuntimeException(StrUtil.format("File [{}] size {} exceeds the max size {}", file, length, MAX_FILE_SIZE));
+		}
+		if ((maxFileSize != 0) && (length > maxFileSize)) {
+			//大于缓存空间，不缓存，直接返回
+			return readBuffer(file).view();
+		}
+
+		final FileBuffer loaded = load(file);
+		if (loaded.isModified(file)) {
+			// 其它线程加载的内容在返回前文件已变化，文件正在被修改，直接读取不缓存
+			cache.remove(file);
+			return readBuffer(file).view();
+		}
+		return loaded.view();
+	}
+
+	// ---------------------------------------------------------------- private method start
+	/**
+	 * 通过缓存加载文件，同一文件的并发加载合并为一次
+	 *
+	 * @param file 文件
+	 * @return {@link FileBuffer}
+	 * @throws IORuntimeException 读取文件失败，或等待加载时被中断
+	 */
+	private FileBuffer load(File file) throws IORuntimeException {
+		try {
+			return cache.get(file, loader);
+		} catch (CacheException e) {
+			// 加载器只抛出IORuntimeException，CacheException仅在等待时被中断时出现
+			throw new IORuntimeException(e);
+		}
+	}
+
+	/**
+	 * 读取文件内容到堆外内存
+	 *
+	 * @param file 文件
+	 * @return {@link FileBuffer}
+	 * @throws IORuntimeException IO异常或文件超过{@link #MAX_FILE_SIZE}
+	 */
+	private FileBuffer readBuffer(File file) throws IORuntimeException {
+		FileInputStream in = null;
+		try {
+			in = new FileInputStream(file);
+			final FileChannel channel = in.getChannel();
+			// 先取修改时间，读取过程中文件被修改时下次读取会重新加载
+			final long lastModified = file.lastModified();
+			final long size = channel.size();
+			if (size > MAX_FILE_SIZE) {
+				// 检查后文件可能变大，映射和直接内存均无法容纳
+				throw new IORuntimeException(StrUtil.format("File [{}] size {} exceeds the max size {}", file, size, MAX_FILE_SIZE));
+			}
+
+			final ByteBuffer buffer;
+			if (size >= mapThreshold) {
+				// 映射在channel关闭后依旧有效
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			} else {
+				buffer = ByteBuffer.allocateDirect((int) size);
+				while (buffer.hasRemaining()) {
+					if (channel.read(buffer) < 0) {
+						break;
+					}
+				}
+				buffer.flip();
+			}
+			return new FileBuffer(buffer, lastModified, size);
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		} finally {
+			IoUtil.close(in);
+		}
+	}
+	// ---------------------------------------------------------------- private method end
+
+	/**
+	 * 缓存的文件内容及加载时的文件状态
+	 *
+	 * @author Looly
+	 */
+	private static class FileBuffer {
+		private final ByteBuffer buffer;
+		private final long lastModified;
+		private final long length;
+
+		FileBuffer(ByteBuffer buffer, long lastModified, long length) {
+			this.buffer = buffer;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+
+		/**
+		 * 文件在加载后是否被修改（修改时间或大小变化，或已被删除）<br>
+		 * 只能发现检查之前的变化，无法防止返回的映射视图在读取期间失效
+		 *
+		 * @param file 文件
+		 * @return 是否被修改
+		 */
+		boolean isModified(File file) {
+			return file.lastModified() != lastModified || file.length() != length;
+		}
+
+		/**
+		 * @return 独立position和limit的只读视图
+		 */
+		ByteBuffer view() {
+			return buffer.asReadOnlyBuffer();
+		}
+	}
+}
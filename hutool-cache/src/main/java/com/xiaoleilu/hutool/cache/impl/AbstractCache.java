@@ -2,11 +2,17 @@ package com.xiaoleilu.hutool.cache.impl;
 
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
 
-import com.xiaoleilu.hutool.cache.Cache;
+import com.xiaoleilu.hutool.cache.CacheLoader;
+import com.xiaoleilu.hutool.cache.CacheStats;
+import com.xiaoleilu.hutool.cache.LoadableCache;
+import com.xiaoleilu.hutool.cache.RemovalCause;
+import com.xiaoleilu.hutool.cache.RemovalListener;
+import com.xiaoleilu.hutool.cache.Weigher;
 import com.xiaoleilu.hutool.collection.CopiedIterator;
 
 /**
@@ -22,7 +28,7 @@ import com.xiaoleilu.hutool.collection.CopiedIterator;
  * @param <K> 键类型
  * @param <V> 值类型
  */
-public abstract class AbstractCache<K, V> implements Cache<K, V>{
+public abstract class AbstractCache<K, V> implements LoadableCache<K, V>{
 
 	protected Map<K, CacheObj<K, V>> cacheMap;
 
@@ -38,10 +44,25 @@ public abstract class AbstractCache<K, V> implements Cache<K, V>{
 	/** 每个对象是否有单独的失效时长，用于决定清理过期对象是否有必要。 */
 	protected boolean existCustomTimeout;
 	
-	/** 命中数 */
-	protected int hitCount;
-	/** 丢失数 */
-	protected int missCount;
+	/** 权重计算器，<code>null</code>表示容量为对象个数，否则容量为所有对象的总权重 */
+	protected Weigher<K, V> weigher;
+	/** 当前总权重，只在写锁内修改，volatile保证不加锁读取时可见 */
+	private volatile long totalWeight;
+	/** 正在加入的对象需要的额外权重，只在写锁内修改，用于判断加入前是否需要淘汰 */
+	private volatile long pendingWeight;
+	
+	/** 移除监听器，<code>null</code>表示无监听 */
+	protected RemovalListener<K, V> removalListener;
+	
+	/** 统计计数器 */
+	protected final StatsCounter statsCounter = new StatsCounter();
+	/** 合并同一key的并发加载 */
+	private final SingleFlightLoader<K, V> singleFlightLoader = new SingleFlightLoader<K, V>(statsCounter) {
+		@Override
+		V getIfPresent(K key) {
+			return peek(key);
+		}
+	};
 	
 	// ---------------------------------------------------------------- put start
 	@Override
@@ -58,10 +79,31 @@ public abstract class AbstractCache<K, V> implements Cache<K, V>{
 			if (timeout != 0) {
 				existCustomTimeout = true;
 			}
-			if (isFull()) {
-				pruneCache();
+			if (null == weigher) {
+				if (isFull()) {
+					pruneCache();
+				}
+			} else {
+				co.weight = weigher.weigh(key, object);
+				if (capacity > 0 && co.weight > capacity) {
+					// 单个对象超出容量，不缓存，并移除同key的旧对象
+					final CacheObj<K, V> old = cacheMap.remove(key);
+					if (null != old) {
+						onDetach(old);
+						notifyRemove(old, RemovalCause.SIZE);
+					}
+					return;
+				}
+				pruneForWeight(co);
 			}
-			cacheMap.put(key, co);
+			final CacheObj<K, V> old = cacheMap.put(key, co);
+			totalWeight += co.weight;
+			if (null != old) {
+				totalWeight -= old.weight;
+				onDetach(old);
+				statsCounter.recordRemoval(RemovalCause.REPLACED, co.createTime - old.createTime);
+			}
+			onPut(co);
 		} finally {
 			writeLock.unlock();
 		}
@@ -71,7 +113,8 @@ public abstract class AbstractCache<K, V> implements Cache<K, V>{
 	// ---------------------------------------------------------------- get start
 	@Override
 	public boolean containsKey(K key) {
-		readLock.lock();
+		final Lock lock = isReadModifying() ? writeLock : readLock;
+		lock.lock();
 
 		try {
 			//不存在或已移除
@@ -80,60 +123,89 @@ public abstract class AbstractCache<K, V> implements Cache<K, V>{
 				return false;
 			}
 			
-			//过期
-			if (co.isExpired() == true) {
-				// remove(key); // 此方法无法获得锁
-				removeWithoutLock(key);
-				missCount++;
-				return false;
+			//未过期，命中
+			if (co.isExpired() == false) {
+				return true;
 			}
-
-			//命中
-			return true;
 		} finally {
-			readLock.unlock();
+			lock.unlock();
 		}
+		
+		//过期，读锁内无法修改，在写锁内移除
+		removeIfExpired(key);
+		statsCounter.recordMiss();
+		return false;
 	}
 	
 	/**
 	 * @return 命中数
+	 * @deprecated 请使用{@link #stats()}，计数可能超出int范围
 	 */
+	@Deprecated
 	public int getHitCount() {
-		return hitCount;
+		return (int) stats().hitCount();
 	}
 
 	/**
 	 * @return 丢失数
+	 * @deprecated 请使用{@link #stats()}，计数可能超出int范围
 	 */
+	@Deprecated
 	public int getMissCount() {
-		return missCount;
+		return (int) stats().missCount();
 	}
 
 	@Override
 	public V get(K key) {
-		readLock.lock();
+		// 读取会修改存储结构时（如按访问排序的LinkedHashMap），读取也必须使用写锁
+		final Lock lock = isReadModifying() ? writeLock : readLock;
+		lock.lock();
 
 		try {
 			//不存在或已移除
 			final CacheObj<K, V> co = cacheMap.get(key);
 			if (co == null) {
-				missCount++;
+				statsCounter.recordMiss();
 				return null;
 			}
 			
-			//过期
-			if (co.isExpired() == true) {
-				// remove(key); // 此方法无法获得锁
-				removeWithoutLock(key);
-				missCount++;
-				return null;
+			//未过期，命中
+			if (co.isExpired() == false) {
+				statsCounter.recordHit();
+				return co.get();
 			}
-
-			//命中
-			hitCount++;
-			return co.get();
 		} finally {
-			readLock.unlock();
+			lock.unlock();
+		}
+		
+		//过期，读锁内无法修改，在写锁内移除
+		removeIfExpired(key);
+		statsCounter.recordMiss();
+		return null;
+	}
+	
+	@Override
+	public V get(K key, CacheLoader<K, V> loader) {
+		V value = get(key);
+		if (null == value && null != loader) {
+			value = singleFlightLoader.load(this, key, loader);
+		}
+		return value;
+	}
+	
+	/**
+	 * 获取未过期的对象，不计入统计，不更新访问时间和次数，过期对象也不在此移除
+	 * @param key 键
+	 * @return 缓存的对象，不存在或已过期返回<code>null</code>
+	 */
+	V peek(K key) {
+		final Lock lock = isReadModifying() ? writeLock : readLock;
+		lock.lock();
+		try {
+			final CacheObj<K, V> co = cacheMap.get(key);
+			return (null == co || co.isExpired()) ? null : co.obj;
+		} finally {
+			lock.unlock();
 		}
 	}
 	
@@ -151,6 +223,19 @@ public abstract class AbstractCache<K, V> implements Cache<K, V>{
 		return new CacheValuesIterator<V>(copiedIterator);
 	}
 
+	/**
+	 * 获得所有缓存对象的拷贝迭代器，包括键和过期信息
+	 * @return 缓存对象迭代器
+	 */
+	Iterator<CacheObj<K, V>> cacheObjIterator() {
+		readLock.lock();
+		try {
+			return CopiedIterator.copyOf(this.cacheMap.values().iterator());
+		} finally {
+			readLock.unlock();
+		}
+	}
+
 	// ---------------------------------------------------------------- prune start
 	/**
 	 * 清理实现
@@ -192,10 +277,42 @@ public abstract class AbstractCache<K, V> implements Cache<K, V>{
 		return (timeout != 0) || existCustomTimeout;
 	}
 	
+	/**
+	 * 缓存是否已满<br>
+	 * 设置了权重计算器时，总权重加上待加入对象的权重（至少为1）超出容量即为满
+	 */
 	@Override
 	public boolean isFull() {
+		if (null != weigher) {
+			return (capacity > 0) && (totalWeight + Math.max(pendingWeight, 1) > capacity);
+		}
 		return (capacity > 0) && (cacheMap.size() >= capacity);
 	}
+	
+	/**
+	 * @return 权重计算器，<code>null</code>表示未设置
+	 */
+	public Weigher<K, V> weigher() {
+		return weigher;
+	}
+	
+	/**
+	 * 设置移除监听器，对象过期、被淘汰或被主动移除后回调
+	 * @param removalListener 移除监听器，<code>null</code>表示取消监听
+	 * @return this
+	 * @since 3.1.0
+	 */
+	public AbstractCache<K, V> setRemovalListener(RemovalListener<K, V> removalListener) {
+		this.removalListener = removalListener;
+		return this;
+	}
+	
+	/**
+	 * @return 当前所有对象的总权重，未设置权重计算器时每个对象权重为1
+	 */
+	public long totalWeight() {
+		return totalWeight;
+	}
 
 	@Override
 	public void remove(K key) {
@@ -203,11 +320,14 @@ public abstract class AbstractCache<K, V> implements Cache<K, V>{
 		CacheObj<K, V> co;
 		try {
 			co = cacheMap.remove(key);
+			if (null != co) {
+				onDetach(co);
+			}
 		} finally {
 			writeLock.unlock();
 		}
 		if(null != co){
-			onRemove(co.key, co.obj);
+			notifyRemove(co, RemovalCause.EXPLICIT);
 		}
 	}
 
@@ -215,7 +335,11 @@ public abstract class AbstractCache<K, V> implements Cache<K, V>{
 	public void clear() {
 		writeLock.lock();
 		try {
+			for (CacheObj<K, V> co : cacheMap.values()) {
+				onDetach(co);
+			}
 			cacheMap.clear();
+			totalWeight = 0;
 		} finally {
 			writeLock.unlock();
 		}
@@ -231,6 +355,16 @@ public abstract class AbstractCache<K, V> implements Cache<K, V>{
 		return cacheMap.isEmpty();
 	}
 	
+	@Override
+	public CacheStats stats() {
+		return statsCounter.snapshot();
+	}
+	
+	@Override
+	public void resetStats() {
+		statsCounter.reset();
+	}
+	
 	@Override
 	public String toString() {
 		return this.cacheMap.toString();
@@ -246,13 +380,77 @@ public abstract class AbstractCache<K, V> implements Cache<K, V>{
 	}
 	
 	/**
-	 * 移除元素，无锁
+	 * 对象被移除后调用，记录统计信息并回调{@link #onRemove(Object, Object)}
+	 * @param co 被移除的缓存对象
+	 * @param cause 移除原因
+	 */
+	protected void notifyRemove(CacheObj<K, V> co, RemovalCause cause) {
+		totalWeight -= co.weight;
+		statsCounter.recordRemoval(cause, System.currentTimeMillis() - co.createTime);
+		onRemove(co.key, co.obj);
+		if (null != removalListener) {
+			removalListener.onRemoval(co.key, co.obj, cause);
+		}
+	}
+	
+	/**
+	 * 读取时是否会修改存储结构，是则读取时使用写锁<br>
+	 * 例如按访问顺序排序的{@link java.util.LinkedHashMap}，每次get都会调整链表
+	 * @return 读取时是否会修改存储结构，默认false
+	 */
+	protected boolean isReadModifying() {
+		return false;
+	}
+	
+	/**
+	 * 对象加入回调，在写锁内被调用。默认无动作
+	 * @param co 加入的缓存对象
+	 */
+	protected void onPut(CacheObj<K, V> co) {
+	}
+	
+	/**
+	 * 对象被本类移除（主动移除、替换、读取时过期或清空）时在写锁内调用，默认无动作<br>
+	 * 用于维护子类的附加索引，子类在{@link #pruneCache()}中自行移除的对象不会回调此方法
+	 * @param co 被移除的缓存对象
+	 */
+	protected void onDetach(CacheObj<K, V> co) {
+	}
+	
+	/**
+	 * 在写锁内移除过期元素，元素已被替换为未过期的新对象时不移除
 	 * @param key 键
 	 */
-	private void removeWithoutLock(K key) {
-		CacheObj<K, V> co = cacheMap.remove(key);
-		if(null != co){
-			onRemove(co.key, co.obj);
+	private void removeIfExpired(K key) {
+		writeLock.lock();
+		try {
+			final CacheObj<K, V> co = cacheMap.get(key);
+			if (null != co && co.isExpired()) {
+				cacheMap.remove(key);
+				onDetach(co);
+				notifyRemove(co, RemovalCause.EXPIRED);
+			}
+		} finally {
+			writeLock.unlock();
+		}
+	}
+	
+	/**
+	 * 按权重淘汰，直到可以放下新对象，调用时必须持有写锁
+	 * @param co 新对象
+	 */
+	private void pruneForWeight(CacheObj<K, V> co) {
+		final CacheObj<K, V> existing = cacheMap.get(co.key);
+		pendingWeight = co.weight - (null == existing ? 0 : existing.weight);
+		try {
+			while (isFull() && false == cacheMap.isEmpty()) {
+				if (0 == pruneCache()) {
+					// 清理策略无法再释放空间
+					break;
+				}
+			}
+		} finally {
+			pendingWeight = 0;
 		}
 	}
 }
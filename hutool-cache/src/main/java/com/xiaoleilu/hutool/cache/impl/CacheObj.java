@@ -11,6 +11,8 @@ public class CacheObj<K, V> {
 	
 	final K key;
 	final V obj;
+	/** 创建时间 */
+	final long createTime;
 	
 	/** 上次访问时间 */
 	long lastAccess; 
@@ -18,12 +20,17 @@ public class CacheObj<K, V> {
 	long accessCount;
 	/** 对象存活时长，0表示永久存活*/
 	long ttl;
+	/** 权重，未设置权重计算器时为1 */
+	int weight = 1;
+	/** 所在的时间轮节点，未登记到时间轮时为<code>null</code>，仅用于{@link TimedCache} */
+	TimerWheel.Node<K, V> timerNode;
 	
 	CacheObj(K key, V obj, long ttl) {
 		this.key = key;
 		this.obj = obj;
 		this.ttl = ttl;
-		this.lastAccess = System.currentTimeMillis();
+		this.createTime = System.currentTimeMillis();
+		this.lastAccess = this.createTime;
 	}
 	
 	/**
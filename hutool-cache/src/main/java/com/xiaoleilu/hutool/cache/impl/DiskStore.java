@@ -0,0 +1,611 @@
+package com.xiaoleilu.hutool.cache.impl;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.xiaoleilu.hutool.io.FileUtil;
+import com.xiaoleilu.hutool.io.IORuntimeException;
+import com.xiaoleilu.hutool.io.IoUtil;
+import com.xiaoleilu.hutool.log.StaticLog;
+import com.xiaoleilu.hutool.util.ObjectUtil;
+
+/**
+ * 磁盘存储，作为二级缓存的存储层<br>
+ * 所有写入追加到单个数据文件的末尾，每条记录格式为：
+ *
+ * <pre>
+ * | key长度(int) | value长度(int，-1表示删除) | 过期时间(long，0表示永不过期) | key | value |
+ * </pre>
+ *
+ * 内存中只保存key到记录位置的索引，打开时扫描记录头重建索引（只反序列化key），value通过内存映射按需读取。<br>
+ * 废弃记录（被覆盖、删除或过期）超过有效记录时将有效记录写入临时文件，再原子替换数据文件，替换失败时继续使用原文件。<br>
+ * Windows下数据文件存在未释放的内存映射时无法被替换，压缩会失败，待文件继续增长后再重试。<br>
+ * 键和值必须实现{@link java.io.Serializable}，所有方法线程安全。
+ *
+ * @author Looly
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @since 3.1.0
+ */
+class DiskStore<K, V> implements Closeable {
+
+	/** 记录头长度 */
+	private static final int HEADER_SIZE = 16;
+	/** 删除标记 */
+	private static final int TOMBSTONE = -1;
+	/** 数据文件超过此大小才会压缩 */
+	private static final long COMPACT_THRESHOLD = 1024 * 1024;
+	/** 未映射的文件尾部超过此大小时重新映射 */
+	private static final long REMAP_THRESHOLD = 64 * 1024;
+
+	/** 数据文件 */
+	private final File file;
+	private RandomAccessFile raf;
+	private FileChannel channel;
+	/** 数据文件的只读映射，只覆盖映射时的文件长度，之后追加的记录通过channel读取 */
+	private MappedByteBuffer mapped;
+
+	/** key到记录位置的索引 */
+	private final Map<K, Slot> index = new HashMap<>();
+	/** 文件写入位置，即文件有效长度 */
+	private long writePosition;
+	/** 有效记录的总长度 */
+	private long liveBytes;
+	/** 压缩失败后，文件增长到此位置前不再尝试压缩 */
+	private long nextCompactPosition;
+
+	/**
+	 * 构造，打开或创建数据文件并重建索引
+	 *
+	 * @param file 数据文件
+	 * @throws IORuntimeException IO异常
+	 */
+	DiskStore(File file) throws IORuntimeException {
+		this.file = file;
+		try {
+			FileUtil.mkParentDirs(file);
+			openChannel();
+			loadIndex();
+		} catch (IOException e) {
+			IoUtil.close(raf);
+			throw new IORuntimeException(e);
+		}
+	}
+
+	/**
+	 * 写入对象，同一key的旧记录作废
+	 *
+	 * @param key 键
+	 * @param value 值
+	 * @param expireAt 过期时间点（毫秒时间戳），0表示永不过期
+	 * @return 是否写入成功，键或值不可序列化、文件超出2GB时返回false
+	 * @throws IORuntimeException IO异常
+	 */
+	boolean put(K key, V value, long expireAt) throws IORuntimeException {
+		final byte[] keyBytes = ObjectUtil.serialize(key);
+		final byte[] valueBytes = ObjectUtil.serialize(value);
+		if (null == keyBytes || null == valueBytes) {
+			return false;
+		}
+
+		synchronized (this) {
+			checkOpen();
+			final Slot slot = new Slot(writePosition, keyBytes.length, valueBytes.length, expireAt);
+			if (false == append(keyBytes, valueBytes, slot)) {
+				return false;
+			}
+			final Slot old = index.put(key, slot);
+			if (null != old) {
+				liveBytes -= old.recordLength();
+			}
+			liveBytes += slot.recordLength();
+			compactIfNecessary();
+			return true;
+		}
+	}
+
+	/**
+	 * 获得对象
+	 *
+	 * @param key 键
+	 * @return 值，不存在或已过期返回<code>null</code>
+	 * @throws IORuntimeException IO异常
+	 */
+	V get(K key) throws IORuntimeException {
+		final byte[] bytes = read(key, false);
+		return (null == bytes) ? null : ObjectUtil.<V>unserialize(bytes);
+	}
+
+	/**
+	 * 获得并删除对象
+	 *
+	 * @param key 键
+	 * @return 值，不存在或已过期返回<code>null</code>
+	 * @throws IORuntimeException IO异常
+	 */
+	V take(K key) throws IORuntimeException {
+		final byte[] bytes = read(key, true);
+		return (null == bytes) ? null : ObjectUtil.<V>unserialize(bytes);
+	}
+
+	/**
+	 * 是否包含未过期的对象
+	 *
+	 * @param key 键
+	 * @return 是否包含
+	 */
+	synchronized boolean containsKey(K key) {
+		final Slot slot = index.get(key);
+		if (null == slot) {
+			return false;
+		}
+		if (slot.isExpired(System.currentTimeMillis())) {
+			removeSlot(key, slot);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * 删除对象，写入删除标记
+	 *
+	 * @param key 键
+	 * @throws IORuntimeException IO异常
+	 */
+	synchronized void remove(K key) throws IORuntimeException {
+		final Slot slot = index.remove(key);
+		if (null == slot) {
+			return;
+		}
+		liveBytes -= slot.recordLength();
+		if (slot.isExpired(System.currentTimeMillis()) == false) {
+			writeTombstone(key);
+		}
+	}
+
+	/**
+	 * 从索引中清除过期对象，过期信息已写入记录，无需写入删除标记
+	 *
+	 * @return 清除数
+	 */
+	synchronized int prune() {
+		final long now = System.currentTimeMillis();
+		int count = 0;
+		final Iterator<Slot> slots = index.values().iterator();
+		Slot slot;
+		while (slots.hasNext()) {
+			slot = slots.next();
+			if (slot.isExpired(now)) {
+				slots.remove();
+				liveBytes -= slot.recordLength();
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return 对象数，包括尚未清除的过期对象
+	 */
+	synchronized int size() {
+		return index.size();
+	}
+
+	/**
+	 * 清空所有对象并截断数据文件
+	 *
+	 * @throws IORuntimeException IO异常
+	 */
+	synchronized void clear() throws IORuntimeException {
+		checkOpen();
+		index.clear();
+		mapped = null;
+		try {
+			channel.truncate(0);
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+		writePosition = 0;
+		liveBytes = 0;
+		nextCompactPosition = 0;
+	}
+
+	/**
+	 * 将写入强制刷到磁盘
+	 *
+	 * @throws IORuntimeException IO异常
+	 */
+	synchronized void flush() throws IORuntimeException {
+		checkOpen();
+		try {
+			channel.force(false);
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IORuntimeException {
+		if (null == channel) {
+			return;
+		}
+		try {
+			channel.force(false);
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		} finally {
+			IoUtil.close(raf);
+			raf = null;
+			channel = null;
+			mapped = null;
+		}
+	}
+
+	// ---------------------------------------------------------------- private method start
+	/**
+	 * 读取value字节，反序列化在锁外进行
+	 *
+	 * @param key 键
+	 * @param remove 读取后是否删除
+	 * @return value字节，不存在或已过期返回<code>null</code>
+	 */
+	private synchronized byte[] read(K key, boolean remove) {
+		checkOpen();
+		final Slot slot = index.get(key);
+		if (null == slot) {
+			return null;
+		}
+		if (slot.isExpired(System.currentTimeMillis())) {
+			removeSlot(key, slot);
+			return null;
+		}
+
+		final byte[] bytes = new byte[slot.valueLength];
+		final long valueOffset = slot.offset + HEADER_SIZE + slot.keyLength;
+		try {
+			remapIfNecessary();
+			if (null != mapped && valueOffset + bytes.length <= mapped.capacity()) {
+				final ByteBuffer view = mapped.duplicate();
+				view.position((int) valueOffset);
+				view.get(bytes);
+			} else {
+				readFully(ByteBuffer.wrap(bytes), valueOffset);
+			}
+			if (remove) {
+				index.remove(key);
+				liveBytes -= slot.recordLength();
+				writeTombstone(key);
+			}
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+		return bytes;
+	}
+
+	/**
+	 * 从索引中移除过期对象
+	 *
+	 * @param key 键
+	 * @param slot 记录位置
+	 */
+	private void removeSlot(K key, Slot slot) {
+		index.remove(key);
+		liveBytes -= slot.recordLength();
+	}
+
+	/**
+	 * 写入删除标记，重启后重建索引时删除标记使之前的记录作废
+	 *
+	 * @param key 键
+	 */
+	private void writeTombstone(K key) {
+		final byte[] keyBytes = ObjectUtil.serialize(key);
+		append(keyBytes, null, new Slot(writePosition, keyBytes.length, TOMBSTONE, 0));
+		compactIfNecessary();
+	}
+
+	/**
+	 * 在文件末尾追加记录
+	 *
+	 * @param keyBytes key字节
+	 * @param valueBytes value字节，<code>null</code>表示删除标记
+	 * @param slot 记录位置
+	 * @return 是否追加成功，文件超出2GB时返回false
+	 */
+	private boolean append(byte[] keyBytes, byte[] valueBytes, Slot slot) {
+		final int recordLength = slot.recordLength();
+		if (writePosition + recordLength > Integer.MAX_VALUE) {
+			if (false == compact() || writePosition + recordLength > Integer.MAX_VALUE) {
+				return false;
+			}
+			slot.offset = writePosition;
+		}
+
+		final ByteBuffer buffer = ByteBuffer.allocate(recordLength);
+		buffer.putInt(keyBytes.length).putInt(slot.valueLength).putLong(slot.expireAt).put(keyBytes);
+		if (null != valueBytes) {
+			buffer.put(valueBytes);
+		}
+		buffer.flip();
+		try {
+			long position = writePosition;
+			while (buffer.hasRemaining()) {
+				position += channel.write(buffer, position);
+			}
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+		writePosition += recordLength;
+		return true;
+	}
+
+	/**
+	 * 废弃记录超过有效记录时压缩，压缩失败后待文件继续增长再重试
+	 */
+	private void compactIfNecessary() {
+		if (writePosition > COMPACT_THRESHOLD && writePosition >= nextCompactPosition && writePosition - liveBytes > liveBytes) {
+			compact();
+		}
+	}
+
+	/**
+	 * 压缩数据文件，将有效记录写入临时文件后原子替换原文件<br>
+	 * 新的记录位置在替换成功后才更新到索引，失败时删除临时文件并重新打开原文件，索引保持不变
+	 *
+	 * @return 是否压缩成功
+	 * @throws IORuntimeException 替换失败后重新打开原文件失败
+	 */
+	private boolean compact() throws IORuntimeException {
+		final File tmpFile = new File(file.getPath() + ".tmp");
+		final Map<Slot, Long> offsets = new IdentityHashMap<>();
+		RandomAccessFile tmpRaf = null;
+		long position = 0;
+		try {
+			tmpRaf = new RandomAccessFile(tmpFile, "rw");
+			final FileChannel tmpChannel = tmpRaf.getChannel();
+			tmpChannel.truncate(0);
+
+			final long now = System.currentTimeMillis();
+			final Iterator<Entry<K, Slot>> entries = index.entrySet().iterator();
+			Slot slot;
+			ByteBuffer record;
+			while (entries.hasNext()) {
+				slot = entries.next().getValue();
+				if (slot.isExpired(now)) {
+					entries.remove();
+					liveBytes -= slot.recordLength();
+					continue;
+				}
+				record = ByteBuffer.allocate(slot.recordLength());
+				readFully(record, slot.offset);
+				record.flip();
+				while (record.hasRemaining()) {
+					tmpChannel.write(record, position + record.position());
+				}
+				offsets.put(slot, position);
+				position += slot.recordLength();
+			}
+			tmpChannel.force(false);
+		} catch (IOException e) {
+			IoUtil.close(tmpRaf);
+			return compactFailed(tmpFile, e);
+		} finally {
+			IoUtil.close(tmpRaf);
+		}
+
+		IoUtil.close(raf);
+		mapped = null;
+		try {
+			replaceWith(tmpFile);
+		} catch (IOException e) {
+			reopen();
+			return compactFailed(tmpFile, e);
+		}
+
+		for (Entry<Slot, Long> entry : offsets.entrySet()) {
+			entry.getKey().offset = entry.getValue();
+		}
+		reopen();
+		writePosition = position;
+		liveBytes = position;
+		nextCompactPosition = 0;
+		return true;
+	}
+
+	/**
+	 * 压缩失败，删除临时文件，推迟下次压缩
+	 *
+	 * @param tmpFile 临时文件
+	 * @param e 异常
+	 * @return false
+	 */
+	private boolean compactFailed(File tmpFile, IOException e) {
+		tmpFile.delete();
+		nextCompactPosition = writePosition + Math.max(COMPACT_THRESHOLD, writePosition >> 1);
+		StaticLog.warn(e, "Compact [{}] error, keep using the original file.", file);
+		return false;
+	}
+
+	/**
+	 * 使用临时文件原子替换数据文件，文件系统不支持原子移动时直接覆盖
+	 *
+	 * @param tmpFile 临时文件
+	 * @throws IOException IO异常
+	 */
+	private void replaceWith(File tmpFile) throws IOException {
+		try {
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * 未映射的文件尾部过大时重新映射整个文件
+	 *
+	 * @throws IOException IO异常
+	 */
+	private void remapIfNecessary() throws IOException {
+		final long mappedLength = (null == mapped) ? 0 : mapped.capacity();
+		if (writePosition - mappedLength > Math.max(REMAP_THRESHOLD, mappedLength >> 2)) {
+			mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, writePosition);
+		}
+	}
+
+	/**
+	 * 扫描数据文件，重建索引<br>
+	 * 崩溃时未写完的尾部记录被截断
+	 *
+	 * @throws IOException IO异常
+	 */
+	private void loadIndex() throws IOException {
+		final long size = channel.size();
+		final long now = System.currentTimeMillis();
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		long position = 0;
+		int keyLength;
+		int valueLength;
+		long expireAt;
+		Slot slot;
+		ByteBuffer keyBuffer;
+		K key;
+		Slot old;
+		while (position + HEADER_SIZE <= size) {
+			header.clear();
+			readFully(header, position);
+			header.flip();
+			keyLength = header.getInt();
+			valueLength = header.getInt();
+			expireAt = header.getLong();
+			if (keyLength <= 0 || valueLength < TOMBSTONE) {
+				// 记录损坏
+				break;
+			}
+			slot = new Slot(position, keyLength, valueLength, expireAt);
+			if (position + slot.recordLength() > size) {
+				// 未写完的记录
+				break;
+			}
+
+			keyBuffer = ByteBuffer.allocate(keyLength);
+			readFully(keyBuffer, position + HEADER_SIZE);
+			key = ObjectUtil.unserialize(keyBuffer.array());
+			old = index.remove(key);
+			if (null != old) {
+				liveBytes -= old.recordLength();
+			}
+			if (valueLength != TOMBSTONE && slot.isExpired(now) == false) {
+				index.put(key, slot);
+				liveBytes += slot.recordLength();
+			}
+			position += slot.recordLength();
+		}
+
+		if (position < size) {
+			channel.truncate(position);
+		}
+		writePosition = position;
+	}
+
+	/**
+	 * 打开数据文件
+	 *
+	 * @throws IOException IO异常
+	 */
+	private void openChannel() throws IOException {
+		raf = new RandomAccessFile(file, "rw");
+		channel = raf.getChannel();
+	}
+
+	/**
+	 * 压缩后重新打开数据文件，失败时存储被关闭
+	 *
+	 * @throws IORuntimeException IO异常
+	 */
+	private void reopen() throws IORuntimeException {
+		try {
+			openChannel();
+		} catch (IOException e) {
+			raf = null;
+			channel = null;
+			throw new IORuntimeException(e);
+		}
+	}
+
+	/**
+	 * 从指定位置读满缓冲区
+	 *
+	 * @param buffer 缓冲区
+	 * @param position 文件位置
+	 * @throws IOException IO异常，文件长度不足时抛出{@link EOFException}
+	 */
+	private void readFully(ByteBuffer buffer, long position) throws IOException {
+		int read;
+		while (buffer.hasRemaining()) {
+			read = channel.read(buffer, position);
+			if (read < 0) {
+				throw new EOFException();
+			}
+			position += read;
+		}
+	}
+
+	/**
+	 * 检查是否已关闭
+	 */
+	private void checkOpen() {
+		if (null == channel) {
+			throw new IllegalStateException("DiskStore is closed!");
+		}
+	}
+	// ---------------------------------------------------------------- private method end
+
+	/**
+	 * 记录在数据文件中的位置
+	 *
+	 * @author Looly
+	 */
+	private static class Slot {
+		long offset;
+		final int keyLength;
+		final int valueLength;
+		final long expireAt;
+
+		Slot(long offset, int keyLength, int valueLength, long expireAt) {
+			this.offset = offset;
+			this.keyLength = keyLength;
+			this.valueLength = valueLength;
+			this.expireAt = expireAt;
+		}
+
+		/**
+		 * @return 记录总长度
+		 */
+		int recordLength() {
+			return HEADER_SIZE + keyLength + Math.max(valueLength, 0);
+		}
+
+		/**
+		 * @param now 当前时间
+		 * @return 是否过期
+		 */
+		boolean isExpired(long now) {
+			return expireAt > 0 && expireAt <= now;
+		}
+	}
+}
@@ -3,6 +3,9 @@ package com.xiaoleilu.hutool.cache.impl;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 
+import com.xiaoleilu.hutool.cache.RemovalCause;
+import com.xiaoleilu.hutool.cache.Weigher;
+
 /**
  * FIFO(first in first out) 先进先出缓存.
  *
@@ -35,9 +38,24 @@ public class FIFOCache<K, V> extends AbstractCache<K, V> {
 	 * @param timeout 过期时长
 	 */
 	public FIFOCache(int capacity, long timeout) {
+		this(capacity, timeout, null);
+	}
+
+	/**
+	 * 构造，设置权重计算器后，容量表示所有对象的总权重
+	 * 
+	 * @param capacity 容量（总权重）
+	 * @param timeout 过期时长
+	 * @param weigher 权重计算器，<code>null</code>表示按对象个数计算容量
+	 * @since 3.1.0
+	 */
+	public FIFOCache(int capacity, long timeout, Weigher<K, V> weigher) {
 		this.capacity = capacity;
 		this.timeout = timeout;
-		cacheMap = new LinkedHashMap<K, CacheObj<K, V>>(capacity + 1, 1.0f, false);
+		this.weigher = weigher;
+		//按权重计算容量时，容量与对象个数无关，使用默认初始大小
+		final int initialCapacity = (null == weigher) ? capacity + 1 : 16;
+		cacheMap = new LinkedHashMap<K, CacheObj<K, V>>(initialCapacity, 1.0f, false);
 	}
 
 	/**
@@ -55,7 +73,9 @@ public class FIFOCache<K, V> extends AbstractCache<K, V> {
 			CacheObj<K, V> co = values.next();
 			if (co.isExpired()) {
 				values.remove();
+				notifyRemove(co, RemovalCause.EXPIRED);
 				count++;
+				continue;
 			}
 			if (first == null) {
 				first = co;
@@ -65,7 +85,7 @@ public class FIFOCache<K, V> extends AbstractCache<K, V> {
 		// 清理结束后依旧是满的，则删除第一个被缓存的对象
 		if (isFull() && null != first) {
 			cacheMap.remove(first.key);
-			onRemove(first.key, first.obj);
+			notifyRemove(first, RemovalCause.SIZE);
 			count++;
 		}
 		return count;
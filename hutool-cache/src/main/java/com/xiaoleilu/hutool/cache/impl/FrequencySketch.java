@@ -0,0 +1,132 @@
+package com.xiaoleilu.hutool.cache.impl;
+
+/**
+ * 访问频率估算器（Count-Min Sketch）<br>
+ * 每个long存放16个4位计数器，每个key映射到4个计数器，频率取其中最小值，计数上限为15。<br>
+ * 累计增加次数达到采样数（容量的10倍）时，所有计数器减半（老化），使历史热点逐渐冷却。<br>
+ * 此类非线程安全，由调用方加锁。
+ *
+ * @author Looly
+ *
+ * @param <E> 元素类型
+ * @since 3.1.0
+ */
+class FrequencySketch<E> {
+
+	/** 4个哈希种子，用于计算4个计数器位置 */
+	private static final long[] SEED = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+	/** 老化时清除每个4位计数器最高位的掩码 */
+	private static final long RESET_MASK = 0x7777777777777777L;
+	/** 4位计数器最大值 */
+	private static final int MAX_COUNT = 15;
+
+	private final long[] table;
+	private final int tableMask;
+	/** 触发老化的采样数 */
+	private final int sampleSize;
+	/** 当前采样计数 */
+	private int size;
+
+	/**
+	 * 构造
+	 *
+	 * @param capacity 缓存容量
+	 */
+	FrequencySketch(int capacity) {
+		int tableSize = 1;
+		final int maximum = Math.min(Math.max(capacity, 1), 1 << 30);
+		while (tableSize < maximum) {
+			tableSize <<= 1;
+		}
+		this.table = new long[tableSize];
+		this.tableMask = tableSize - 1;
+		this.sampleSize = (capacity > Integer.MAX_VALUE / 10) ? Integer.MAX_VALUE : Math.max(10 * capacity, 10);
+	}
+
+	/**
+	 * 估算元素的访问频率
+	 *
+	 * @param e 元素
+	 * @return 频率，0~15
+	 */
+	int frequency(E e) {
+		final int hash = spread(e.hashCode());
+		final int start = (hash & 3) << 2;
+		int frequency = MAX_COUNT;
+		for (int i = 0; i < 4; i++) {
+			final int index = indexOf(hash, i);
+			final int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+			frequency = Math.min(frequency, count);
+		}
+		return frequency;
+	}
+
+	/**
+	 * 增加元素的访问频率，累计达到采样数时执行老化
+	 *
+	 * @param e 元素
+	 */
+	void increment(E e) {
+		final int hash = spread(e.hashCode());
+		final int start = (hash & 3) << 2;
+		boolean added = false;
+		for (int i = 0; i < 4; i++) {
+			added |= incrementAt(indexOf(hash, i), start + i);
+		}
+		if (added && ++size >= sampleSize) {
+			reset();
+		}
+	}
+
+	/**
+	 * 指定位置的计数器加一，已达上限则不变
+	 *
+	 * @param i long数组下标
+	 * @param j 计数器在long中的序号，0~15
+	 * @return 是否增加成功
+	 */
+	private boolean incrementAt(int i, int j) {
+		final int offset = j << 2;
+		final long mask = (0xfL << offset);
+		if ((table[i] & mask) != mask) {
+			table[i] += (1L << offset);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * 老化：所有计数器减半
+	 */
+	private void reset() {
+		for (int i = 0; i < table.length; i++) {
+			table[i] = (table[i] >>> 1) & RESET_MASK;
+		}
+		size >>>= 1;
+	}
+
+	/**
+	 * 计算第i个计数器所在的long数组下标
+	 *
+	 * @param hash 元素hash
+	 * @param i 计数器序号
+	 * @return 下标
+	 */
+	private int indexOf(int hash, int i) {
+		long h = (hash + SEED[i]) * SEED[i];
+		h += (h >>> 32);
+		return ((int) h) & tableMask;
+	}
+
+	/**
+	 * 对hashCode再次散列，避免低质量hash集中
+	 *
+	 * @param x hashCode
+	 * @return 散列后的hash
+	 */
+	private static int spread(int x) {
+		x = ((x >>> 16) ^ x) * 0x45d9f3b;
+		x = ((x >>> 16) ^ x) * 0x45d9f3b;
+		return (x >>> 16) ^ x;
+	}
+}
@@ -3,6 +3,9 @@ package com.xiaoleilu.hutool.cache.impl;
 import java.util.HashMap;
 import java.util.Iterator;
 
+import com.xiaoleilu.hutool.cache.RemovalCause;
+import com.xiaoleilu.hutool.cache.Weigher;
+
 /**
  * LFU(least frequently used) 最少使用率缓存<br>
  * 根据使用次数来判定对象是否被持续缓存<br>
@@ -33,9 +36,24 @@ public class LFUCache<K, V> extends AbstractCache<K, V> {
 	 * @param timeout 过期时长
 	 */
 	public LFUCache(int capacity, long timeout) {
+		this(capacity, timeout, null);
+	}
+
+	/**
+	 * 构造，设置权重计算器后，容量表示所有对象的总权重
+	 * 
+	 * @param capacity 容量（总权重）
+	 * @param timeout 过期时长
+	 * @param weigher 权重计算器，<code>null</code>表示按对象个数计算容量
+	 * @since 3.1.0
+	 */
+	public LFUCache(int capacity, long timeout, Weigher<K, V> weigher) {
 		this.capacity = capacity;
 		this.timeout = timeout;
-		cacheMap = new HashMap<K, CacheObj<K, V>>(capacity + 1, 1.0f);
+		this.weigher = weigher;
+		//按权重计算容量时，容量与对象个数无关，使用默认初始大小
+		final int initialCapacity = (null == weigher) ? capacity + 1 : 16;
+		cacheMap = new HashMap<K, CacheObj<K, V>>(initialCapacity, 1.0f);
 	}
 
 	// ---------------------------------------------------------------- prune
@@ -58,7 +76,7 @@ public class LFUCache<K, V> extends AbstractCache<K, V> {
 			co = values.next();
 			if (co.isExpired() == true) {
 				values.remove();
-				onRemove(co.key, co.obj);
+				notifyRemove(co, RemovalCause.EXPIRED);
 				count++;
 				continue;
 			}
@@ -80,7 +98,7 @@ public class LFUCache<K, V> extends AbstractCache<K, V> {
 				co1.accessCount -= minAccessCount;
 				if (co1.accessCount <= 0) {
 					values.remove();
-					onRemove(co1.key, co1.obj);
+					notifyRemove(co1, RemovalCause.SIZE);
 					count++;
 				}
 			}
@@ -4,6 +4,9 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Iterator;
 
+import com.xiaoleilu.hutool.cache.RemovalCause;
+import com.xiaoleilu.hutool.cache.Weigher;
+
 /**
  * LRU (least recently used)最近最久未使用缓存<br>
  * 根据使用时间来判定对象是否被持续缓存<br>
@@ -33,20 +36,39 @@ public class LRUCache<K, V> extends AbstractCache<K, V> {
 	 * @param timeout 默认超时时间，单位：毫秒
 	 */
 	public LRUCache(int capacity, long timeout) {
+		this(capacity, timeout, null);
+	}
+	
+	/**
+	 * 构造，设置权重计算器后，容量表示所有对象的总权重
+	 * @param capacity 容量（总权重）
+	 * @param timeout 默认超时时间，单位：毫秒
+	 * @param weigher 权重计算器，<code>null</code>表示按对象个数计算容量
+	 * @since 3.1.0
+	 */
+	public LRUCache(int capacity, long timeout, Weigher<K, V> weigher) {
 		this.capacity = capacity;
 		this.timeout = timeout;
+		this.weigher = weigher;
 		
 		//链表key按照访问顺序排序，调用get方法后，会将这次访问的元素移至头部
-		cacheMap = new LinkedHashMap<K, CacheObj<K, V>>(capacity + 1, 1.0f, true){
+		//按权重计算容量时，容量与对象个数无关，使用默认初始大小
+		final int initialCapacity = (null == weigher) ? capacity + 1 : 16;
+		cacheMap = new LinkedHashMap<K, CacheObj<K, V>>(initialCapacity, 1.0f, true){
 			private static final long serialVersionUID = -1806954614512571136L;
 
 			@Override
 			protected boolean removeEldestEntry(Map.Entry<K, CacheObj<K, V>> eldest) {
-				if(LRUCache.this.capacity == 0) {
+				if(LRUCache.this.capacity == 0 || null != LRUCache.this.weigher) {
+					//按权重淘汰由pruneCache完成
 					return false;
 				}
 				//当链表元素大于容量时，移除最老（最久未被使用）的元素
-				return size() > LRUCache.this.capacity;
+				if(size() > LRUCache.this.capacity) {
+					notifyRemove(eldest.getValue(), RemovalCause.SIZE);
+					return true;
+				}
+				return false;
 			}
 		};
 	}
@@ -54,24 +76,40 @@ public class LRUCache<K, V> extends AbstractCache<K, V> {
 	// ---------------------------------------------------------------- prune
 
 	/**
-	 * 只清理超时对象，LRU的实现会交给<code>LinkedHashMap</code>
+	 * 按访问顺序排序的<code>LinkedHashMap</code>在get时会调整链表，因此读取也需要写锁
+	 */
+	@Override
+	protected boolean isReadModifying() {
+		return true;
+	}
+
+	/**
+	 * 清理超时对象，按对象个数的LRU淘汰交给<code>LinkedHashMap</code><br>
+	 * 设置了权重计算器时，清理后依旧满则移除最久未使用的对象
 	 */
 	@Override
 	protected int pruneCache() {
-		if (isPruneExpiredActive() == false) {
-			return 0;
-		}
 		int count = 0;
-		Iterator<CacheObj<K, V>> values = cacheMap.values().iterator();
-		CacheObj<K, V> co;
-		while (values.hasNext()) {
-			co = values.next();
-			if (co.isExpired()) {
-				values.remove();
-				onRemove(co.key, co.obj);
-				count++;
+		if (isPruneExpiredActive()) {
+			Iterator<CacheObj<K, V>> values = cacheMap.values().iterator();
+			CacheObj<K, V> co;
+			while (values.hasNext()) {
+				co = values.next();
+				if (co.isExpired()) {
+					values.remove();
+					notifyRemove(co, RemovalCause.EXPIRED);
+					count++;
+				}
 			}
 		}
+		
+		if (null != weigher && isFull() && false == cacheMap.isEmpty()) {
+			final Iterator<CacheObj<K, V>> values = cacheMap.values().iterator();
+			final CacheObj<K, V> eldest = values.next();
+			values.remove();
+			notifyRemove(eldest, RemovalCause.SIZE);
+			count++;
+		}
 		return count;
 	}
 }
@@ -0,0 +1,352 @@
+package com.xiaoleilu.hutool.cache.impl;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import com.xiaoleilu.hutool.cache.Cache;
+import com.xiaoleilu.hutool.cache.CacheException;
+import com.xiaoleilu.hutool.cache.CacheLoader;
+import com.xiaoleilu.hutool.cache.CacheStats;
+import com.xiaoleilu.hutool.cache.LoadableCache;
+import com.xiaoleilu.hutool.thread.GlobalThreadPool;
+
+/**
+ * 自动加载缓存<br>
+ * 包装一个已有缓存，并绑定{@link CacheLoader}：
+ * <ul>
+ * 		<li>未命中时通过加载器加载，同一个key的并发加载被合并为一次</li>
+ * 		<li>设置了提前刷新时长时，对象写入超过此时长后的首次读取会在后台线程重新加载，读取线程直接返回旧值而不阻塞</li>
+ * </ul>
+ * 提前刷新时长应小于被包装缓存的超时时长，这样热点对象在过期前即被刷新，不会出现集中未命中。<br>
+ * 加载器中不能再通过本缓存加载同一个key，否则抛出{@link CacheException}。
+ *
+ * @author Looly
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @since 3.1.0
+ */
+public class LoadingCache<K, V> implements LoadableCache<K, V> {
+
+	/** 被包装的缓存 */
+	private final Cache<K, V> cache;
+	/** 默认加载器 */
+	private final CacheLoader<K, V> loader;
+	/** 写入后多久触发后台刷新，0表示不刷新，单位：毫秒 */
+	private final long refreshAfterWrite;
+	/** 执行后台刷新的线程池 */
+	private final Executor refreshExecutor;
+
+	/** 加载统计，命中和淘汰由被包装的缓存统计 */
+	private final StatsCounter loadStatsCounter = new StatsCounter();
+	/** 合并同一key的并发加载 */
+	private final SingleFlightLoader<K, V> singleFlightLoader = new SingleFlightLoader<K, V>(loadStatsCounter) {
+		@Override
+		V getIfPresent(K key) {
+			return peek(cache, key);
+		}
+	};
+	/** 对象写入时间，仅在开启提前刷新时记录 */
+	private final ConcurrentHashMap<K, Long> writeTimeMap = new ConcurrentHashMap<>();
+	/** 正在后台刷新的key */
+	private final ConcurrentHashMap<K, Boolean> refreshingMap = new ConcurrentHashMap<>();
+
+	/**
+	 * 构造，不提前刷新
+	 *
+	 * @param cache 被包装的缓存
+	 * @param loader 加载器
+	 */
+	public LoadingCache(Cache<K, V> cache, CacheLoader<K, V> loader) {
+		this(cache, loader, 0);
+	}
+
+	/**
+	 * 构造，后台刷新使用{@link GlobalThreadPool}
+	 *
+	 * @param cache 被包装的缓存
+	 * @param loader 加载器
+	 * @param refreshAfterWrite 写入后多久触发后台刷新，0表示不刷新，单位：毫秒
+	 */
+	public LoadingCache(Cache<K, V> cache, CacheLoader<K, V> loader, long refreshAfterWrite) {
+		this(cache, loader, refreshAfterWrite, GlobalThreadPool.getExecutor());
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param cache 被包装的缓存
+	 * @param loader 加载器
+	 * @param refreshAfterWrite 写入后多久触发后台刷新，0表示不刷新，单位：毫秒
+	 * @param refreshExecutor 执行后台刷新的线程池
+	 */
+	public LoadingCache(Cache<K, V> cache, CacheLoader<K, V> loader, long refreshAfterWrite, Executor refreshExecutor) {
+		if (null == cache || null == loader) {
+			throw new NullPointerException("Cache and loader must be not null!");
+		}
+		this.cache = cache;
+		this.loader = loader;
+		this.refreshAfterWrite = refreshAfterWrite;
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	// ---------------------------------------------------------------- put start
+	@Override
+	public void put(K key, V object) {
+		put(key, object, cache.timeout());
+	}
+
+	@Override
+	public void put(K key, V object, long timeout) {
+		cache.put(key, object, timeout);
+		if (refreshAfterWrite > 0) {
+			writeTimeMap.put(key, System.currentTimeMillis());
+			cleanWriteTimes();
+		}
+	}
+	// ---------------------------------------------------------------- put end
+
+	// ---------------------------------------------------------------- get start
+	/**
+	 * 从缓存中获得对象，未命中时使用默认加载器加载
+	 *
+	 * @param key 键
+	 * @return 键对应的对象
+	 */
+	@Override
+	public V get(K key) {
+		return get(key, this.loader);
+	}
+
+	@Override
+	public V get(K key, CacheLoader<K, V> loader) {
+		final V value = cache.get(key);
+		if (null == value) {
+			writeTimeMap.remove(key);
+			if (null == loader) {
+				return null;
+			}
+			final V loaded = singleFlightLoader.load(cache, key, loader);
+			if (null != loaded && refreshAfterWrite > 0) {
+				writeTimeMap.putIfAbsent(key, System.currentTimeMillis());
+				cleanWriteTimes();
+			}
+			return loaded;
+		}
+
+		if (refreshAfterWrite > 0 && null != loader) {
+			final Long writeTime = writeTimeMap.get(key);
+			if (null == writeTime || System.currentTimeMillis() - writeTime >= refreshAfterWrite) {
+				refreshAsync(key, loader);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * 同步重新加载对象并放入缓存，加载结果为<code>null</code>时保留原对象
+	 *
+	 * @param key 键
+	 * @return 加载后的对象
+	 * @throws CacheException 加载器抛出非运行时异常时包装抛出
+	 */
+	public V refresh(K key) {
+		final long start = System.nanoTime();
+		final V value;
+		try {
+			value = loader.load(key);
+		} catch (RuntimeException e) {
+			loadStatsCounter.recordLoadFailure(System.nanoTime() - start);
+			throw e;
+		} catch (Exception e) {
+			loadStatsCounter.recordLoadFailure(System.nanoTime() - start);
+			throw new CacheException(e, "Refresh [{}] error!", key);
+		}
+		loadStatsCounter.recordLoadSuccess(System.nanoTime() - start);
+		if (null != value) {
+			put(key, value);
+		}
+		return value;
+	}
+
+	@Override
+	public boolean containsKey(K key) {
+		return cache.containsKey(key);
+	}
+	// ---------------------------------------------------------------- get end
+
+	@Override
+	public Iterator<V> iterator() {
+		return cache.iterator();
+	}
+
+	@Override
+	public int prune() {
+		return cache.prune();
+	}
+
+	// ---------------------------------------------------------------- common start
+	/**
+	 * @return 写入后多久触发后台刷新，0表示不刷新，单位：毫秒
+	 */
+	public long refreshAfterWrite() {
+		return refreshAfterWrite;
+	}
+
+	@Override
+	public int capacity() {
+		return cache.capacity();
+	}
+
+	@Override
+	public long timeout() {
+		return cache.timeout();
+	}
+
+	@Override
+	public boolean isFull() {
+		return cache.isFull();
+	}
+
+	@Override
+	public void remove(K key) {
+		cache.remove(key);
+		writeTimeMap.remove(key);
+	}
+
+	@Override
+	public void clear() {
+		cache.clear();
+		writeTimeMap.clear();
+	}
+
+	@Override
+	public int size() {
+		return cache.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return cache.isEmpty();
+	}
+
+	/**
+	 * 获得统计信息，命中和淘汰来自被包装的缓存（被包装的缓存实现{@link LoadableCache}时），加载统计来自本缓存
+	 *
+	 * @return {@link CacheStats}
+	 */
+	@Override
+	public CacheStats stats() {
+		final CacheStats loadStats = loadStatsCounter.snapshot();
+		if (cache instanceof LoadableCache) {
+			return ((LoadableCache<K, V>) cache).stats().plus(loadStats);
+		}
+		return loadStats;
+	}
+
+	@Override
+	public void resetStats() {
+		if (cache instanceof LoadableCache) {
+			((LoadableCache<K, V>) cache).resetStats();
+		}
+		loadStatsCounter.reset();
+	}
+
+	@Override
+	public String toString() {
+		return cache.toString();
+	}
+	// ---------------------------------------------------------------- common end
+
+	/**
+	 * 在后台刷新对象，同一key同时只有一个刷新任务<br>
+	 * 刷新失败时保留旧值，下次读取时再次尝试
+	 *
+	 * @param key 键
+	 * @param loader 加载器
+	 */
+	private void refreshAsync(final K key, final CacheLoader<K, V> loader) {
+		if (null != refreshingMap.putIfAbsent(key, Boolean.TRUE)) {
+			return;
+		}
+		try {
+			refreshExecutor.execute(new Runnable() {
+				@Override
+				public void run() {
+					final long start = System.nanoTime();
+					try {
+						final V value = loader.load(key);
+						loadStatsCounter.recordLoadSuccess(System.nanoTime() - start);
+						if (null != value) {
+							put(key, value);
+						}
+					} catch (Exception e) {
+						// 刷新失败保留旧值，等待下次读取时重试
+						loadStatsCounter.recordLoadFailure(System.nanoTime() - start);
+					} finally {
+						refreshingMap.remove(key);
+					}
+				}
+			});
+		} catch (RuntimeException e) {
+			// 线程池拒绝任务，放弃本次刷新
+			refreshingMap.remove(key);
+		}
+	}
+
+	/**
+	 * 获取被包装缓存中未过期的对象，不计入统计，用于加载前的双重检查<br>
+	 * 被包装的缓存不是Hutool内置实现时无法不计统计地查询，返回<code>null</code>
+	 *
+	 * @param <K> 键类型
+	 * @param <V> 值类型
+	 * @param cache 缓存
+	 * @param key 键
+	 * @return 缓存的对象，不存在、已过期或无法查询时返回<code>null</code>
+	 */
+	private static <K, V> V peek(Cache<K, V> cache, K key) {
+		if (cache instanceof AbstractCache) {
+			return ((AbstractCache<K, V>) cache).peek(key);
+		} else if (cache instanceof SegmentedCache) {
+			return ((SegmentedCache<K, V>) cache).peek(key);
+		} else if (cache instanceof TinyLFUCache) {
+			return ((TinyLFUCache<K, V>) cache).peek(key);
+		} else if (cache instanceof LoadingCache) {
+			return peek(((LoadingCache<K, V>) cache).cache, key);
+		}
+		return null;
+	}
+
+	/**
+	 * 被包装的缓存是否支持不计入统计的查询，见{@link #peek(Cache, Object)}
+	 *
+	 * @param cache 缓存
+	 * @return 是否支持
+	 */
+	private static boolean isPeekable(Cache<?, ?> cache) {
+		if (cache instanceof LoadingCache) {
+			return isPeekable(((LoadingCache<?, ?>) cache).cache);
+		}
+		return cache instanceof AbstractCache || cache instanceof SegmentedCache || cache instanceof TinyLFUCache;
+	}
+
+	/**
+	 * 写入时间记录明显多于缓存对象数时，清除已被淘汰的key的记录，避免记录无限增长<br>
+	 * 使用不计入统计的查询，避免清理时记录大量丢失
+	 */
+	private void cleanWriteTimes() {
+		if (writeTimeMap.size() <= (cache.size() << 1) + 64) {
+			return;
+		}
+		final boolean peekable = isPeekable(cache);
+		final Iterator<K> keys = writeTimeMap.keySet().iterator();
+		K key;
+		while (keys.hasNext()) {
+			key = keys.next();
+			if (false == (peekable ? null != peek(cache, key) : cache.containsKey(key))) {
+				keys.remove();
+			}
+		}
+	}
+}
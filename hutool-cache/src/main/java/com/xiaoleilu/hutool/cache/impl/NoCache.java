@@ -2,7 +2,10 @@ package com.xiaoleilu.hutool.cache.impl;
 
 import java.util.Iterator;
 
-import com.xiaoleilu.hutool.cache.Cache;
+import com.xiaoleilu.hutool.cache.CacheException;
+import com.xiaoleilu.hutool.cache.CacheLoader;
+import com.xiaoleilu.hutool.cache.CacheStats;
+import com.xiaoleilu.hutool.cache.LoadableCache;
 
 /**
  * 无缓存实现，用于快速关闭缓存
@@ -11,7 +14,10 @@ import com.xiaoleilu.hutool.cache.Cache;
  * @param <K> 键类型
  * @param <V> 值类型
  */
-public class NoCache<K, V> implements Cache<K, V> {
+public class NoCache<K, V> implements LoadableCache<K, V> {
+
+	/** 统计计数器，只记录丢失和加载 */
+	private final StatsCounter statsCounter = new StatsCounter();
 
 	@Override
 	public int capacity() {
@@ -40,9 +46,33 @@ public class NoCache<K, V> implements Cache<K, V> {
 
 	@Override
 	public V get(K key) {
+		statsCounter.recordMiss();
 		return null;
 	}
 
+	/**
+	 * 无缓存，直接调用加载器
+	 */
+	@Override
+	public V get(K key, CacheLoader<K, V> loader) {
+		statsCounter.recordMiss();
+		if (null == loader) {
+			return null;
+		}
+		final long start = System.nanoTime();
+		try {
+			final V value = loader.load(key);
+			statsCounter.recordLoadSuccess(System.nanoTime() - start);
+			return value;
+		} catch (RuntimeException e) {
+			statsCounter.recordLoadFailure(System.nanoTime() - start);
+			throw e;
+		} catch (Exception e) {
+			statsCounter.recordLoadFailure(System.nanoTime() - start);
+			throw new CacheException(e, "Load [{}] error!", key);
+		}
+	}
+
 	@Override
 	public Iterator<V> iterator() {
 		return null;
@@ -78,4 +108,14 @@ public class NoCache<K, V> implements Cache<K, V> {
 		return false;
 	}
 
+	@Override
+	public CacheStats stats() {
+		return statsCounter.snapshot();
+	}
+
+	@Override
+	public void resetStats() {
+		statsCounter.reset();
+	}
+
 }
@@ -0,0 +1,544 @@
+package com.xiaoleilu.hutool.cache.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.xiaoleilu.hutool.cache.CacheLoader;
+import com.xiaoleilu.hutool.cache.CacheStats;
+import com.xiaoleilu.hutool.cache.GlobalPruneTimer;
+import com.xiaoleilu.hutool.cache.LoadableCache;
+import com.xiaoleilu.hutool.cache.RemovalCause;
+
+/**
+ * 分段并发缓存<br>
+ * 缓存按照key的hash被分散到多个段（Segment）中，每个段拥有独立的锁和淘汰队列，因此不存在全局锁：
+ * <ul>
+ * 		<li>读取：直接从{@link ConcurrentHashMap}中获取，无锁。LRU访问顺序的调整使用tryLock，拿不到锁时跳过，不阻塞读线程</li>
+ * 		<li>写入：只锁定key所在的段，淘汰也只在本段内进行</li>
+ * </ul>
+ * 淘汰策略由{@link Policy}指定，语义与{@link FIFOCache}、{@link LRUCache}、{@link LFUCache}一致，容量为0且指定超时时长时等同于{@link TimedCache}。<br>
+ * 未启动定时清理时，过期对象只在被访问或淘汰时移除，可通过{@link #schedulePrune(long)}定时清理。<br>
+ * 由于淘汰在段内进行，因此在容量较大时淘汰结果为近似结果；容量较小时段数会自动减少，以保证淘汰精度。<br>
+ * 注意：key不能为<code>null</code>
+ *
+ * @author Looly
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @since 3.1.0
+ */
+public class SegmentedCache<K, V> implements LoadableCache<K, V> {
+
+	/** 默认并发度（段数） */
+	public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+	/** 最大段数 */
+	private static final int MAX_SEGMENTS = 1 << 16;
+	/** 每个段最少容纳的对象数，容量较小时减少段数以保证淘汰精度 */
+	private static final int MIN_SEGMENT_CAPACITY = 16;
+
+	/**
+	 * 淘汰策略
+	 */
+	public static enum Policy {
+		/** 先进先出 */
+		FIFO,
+		/** 最近最久未使用 */
+		LRU,
+		/** 最少使用率 */
+		LFU
+	}
+
+	/** 淘汰策略 */
+	protected final Policy policy;
+	/** 缓存容量，<code>0</code>表示无大小限制 */
+	protected final int capacity;
+	/** 缓存失效时长， <code>0</code> 表示没有设置，单位毫秒 */
+	protected final long timeout;
+
+	private final Segment[] segments;
+	private final int segmentMask;
+
+	/** 定时清理任务，用于取消定时清理 */
+	protected ScheduledFuture<?> pruneJobFuture;
+
+	/** 统计计数器 */
+	protected final StatsCounter statsCounter = new StatsCounter();
+	/** 合并同一key的并发加载 */
+	private final SingleFlightLoader<K, V> singleFlightLoader = new SingleFlightLoader<K, V>(statsCounter) {
+		@Override
+		V getIfPresent(K key) {
+			return peek(key);
+		}
+	};
+
+	/**
+	 * 构造，默认无超时
+	 *
+	 * @param policy 淘汰策略
+	 * @param capacity 容量，<code>0</code>表示无大小限制
+	 */
+	public SegmentedCache(Policy policy, int capacity) {
+		this(policy, capacity, 0);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param policy 淘汰策略
+	 * @param capacity 容量，<code>0</code>表示无大小限制
+	 * @param timeout 默认超时时间，单位：毫秒，<code>0</code>表示不过期
+	 */
+	public SegmentedCache(Policy policy, int capacity, long timeout) {
+		this(policy, capacity, timeout, DEFAULT_CONCURRENCY_LEVEL);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param policy 淘汰策略
+	 * @param capacity 容量，<code>0</code>表示无大小限制
+	 * @param timeout 默认超时时间，单位：毫秒，<code>0</code>表示不过期
+	 * @param concurrencyLevel 并发度，即预计同时写入的线程数，决定段数
+	 */
+	@SuppressWarnings("unchecked")
+	public SegmentedCache(Policy policy, int capacity, long timeout, int concurrencyLevel) {
+		if (null == policy) {
+			throw new NullPointerException("Policy must be not null!");
+		}
+		if (capacity < 0 || timeout < 0 || concurrencyLevel <= 0) {
+			throw new IllegalArgumentException("Capacity and timeout must be >= 0, concurrencyLevel must be > 0");
+		}
+		this.policy = policy;
+		this.capacity = capacity;
+		this.timeout = timeout;
+
+		// 段数为2的幂，有容量限制时保证每段至少容纳MIN_SEGMENT_CAPACITY个对象
+		int segmentCount = 1;
+		while (segmentCount < concurrencyLevel && segmentCount < MAX_SEGMENTS) {
+			segmentCount <<= 1;
+		}
+		if (capacity > 0) {
+			while (segmentCount > 1 && capacity / segmentCount < MIN_SEGMENT_CAPACITY) {
+				segmentCount >>= 1;
+			}
+		}
+
+		this.segmentMask = segmentCount - 1;
+		@SuppressWarnings({"rawtypes", "unchecked"})
+		final Segment[] segments = new SegmentedCache.Segment[segmentCount];
+		this.segments = segments;
+		// 容量平均分配到各段，余数分配给前面的段，保证总容量准确
+		for (int i = 0; i < segmentCount; i++) {
+			int segmentCapacity = 0;
+			if (capacity > 0) {
+				segmentCapacity = capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0);
+			}
+			this.segments[i] = new Segment(segmentCapacity);
+		}
+	}
+
+	// ---------------------------------------------------------------- put start
+	@Override
+	public void put(K key, V object) {
+		put(key, object, timeout);
+	}
+
+	@Override
+	public void put(K key, V object, long timeout) {
+		segmentFor(key).put(key, new CacheObj<K, V>(key, object, timeout));
+	}
+	// ---------------------------------------------------------------- put end
+
+	// ---------------------------------------------------------------- get start
+	@Override
+	public V get(K key) {
+		final Segment segment = segmentFor(key);
+		final CacheObj<K, V> co = segment.map.get(key);
+		if (null == co) {
+			statsCounter.recordMiss();
+			return null;
+		}
+
+		// 过期
+		if (co.isExpired()) {
+			segment.remove(key, co, RemovalCause.EXPIRED);
+			statsCounter.recordMiss();
+			return null;
+		}
+
+		// 命中
+		segment.recordAccess(key);
+		statsCounter.recordHit();
+		return co.get();
+	}
+
+	@Override
+	public V get(K key, CacheLoader<K, V> loader) {
+		V value = get(key);
+		if (null == value && null != loader) {
+			value = singleFlightLoader.load(this, key, loader);
+		}
+		return value;
+	}
+
+	@Override
+	public boolean containsKey(K key) {
+		final Segment segment = segmentFor(key);
+		final CacheObj<K, V> co = segment.map.get(key);
+		if (null == co) {
+			return false;
+		}
+		if (co.isExpired()) {
+			segment.remove(key, co, RemovalCause.EXPIRED);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * 获取未过期的对象，不计入统计，不更新访问顺序和次数
+	 *
+	 * @param key 键
+	 * @return 缓存的对象，不存在或已过期返回<code>null</code>
+	 */
+	V peek(K key) {
+		final CacheObj<K, V> co = segmentFor(key).map.get(key);
+		return (null == co || co.isExpired()) ? null : co.obj;
+	}
+	// ---------------------------------------------------------------- get end
+
+	@Override
+	public Iterator<V> iterator() {
+		final List<CacheObj<K, V>> values = new ArrayList<>(size());
+		for (Segment segment : segments) {
+			values.addAll(segment.map.values());
+		}
+		return new CacheValuesIterator<V>(values.iterator());
+	}
+
+	@Override
+	public int prune() {
+		int count = 0;
+		for (Segment segment : segments) {
+			count += segment.pruneExpired();
+		}
+		return count;
+	}
+
+	// ---------------------------------------------------------------- auto prune
+	/**
+	 * 定时清理过期对象，使用{@link GlobalPruneTimer}中的守护线程执行
+	 *
+	 * @param delay 间隔时长，单位：毫秒
+	 */
+	public void schedulePrune(long delay) {
+		cancelPruneSchedule();
+		this.pruneJobFuture = GlobalPruneTimer.INSTANCE.schedule(new Runnable() {
+			@Override
+			public void run() {
+				prune();
+			}
+		}, delay);
+	}
+
+	/**
+	 * 取消定时清理
+	 */
+	public void cancelPruneSchedule() {
+		if (null != pruneJobFuture) {
+			pruneJobFuture.cancel(false);
+			pruneJobFuture = null;
+		}
+	}
+
+	// ---------------------------------------------------------------- common start
+	/**
+	 * @return 淘汰策略
+	 */
+	public Policy policy() {
+		return policy;
+	}
+
+	/**
+	 * @return 段数
+	 */
+	public int segmentCount() {
+		return segments.length;
+	}
+
+	@Override
+	public int capacity() {
+		return capacity;
+	}
+
+	@Override
+	public long timeout() {
+		return timeout;
+	}
+
+	@Override
+	public boolean isFull() {
+		return (capacity > 0) && (size() >= capacity);
+	}
+
+	@Override
+	public void remove(K key) {
+		segmentFor(key).remove(key, null, RemovalCause.EXPLICIT);
+	}
+
+	@Override
+	public void clear() {
+		for (Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	@Override
+	public int size() {
+		long size = 0;
+		for (Segment segment : segments) {
+			size += segment.map.size();
+		}
+		return size > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		for (Segment segment : segments) {
+			if (false == segment.map.isEmpty()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public CacheStats stats() {
+		return statsCounter.snapshot();
+	}
+
+	@Override
+	public void resetStats() {
+		statsCounter.reset();
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("{");
+		for (Segment segment : segments) {
+			for (CacheObj<K, V> co : segment.map.values()) {
+				if (sb.length() > 1) {
+					sb.append(", ");
+				}
+				sb.append(co.key).append('=').append(co);
+			}
+		}
+		return sb.append('}').toString();
+	}
+	// ---------------------------------------------------------------- common end
+
+	/**
+	 * 对象移除回调。默认无动作<br>
+	 * 此方法在段锁内被调用，实现中不应有耗时操作
+	 *
+	 * @param key 键
+	 * @param cachedObject 被缓存的对象
+	 */
+	protected void onRemove(K key, V cachedObject) {
+	}
+
+	/**
+	 * 对象被移除后调用，记录统计信息并回调{@link #onRemove(Object, Object)}
+	 *
+	 * @param co 被移除的缓存对象
+	 * @param cause 移除原因
+	 */
+	private void notifyRemove(CacheObj<K, V> co, RemovalCause cause) {
+		statsCounter.recordRemoval(cause, System.currentTimeMillis() - co.createTime);
+		onRemove(co.key, co.obj);
+	}
+
+	/**
+	 * 根据key的hash定位段
+	 *
+	 * @param key 键
+	 * @return 段
+	 */
+	private Segment segmentFor(K key) {
+		int h = key.hashCode();
+		// 扰动，使高位参与段定位
+		h ^= (h >>> 16);
+		h ^= (h >>> 7);
+		return segments[h & segmentMask];
+	}
+
+	/**
+	 * 缓存段<br>
+	 * 读取使用{@link ConcurrentHashMap}无锁完成，淘汰顺序由{@link LinkedHashMap}维护并受段锁保护
+	 *
+	 * @author Looly
+	 */
+	private final class Segment extends ReentrantLock {
+		private static final long serialVersionUID = 4295011347437011581L;
+
+		/** 段容量，0表示无限制 */
+		final int capacity;
+		/** 存储，支持无锁读取 */
+		final ConcurrentHashMap<K, CacheObj<K, V>> map;
+		/** 淘汰顺序，LRU为访问顺序，其它为插入顺序，受段锁保护 */
+		final LinkedHashMap<K, CacheObj<K, V>> order;
+
+		Segment(int capacity) {
+			this.capacity = capacity;
+			final int initialCapacity = capacity > 0 ? capacity + 1 : 16;
+			this.map = new ConcurrentHashMap<>(initialCapacity);
+			this.order = new LinkedHashMap<>(initialCapacity, 0.75f, policy == Policy.LRU);
+		}
+
+		/**
+		 * 加入对象，满时在本段内淘汰
+		 *
+		 * @param key 键
+		 * @param co 缓存对象
+		 */
+		void put(K key, CacheObj<K, V> co) {
+			lock();
+			try {
+				if (capacity > 0 && map.size() >= capacity && false == map.containsKey(key)) {
+					evict();
+				}
+				final CacheObj<K, V> old = map.put(key, co);
+				order.put(key, co);
+				if (null != old) {
+					statsCounter.recordRemoval(RemovalCause.REPLACED, co.createTime - old.createTime);
+				}
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * 记录访问，仅LRU需要调整顺序<br>
+		 * 使用tryLock，拿不到锁说明段正忙，放弃本次调整，保证读不阻塞
+		 *
+		 * @param key 键
+		 */
+		void recordAccess(K key) {
+			if (policy == Policy.LRU && tryLock()) {
+				try {
+					order.get(key);
+				} finally {
+					unlock();
+				}
+			}
+		}
+
+		/**
+		 * 移除对象
+		 *
+		 * @param key 键
+		 * @param expected 期望的缓存对象，只有当前对象与之相同时才移除，<code>null</code>表示无条件移除
+		 * @param cause 移除原因
+		 */
+		void remove(K key, CacheObj<K, V> expected, RemovalCause cause) {
+			lock();
+			try {
+				final CacheObj<K, V> co = map.get(key);
+				if (null == co || (null != expected && co != expected)) {
+					return;
+				}
+				removeEntry(co, cause);
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * 清理过期对象
+		 *
+		 * @return 清理数
+		 */
+		int pruneExpired() {
+			int count = 0;
+			lock();
+			try {
+				final Iterator<CacheObj<K, V>> values = order.values().iterator();
+				CacheObj<K, V> co;
+				while (values.hasNext()) {
+					co = values.next();
+					if (co.isExpired()) {
+						values.remove();
+						map.remove(co.key);
+						notifyRemove(co, RemovalCause.EXPIRED);
+						count++;
+					}
+				}
+			} finally {
+				unlock();
+			}
+			return count;
+		}
+
+		/**
+		 * 清空本段
+		 */
+		void clear() {
+			lock();
+			try {
+				map.clear();
+				order.clear();
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * 淘汰一个对象，调用时必须持有段锁<br>
+		 * FIFO和LRU淘汰队首对象，LFU淘汰段内访问次数最少的对象（过期对象优先）
+		 */
+		private void evict() {
+			final Iterator<CacheObj<K, V>> values = order.values().iterator();
+			if (policy != Policy.LFU) {
+				// FIFO和LRU的队首即为最先放入或最久未使用的对象
+				if (values.hasNext()) {
+					final CacheObj<K, V> first = values.next();
+					removeEntry(first, first.isExpired() ? RemovalCause.EXPIRED : RemovalCause.SIZE);
+				}
+				return;
+			}
+
+			CacheObj<K, V> victim = null;
+			CacheObj<K, V> co;
+			while (values.hasNext()) {
+				co = values.next();
+				if (co.isExpired()) {
+					victim = co;
+					break;
+				}
+				if (null == victim || co.accessCount < victim.accessCount) {
+					victim = co;
+				}
+			}
+			if (null != victim) {
+				removeEntry(victim, victim.isExpired() ? RemovalCause.EXPIRED : RemovalCause.SIZE);
+			}
+		}
+
+		/**
+		 * 移除对象，调用时必须持有段锁
+		 *
+		 * @param co 缓存对象
+		 * @param cause 移除原因
+		 */
+		private void removeEntry(CacheObj<K, V> co, RemovalCause cause) {
+			map.remove(co.key);
+			order.remove(co.key);
+			notifyRemove(co, cause);
+		}
+	}
+}
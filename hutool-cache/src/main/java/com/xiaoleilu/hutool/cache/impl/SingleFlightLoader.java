@@ -0,0 +1,131 @@
+package com.xiaoleilu.hutool.cache.impl;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import com.xiaoleilu.hutool.cache.Cache;
+import com.xiaoleilu.hutool.cache.CacheException;
+import com.xiaoleilu.hutool.cache.CacheLoader;
+
+/**
+ * 合并并发加载<br>
+ * 同一个key同时只有一个线程执行加载，其它未命中的线程等待并共享这次加载的结果，避免热点对象过期时大量请求同时穿透到数据源。<br>
+ * 加载前会通过{@link #getIfPresent(Object)}再检查一次缓存，缓存实现应覆盖此方法提供不计入命中统计的查询。<br>
+ * 加载器中不能再加载同一个key（会等待自身完成），此时抛出{@link CacheException}。
+ *
+ * @author Looly
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @since 3.1.0
+ */
+class SingleFlightLoader<K, V> {
+
+	/** 正在加载的任务 */
+	private final ConcurrentHashMap<K, LoadTask<V>> loadingMap = new ConcurrentHashMap<>();
+	/** 加载统计 */
+	private final StatsCounter statsCounter;
+
+	/**
+	 * 构造
+	 *
+	 * @param statsCounter 记录加载次数和耗时的统计计数器
+	 */
+	SingleFlightLoader(StatsCounter statsCounter) {
+		this.statsCounter = statsCounter;
+	}
+
+	/**
+	 * 查询缓存中未过期的对象，用于加载前的双重检查，不应计入命中或丢失统计<br>
+	 * 默认返回<code>null</code>，即不做双重检查
+	 *
+	 * @param key 键
+	 * @return 缓存的对象，不存在或已过期返回<code>null</code>
+	 */
+	V getIfPresent(K key) {
+		return null;
+	}
+
+	/**
+	 * 加载对象并放入缓存，同一key的并发加载被合并为一次
+	 *
+	 * @param cache 加载后放入的缓存
+	 * @param key 键
+	 * @param loader 加载器
+	 * @return 加载的对象
+	 * @throws CacheException 加载异常，或在加载器中递归加载同一个key
+	 */
+	V load(final Cache<K, V> cache, final K key, final CacheLoader<K, V> loader) throws CacheException {
+		LoadTask<V> task = loadingMap.get(key);
+		if (null == task) {
+			final LoadTask<V> newTask = new LoadTask<>(new Callable<V>() {
+				@Override
+				public V call() throws Exception {
+					// 双重检查，其它线程可能在本线程未命中后已完成加载
+					final V cached = getIfPresent(key);
+					if (null != cached) {
+						return cached;
+					}
+					final long start = System.nanoTime();
+					final V value;
+					try {
+						value = loader.load(key);
+					} catch (Exception e) {
+						statsCounter.recordLoadFailure(System.nanoTime() - start);
+						throw e;
+					}
+					statsCounter.recordLoadSuccess(System.nanoTime() - start);
+					if (null != value) {
+						cache.put(key, value);
+					}
+					return value;
+				}
+			});
+			task = loadingMap.putIfAbsent(key, newTask);
+			if (null == task) {
+				task = newTask;
+				try {
+					newTask.run();
+				} finally {
+					loadingMap.remove(key, newTask);
+				}
+			}
+		}
+
+		if (task.owner == Thread.currentThread() && false == task.isDone()) {
+			// 加载器中递归加载同一个key，等待自身会永久阻塞
+			throw new CacheException("Recursive load of [{}] in loader", key);
+		}
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CacheException(e, "Interrupted while loading [{}]", key);
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new CacheException(cause, "Load [{}] error!", key);
+		}
+	}
+
+	/**
+	 * 加载任务，记录执行加载的线程
+	 *
+	 * @param <V> 值类型
+	 */
+	private static class LoadTask<V> extends FutureTask<V> {
+		/** 执行加载的线程，即创建任务的线程 */
+		final Thread owner = Thread.currentThread();
+
+		LoadTask(Callable<V> callable) {
+			super(callable);
+		}
+	}
+}
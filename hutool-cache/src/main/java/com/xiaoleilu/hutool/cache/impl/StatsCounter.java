@@ -0,0 +1,106 @@
+package com.xiaoleilu.hutool.cache.impl;
+
+import com.xiaoleilu.hutool.cache.CacheStats;
+import com.xiaoleilu.hutool.cache.RemovalCause;
+
+/**
+ * 缓存统计计数器<br>
+ * 所有计数使用{@link StripedCounter}，多线程记录时互不竞争，通过{@link #snapshot()}获得不可变的统计快照。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public class StatsCounter {
+
+	private final StripedCounter hitCount = new StripedCounter();
+	private final StripedCounter missCount = new StripedCounter();
+	private final StripedCounter loadSuccessCount = new StripedCounter();
+	private final StripedCounter loadFailureCount = new StripedCounter();
+	private final StripedCounter totalLoadTime = new StripedCounter();
+	private final StripedCounter[] removalCounts;
+	private final StripedCounter totalLifetime = new StripedCounter();
+
+	/**
+	 * 构造
+	 */
+	public StatsCounter() {
+		final RemovalCause[] causes = RemovalCause.values();
+		this.removalCounts = new StripedCounter[causes.length];
+		for (int i = 0; i < causes.length; i++) {
+			this.removalCounts[i] = new StripedCounter();
+		}
+	}
+
+	/**
+	 * 记录一次命中
+	 */
+	public void recordHit() {
+		hitCount.increment();
+	}
+
+	/**
+	 * 记录一次丢失
+	 */
+	public void recordMiss() {
+		missCount.increment();
+	}
+
+	/**
+	 * 记录一次成功加载
+	 *
+	 * @param loadTime 加载耗时，单位：纳秒
+	 */
+	public void recordLoadSuccess(long loadTime) {
+		loadSuccessCount.increment();
+		totalLoadTime.add(loadTime);
+	}
+
+	/**
+	 * 记录一次失败加载
+	 *
+	 * @param loadTime 加载耗时，单位：纳秒
+	 */
+	public void recordLoadFailure(long loadTime) {
+		loadFailureCount.increment();
+		totalLoadTime.add(loadTime);
+	}
+
+	/**
+	 * 记录一次移除
+	 *
+	 * @param cause 移除原因
+	 * @param lifetime 被移除对象的存活时长，单位：毫秒
+	 */
+	public void recordRemoval(RemovalCause cause, long lifetime) {
+		removalCounts[cause.ordinal()].increment();
+		totalLifetime.add(lifetime);
+	}
+
+	/**
+	 * 获得统计快照
+	 *
+	 * @return {@link CacheStats}
+	 */
+	public CacheStats snapshot() {
+		final long[] counts = new long[removalCounts.length];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = removalCounts[i].sum();
+		}
+		return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(), totalLoadTime.sum(), counts, totalLifetime.sum());
+	}
+
+	/**
+	 * 重置所有计数
+	 */
+	public void reset() {
+		hitCount.reset();
+		missCount.reset();
+		loadSuccessCount.reset();
+		loadFailureCount.reset();
+		totalLoadTime.reset();
+		for (StripedCounter counter : removalCounts) {
+			counter.reset();
+		}
+		totalLifetime.reset();
+	}
+}
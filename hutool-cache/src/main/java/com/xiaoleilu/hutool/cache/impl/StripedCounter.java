@@ -0,0 +1,72 @@
+package com.xiaoleilu.hutool.cache.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 分段计数器<br>
+ * 不同线程累加到不同的槽中，每个槽独占一个缓存行，避免多线程竞争同一个{@link java.util.concurrent.atomic.AtomicLong}；读取时汇总所有槽。<br>
+ * 用于高并发下的统计计数，读取结果为近似的瞬时值。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+class StripedCounter {
+
+	/** 槽间隔，8个long为64字节，保证每个槽独占一个缓存行 */
+	private static final int STRIDE = 8;
+	/** 最大槽数 */
+	private static final int MAX_CELLS = 64;
+
+	private final AtomicLongArray cells;
+	private final int mask;
+
+	/**
+	 * 构造，槽数为不小于CPU核数的2的幂
+	 */
+	StripedCounter() {
+		final int processors = Runtime.getRuntime().availableProcessors();
+		int cellCount = 1;
+		while (cellCount < processors && cellCount < MAX_CELLS) {
+			cellCount <<= 1;
+		}
+		this.mask = cellCount - 1;
+		this.cells = new AtomicLongArray(cellCount * STRIDE);
+	}
+
+	/**
+	 * 累加
+	 *
+	 * @param x 增加的值
+	 */
+	void add(long x) {
+		final int index = (int) (Thread.currentThread().getId() & mask) * STRIDE;
+		cells.addAndGet(index, x);
+	}
+
+	/**
+	 * 加一
+	 */
+	void increment() {
+		add(1);
+	}
+
+	/**
+	 * @return 所有槽的和
+	 */
+	long sum() {
+		long sum = 0;
+		for (int i = 0; i < cells.length(); i += STRIDE) {
+			sum += cells.get(i);
+		}
+		return sum;
+	}
+
+	/**
+	 * 重置为0
+	 */
+	void reset() {
+		for (int i = 0; i < cells.length(); i += STRIDE) {
+			cells.set(i, 0);
+		}
+	}
+}
@@ -2,27 +2,36 @@ package com.xiaoleilu.hutool.cache.impl;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+
+import com.xiaoleilu.hutool.cache.GlobalPruneTimer;
+import com.xiaoleilu.hutool.cache.RemovalCause;
 
 /**
  * 定时缓存<br>
- * 此缓存没有容量限制，对象只有在过期后才会被移除
- * 
+ * 此缓存没有容量限制，对象只有在过期后才会被移除<br>
+ * 启动定时清理后，对象的过期时间由分层时间轮跟踪，每次清理只处理到期的对象，而不是遍历全部缓存；
+ * 所有定时缓存共用{@link GlobalPruneTimer}中的守护线程执行清理。
+ *
  * @author Looly
  *
  * @param <K> 键类型
  * @param <V> 值类型
  */
 public class TimedCache<K, V> extends AbstractCache<K, V> {
-	
-	/** 定时器 */
-	protected Timer pruneTimer;
-	
+
+	/** 定时清理任务，用于取消定时清理 */
+	protected ScheduledFuture<?> pruneJobFuture;
+	/** 时间轮刻度时长，0表示未启动定时清理 */
+	private volatile long wheelTickDuration;
+	/** 过期时间轮，只在写锁内访问 */
+	private TimerWheel<K, V> timerWheel;
+
 	/**
 	 * 构造
-	 * 
+	 *
 	 * @param timeout 过期时长
 	 */
 	public TimedCache(long timeout) {
@@ -31,7 +40,7 @@ public class TimedCache<K, V> extends AbstractCache<K, V> {
 
 	/**
 	 * 构造
-	 * 
+	 *
 	 * @param timeout 过期时长
 	 * @param map 存储缓存对象的map
 	 */
@@ -43,50 +52,111 @@ public class TimedCache<K, V> extends AbstractCache<K, V> {
 
 	// ---------------------------------------------------------------- prune
 	/**
-	 * 清理过期对象
+	 * 清理过期对象<br>
+	 * 未启动定时清理时遍历全部对象，启动后只处理时间轮中到期的对象
 	 * @return  清理数
 	 */
 	@Override
 	protected int pruneCache() {
+		final long tickDuration = this.wheelTickDuration;
+		if (tickDuration <= 0) {
+			if (null != timerWheel) {
+				timerWheel.clear();
+				timerWheel = null;
+			}
+			return pruneAll();
+		}
+
+		if (null == timerWheel || timerWheel.tickDuration() != tickDuration) {
+			// 首次或周期变更时重建时间轮，并登记已有对象
+			if (null != timerWheel) {
+				timerWheel.clear();
+			}
+			final int count = pruneAll();
+			timerWheel = new TimerWheel<>(tickDuration);
+			for (CacheObj<K, V> co : cacheMap.values()) {
+				timerWheel.schedule(co);
+			}
+			return count;
+		}
+
 		int count = 0;
-		Iterator<CacheObj<K, V>> values = cacheMap.values().iterator();
-		CacheObj<K, V> co;
-		while (values.hasNext()) {
-			co = values.next();
+		final List<CacheObj<K, V>> dueList = timerWheel.advance(System.currentTimeMillis());
+		for (CacheObj<K, V> co : dueList) {
+			if (cacheMap.get(co.key) != co) {
+				// 已被移除或替换
+				continue;
+			}
 			if (co.isExpired()) {
-				values.remove();
+				cacheMap.remove(co.key);
+				notifyRemove(co, RemovalCause.EXPIRED);
 				count++;
+			} else {
+				// 期间被访问过，按新的过期时间重新登记
+				timerWheel.schedule(co);
 			}
 		}
 		return count;
 	}
 
+	@Override
+	protected void onPut(CacheObj<K, V> co) {
+		if (null != timerWheel && wheelTickDuration > 0) {
+			timerWheel.schedule(co);
+		}
+	}
+
+	@Override
+	protected void onDetach(CacheObj<K, V> co) {
+		if (null != timerWheel) {
+			timerWheel.cancel(co);
+		}
+	}
+
 	// ---------------------------------------------------------------- auto prune
 	/**
 	 * 定时清理
-	 * @param delay 间隔时长
+	 * @param delay 间隔时长，同时作为时间轮的刻度时长
 	 */
 	public void schedulePrune(long delay) {
-		if (pruneTimer != null) {
-			pruneTimer.cancel();
-		}
-		pruneTimer = new Timer();
-		pruneTimer.schedule(new TimerTask(){
+		cancelPruneSchedule();
+		this.wheelTickDuration = delay;
+		this.pruneJobFuture = GlobalPruneTimer.INSTANCE.schedule(new Runnable(){
 			@Override
 			public void run() {
 				prune();
 			}
-		}, delay, delay);
+		}, delay);
 	}
 
 	/**
 	 * 取消定时清理
 	 */
 	public void cancelPruneSchedule() {
-		if (pruneTimer != null) {
-			pruneTimer.cancel();
-			pruneTimer = null;
+		this.wheelTickDuration = 0;
+		if (null != pruneJobFuture) {
+			pruneJobFuture.cancel(false);
+			pruneJobFuture = null;
+		}
+	}
+
+	/**
+	 * 遍历清理全部过期对象
+	 * @return 清理数
+	 */
+	private int pruneAll() {
+		int count = 0;
+		Iterator<CacheObj<K, V>> values = cacheMap.values().iterator();
+		CacheObj<K, V> co;
+		while (values.hasNext()) {
+			co = values.next();
+			if (co.isExpired()) {
+				values.remove();
+				notifyRemove(co, RemovalCause.EXPIRED);
+				count++;
+			}
 		}
+		return count;
 	}
 
 }
@@ -0,0 +1,263 @@
+package com.xiaoleilu.hutool.cache.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分层时间轮，用于跟踪缓存对象的过期时间<br>
+ * 共4层，每层64个槽，第n层每个槽覆盖64<sup>n</sup>个刻度，总计可覆盖64<sup>4</sup>个刻度，超出范围的对象放入最高层并在降级时重新计算。<br>
+ * 时间推进时只处理到期槽中的对象，高层槽在低层转完一圈时降级（cascade）到低层，因此每次推进的代价只与到期对象数相关，而与缓存总量无关。<br>
+ * 每个槽是双向链表，缓存对象持有自己的节点，被移除或替换时通过{@link #cancel(CacheObj)}立即摘除，时间轮不会随对象更替而膨胀。<br>
+ * 此类非线程安全，由调用方加锁。
+ *
+ * @author Looly
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @since 3.1.0
+ */
+class TimerWheel<K, V> {
+
+	/** 每层槽数的位数 */
+	private static final int BITS = 6;
+	/** 每层槽数 */
+	private static final int WHEEL_SIZE = 1 << BITS;
+	private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+	/** 层数 */
+	private static final int LEVELS = 4;
+
+	/** 每个刻度的时长，单位：毫秒 */
+	private final long tickDuration;
+	/** 时间轮起始时间 */
+	private final long startTime;
+	/** 已处理到的刻度 */
+	private long currentTick;
+	/** 时间轮中的对象数 */
+	private int size;
+
+	/** 各层各槽的链表头 */
+	private final Node<K, V>[][] wheels;
+
+	/**
+	 * 构造
+	 *
+	 * @param tickDuration 每个刻度的时长，单位：毫秒
+	 */
+	@SuppressWarnings("unchecked")
+	TimerWheel(long tickDuration) {
+		this.tickDuration = Math.max(1, tickDuration);
+		this.startTime = System.currentTimeMillis();
+		@SuppressWarnings({"rawtypes", "unchecked"})
+		final Node<K, V>[][] wheels = new Node[LEVELS][WHEEL_SIZE];
+		this.wheels = wheels;
+	}
+
+	/**
+	 * @return 每个刻度的时长，单位：毫秒
+	 */
+	long tickDuration() {
+		return tickDuration;
+	}
+
+	/**
+	 * @return 时间轮中的对象数
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * 加入缓存对象，到期时间为上次访问时间加存活时长，存活时长为0的对象不加入<br>
+	 * 对象已在时间轮中时按新的到期时间重新放置
+	 *
+	 * @param co 缓存对象
+	 */
+	void schedule(CacheObj<K, V> co) {
+		cancel(co);
+		if (co.ttl <= 0) {
+			return;
+		}
+		final long expireTime = co.lastAccess + co.ttl;
+		// 向上取整，保证到期刻度不早于实际到期时间
+		final long expireTick = (expireTime - startTime + tickDuration - 1) / tickDuration;
+		final Node<K, V> node = new Node<K, V>(co, expireTick);
+		co.timerNode = node;
+		place(node, currentTick + 1);
+		size++;
+	}
+
+	/**
+	 * 从时间轮中摘除缓存对象，对象不在时间轮中时无操作
+	 *
+	 * @param co 缓存对象
+	 */
+	void cancel(CacheObj<K, V> co) {
+		final Node<K, V> node = co.timerNode;
+		if (null == node) {
+			return;
+		}
+		co.timerNode = null;
+		unlink(node);
+		size--;
+	}
+
+	/**
+	 * 时间推进到指定时间，返回到期的缓存对象<br>
+	 * 返回的对象仅表示其登记的到期时间已到，是否真正过期（期间是否被访问或替换）由调用方判断
+	 *
+	 * @param now 当前时间
+	 * @return 到期的缓存对象
+	 */
+	List<CacheObj<K, V>> advance(long now) {
+		final long targetTick = (now - startTime) / tickDuration;
+		final List<CacheObj<K, V>> due = new ArrayList<>();
+		if (0 == size) {
+			// 无对象时直接跳到目标刻度，避免空转
+			if (targetTick > currentTick) {
+				currentTick = targetTick;
+			}
+			return due;
+		}
+
+		while (currentTick < targetTick) {
+			final long tick = ++currentTick;
+			cascade(tick);
+
+			final int index = (int) (tick & WHEEL_MASK);
+			Node<K, V> node = wheels[0][index];
+			wheels[0][index] = null;
+			Node<K, V> next;
+			while (null != node) {
+				next = node.next;
+				if (node.expireTick > tick) {
+					// 超出时间轮范围的对象，重新放置
+					place(node, tick + 1);
+				} else {
+					size--;
+					node.co.timerNode = null;
+					due.add(node.co);
+				}
+				node = next;
+			}
+			if (0 == size) {
+				currentTick = targetTick;
+			}
+		}
+		return due;
+	}
+
+	/**
+	 * 清空时间轮，同时解除缓存对象与节点的关联
+	 */
+	void clear() {
+		Node<K, V> node;
+		for (Node<K, V>[] wheel : wheels) {
+			for (int i = 0; i < WHEEL_SIZE; i++) {
+				for (node = wheel[i]; null != node; node = node.next) {
+					node.co.timerNode = null;
+				}
+				wheel[i] = null;
+			}
+		}
+		size = 0;
+	}
+
+	/**
+	 * 低层转完一圈时，将高层当前槽中的对象降级到低层<br>
+	 * 从高层向低层处理，保证从高层降下来的对象可以在同一刻度继续降级
+	 *
+	 * @param tick 当前刻度
+	 */
+	private void cascade(long tick) {
+		for (int level = LEVELS - 1; level > 0; level--) {
+			if ((tick & ((1L << (BITS * level)) - 1)) != 0) {
+				continue;
+			}
+			final int index = (int) ((tick >>> (BITS * level)) & WHEEL_MASK);
+			Node<K, V> node = wheels[level][index];
+			wheels[level][index] = null;
+			Node<K, V> next;
+			while (null != node) {
+				next = node.next;
+				// 当前刻度到期的对象放入当前槽，随后即被处理
+				place(node, tick);
+				node = next;
+			}
+		}
+	}
+
+	/**
+	 * 根据到期刻度与当前刻度的差值选择层和槽
+	 *
+	 * @param node 节点
+	 * @param minTick 最早可放置的刻度，早于此刻度到期的对象放在此刻度
+	 */
+	private void place(Node<K, V> node, long minTick) {
+		long expireTick = Math.max(node.expireTick, minTick);
+		final long delta = expireTick - currentTick;
+
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= (1L << (BITS * (level + 1)))) {
+			level++;
+		}
+		if (delta >= (1L << (BITS * LEVELS))) {
+			// 超出时间轮范围，放入最高层能覆盖的最远位置，降级时按真实到期刻度重新放置
+			expireTick = currentTick + (1L << (BITS * LEVELS)) - 1;
+		}
+
+		final int index = (int) ((expireTick >>> (BITS * level)) & WHEEL_MASK);
+		// 插入槽链表头部
+		final Node<K, V> head = wheels[level][index];
+		node.level = level;
+		node.index = index;
+		node.prev = null;
+		node.next = head;
+		if (null != head) {
+			head.prev = node;
+		}
+		wheels[level][index] = node;
+	}
+
+	/**
+	 * 将节点从所在槽的链表中摘除
+	 *
+	 * @param node 节点
+	 */
+	private void unlink(Node<K, V> node) {
+		if (null == node.prev) {
+			if (wheels[node.level][node.index] == node) {
+				wheels[node.level][node.index] = node.next;
+			}
+		} else {
+			node.prev.next = node.next;
+		}
+		if (null != node.next) {
+			node.next.prev = node.prev;
+		}
+		node.prev = null;
+		node.next = null;
+	}
+
+	/**
+	 * 时间轮节点，槽内双向链表的一环
+	 *
+	 * @param <K> 键类型
+	 * @param <V> 值类型
+	 */
+	static final class Node<K, V> {
+		final CacheObj<K, V> co;
+		/** 到期刻度 */
+		final long expireTick;
+		/** 所在层 */
+		int level;
+		/** 所在槽 */
+		int index;
+		Node<K, V> prev;
+		Node<K, V> next;
+
+		Node(CacheObj<K, V> co, long expireTick) {
+			this.co = co;
+			this.expireTick = expireTick;
+		}
+	}
+}
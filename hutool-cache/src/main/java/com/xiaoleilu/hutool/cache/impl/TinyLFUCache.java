@@ -0,0 +1,459 @@
+package com.xiaoleilu.hutool.cache.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.xiaoleilu.hutool.cache.CacheLoader;
+import com.xiaoleilu.hutool.cache.CacheStats;
+import com.xiaoleilu.hutool.cache.LoadableCache;
+import com.xiaoleilu.hutool.cache.RemovalCause;
+
+/**
+ * W-TinyLFU 缓存<br>
+ * 缓存空间被分为三个区域：
+ * <ul>
+ * 		<li>窗口区（Window，约1%容量）：新对象先进入此区，LRU淘汰，用于接纳突发的新热点</li>
+ * 		<li>试用区（Probation）：从窗口区晋升的对象，再次被访问后进入保护区</li>
+ * 		<li>保护区（Protected，约主区80%容量）：被多次访问的对象，溢出时降级回试用区</li>
+ * </ul>
+ * 窗口区溢出时，被挤出的候选对象与试用区队首对象比较{@link FrequencySketch}估算的访问频率，频率高者留下。<br>
+ * 所有淘汰操作均为O(1)，相比{@link LFUCache}每次淘汰全量遍历，容量较大时写入更快，在访问分布倾斜的场景命中率高于LRU。<br>
+ * 读取无锁，访问记录使用tryLock，拿不到锁时跳过，不阻塞读线程。<br>
+ * 注意：key不能为<code>null</code>
+ *
+ * @author Looly
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @since 3.1.0
+ */
+public class TinyLFUCache<K, V> implements LoadableCache<K, V> {
+
+	/** 窗口区占总容量比例 */
+	private static final double WINDOW_RATIO = 0.01;
+	/** 保护区占主区容量比例 */
+	private static final double PROTECTED_RATIO = 0.8;
+
+	/** 缓存容量 */
+	protected final int capacity;
+	/** 缓存失效时长， <code>0</code> 表示没有设置，单位毫秒 */
+	protected final long timeout;
+
+	/** 存储，支持无锁读取 */
+	private final ConcurrentHashMap<K, CacheObj<K, V>> cacheMap;
+	/** 窗口区，访问顺序 */
+	private final LinkedHashMap<K, CacheObj<K, V>> window;
+	/** 试用区，访问顺序 */
+	private final LinkedHashMap<K, CacheObj<K, V>> probation;
+	/** 保护区，访问顺序 */
+	private final LinkedHashMap<K, CacheObj<K, V>> protectedMap;
+	/** 访问频率估算 */
+	private final FrequencySketch<K> sketch;
+	/** 保护各区域和频率估算的锁 */
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final int windowMax;
+	private final int mainMax;
+	private final int protectedMax;
+
+	/** 统计计数器 */
+	protected final StatsCounter statsCounter = new StatsCounter();
+	/** 合并同一key的并发加载 */
+	private final SingleFlightLoader<K, V> singleFlightLoader = new SingleFlightLoader<K, V>(statsCounter) {
+		@Override
+		V getIfPresent(K key) {
+			return peek(key);
+		}
+	};
+
+	/**
+	 * 构造，默认无超时
+	 *
+	 * @param capacity 容量，必须大于0
+	 */
+	public TinyLFUCache(int capacity) {
+		this(capacity, 0);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param capacity 容量，必须大于0
+	 * @param timeout 默认超时时间，单位：毫秒，<code>0</code>表示不过期
+	 */
+	public TinyLFUCache(int capacity, long timeout) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be > 0");
+		}
+		this.capacity = capacity;
+		this.timeout = timeout;
+
+		this.windowMax = Math.max(1, (int) (capacity * WINDOW_RATIO));
+		this.mainMax = capacity - windowMax;
+		this.protectedMax = (int) (mainMax * PROTECTED_RATIO);
+
+		this.cacheMap = new ConcurrentHashMap<>(capacity + 1);
+		this.window = new LinkedHashMap<>(windowMax + 1, 0.75f, true);
+		this.probation = new LinkedHashMap<>(16, 0.75f, true);
+		this.protectedMap = new LinkedHashMap<>(16, 0.75f, true);
+		this.sketch = new FrequencySketch<>(capacity);
+	}
+
+	// ---------------------------------------------------------------- put start
+	@Override
+	public void put(K key, V object) {
+		put(key, object, timeout);
+	}
+
+	@Override
+	public void put(K key, V object, long timeout) {
+		final CacheObj<K, V> co = new CacheObj<K, V>(key, object, timeout);
+		evictionLock.lock();
+		try {
+			sketch.increment(key);
+			final CacheObj<K, V> old = cacheMap.put(key, co);
+			if (null != old) {
+				statsCounter.recordRemoval(RemovalCause.REPLACED, co.createTime - old.createTime);
+				// 已存在，原位置替换并视为一次访问
+				if (window.containsKey(key)) {
+					window.put(key, co);
+				} else if (protectedMap.containsKey(key)) {
+					protectedMap.put(key, co);
+				} else {
+					probation.put(key, co);
+				}
+				return;
+			}
+
+			window.put(key, co);
+			if (window.size() > windowMax) {
+				evictFromWindow();
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+	// ---------------------------------------------------------------- put end
+
+	// ---------------------------------------------------------------- get start
+	@Override
+	public V get(K key) {
+		final CacheObj<K, V> co = cacheMap.get(key);
+		if (null == co) {
+			// 未命中也计入频率，使反复被请求的对象更容易被接纳
+			if (evictionLock.tryLock()) {
+				try {
+					sketch.increment(key);
+				} finally {
+					evictionLock.unlock();
+				}
+			}
+			statsCounter.recordMiss();
+			return null;
+		}
+
+		if (co.isExpired()) {
+			removeIfSame(key, co);
+			statsCounter.recordMiss();
+			return null;
+		}
+
+		if (evictionLock.tryLock()) {
+			try {
+				onAccess(key);
+			} finally {
+				evictionLock.unlock();
+			}
+		}
+		statsCounter.recordHit();
+		return co.get();
+	}
+
+	@Override
+	public V get(K key, CacheLoader<K, V> loader) {
+		V value = get(key);
+		if (null == value && null != loader) {
+			value = singleFlightLoader.load(this, key, loader);
+		}
+		return value;
+	}
+
+	@Override
+	public boolean containsKey(K key) {
+		final CacheObj<K, V> co = cacheMap.get(key);
+		if (null == co) {
+			return false;
+		}
+		if (co.isExpired()) {
+			removeIfSame(key, co);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * 获取未过期的对象，不计入统计，不更新访问顺序和次数
+	 *
+	 * @param key 键
+	 * @return 缓存的对象，不存在或已过期返回<code>null</code>
+	 */
+	V peek(K key) {
+		final CacheObj<K, V> co = cacheMap.get(key);
+		return (null == co || co.isExpired()) ? null : co.obj;
+	}
+	// ---------------------------------------------------------------- get end
+
+	@Override
+	public Iterator<V> iterator() {
+		return new CacheValuesIterator<V>(new ArrayList<>(cacheMap.values()).iterator());
+	}
+
+	/**
+	 * 清理过期对象
+	 *
+	 * @return 清理数
+	 */
+	@Override
+	public int prune() {
+		evictionLock.lock();
+		try {
+			return pruneExpired(window) + pruneExpired(probation) + pruneExpired(protectedMap);
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	// ---------------------------------------------------------------- common start
+	@Override
+	public int capacity() {
+		return capacity;
+	}
+
+	@Override
+	public long timeout() {
+		return timeout;
+	}
+
+	@Override
+	public boolean isFull() {
+		return cacheMap.size() >= capacity;
+	}
+
+	@Override
+	public void remove(K key) {
+		evictionLock.lock();
+		try {
+			final CacheObj<K, V> co = cacheMap.get(key);
+			if (null != co) {
+				removeEntry(co, RemovalCause.EXPLICIT);
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		evictionLock.lock();
+		try {
+			cacheMap.clear();
+			window.clear();
+			probation.clear();
+			protectedMap.clear();
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		return cacheMap.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return cacheMap.isEmpty();
+	}
+
+	@Override
+	public CacheStats stats() {
+		return statsCounter.snapshot();
+	}
+
+	@Override
+	public void resetStats() {
+		statsCounter.reset();
+	}
+
+	@Override
+	public String toString() {
+		return this.cacheMap.toString();
+	}
+	// ---------------------------------------------------------------- common end
+
+	/**
+	 * 对象移除回调。默认无动作<br>
+	 * 此方法在锁内被调用，实现中不应有耗时操作
+	 *
+	 * @param key 键
+	 * @param cachedObject 被缓存的对象
+	 */
+	protected void onRemove(K key, V cachedObject) {
+	}
+
+	// ---------------------------------------------------------------- Private method start
+	/**
+	 * 记录一次访问，调用时必须持有锁<br>
+	 * 试用区对象被访问后晋升到保护区，保护区溢出时最久未访问的对象降级回试用区
+	 *
+	 * @param key 键
+	 */
+	private void onAccess(K key) {
+		sketch.increment(key);
+		if (null != window.get(key)) {
+			return;
+		}
+		if (null != protectedMap.get(key)) {
+			return;
+		}
+
+		final CacheObj<K, V> co = probation.remove(key);
+		if (null == co) {
+			// 已被其它线程移除
+			return;
+		}
+		protectedMap.put(key, co);
+		if (protectedMap.size() > protectedMax) {
+			final Iterator<CacheObj<K, V>> values = protectedMap.values().iterator();
+			final CacheObj<K, V> demoted = values.next();
+			values.remove();
+			probation.put(demoted.key, demoted);
+		}
+	}
+
+	/**
+	 * 窗口区溢出处理，调用时必须持有锁<br>
+	 * 主区未满时候选对象直接进入试用区，否则候选对象与试用区队首对象比较访问频率，频率低者被淘汰
+	 */
+	private void evictFromWindow() {
+		final Iterator<CacheObj<K, V>> windowValues = window.values().iterator();
+		final CacheObj<K, V> candidate = windowValues.next();
+		windowValues.remove();
+
+		if (probation.size() + protectedMap.size() < mainMax) {
+			probation.put(candidate.key, candidate);
+			return;
+		}
+
+		CacheObj<K, V> victim = first(probation);
+		if (null == victim) {
+			victim = first(protectedMap);
+		}
+		if (null == victim) {
+			// 主区容量为0，候选对象无处可去
+			evictEntry(candidate, RemovalCause.SIZE);
+			return;
+		}
+
+		if (victim.isExpired()) {
+			removeEntry(victim, RemovalCause.EXPIRED);
+			probation.put(candidate.key, candidate);
+		} else if (candidate.isExpired()) {
+			evictEntry(candidate, RemovalCause.EXPIRED);
+		} else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+			removeEntry(victim, RemovalCause.SIZE);
+			probation.put(candidate.key, candidate);
+		} else {
+			evictEntry(candidate, RemovalCause.SIZE);
+		}
+	}
+
+	/**
+	 * 淘汰已从所有区域中移出的对象，调用时必须持有锁
+	 *
+	 * @param co 缓存对象
+	 * @param cause 移除原因
+	 */
+	private void evictEntry(CacheObj<K, V> co, RemovalCause cause) {
+		cacheMap.remove(co.key, co);
+		notifyRemove(co, cause);
+	}
+
+	/**
+	 * 从存储和所有区域中移除对象，调用时必须持有锁
+	 *
+	 * @param co 缓存对象
+	 * @param cause 移除原因
+	 */
+	private void removeEntry(CacheObj<K, V> co, RemovalCause cause) {
+		cacheMap.remove(co.key);
+		if (null == window.remove(co.key) && null == probation.remove(co.key)) {
+			protectedMap.remove(co.key);
+		}
+		notifyRemove(co, cause);
+	}
+
+	/**
+	 * 对象被移除后调用，记录统计信息并回调{@link #onRemove(Object, Object)}
+	 *
+	 * @param co 被移除的缓存对象
+	 * @param cause 移除原因
+	 */
+	private void notifyRemove(CacheObj<K, V> co, RemovalCause cause) {
+		statsCounter.recordRemoval(cause, System.currentTimeMillis() - co.createTime);
+		onRemove(co.key, co.obj);
+	}
+
+	/**
+	 * 当前缓存对象与给定对象相同时移除
+	 *
+	 * @param key 键
+	 * @param expected 期望的缓存对象
+	 */
+	private void removeIfSame(K key, CacheObj<K, V> expected) {
+		evictionLock.lock();
+		try {
+			if (cacheMap.get(key) == expected) {
+				removeEntry(expected, RemovalCause.EXPIRED);
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * 清理区域中的过期对象，调用时必须持有锁
+	 *
+	 * @param region 区域
+	 * @return 清理数
+	 */
+	private int pruneExpired(LinkedHashMap<K, CacheObj<K, V>> region) {
+		int count = 0;
+		final Iterator<CacheObj<K, V>> values = region.values().iterator();
+		CacheObj<K, V> co;
+		while (values.hasNext()) {
+			co = values.next();
+			if (co.isExpired()) {
+				values.remove();
+				evictEntry(co, RemovalCause.EXPIRED);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 获取区域中最久未访问的对象
+	 *
+	 * @param region 区域
+	 * @return 对象，区域为空返回<code>null</code>
+	 */
+	private CacheObj<K, V> first(LinkedHashMap<K, CacheObj<K, V>> region) {
+		final Iterator<CacheObj<K, V>> values = region.values().iterator();
+		return values.hasNext() ? values.next() : null;
+	}
+	// ---------------------------------------------------------------- Private method end
+}
@@ -0,0 +1,380 @@
+package com.xiaoleilu.hutool.cache.impl;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.xiaoleilu.hutool.cache.CacheLoader;
+import com.xiaoleilu.hutool.cache.CacheStats;
+import com.xiaoleilu.hutool.cache.LoadableCache;
+import com.xiaoleilu.hutool.cache.RemovalCause;
+import com.xiaoleilu.hutool.cache.RemovalListener;
+import com.xiaoleilu.hutool.io.IORuntimeException;
+import com.xiaoleilu.hutool.log.StaticLog;
+
+/**
+ * 二级缓存，内存缓存之下增加磁盘存储<br>
+ * <ul>
+ * 		<li>因缓存满被一级缓存淘汰的对象序列化后追加写入磁盘数据文件，过期和主动移除的对象不写入</li>
+ * 		<li>淘汰的对象先进入队列，在一级缓存释放锁后才写入磁盘，磁盘IO不会阻塞一级缓存的读取；写入失败的对象被丢弃并记录日志</li>
+ * 		<li>键按哈希分段加锁，同一键在内存和磁盘间的转移（写入、移除、从磁盘移回、淘汰写入磁盘）串行执行，过时的淘汰对象不会覆盖新值</li>
+ * 		<li>一级缓存未命中时从磁盘读取（内存映射），读到的对象移回一级缓存，同一对象只存在于其中一级</li>
+ * 		<li>{@link #close()}时将一级缓存中的所有对象写入磁盘，下次使用同一数据文件创建时从磁盘恢复，避免重启后重新预热</li>
+ * </ul>
+ * 键和值必须实现{@link java.io.Serializable}，不可序列化的对象被淘汰后直接丢弃。<br>
+ * 本缓存会占用一级缓存的{@link AbstractCache#setRemovalListener(RemovalListener)}；{@link #iterator()}只遍历一级缓存。
+ *
+ * @author Looly
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @since 3.1.0
+ */
+public class TwoLevelCache<K, V> implements LoadableCache<K, V>, Closeable {
+
+	/** 一级缓存 */
+	private final AbstractCache<K, V> cache;
+	/** 二级磁盘存储 */
+	private final DiskStore<K, V> diskStore;
+	/** 对象在磁盘中的存活时长，0表示永久存活，单位：毫秒 */
+	private final long diskTimeout;
+	/** 磁盘命中数 */
+	private final StripedCounter diskHitCount = new StripedCounter();
+	/** 分段数，须为2的幂 */
+	private static final int SEGMENT_COUNT = 16;
+	/** 分段锁，同一分段的键在内存和磁盘间的转移在锁内执行 */
+	private final Object[] locks = new Object[SEGMENT_COUNT];
+	/** 各分段被一级缓存淘汰、等待写入磁盘的对象，只在对应的分段锁内取出 */
+	private final ConcurrentLinkedQueue<Entry<K, V>>[] evicted;
+
+	/**
+	 * 构造，磁盘中的对象永不过期
+	 *
+	 * @param cache 一级缓存
+	 * @param file 磁盘数据文件，已存在时从中恢复
+	 * @throws IORuntimeException 打开数据文件失败
+	 */
+	public TwoLevelCache(AbstractCache<K, V> cache, File file) throws IORuntimeException {
+		this(cache, file, 0);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param cache 一级缓存
+	 * @param file 磁盘数据文件，已存在时从中恢复
+	 * @param diskTimeout 对象写入磁盘后的存活时长，0表示永久存活，单位：毫秒
+	 * @throws IORuntimeException 打开数据文件失败
+	 */
+	public TwoLevelCache(AbstractCache<K, V> cache, File file, long diskTimeout) throws IORuntimeException {
+		if (null == cache || null == file) {
+			throw new NullPointerException("Cache and file must be not null!");
+		}
+		this.cache = cache;
+		this.diskTimeout = diskTimeout;
+		this.diskStore = new DiskStore<>(file);
+		@SuppressWarnings("unchecked")
+		final ConcurrentLinkedQueue<Entry<K, V>>[] queues = new ConcurrentLinkedQueue[SEGMENT_COUNT];
+		for (int i = 0; i < SEGMENT_COUNT; i++) {
+			locks[i] = new Object();
+			queues[i] = new ConcurrentLinkedQueue<>();
+		}
+		this.evicted = queues;
+
+		cache.setRemovalListener(new RemovalListener<K, V>() {
+			@Override
+			public void onRemoval(K key, V value, RemovalCause cause) {
+				// 监听在一级缓存的锁内执行，此处只入队，写入磁盘见drainEvicted()
+				if (RemovalCause.SIZE == cause) {
+					evicted[indexFor(key)].offer(new SimpleImmutableEntry<K, V>(key, value));
+				}
+			}
+		});
+	}
+
+	// ---------------------------------------------------------------- put start
+	@Override
+	public void put(K key, V object) {
+		final int index = indexFor(key);
+		synchronized (locks[index]) {
+			diskStore.remove(key);
+			cache.put(key, object);
+			// 此前被淘汰的旧值已在队列中，丢弃以免写入磁盘
+			drainEvicted(index, key, object);
+		}
+		drainEvicted();
+	}
+
+	@Override
+	public void put(K key, V object, long timeout) {
+		final int index = indexFor(key);
+		synchronized (locks[index]) {
+			diskStore.remove(key);
+			cache.put(key, object, timeout);
+			// 此前被淘汰的旧值已在队列中，丢弃以免写入磁盘
+			drainEvicted(index, key, object);
+		}
+		drainEvicted();
+	}
+	// ---------------------------------------------------------------- put end
+
+	// ---------------------------------------------------------------- get start
+	/**
+	 * 从缓存中获得对象，一级缓存未命中时从磁盘读取并移回一级缓存
+	 *
+	 * @param key 键
+	 * @return 键对应的对象
+	 */
+	@Override
+	public V get(K key) {
+		V value = cache.get(key);
+		if (null == value) {
+			final int index = indexFor(key);
+			synchronized (locks[index]) {
+				// 其它线程可能已将其移回一级缓存
+				value = cache.peek(key);
+				if (null == value) {
+					// 刚被淘汰的对象可能还在队列中
+					drainEvicted(index, null, null);
+					value = diskStore.take(key);
+					if (null != value) {
+						diskHitCount.increment();
+						cache.put(key, value);
+					}
+				}
+			}
+			drainEvicted();
+		}
+		return value;
+	}
+
+	@Override
+	public V get(K key, CacheLoader<K, V> loader) {
+		V value = get(key);
+		if (null == value && null != loader) {
+			value = cache.get(key, loader);
+			final int index = indexFor(key);
+			synchronized (locks[index]) {
+				// 一级缓存仍为加载的值时，加载期间写入磁盘的旧值已过时
+				if (null != value && value == cache.peek(key)) {
+					diskStore.remove(key);
+					drainEvicted(index, key, value);
+				}
+			}
+			drainEvicted();
+		}
+		return value;
+	}
+
+	@Override
+	public boolean containsKey(K key) {
+		if (cache.containsKey(key)) {
+			return true;
+		}
+		drainEvicted();
+		return diskStore.containsKey(key);
+	}
+	// ---------------------------------------------------------------- get end
+
+	/**
+	 * 遍历一级缓存中的对象，不包括磁盘中的对象
+	 *
+	 * @return 一级缓存中对象的迭代器
+	 */
+	@Override
+	public Iterator<V> iterator() {
+		return cache.iterator();
+	}
+
+	@Override
+	public int prune() {
+		drainEvicted();
+		return cache.prune() + diskStore.prune();
+	}
+
+	// ---------------------------------------------------------------- common start
+	@Override
+	public int capacity() {
+		return cache.capacity();
+	}
+
+	@Override
+	public long timeout() {
+		return cache.timeout();
+	}
+
+	/**
+	 * @return 对象在磁盘中的存活时长，0表示永久存活，单位：毫秒
+	 */
+	public long diskTimeout() {
+		return diskTimeout;
+	}
+
+	@Override
+	public boolean isFull() {
+		return cache.isFull();
+	}
+
+	@Override
+	public void remove(K key) {
+		final int index = indexFor(key);
+		synchronized (locks[index]) {
+			cache.remove(key);
+			diskStore.remove(key);
+			drainEvicted(index, key, null);
+		}
+	}
+
+	@Override
+	public void clear() {
+		cache.clear();
+		for (ConcurrentLinkedQueue<Entry<K, V>> queue : evicted) {
+			queue.clear();
+		}
+		diskStore.clear();
+	}
+
+	/**
+	 * @return 一级缓存和磁盘中的对象总数
+	 */
+	@Override
+	public int size() {
+		drainEvicted();
+		return cache.size() + diskStore.size();
+	}
+
+	/**
+	 * @return 磁盘中的对象数
+	 */
+	public int diskSize() {
+		drainEvicted();
+		return diskStore.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * 获得一级缓存的统计信息，从磁盘读取到的对象在一级缓存中记为丢失，磁盘命中数见{@link #diskHitCount()}
+	 *
+	 * @return {@link CacheStats}
+	 */
+	@Override
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	/**
+	 * @return 一级缓存未命中而磁盘命中的次数
+	 */
+	public long diskHitCount() {
+		return diskHitCount.sum();
+	}
+
+	@Override
+	public void resetStats() {
+		cache.resetStats();
+		diskHitCount.reset();
+	}
+
+	/**
+	 * 将磁盘写入强制刷到磁盘
+	 *
+	 * @throws IORuntimeException IO异常
+	 */
+	public void flush() throws IORuntimeException {
+		drainEvicted();
+		diskStore.flush();
+	}
+
+	/**
+	 * 将一级缓存中未过期的对象全部写入磁盘并关闭数据文件，关闭后不可再使用<br>
+	 * 使用同一数据文件重新创建二级缓存即可恢复所有对象
+	 *
+	 * @throws IORuntimeException IO异常
+	 */
+	@Override
+	public void close() throws IORuntimeException {
+		drainEvicted();
+		final Iterator<CacheObj<K, V>> cacheObjs = cache.cacheObjIterator();
+		CacheObj<K, V> co;
+		while (cacheObjs.hasNext()) {
+			co = cacheObjs.next();
+			if (co.isExpired() == false) {
+				spill(co.key, co.obj);
+			}
+		}
+		diskStore.close();
+	}
+
+	@Override
+	public String toString() {
+		return cache.toString();
+	}
+	// ---------------------------------------------------------------- common end
+
+	/**
+	 * 将所有分段队列中被淘汰的对象写入磁盘，在一级缓存的锁外调用
+	 */
+	private void drainEvicted() {
+		for (int i = 0; i < SEGMENT_COUNT; i++) {
+			if (false == evicted[i].isEmpty()) {
+				synchronized (locks[i]) {
+					drainEvicted(i, null, null);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 将分段队列中被淘汰的对象写入磁盘，调用时必须持有分段锁<br>
+	 * 写入失败不影响一级缓存的使用，失败的对象被丢弃
+	 *
+	 * @param index 分段
+	 * @param discardKey 刚被写入或移除的键，其在队列中的淘汰对象已过时，直接丢弃；<code>null</code>表示不丢弃
+	 * @param currentValue 刚写入的值，其它线程可能已将其淘汰，不丢弃；<code>null</code>表示键已移除
+	 */
+	private void drainEvicted(int index, K discardKey, V currentValue) {
+		Entry<K, V> entry;
+		while (null != (entry = evicted[index].poll())) {
+			if (null != discardKey && entry.getValue() != currentValue && discardKey.equals(entry.getKey())) {
+				continue;
+			}
+			try {
+				spill(entry.getKey(), entry.getValue());
+			} catch (IORuntimeException e) {
+				StaticLog.warn(e, "Spill [{}] to disk error, discard it.", entry.getKey());
+			}
+		}
+	}
+
+	/**
+	 * 键所在的分段
+	 *
+	 * @param key 键
+	 * @return 分段
+	 */
+	private static int indexFor(Object key) {
+		if (null == key) {
+			return 0;
+		}
+		final int h = key.hashCode();
+		return (h ^ (h >>> 16)) & (SEGMENT_COUNT - 1);
+	}
+
+	/**
+	 * 将对象写入磁盘
+	 *
+	 * @param key 键
+	 * @param value 值
+	 */
+	private void spill(K key, V value) {
+		final long expireAt = (diskTimeout > 0) ? System.currentTimeMillis() + diskTimeout : 0;
+		diskStore.put(key, value, expireAt);
+	}
+}
@@ -4,10 +4,14 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import com.xiaoleilu.hutool.cache.Cache;
+import com.xiaoleilu.hutool.cache.CacheStats;
+import com.xiaoleilu.hutool.cache.RemovalCause;
+import com.xiaoleilu.hutool.cache.Weigher;
 import com.xiaoleilu.hutool.cache.impl.FIFOCache;
 import com.xiaoleilu.hutool.cache.impl.LFUCache;
 import com.xiaoleilu.hutool.cache.impl.LRUCache;
 import com.xiaoleilu.hutool.cache.impl.TimedCache;
+import com.xiaoleilu.hutool.cache.impl.TinyLFUCache;
 import com.xiaoleilu.hutool.date.DateUnit;
 import com.xiaoleilu.hutool.util.ThreadUtil;
 
@@ -47,6 +51,33 @@ public class CacheTest {
 		Assert.assertTrue(null == value3);
 	}
 	
+	@Test
+	public void tinyLfuCacheTest(){
+		TinyLFUCache<Integer, Integer> tinyLfuCache = new TinyLFUCache<Integer, Integer>(100);
+		//热点对象被多次访问
+		for (int i = 0; i < 50; i++) {
+			tinyLfuCache.put(i, i);
+		}
+		for (int round = 0; round < 5; round++) {
+			for (int i = 0; i < 50; i++) {
+				tinyLfuCache.get(i);
+			}
+		}
+		
+		//大量只访问一次的对象不应将热点对象挤出
+		for (int i = 1000; i < 11000; i++) {
+			tinyLfuCache.put(i, i);
+		}
+		Assert.assertEquals(100, tinyLfuCache.size());
+		int hit = 0;
+		for (int i = 0; i < 50; i++) {
+			if(null != tinyLfuCache.get(i)) {
+				hit++;
+			}
+		}
+		Assert.assertTrue(hit >= 45);
+	}
+	
 	@Test
 	public void lruCacheTest(){
 		LRUCache<String, String> lruCache = new LRUCache<String, String>(3);
@@ -81,4 +112,104 @@ public class CacheTest {
 		//取消定时清理
 		timedCache.cancelPruneSchedule();
 	}
+	
+	@Test
+	public void timedCacheWheelPruneTest(){
+		TimedCache<Integer, Integer> timedCache = new TimedCache<Integer, Integer>(0);
+		for (int i = 0; i < 1000; i++) {
+			//一半对象很快过期，一半对象永不过期
+			timedCache.put(i, i, (i % 2 == 0) ? 20 : 0);
+		}
+		
+		timedCache.schedulePrune(10);
+		ThreadUtil.sleep(200);
+		
+		//定时清理会真正移除过期对象，而不仅仅是在get时判断
+		Assert.assertEquals(500, timedCache.size());
+		
+		//启动定时清理后加入的对象同样被清理
+		timedCache.put(5000, 5000, 20);
+		ThreadUtil.sleep(200);
+		Assert.assertEquals(500, timedCache.size());
+		Assert.assertEquals(Integer.valueOf(1), timedCache.get(1));
+		
+		timedCache.cancelPruneSchedule();
+	}
+	
+	@Test
+	public void timedCacheWheelChurnTest(){
+		TimedCache<Integer, Integer> timedCache = new TimedCache<Integer, Integer>(20);
+		timedCache.schedulePrune(10);
+		ThreadUtil.sleep(20);
+		
+		//反复替换和移除，旧对象从时间轮中摘除，不影响新对象
+		for (int i = 0; i < 1000; i++) {
+			timedCache.put(i % 10, i);
+			if (i % 3 == 0) {
+				timedCache.remove(i % 10);
+			}
+		}
+		timedCache.put(1, 1, 0);
+		ThreadUtil.sleep(200);
+		
+		Assert.assertEquals(1, timedCache.size());
+		Assert.assertEquals(Integer.valueOf(1), timedCache.get(1));
+		
+		timedCache.cancelPruneSchedule();
+	}
+	
+	@Test
+	public void statsTest(){
+		LRUCache<String, String> lruCache = new LRUCache<String, String>(2);
+		lruCache.put("key1", "value1");
+		lruCache.put("key2", "value2");
+		lruCache.get("key1");
+		lruCache.get("key3");
+		//超出容量，key2被淘汰
+		lruCache.put("key3", "value3");
+		lruCache.remove("key1");
+		
+		CacheStats stats = lruCache.stats();
+		Assert.assertEquals(1, stats.hitCount());
+		Assert.assertEquals(1, stats.missCount());
+		Assert.assertEquals(0.5, stats.hitRate(), 0);
+		Assert.assertEquals(1, stats.removalCount(RemovalCause.SIZE));
+		Assert.assertEquals(1, stats.removalCount(RemovalCause.EXPLICIT));
+		Assert.assertEquals(1, stats.evictionCount());
+		
+		lruCache.resetStats();
+		Assert.assertEquals(0, lruCache.stats().requestCount());
+	}
+	
+	@Test
+	public void weightedLruCacheTest(){
+		LRUCache<String, String> lruCache = new LRUCache<String, String>(10, 0, new Weigher<String, String>() {
+			@Override
+			public int weigh(String key, String value) {
+				return value.length();
+			}
+		});
+		lruCache.put("key1", "aaaa");
+		lruCache.put("key2", "bbbb");
+		lruCache.get("key1");
+		Assert.assertEquals(8, lruCache.totalWeight());
+		
+		//总权重超出容量，最久未使用的key2被淘汰
+		lruCache.put("key3", "ccc");
+		Assert.assertNull(lruCache.get("key2"));
+		Assert.assertEquals(7, lruCache.totalWeight());
+		
+		//替换时按新旧权重差计算
+		lruCache.put("key1", "a");
+		Assert.assertEquals(4, lruCache.totalWeight());
+		Assert.assertEquals(2, lruCache.size());
+		
+		//超出容量的单个对象不被缓存
+		lruCache.put("key4", "ddddddddddd");
+		Assert.assertNull(lruCache.get("key4"));
+		Assert.assertEquals(4, lruCache.totalWeight());
+		
+		lruCache.clear();
+		Assert.assertEquals(0, lruCache.totalWeight());
+	}
 }
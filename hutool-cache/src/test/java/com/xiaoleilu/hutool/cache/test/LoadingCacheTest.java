@@ -0,0 +1,114 @@
+package com.xiaoleilu.hutool.cache.test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xiaoleilu.hutool.cache.CacheException;
+import com.xiaoleilu.hutool.cache.CacheLoader;
+import com.xiaoleilu.hutool.cache.CacheUtil;
+import com.xiaoleilu.hutool.cache.LoadableCache;
+import com.xiaoleilu.hutool.cache.impl.LRUCache;
+import com.xiaoleilu.hutool.cache.impl.LoadingCache;
+import com.xiaoleilu.hutool.util.ThreadUtil;
+
+/**
+ * 自动加载缓存测试
+ * @author Looly
+ *
+ */
+public class LoadingCacheTest {
+
+	@Test
+	public void singleFlightTest() throws InterruptedException{
+		final AtomicInteger loadCount = new AtomicInteger();
+		final LoadableCache<String, String> cache = new LRUCache<>(10);
+		final CacheLoader<String, String> loader = new CacheLoader<String, String>() {
+			@Override
+			public String load(String key) throws Exception {
+				loadCount.incrementAndGet();
+				ThreadUtil.sleep(100);
+				return key + "_value";
+			}
+		};
+
+		//20个线程同时未命中，只加载一次
+		final int threadCount = 20;
+		final CountDownLatch latch = new CountDownLatch(threadCount);
+		final AtomicInteger rightCount = new AtomicInteger();
+		for (int i = 0; i < threadCount; i++) {
+			ThreadUtil.execute(new Runnable() {
+				@Override
+				public void run() {
+					if ("key_value".equals(cache.get("key", loader))) {
+						rightCount.incrementAndGet();
+					}
+					latch.countDown();
+				}
+			});
+		}
+		latch.await();
+
+		Assert.assertEquals(1, loadCount.get());
+		Assert.assertEquals(1, cache.stats().loadSuccessCount());
+		//加载前的双重检查不计入统计，每次读取只计一次命中或丢失
+		Assert.assertEquals(threadCount, cache.stats().requestCount());
+		Assert.assertEquals(threadCount, rightCount.get());
+		Assert.assertEquals("key_value", cache.get("key"));
+	}
+
+	@Test
+	public void refreshAheadTest(){
+		final AtomicInteger version = new AtomicInteger();
+		final LoadingCache<String, String> cache = CacheUtil.newLoadingCache(CacheUtil.<String, String>newTimedCache(10000), new CacheLoader<String, String>() {
+			@Override
+			public String load(String key) throws Exception {
+				return key + version.incrementAndGet();
+			}
+		}, 50);
+
+		Assert.assertEquals("a1", cache.get("a"));
+		Assert.assertEquals("a1", cache.get("a"));
+
+		//超过提前刷新时长，读取返回旧值并触发后台刷新
+		ThreadUtil.sleep(60);
+		Assert.assertEquals("a1", cache.get("a"));
+		ThreadUtil.sleep(100);
+		Assert.assertEquals("a2", cache.get("a"));
+	}
+
+	@Test
+	public void cleanWriteTimesTest(){
+		final LoadingCache<String, String> cache = new LoadingCache<>(new LRUCache<String, String>(10, 1), new CacheLoader<String, String>() {
+			@Override
+			public String load(String key) throws Exception {
+				return key;
+			}
+		}, 10000);
+		//缓存中的对象陆续过期，清理写入时间记录时不计入丢失
+		for (int i = 0; i < 100; i++) {
+			cache.put("key" + i, "value");
+			ThreadUtil.sleep(2);
+		}
+		Assert.assertEquals(0, cache.stats().missCount());
+	}
+
+	@Test(expected = CacheException.class)
+	public void recursiveLoadTest(){
+		final LoadingCache<String, String> cache = new LoadingCache<>(new LRUCache<String, String>(10), new CacheLoader<String, String>() {
+			@Override
+			public String load(String key) throws Exception {
+				return key;
+			}
+		});
+		cache.get("a", new CacheLoader<String, String>() {
+			@Override
+			public String load(String key) throws Exception {
+				//加载器中加载同一个key，抛出异常而不是永久等待
+				return cache.get(key, this);
+			}
+		});
+	}
+}
@@ -0,0 +1,97 @@
+package com.xiaoleilu.hutool.cache.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xiaoleilu.hutool.cache.file.MappedFileCache;
+import com.xiaoleilu.hutool.io.FileUtil;
+import com.xiaoleilu.hutool.io.IORuntimeException;
+import com.xiaoleilu.hutool.util.CharsetUtil;
+
+/**
+ * 堆外文件缓存单元测试
+ * @author Looly
+ *
+ */
+public class MappedFileCacheTest {
+	
+	@Test
+	public void getFileBufferTest() throws IOException{
+		File file = File.createTempFile("hutool-mapped", ".txt");
+		try {
+			FileUtil.writeString("hutool", file, CharsetUtil.UTF_8);
+			
+			//映射阈值为4，文件使用内存映射
+			MappedFileCache fileCache = new MappedFileCache(1024 * 1024, 0, 4, 0);
+			ByteBuffer buffer = fileCache.getFileBuffer(file);
+			Assert.assertTrue(buffer.isReadOnly());
+			Assert.assertEquals("hutool", toStr(buffer));
+			
+			//每次获得的视图互不影响
+			Assert.assertEquals("hutool", toStr(fileCache.getFileBuffer(file)));
+			Assert.assertEquals(1, fileCache.getCachedFilesCount());
+			
+			//文件大小变化后重新加载
+			FileUtil.writeString("hutool-cache", file, CharsetUtil.UTF_8);
+			Assert.assertEquals("hutool-cache", toStr(fileCache.getFileBuffer(file)));
+			Assert.assertEquals(1, fileCache.getCachedFilesCount());
+		} finally {
+			//Windows下被映射的文件在解除映射前无法删除，退出时再删除
+			file.deleteOnExit();
+		}
+	}
+	
+	@Test
+	public void truncateTest() throws IOException{
+		File file = File.createTempFile("hutool-mapped", ".txt");
+		try {
+			FileUtil.writeString("hutool-cache", file, CharsetUtil.UTF_8);
+			MappedFileCache fileCache = new MappedFileCache(1024 * 1024, 0, 4, 0);
+			Assert.assertEquals("hutool-cache", toStr(fileCache.getFileBuffer(file)));
+			
+			//原地截断后不再返回失效的映射
+			RandomAccessFile raf = new RandomAccessFile(file, "rw");
+			try {
+				raf.setLength(6);
+			} finally {
+				raf.close();
+			}
+			Assert.assertEquals("hutool", toStr(fileCache.getFileBuffer(file)));
+		} finally {
+			file.deleteOnExit();
+		}
+	}
+	
+	@Test(expected = IORuntimeException.class)
+	public void tooLargeTest() throws IOException{
+		File file = File.createTempFile("hutool-mapped", ".data");
+		try {
+			//稀疏文件，不实际占用磁盘
+			RandomAccessFile raf = new RandomAccessFile(file, "rw");
+			try {
+				raf.setLength(MappedFileCache.MAX_FILE_SIZE + 1);
+			} finally {
+				raf.close();
+			}
+			new MappedFileCache(0).getFileBuffer(file);
+		} finally {
+			file.delete();
+		}
+	}
+	
+	@Test(expected = IORuntimeException.class)
+	public void notExistTest(){
+		new MappedFileCache(1024).getFileBuffer(new File("hutool-not-exist.txt"));
+	}
+	
+	private static String toStr(ByteBuffer buffer){
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return new String(bytes, CharsetUtil.CHARSET_UTF_8);
+	}
+}
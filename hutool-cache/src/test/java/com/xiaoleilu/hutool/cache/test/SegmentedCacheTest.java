@@ -0,0 +1,122 @@
+package com.xiaoleilu.hutool.cache.test;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xiaoleilu.hutool.cache.Cache;
+import com.xiaoleilu.hutool.cache.CacheUtil;
+import com.xiaoleilu.hutool.cache.impl.SegmentedCache;
+import com.xiaoleilu.hutool.cache.impl.SegmentedCache.Policy;
+import com.xiaoleilu.hutool.util.ThreadUtil;
+
+/**
+ * 分段并发缓存测试
+ * @author Looly
+ *
+ */
+public class SegmentedCacheTest {
+
+	@Test
+	public void fifoTest(){
+		Cache<String, String> cache = CacheUtil.newSegmentedCache(Policy.FIFO, 3);
+		cache.put("key1", "value1");
+		cache.put("key2", "value2");
+		cache.put("key3", "value3");
+		cache.get("key1");
+		cache.put("key4", "value4");
+
+		//FIFO不考虑访问，最先放入的key1被移除
+		Assert.assertNull(cache.get("key1"));
+		Assert.assertEquals("value2", cache.get("key2"));
+		Assert.assertEquals(3, cache.size());
+	}
+
+	@Test
+	public void lruTest(){
+		Cache<String, String> cache = CacheUtil.newSegmentedCache(Policy.LRU, 3);
+		cache.put("key1", "value1");
+		cache.put("key2", "value2");
+		cache.put("key3", "value3");
+		cache.get("key1");//使用时间推近
+		cache.put("key4", "value4");
+
+		//key2最久未使用，被移除
+		Assert.assertNull(cache.get("key2"));
+		Assert.assertEquals("value1", cache.get("key1"));
+	}
+
+	@Test
+	public void lfuTest(){
+		Cache<String, String> cache = CacheUtil.newSegmentedCache(Policy.LFU, 3);
+		cache.put("key1", "value1");
+		cache.get("key1");
+		cache.put("key2", "value2");
+		cache.get("key2");
+		cache.put("key3", "value3");
+		cache.put("key4", "value4");
+
+		//key3访问最少，被移除
+		Assert.assertNull(cache.get("key3"));
+		Assert.assertEquals("value1", cache.get("key1"));
+		Assert.assertEquals("value2", cache.get("key2"));
+	}
+
+	@Test
+	public void timeoutTest(){
+		Cache<String, String> cache = CacheUtil.newSegmentedCache(Policy.FIFO, 0);
+		cache.put("key1", "value1", 1);
+		cache.put("key2", "value2");
+		ThreadUtil.sleep(10);
+
+		Assert.assertEquals(1, cache.prune());
+		Assert.assertNull(cache.get("key1"));
+		Assert.assertEquals("value2", cache.get("key2"));
+	}
+
+	@Test
+	public void schedulePruneTest(){
+		final SegmentedCache<String, String> cache = new SegmentedCache<>(Policy.FIFO, 0, 10);
+		cache.schedulePrune(5);
+		try {
+			cache.put("key1", "value1");
+			ThreadUtil.sleep(100);
+			//未访问的过期对象被定时清理
+			Assert.assertEquals(0, cache.size());
+		} finally {
+			cache.cancelPruneSchedule();
+		}
+
+		//检查key是否存在不计入统计
+		cache.put("key2", "value2", 1);
+		ThreadUtil.sleep(10);
+		Assert.assertFalse(cache.containsKey("key2"));
+		Assert.assertEquals(0, cache.stats().requestCount());
+	}
+
+	@Test
+	public void concurrentCapacityTest() throws InterruptedException{
+		final SegmentedCache<Integer, Integer> cache = new SegmentedCache<>(Policy.LRU, 1000);
+		Assert.assertTrue(cache.segmentCount() > 1);
+
+		final int threadCount = 8;
+		final CountDownLatch latch = new CountDownLatch(threadCount);
+		for (int t = 0; t < threadCount; t++) {
+			final int offset = t * 10000;
+			ThreadUtil.execute(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < 10000; i++) {
+						cache.put(offset + i, i);
+						cache.get(offset + i / 2);
+					}
+					latch.countDown();
+				}
+			});
+		}
+		latch.await();
+
+		Assert.assertEquals(1000, cache.size());
+	}
+}
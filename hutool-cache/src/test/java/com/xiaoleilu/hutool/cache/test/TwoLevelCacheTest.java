@@ -0,0 +1,124 @@
+package com.xiaoleilu.hutool.cache.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xiaoleilu.hutool.cache.CacheUtil;
+import com.xiaoleilu.hutool.cache.impl.LRUCache;
+import com.xiaoleilu.hutool.cache.impl.TwoLevelCache;
+import com.xiaoleilu.hutool.util.StrUtil;
+
+/**
+ * 二级缓存单元测试
+ * @author Looly
+ *
+ */
+public class TwoLevelCacheTest {
+	
+	@Test
+	public void spillAndRestartTest() throws IOException{
+		File file = File.createTempFile("hutool-l2", ".data");
+		file.deleteOnExit();
+		
+		TwoLevelCache<String, String> cache = CacheUtil.newTwoLevelCache(new LRUCache<String, String>(2), file);
+		cache.put("key1", "value1");
+		cache.put("key2", "value2");
+		//超出容量，key1被淘汰到磁盘
+		cache.put("key3", "value3");
+		Assert.assertEquals(1, cache.diskSize());
+		Assert.assertEquals(3, cache.size());
+		
+		//从磁盘读取并移回内存，key2被淘汰到磁盘
+		Assert.assertEquals("value1", cache.get("key1"));
+		Assert.assertEquals(1, cache.diskHitCount());
+		Assert.assertTrue(cache.containsKey("key2"));
+		
+		//移除后磁盘中也不存在
+		cache.remove("key2");
+		Assert.assertNull(cache.get("key2"));
+		cache.close();
+		
+		//重启后恢复
+		cache = CacheUtil.newTwoLevelCache(new LRUCache<String, String>(2), file);
+		Assert.assertEquals(2, cache.diskSize());
+		Assert.assertEquals("value1", cache.get("key1"));
+		Assert.assertEquals("value3", cache.get("key3"));
+		Assert.assertNull(cache.get("key2"));
+		cache.close();
+	}
+	
+	@Test
+	public void compactTest() throws IOException{
+		File file = File.createTempFile("hutool-l2", ".data");
+		file.deleteOnExit();
+		
+		final String value = StrUtil.repeat('v', 10 * 1024);
+		TwoLevelCache<String, String> cache = CacheUtil.newTwoLevelCache(new LRUCache<String, String>(1), file);
+		//反复覆盖同一批key，废弃记录超过1MB后压缩数据文件
+		for (int i = 0; i < 300; i++) {
+			cache.put("key" + (i % 3), value + i);
+		}
+		cache.flush();
+		Assert.assertTrue(file.length() < 1024 * 1024);
+		Assert.assertEquals(value + 297, cache.get("key0"));
+		Assert.assertEquals(value + 298, cache.get("key1"));
+		cache.close();
+		
+		//压缩后的文件可正常恢复
+		cache = CacheUtil.newTwoLevelCache(new LRUCache<String, String>(1), file);
+		Assert.assertEquals(3, cache.diskSize());
+		Assert.assertEquals(value + 299, cache.get("key2"));
+		Assert.assertEquals(value + 297, cache.get("key0"));
+		cache.close();
+	}
+	
+	@Test
+	public void concurrentTest() throws IOException, InterruptedException{
+		File file = File.createTempFile("hutool-l2", ".data");
+		file.deleteOnExit();
+		
+		final TwoLevelCache<String, String> cache = CacheUtil.newTwoLevelCache(new LRUCache<String, String>(2), file);
+		final int threadCount = 8;
+		final CountDownLatch latch = new CountDownLatch(threadCount);
+		final AtomicReference<String> error = new AtomicReference<>();
+		for (int t = 0; t < threadCount; t++) {
+			final String prefix = "t" + t + "-";
+			new Thread(){
+				@Override
+				public void run() {
+					String key;
+					String found;
+					try {
+						//每个线程只写自己的key，其它线程的写入和淘汰不能使其读到旧值或丢失
+						for (int i = 0; i < 5000; i++) {
+							key = prefix + (i % 8);
+							if(i % 7 == 0){
+								cache.remove(key);
+								found = cache.get(key);
+								if(null != found){
+									error.compareAndSet(null, key + " removed but got " + found);
+								}
+							}else{
+								cache.put(key, String.valueOf(i));
+								found = cache.get(key);
+								if(false == String.valueOf(i).equals(found)){
+									error.compareAndSet(null, key + " expected " + i + " but got " + found);
+								}
+							}
+						}
+					} finally {
+						latch.countDown();
+					}
+				}
+			}.start();
+		}
+		latch.await();
+		Assert.assertNull(error.get());
+		cache.close();
+	}
+}
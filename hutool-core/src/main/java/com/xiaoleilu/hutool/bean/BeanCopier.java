@@ -0,0 +1,355 @@
+package com.xiaoleilu.hutool.bean;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.xiaoleilu.hutool.bean.BeanDesc.PropDesc;
+import com.xiaoleilu.hutool.convert.BasicType;
+import com.xiaoleilu.hutool.convert.Convert;
+import com.xiaoleilu.hutool.convert.Converter;
+import com.xiaoleilu.hutool.convert.ConverterRegistry;
+import com.xiaoleilu.hutool.exceptions.UtilException;
+import com.xiaoleilu.hutool.util.BeanUtil.CopyOptions;
+import com.xiaoleilu.hutool.util.ClassUtil;
+import com.xiaoleilu.hutool.util.CollectionUtil;
+import com.xiaoleilu.hutool.util.StrUtil;
+
+/**
+ * Bean属性拷贝器<br>
+ * 创建时一次性计算源类与目标类的属性对应关系及每对属性的转换方式，之后可被多个线程重复使用：
+ * <ul>
+ * <li>拷贝时直接调用缓存的getter和setter，不再查找属性、不再创建值提供者</li>
+ * <li>源属性类型可直接赋值给目标属性时不做转换，否则使用创建时确定的转换器</li>
+ * </ul>
+ * 拷贝规则与{@link com.xiaoleilu.hutool.util.BeanUtil#copyProperties(Object, Object, boolean, CopyOptions)}一致。<br>
+ * {@link #create(Class, Class, boolean, CopyOptions)}每次创建新的拷贝器，{@link #of(Class, Class, boolean, CopyOptions)}返回按类和选项缓存的拷贝器。
+ *
+ * <pre>
+ * BeanCopier&lt;User, UserDTO&gt; copier = BeanCopier.create(User.class, UserDTO.class);
+ * UserDTO dto = copier.copy(user);
+ * </pre>
+ *
+ * @param <S> 源Bean类型
+ * @param <T> 目标Bean类型
+ * @author Looly
+ * @since 3.1.0
+ */
+public class BeanCopier<S, T> {
+
+    /**
+     * 每个源类缓存的拷贝器数上限，超过后不再缓存
+     */
+    private static final int MAX_COPIERS_PER_CLASS = 64;
+    /**
+     * 源类对应的拷贝器，键为目标类、是否忽略大小写及拷贝选项，缓存随源类卸载
+     */
+    private static final ClassValue<Map<Key, BeanCopier<?, ?>>> CACHE = new ClassValue<Map<Key, BeanCopier<?, ?>>>() {
+        @Override
+        protected Map<Key, BeanCopier<?, ?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Class<S> sourceClass;
+    private final Class<T> targetClass;
+    private final boolean ignoreNullValue;
+    private final boolean ignoreError;
+    /**
+     * 每个需要拷贝的属性的拷贝步骤
+     */
+    private final Step[] steps;
+
+    // ------------------------------------------------------------------------------------ Static method start
+
+    /**
+     * 创建拷贝器，使用默认拷贝选项，大小写敏感
+     *
+     * @param <S>         源Bean类型
+     * @param <T>         目标Bean类型
+     * @param sourceClass 源Bean类
+     * @param targetClass 目标Bean类
+     * @return 拷贝器
+     */
+    public static <S, T> BeanCopier<S, T> create(Class<S> sourceClass, Class<T> targetClass) {
+        return create(sourceClass, targetClass, false, CopyOptions.create());
+    }
+
+    /**
+     * 创建拷贝器，大小写敏感
+     *
+     * @param <S>         源Bean类型
+     * @param <T>         目标Bean类型
+     * @param sourceClass 源Bean类
+     * @param targetClass 目标Bean类
+     * @param copyOptions 拷贝选项，见 {@link CopyOptions}
+     * @return 拷贝器
+     */
+    public static <S, T> BeanCopier<S, T> create(Class<S> sourceClass, Class<T> targetClass, CopyOptions copyOptions) {
+        return create(sourceClass, targetClass, false, copyOptions);
+    }
+
+    /**
+     * 创建拷贝器
+     *
+     * @param <S>         源Bean类型
+     * @param <T>         目标Bean类型
+     * @param sourceClass 源Bean类
+     * @param targetClass 目标Bean类
+     * @param ignoreCase  是否忽略属性名大小写
+     * @param copyOptions 拷贝选项，见 {@link CopyOptions}，<code>null</code>表示默认选项
+     * @return 拷贝器
+     * @throws IllegalArgumentException 限制类不是目标类的父类或接口
+     */
+    public static <S, T> BeanCopier<S, T> create(Class<S> sourceClass, Class<T> targetClass, boolean ignoreCase, CopyOptions copyOptions) throws IllegalArgumentException {
+        return new BeanCopier<>(sourceClass, targetClass, ignoreCase, (null == copyOptions) ? CopyOptions.create() : copyOptions);
+    }
+
+    /**
+     * 获取缓存的拷贝器，不存在时创建并缓存<br>
+     * 缓存键为源类、目标类、是否忽略大小写及拷贝选项当前的值，之后修改拷贝选项不影响已缓存的拷贝器
+     *
+     * @param <S>         源Bean类型
+     * @param <T>         目标Bean类型
+     * @param sourceClass 源Bean类
+     * @param targetClass 目标Bean类
+     * @param ignoreCase  是否忽略属性名大小写
+     * @param copyOptions 拷贝选项，见 {@link CopyOptions}，<code>null</code>表示默认选项
+     * @return 拷贝器
+     * @throws IllegalArgumentException 限制类不是目标类的父类或接口
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> BeanCopier<S, T> of(Class<S> sourceClass, Class<T> targetClass, boolean ignoreCase, CopyOptions copyOptions) throws IllegalArgumentException {
+        final Map<Key, BeanCopier<?, ?>> copiers = CACHE.get(sourceClass);
+        final Key key = new Key(targetClass, ignoreCase, (null == copyOptions) ? CopyOptions.create() : copyOptions);
+        BeanCopier<S, T> copier = (BeanCopier<S, T>) copiers.get(key);
+        if (null == copier) {
+            copier = create(sourceClass, targetClass, ignoreCase, copyOptions);
+            if (copiers.size() < MAX_COPIERS_PER_CLASS) {
+                copiers.put(key, copier);
+            }
+        }
+        return copier;
+    }
+    // ------------------------------------------------------------------------------------ Static method end
+
+    /**
+     * 构造，计算拷贝步骤
+     *
+     * @param sourceClass 源Bean类
+     * @param targetClass 目标Bean类
+     * @param ignoreCase  是否忽略属性名大小写
+     * @param copyOptions 拷贝选项
+     */
+    private BeanCopier(Class<S> sourceClass, Class<T> targetClass, boolean ignoreCase, CopyOptions copyOptions) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.ignoreNullValue = copyOptions.isIgnoreNullValue();
+        this.ignoreError = copyOptions.isIgnoreError();
+
+        Class<?> actualEditable = targetClass;
+        final Class<?> editable = copyOptions.getEditable();
+        if (null != editable) {
+            //检查限制类是否为target的父类或接口
+            if (false == editable.isAssignableFrom(targetClass)) {
+                throw new IllegalArgumentException(StrUtil.format("Target class [{}] not assignable to Editable class [{}]", targetClass.getName(), editable.getName()));
+            }
+            actualEditable = editable;
+        }
+        final String[] ignoreProperties = copyOptions.getIgnoreProperties();
+        final HashSet<String> ignoreSet = (null != ignoreProperties) ? CollectionUtil.newHashSet(ignoreProperties) : null;
+
+        final Map<String, PropDesc> sourcePropMap = BeanDesc.of(sourceClass).getPropMap(ignoreCase);
+        final List<Step> steps = new ArrayList<>();
+        PropDesc sourceProp;
+        for (PropDesc targetProp : BeanDesc.of(actualEditable).getProps()) {
+            if (null == targetProp.getSetter() || (null != ignoreSet && ignoreSet.contains(targetProp.getName()))) {
+                continue;
+            }
+            sourceProp = sourcePropMap.get(targetProp.getName());
+            if (null != sourceProp && null != sourceProp.getGetter()) {
+                steps.add(new Step(sourceProp.getGetter(), targetProp));
+            }
+        }
+        this.steps = steps.toArray(new Step[steps.size()]);
+    }
+
+    /**
+     * @return 源Bean类
+     */
+    public Class<S> getSourceClass() {
+        return sourceClass;
+    }
+
+    /**
+     * @return 目标Bean类
+     */
+    public Class<T> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * 拷贝属性到新创建的目标对象
+     *
+     * @param source 源Bean对象
+     * @return 目标Bean对象，source为<code>null</code>时返回<code>null</code>
+     * @throws UtilException 获取或注入属性失败，且未设置忽略错误
+     */
+    public T copy(S source) throws UtilException {
+        if (null == source) {
+            return null;
+        }
+        return copy(source, ClassUtil.newInstance(targetClass));
+    }
+
+    /**
+     * 拷贝属性到目标对象
+     *
+     * @param source 源Bean对象
+     * @param target 目标Bean对象
+     * @return 目标Bean对象
+     * @throws UtilException 获取或注入属性失败，且未设置忽略错误
+     */
+    public T copy(S source, T target) throws UtilException {
+        Object value;
+        for (Step step : steps) {
+            try {
+                value = step.getter.invoke(source);
+            } catch (Exception e) {
+                if (ignoreError) {
+                    value = null;
+                } else {
+                    throw new UtilException(e, "Inject [{}] error!", step.name);
+                }
+            }
+            if (null == value && ignoreNullValue) {
+                continue;//当允许跳过空时，跳过
+            }
+
+            try {
+                if (null != value && false == step.assignable) {
+                    value = step.convert(value);
+                    if (null == value && ignoreNullValue) {
+                        continue;
+                    }
+                }
+                step.setter.invoke(target, value);
+            } catch (Exception e) {
+                if (false == ignoreError) {
+                    throw new UtilException(e, "Inject [{}] error!", step.name);
+                }
+            }
+        }
+        return target;
+    }
+
+    /**
+     * 拷贝器缓存键，保存创建时拷贝选项的值
+     */
+    private static final class Key {
+        private final Class<?> targetClass;
+        private final boolean ignoreCase;
+        private final Class<?> editable;
+        private final boolean ignoreNullValue;
+        private final boolean ignoreError;
+        private final String[] ignoreProperties;
+        private final int hashCode;
+
+        /**
+         * 构造
+         *
+         * @param targetClass 目标Bean类
+         * @param ignoreCase  是否忽略属性名大小写
+         * @param copyOptions 拷贝选项
+         */
+        Key(Class<?> targetClass, boolean ignoreCase, CopyOptions copyOptions) {
+            this.targetClass = targetClass;
+            this.ignoreCase = ignoreCase;
+            this.editable = copyOptions.getEditable();
+            this.ignoreNullValue = copyOptions.isIgnoreNullValue();
+            this.ignoreError = copyOptions.isIgnoreError();
+            final String[] ignoreProperties = copyOptions.getIgnoreProperties();
+            this.ignoreProperties = (null == ignoreProperties) ? null : ignoreProperties.clone();
+
+            int hash = targetClass.hashCode();
+            hash = 31 * hash + (ignoreCase ? 1 : 0);
+            hash = 31 * hash + ((null == editable) ? 0 : editable.hashCode());
+            hash = 31 * hash + (ignoreNullValue ? 1 : 0);
+            hash = 31 * hash + (ignoreError ? 1 : 0);
+            this.hashCode = 31 * hash + Arrays.hashCode(this.ignoreProperties);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (false == obj instanceof Key) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return targetClass == other.targetClass && ignoreCase == other.ignoreCase && editable == other.editable //
+                    && ignoreNullValue == other.ignoreNullValue && ignoreError == other.ignoreError //
+                    && Arrays.equals(ignoreProperties, other.ignoreProperties);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * 单个属性的拷贝步骤
+     */
+    private static final class Step {
+        final String name;
+        final Method getter;
+        final Method setter;
+        final Class<?> targetClass;
+        /**
+         * 源属性类型是否可以直接赋值给目标属性
+         */
+        final boolean assignable;
+        /**
+         * 目标类型的转换器，无对应转换器时为<code>null</code>，使用{@link Convert}转换
+         */
+        final Converter<?> converter;
+
+        /**
+         * 构造
+         *
+         * @param getter     源属性getter
+         * @param targetProp 目标属性
+         */
+        Step(Method getter, PropDesc targetProp) {
+            this.name = targetProp.getName();
+            this.getter = getter;
+            this.setter = targetProp.getSetter();
+            this.targetClass = targetProp.getFieldClass();
+            this.assignable = BasicType.wrap(targetClass).isAssignableFrom(BasicType.wrap(getter.getReturnType()));
+            // 数组由Convert先尝试强转
+            this.converter = (assignable || targetClass.isArray()) ? null : ConverterRegistry.getInstance().getConverter(targetClass, true);
+        }
+
+        /**
+         * 转换类型不匹配的值
+         *
+         * @param value 值，非<code>null</code>
+         * @return 转换后的值
+         */
+        Object convert(Object value) {
+            if (targetClass.isInstance(value)) {
+                return value;
+            }
+            if (null != converter) {
+                return converter.convert(value, null);
+            }
+            return Convert.convert(targetClass, value);
+        }
+    }
+}
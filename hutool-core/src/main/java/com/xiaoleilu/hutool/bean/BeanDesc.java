@@ -0,0 +1,306 @@
+package com.xiaoleilu.hutool.bean;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.xiaoleilu.hutool.collection.CaseInsensitiveMap;
+import com.xiaoleilu.hutool.util.ReflectUtil;
+
+/**
+ * Bean描述信息，包括Bean的所有属性及其getter、setter和字段<br>
+ * 每个类只解析一次并全局缓存，缓存随类一同卸载；getter、setter及字段在解析时已设置为可访问，调用时不再检查。<br>
+ * 获取实例使用{@link #of(Class)}，线程安全。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public class BeanDesc {
+
+    private static final ClassValue<BeanDesc> CACHE = new ClassValue<BeanDesc>() {
+        @Override
+        protected BeanDesc computeValue(Class<?> type) {
+            return new BeanDesc(type);
+        }
+    };
+
+    private final Class<?> beanClass;
+    private final PropertyDescriptor[] propertyDescriptors;
+    /**
+     * 属性名和属性，与{@link Introspector}返回的属性顺序一致
+     */
+    private final Map<String, PropDesc> propMap;
+    private final Map<String, PropDesc> ignoreCasePropMap;
+    private final Map<String, PropertyDescriptor> pdMap;
+    private final Map<String, PropertyDescriptor> ignoreCasePdMap;
+
+    /**
+     * 获取Bean描述信息，首次获取时解析并缓存
+     *
+     * @param beanClass Bean类
+     * @return Bean描述信息
+     * @throws BeanException 解析Bean信息失败，cause为{@link IntrospectionException}
+     */
+    public static BeanDesc of(Class<?> beanClass) throws BeanException {
+        return CACHE.get(beanClass);
+    }
+
+    /**
+     * 构造
+     *
+     * @param beanClass Bean类
+     * @throws BeanException 解析Bean信息失败
+     */
+    private BeanDesc(Class<?> beanClass) throws BeanException {
+        this.beanClass = beanClass;
+        try {
+            this.propertyDescriptors = Introspector.getBeanInfo(beanClass).getPropertyDescriptors();
+        } catch (IntrospectionException e) {
+            throw new BeanException(e);
+        }
+
+        final int size = propertyDescriptors.length;
+        final Map<String, PropDesc> propMap = new LinkedHashMap<>(size * 2, 1);
+        final Map<String, PropDesc> ignoreCasePropMap = new CaseInsensitiveMap<>(size * 2, 1);
+        final Map<String, PropertyDescriptor> pdMap = new LinkedHashMap<>(size * 2, 1);
+        final Map<String, PropertyDescriptor> ignoreCasePdMap = new CaseInsensitiveMap<>(size * 2, 1);
+        PropDesc prop;
+        for (PropertyDescriptor pd : propertyDescriptors) {
+            prop = new PropDesc(beanClass, pd);
+            propMap.put(pd.getName(), prop);
+            ignoreCasePropMap.put(pd.getName(), prop);
+            pdMap.put(pd.getName(), pd);
+            ignoreCasePdMap.put(pd.getName(), pd);
+        }
+        this.propMap = Collections.unmodifiableMap(propMap);
+        this.ignoreCasePropMap = Collections.unmodifiableMap(ignoreCasePropMap);
+        this.pdMap = Collections.unmodifiableMap(pdMap);
+        this.ignoreCasePdMap = Collections.unmodifiableMap(ignoreCasePdMap);
+    }
+
+    /**
+     * 获得Bean类
+     *
+     * @return Bean类
+     */
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    /**
+     * 获得所有属性，与{@link Introspector}返回的属性顺序一致
+     *
+     * @return 属性列表，只读
+     */
+    public Collection<PropDesc> getProps() {
+        return propMap.values();
+    }
+
+    /**
+     * 获得属性
+     *
+     * @param name 属性名
+     * @return 属性，不存在返回<code>null</code>
+     */
+    public PropDesc getProp(String name) {
+        return propMap.get(name);
+    }
+
+    /**
+     * 获得属性名和属性的Map
+     *
+     * @param ignoreCase 是否忽略大小写
+     * @return 属性名和属性的Map，只读
+     */
+    public Map<String, PropDesc> getPropMap(boolean ignoreCase) {
+        return ignoreCase ? ignoreCasePropMap : propMap;
+    }
+
+    /**
+     * 获得{@link PropertyDescriptor}数组，每次返回新的数组
+     *
+     * @return {@link PropertyDescriptor}数组
+     */
+    public PropertyDescriptor[] getPropertyDescriptors() {
+        return propertyDescriptors.clone();
+    }
+
+    /**
+     * 获得属性名和{@link PropertyDescriptor}的Map
+     *
+     * @param ignoreCase 是否忽略大小写
+     * @return 属性名和{@link PropertyDescriptor}的Map，只读
+     */
+    public Map<String, PropertyDescriptor> getPropertyDescriptorMap(boolean ignoreCase) {
+        return ignoreCase ? ignoreCasePdMap : pdMap;
+    }
+
+    /**
+     * 属性描述，getter、setter和字段已设置为可访问
+     *
+     * @author Looly
+     */
+    public static final class PropDesc {
+        private final String name;
+        private final PropertyDescriptor propertyDescriptor;
+        private final Method getter;
+        private final Method setter;
+        private final Field field;
+        private final Type fieldType;
+        private final Class<?> fieldClass;
+
+        /**
+         * 构造
+         *
+         * @param beanClass          Bean类
+         * @param propertyDescriptor {@link PropertyDescriptor}
+         */
+        private PropDesc(Class<?> beanClass, PropertyDescriptor propertyDescriptor) {
+            this.name = propertyDescriptor.getName();
+            this.propertyDescriptor = propertyDescriptor;
+            this.getter = accessible(propertyDescriptor.getReadMethod());
+            this.setter = accessible(propertyDescriptor.getWriteMethod());
+            this.field = accessible(ReflectUtil.getField(beanClass, name));
+            this.fieldClass = propertyDescriptor.getPropertyType();
+            if (null != setter) {
+                this.fieldType = setter.getGenericParameterTypes()[0];
+            } else if (null != getter) {
+                this.fieldType = getter.getGenericReturnType();
+            } else {
+                this.fieldType = fieldClass;
+            }
+        }
+
+        /**
+         * @return 属性名
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return {@link PropertyDescriptor}
+         */
+        public PropertyDescriptor getPropertyDescriptor() {
+            return propertyDescriptor;
+        }
+
+        /**
+         * @return getter方法，无则返回<code>null</code>
+         */
+        public Method getGetter() {
+            return getter;
+        }
+
+        /**
+         * @return setter方法，无则返回<code>null</code>
+         */
+        public Method getSetter() {
+            return setter;
+        }
+
+        /**
+         * @return 同名字段（包括父类中的字段），无则返回<code>null</code>
+         */
+        public Field getField() {
+            return field;
+        }
+
+        /**
+         * 获得属性的泛型类型，优先使用setter参数类型，其次为getter返回值类型
+         *
+         * @return 属性类型
+         */
+        public Type getFieldType() {
+            return fieldType;
+        }
+
+        /**
+         * @return 属性的原始类型
+         */
+        public Class<?> getFieldClass() {
+            return fieldClass;
+        }
+
+        /**
+         * 通过getter获得属性值
+         *
+         * @param bean Bean对象
+         * @return 属性值
+         * @throws BeanException 无getter或调用失败
+         */
+        public Object getValue(Object bean) throws BeanException {
+            if (null == getter) {
+                throw new BeanException("No get method for {}", name);
+            }
+            try {
+                return getter.invoke(bean);
+            } catch (Exception e) {
+                throw new BeanException(e, "Get property [{}] error!", name);
+            }
+        }
+
+        /**
+         * 通过setter设置属性值
+         *
+         * @param bean  Bean对象
+         * @param value 属性值
+         * @throws BeanException 无setter或调用失败
+         */
+        public void setValue(Object bean, Object value) throws BeanException {
+            if (null == setter) {
+                throw new BeanException("No set method for {}", name);
+            }
+            try {
+                setter.invoke(bean, value);
+            } catch (Exception e) {
+                throw new BeanException(e, "Set property [{}] error!", name);
+            }
+        }
+
+        /**
+         * 直接获得字段值，不调用getter
+         *
+         * @param bean Bean对象
+         * @return 字段值
+         * @throws BeanException 无此字段或获取失败
+         */
+        public Object getFieldValue(Object bean) throws BeanException {
+            if (null == field) {
+                throw new BeanException("No field for {}", name);
+            }
+            try {
+                return field.get(bean);
+            } catch (Exception e) {
+                throw new BeanException(e, "Get field [{}] error!", name);
+            }
+        }
+
+        /**
+         * 设置为可访问，安全管理器或模块系统禁止时保持原状<br>
+         * 解析时只调用一次，不使用JDK9起废弃的isAccessible()判断
+         *
+         * @param <T>    {@link Method}或{@link Field}
+         * @param member 方法或字段
+         * @return 方法或字段
+         */
+        private static <T extends AccessibleObject> T accessible(T member) {
+            if (null != member) {
+                try {
+                    member.setAccessible(true);
+                } catch (RuntimeException ignore) {
+                    // 无权限时（SecurityException或JDK9+的InaccessibleObjectException）按照原始访问权限调用
+                }
+            }
+            return member;
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.xiaoleilu.hutool.bean;
 
+import com.xiaoleilu.hutool.bean.BeanDesc.PropDesc;
 import com.xiaoleilu.hutool.util.ArrayUtil;
 import com.xiaoleilu.hutool.util.BeanUtil;
 import com.xiaoleilu.hutool.util.ClassUtil;
 import com.xiaoleilu.hutool.util.StrUtil;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * Bean对象解析器<br>
  * 根据给定的表达式，查找Bean中对应的属性值对象。 表达式分为两种：
@@ -131,6 +135,17 @@ public class BeanResolver {
      * @return 子Bean
      */
     private Object getSubBean(Object bean, String name) {
+        if (null != bean && false == (bean instanceof Map || bean instanceof Collection || ArrayUtil.isArray(bean))) {
+            // 普通Bean使用缓存的属性信息，优先读取字段值，无字段时调用getter
+            final PropDesc prop = BeanDesc.of(bean.getClass()).getProp(name);
+            if (null != prop) {
+                if (null != prop.getField()) {
+                    return prop.getFieldValue(bean);
+                } else if (null != prop.getGetter()) {
+                    return prop.getValue(bean);
+                }
+            }
+        }
         return BeanUtil.getFieldValue(bean, name);
     }
 }
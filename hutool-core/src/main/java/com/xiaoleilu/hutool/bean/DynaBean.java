@@ -1,13 +1,11 @@
 package com.xiaoleilu.hutool.bean;
 
+import com.xiaoleilu.hutool.bean.BeanDesc.PropDesc;
 import com.xiaoleilu.hutool.clone.CloneSupport;
 import com.xiaoleilu.hutool.lang.Assert;
-import com.xiaoleilu.hutool.util.BeanUtil;
 import com.xiaoleilu.hutool.util.ClassUtil;
 
-import java.beans.PropertyDescriptor;
 import java.io.Serializable;
-import java.lang.reflect.Method;
 import java.util.Map;
 
 /**
@@ -84,19 +82,7 @@ public class DynaBean extends CloneSupport<DynaBean> implements Serializable {
         if (Map.class.isAssignableFrom(beanClass)) {
             return (T) ((Map<?, ?>) bean).get(fieldName);
         } else {
-            try {
-                final PropertyDescriptor descriptor = BeanUtil.getPropertyDescriptor(beanClass, fieldName);
-                if (null == descriptor) {
-                    throw new BeanException("No PropertyDescriptor for {}", fieldName);
-                }
-                final Method method = descriptor.getReadMethod();
-                if (null == method) {
-                    throw new BeanException("No set method for {}", fieldName);
-                }
-                return (T) method.invoke(this.bean);
-            } catch (Exception e) {
-                throw new BeanException(e);
-            }
+            return (T) getProp(fieldName).getValue(this.bean);
         }
     }
 
@@ -113,20 +99,23 @@ public class DynaBean extends CloneSupport<DynaBean> implements Serializable {
             ((Map) bean).put(fieldName, value);
             return;
         } else {
-            try {
-                final PropertyDescriptor descriptor = BeanUtil.getPropertyDescriptor(beanClass, fieldName);
-                if (null == descriptor) {
-                    throw new BeanException("No PropertyDescriptor for {}", fieldName);
-                }
-                final Method method = descriptor.getWriteMethod();
-                if (null == method) {
-                    throw new BeanException("No set method for {}", fieldName);
-                }
-                method.invoke(this.bean, value);
-            } catch (Exception e) {
-                throw new BeanException(e);
-            }
+            getProp(fieldName).setValue(this.bean, value);
+        }
+    }
+
+    /**
+     * 获得缓存的属性描述
+     *
+     * @param fieldName 字段名
+     * @return 属性描述
+     * @throws BeanException 无此属性
+     */
+    private PropDesc getProp(String fieldName) throws BeanException {
+        final PropDesc prop = BeanDesc.of(beanClass).getProp(fieldName);
+        if (null == prop) {
+            throw new BeanException("No PropertyDescriptor for {}", fieldName);
         }
+        return prop;
     }
 
     /**
@@ -1,6 +1,9 @@
 package com.xiaoleilu.hutool.util;
 
-import com.xiaoleilu.hutool.bean.BeanInfoCache;
+import com.xiaoleilu.hutool.bean.BeanCopier;
+import com.xiaoleilu.hutool.bean.BeanDesc;
+import com.xiaoleilu.hutool.bean.BeanDesc.PropDesc;
+import com.xiaoleilu.hutool.bean.BeanException;
 import com.xiaoleilu.hutool.bean.BeanResolver;
 import com.xiaoleilu.hutool.bean.DynaBean;
 import com.xiaoleilu.hutool.collection.CaseInsensitiveMap;
@@ -8,7 +11,6 @@ import com.xiaoleilu.hutool.convert.Convert;
 import com.xiaoleilu.hutool.exceptions.UtilException;
 
 import java.beans.IntrospectionException;
-import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.beans.PropertyEditor;
 import java.beans.PropertyEditorManager;
@@ -97,51 +99,45 @@ public class BeanUtil {
     //--------------------------------------------------------------------------------------------------------- PropertyDescriptor
 
     /**
-     * 获得Bean字段描述数组
+     * 获得Bean描述信息，包括属性及其getter、setter，结果按类缓存，见{@link BeanDesc}
      *
      * @param clazz Bean类
-     * @return 字段描述数组
+     * @return {@link BeanDesc}
      * @throws IntrospectionException 获取属性异常
+     * @since 3.1.0
      */
-    public static PropertyDescriptor[] getPropertyDescriptors(Class<?> clazz) throws IntrospectionException {
-        return Introspector.getBeanInfo(clazz).getPropertyDescriptors();
+    public static BeanDesc getBeanDesc(Class<?> clazz) throws IntrospectionException {
+        try {
+            return BeanDesc.of(clazz);
+        } catch (BeanException e) {
+            if (e.getCause() instanceof IntrospectionException) {
+                throw (IntrospectionException) e.getCause();
+            }
+            throw e;
+        }
     }
 
     /**
-     * 获得字段名和字段描述Map，获得的结果会缓存在 {@link BeanInfoCache}中
+     * 获得Bean字段描述数组，获得的结果会缓存在 {@link BeanDesc}中
      *
-     * @param clazz      Bean类
-     * @param ignoreCase 是否忽略大小写
-     * @return 字段名和字段描述Map
+     * @param clazz Bean类
+     * @return 字段描述数组
      * @throws IntrospectionException 获取属性异常
      */
-    public static Map<String, PropertyDescriptor> getPropertyDescriptorMap(Class<?> clazz, boolean ignoreCase) throws IntrospectionException {
-        Map<String, PropertyDescriptor> map = BeanInfoCache.INSTANCE.getPropertyDescriptorMap(clazz, ignoreCase);
-        if (null == map) {
-            map = internalGetPropertyDescriptorMap(clazz, ignoreCase);
-            BeanInfoCache.INSTANCE.putPropertyDescriptorMap(clazz, map, ignoreCase);
-        }
-        return map;
+    public static PropertyDescriptor[] getPropertyDescriptors(Class<?> clazz) throws IntrospectionException {
+        return getBeanDesc(clazz).getPropertyDescriptors();
     }
 
     /**
-     * 获得字段名和字段描述Map。内部使用，直接获取Bean类的PropertyDescriptor
+     * 获得字段名和字段描述Map，获得的结果会缓存在 {@link BeanDesc}中
      *
      * @param clazz      Bean类
      * @param ignoreCase 是否忽略大小写
-     * @return 字段名和字段描述Map
+     * @return 字段名和字段描述Map，只读
      * @throws IntrospectionException 获取属性异常
      */
-    private static Map<String, PropertyDescriptor> internalGetPropertyDescriptorMap(Class<?> clazz, boolean ignoreCase) throws IntrospectionException {
-        final PropertyDescriptor[] propertyDescriptors = getPropertyDescriptors(clazz);
-        final Map<String, PropertyDescriptor> map = ignoreCase ?
-                new CaseInsensitiveMap<String, PropertyDescriptor>(propertyDescriptors.length, 1)
-                : new HashMap<String, PropertyDescriptor>((int) (propertyDescriptors.length), 1);
-
-        for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
-            map.put(propertyDescriptor.getName(), propertyDescriptor);
-        }
-        return map;
+    public static Map<String, PropertyDescriptor> getPropertyDescriptorMap(Class<?> clazz, boolean ignoreCase) throws IntrospectionException {
+        return getBeanDesc(clazz).getPropertyDescriptorMap(ignoreCase);
     }
 
     /**
@@ -429,27 +425,24 @@ public class BeanUtil {
         }
         HashSet<String> ignoreSet = copyOptions.ignoreProperties != null ? CollectionUtil.newHashSet(copyOptions.ignoreProperties) : null;
         try {
-            final PropertyDescriptor[] propertyDescriptors = getPropertyDescriptors(actualEditable);
-            String                     propertyName;
-            Object                     value;
-            Method                     setterMethod;
-            Type                       propType;
-            Class<?>                   propRowType;
-            for (PropertyDescriptor property : propertyDescriptors) {
+            String   propertyName;
+            Object   value;
+            Method   setterMethod;
+            Class<?> propRowType;
+            for (PropDesc property : getBeanDesc(actualEditable).getProps()) {
                 propertyName = property.getName();
-                if ((null != ignoreSet && ignoreSet.contains(propertyName)) || false == valueProvider.containsKey(propertyName)) {
-                    continue;//属性值被忽略或值提供者无此key时跳过
+                setterMethod = property.getSetter();
+                if (null == setterMethod || (null != ignoreSet && ignoreSet.contains(propertyName)) || false == valueProvider.containsKey(propertyName)) {
+                    continue;//无setter、属性值被忽略或值提供者无此key时跳过
                 }
-                setterMethod = ClassUtil.setAccessible(property.getWriteMethod());
-                propType = TypeUtil.getParamType(setterMethod, 0);
-                value = valueProvider.value(propertyName, propType);
+                value = valueProvider.value(propertyName, property.getFieldType());
                 if (null == value && copyOptions.ignoreNullValue) {
                     continue;//当允许跳过空时，跳过
                 }
 
                 try {
                     //当类型不匹配的时候，执行默认转换
-                    propRowType = property.getPropertyType();
+                    propRowType = property.getFieldClass();
                     if (false == propRowType.isInstance(value)) {
                         value = Convert.convert(propRowType, value);
                         if (null == value && copyOptions.ignoreNullValue) {
@@ -458,9 +451,7 @@ public class BeanUtil {
                     }
 
                     //执行set方法注入值
-                    if (null != setterMethod) {
-                        setterMethod.invoke(bean, value);
-                    }
+                    setterMethod.invoke(bean, value);
                 } catch (Exception e) {
                     if (copyOptions.ignoreError) {
                         continue;//忽略注入失败
@@ -504,14 +495,15 @@ public class BeanUtil {
         }
         Map<String, Object> map = new HashMap<String, Object>();
         try {
-            final PropertyDescriptor[] propertyDescriptors = getPropertyDescriptors(bean.getClass());
-            for (PropertyDescriptor property : propertyDescriptors) {
-                String key = property.getName();
-                // 过滤class属性
-                if (false == key.equals("class") && false == key.equals("declaringClass")) {
-                    // 得到property对应的getter方法
-                    Method getter = property.getReadMethod();
-                    Object value  = getter.invoke(bean);
+            String key;
+            Method getter;
+            Object value;
+            for (PropDesc property : getBeanDesc(bean.getClass()).getProps()) {
+                key = property.getName();
+                getter = property.getGetter();
+                // 过滤class属性及无getter的属性
+                if (null != getter && false == key.equals("class") && false == key.equals("declaringClass")) {
+                    value = getter.invoke(bean);
                     if (false == ignoreNullValue || (null != value && false == value.equals(bean))) {
                         map.put(isToUnderlineCase ? StrUtil.toUnderlineCase(key) : key, value);
                     }
@@ -561,51 +553,18 @@ public class BeanUtil {
 
     /**
      * 复制Bean对象属性<br>
-     * 限制类用于限制拷贝的属性，例如一个类我只想复制其父类的一些属性，就可以将CopyOptions.editable设置为父类
+     * 限制类用于限制拷贝的属性，例如一个类我只想复制其父类的一些属性，就可以将CopyOptions.editable设置为父类<br>
+     * 拷贝计划按源类、目标类、是否忽略大小写及拷贝选项缓存，见{@link BeanCopier#of(Class, Class, boolean, CopyOptions)}
      *
      * @param source      源Bean对象
      * @param target      目标Bean对象
      * @param ignoreCase  是否忽略大小写
      * @param copyOptions 拷贝选项，见 {@link CopyOptions}
      */
+    @SuppressWarnings("unchecked")
     public static void copyProperties(final Object source, Object target, boolean ignoreCase, CopyOptions copyOptions) {
-        if (null == copyOptions) {
-            copyOptions = new CopyOptions();
-        }
-        final boolean ignoreError = copyOptions.ignoreError;
-
-        final Map<String, PropertyDescriptor> sourcePdMap;
-        try {
-            sourcePdMap = getPropertyDescriptorMap(source.getClass(), ignoreCase);
-        } catch (IntrospectionException e) {
-            throw new UtilException(e);
-        }
-
-        fillBean(target, new ValueProvider<String>() {
-            @Override
-            public Object value(String key, Type valueType) {
-                final PropertyDescriptor sourcePd = sourcePdMap.get(key);
-                if (null != sourcePd) {
-                    final Method readMethod = sourcePd.getReadMethod();
-                    if (null != readMethod) {
-                        try {
-                            return ClassUtil.setAccessible(readMethod).invoke(source);
-                        } catch (Exception e) {
-                            if (false == ignoreError) {
-                                throw new UtilException(e, "Inject [{}] error!", key);
-                            }
-                        }
-                    }
-                }
-                return null;
-            }
-
-            @Override
-            public boolean containsKey(String key) {
-                return sourcePdMap.containsKey(key);
-            }
-
-        }, copyOptions);
+        final BeanCopier<Object, Object> copier = BeanCopier.of((Class<Object>) source.getClass(), (Class<Object>) target.getClass(), ignoreCase, copyOptions);
+        copier.copy(source, target);
     }
 
     /**
@@ -748,5 +707,45 @@ public class BeanUtil {
             this.ignoreError = ignoreError;
             return this;
         }
+
+        /**
+         * 获得限制的类或接口
+         *
+         * @return 限制的类或接口，<code>null</code>表示不限制
+         * @since 3.1.0
+         */
+        public Class<?> getEditable() {
+            return editable;
+        }
+
+        /**
+         * 是否忽略空值
+         *
+         * @return 是否忽略空值
+         * @since 3.1.0
+         */
+        public boolean isIgnoreNullValue() {
+            return ignoreNullValue;
+        }
+
+        /**
+         * 获得忽略的属性列表
+         *
+         * @return 忽略的属性列表，可能为<code>null</code>
+         * @since 3.1.0
+         */
+        public String[] getIgnoreProperties() {
+            return ignoreProperties;
+        }
+
+        /**
+         * 是否忽略字段的注入错误
+         *
+         * @return 是否忽略
+         * @since 3.1.0
+         */
+        public boolean isIgnoreError() {
+            return ignoreError;
+        }
     }
 }
@@ -430,4 +430,146 @@ public class HashUtil {
         hash |= fnvHash(str);
         return hash;
     }
-}
\ No newline at end of file
+
+    /**
+     * MurmurHash3 x64 128位hash，分布均匀且速度快，适用于布隆过滤器等需要多个独立hash的场景
+     *
+     * @param data 数据
+     * @return 128位hash值，由两个long组成
+     * @since 3.1.0
+     */
+    public static long[] murmur128(byte[] data) {
+        return murmur128(data, 0);
+    }
+
+    /**
+     * MurmurHash3 x64 128位hash，分布均匀且速度快，适用于布隆过滤器等需要多个独立hash的场景
+     *
+     * @param data 数据
+     * @param seed 种子
+     * @return 128位hash值，由两个long组成
+     * @since 3.1.0
+     */
+    @SuppressWarnings("fallthrough")
+    public static long[] murmur128(byte[] data, int seed) {
+        final long c1 = 0x87c37b91114253d5L;
+        final long c2 = 0x4cf5ad432745937fL;
+        final int length = data.length;
+        final int blocks = length >> 4;
+
+        long h1 = seed & 0xFFFFFFFFL;
+        long h2 = seed & 0xFFFFFFFFL;
+        long k1;
+        long k2;
+
+        // 每次处理16个字节
+        for (int i = 0; i < blocks; i++) {
+            k1 = getLongLittleEndian(data, i << 4);
+            k2 = getLongLittleEndian(data, (i << 4) + 8);
+
+            k1 *= c1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= c2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            k2 *= c2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= c1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        // 剩余不足16个字节的部分
+        final int tail = blocks << 4;
+        k1 = 0;
+        k2 = 0;
+        switch (length & 15) {
+            case 15:
+                k2 ^= (long) (data[tail + 14] & 0xff) << 48;
+            case 14:
+                k2 ^= (long) (data[tail + 13] & 0xff) << 40;
+            case 13:
+                k2 ^= (long) (data[tail + 12] & 0xff) << 32;
+            case 12:
+                k2 ^= (long) (data[tail + 11] & 0xff) << 24;
+            case 11:
+                k2 ^= (long) (data[tail + 10] & 0xff) << 16;
+            case 10:
+                k2 ^= (long) (data[tail + 9] & 0xff) << 8;
+            case 9:
+                k2 ^= (long) (data[tail + 8] & 0xff);
+                k2 *= c2;
+                k2 = Long.rotateLeft(k2, 33);
+                k2 *= c1;
+                h2 ^= k2;
+            case 8:
+                k1 ^= (long) (data[tail + 7] & 0xff) << 56;
+            case 7:
+                k1 ^= (long) (data[tail + 6] & 0xff) << 48;
+            case 6:
+                k1 ^= (long) (data[tail + 5] & 0xff) << 40;
+            case 5:
+                k1 ^= (long) (data[tail + 4] & 0xff) << 32;
+            case 4:
+                k1 ^= (long) (data[tail + 3] & 0xff) << 24;
+            case 3:
+                k1 ^= (long) (data[tail + 2] & 0xff) << 16;
+            case 2:
+                k1 ^= (long) (data[tail + 1] & 0xff) << 8;
+            case 1:
+                k1 ^= (long) (data[tail] & 0xff);
+                k1 *= c1;
+                k1 = Long.rotateLeft(k1, 31);
+                k1 *= c2;
+                h1 ^= k1;
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        return new long[]{h1, h2};
+    }
+
+    /**
+     * 按小端序从字节数组中读取long
+     *
+     * @param data  字节数组
+     * @param index 起始位置
+     * @return long值
+     */
+    private static long getLongLittleEndian(byte[] data, int index) {
+        return (data[index] & 0xffL) //
+                | ((data[index + 1] & 0xffL) << 8) //
+                | ((data[index + 2] & 0xffL) << 16) //
+                | ((data[index + 3] & 0xffL) << 24) //
+                | ((data[index + 4] & 0xffL) << 32) //
+                | ((data[index + 5] & 0xffL) << 40) //
+                | ((data[index + 6] & 0xffL) << 48) //
+                | ((data[index + 7] & 0xffL) << 56);
+    }
+
+    /**
+     * MurmurHash3的最终混淆步骤
+     *
+     * @param k 值
+     * @return 混淆后的值
+     */
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,117 @@
+package com.xiaoleilu.hutool.core.bean;
+
+import com.xiaoleilu.hutool.bean.BeanCopier;
+import com.xiaoleilu.hutool.core.util.BeanUtilTest.Person;
+import com.xiaoleilu.hutool.core.util.BeanUtilTest.SubPerson;
+import com.xiaoleilu.hutool.exceptions.UtilException;
+import com.xiaoleilu.hutool.util.BeanUtil.CopyOptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link BeanCopier} 单元测试
+ *
+ * @author Looly
+ */
+public class BeanCopierTest {
+
+    @Test
+    public void copyTest() {
+        SubPerson person = new SubPerson();
+        person.setName("张三");
+        person.setAge(18);
+        person.setSubName("sub");
+
+        BeanCopier<SubPerson, Person> copier = BeanCopier.create(SubPerson.class, Person.class);
+        Person copy = copier.copy(person);
+        Assert.assertEquals("张三", copy.getName());
+        Assert.assertEquals(18, copy.getAge());
+        Assert.assertNull(copy.getOpenid());
+
+        // 拷贝器可重复使用
+        person.setName("李四");
+        Assert.assertEquals("李四", copier.copy(person, new Person()).getName());
+    }
+
+    @Test
+    public void copyOptionsTest() {
+        Person person = new Person();
+        person.setName("张三");
+        person.setAge(18);
+
+        Person target = new Person();
+        target.setName("keep");
+        target.setOpenid("keep");
+        BeanCopier.create(Person.class, Person.class, CopyOptions.create().setIgnoreNullValue(true).setIgnoreProperties("name")).copy(person, target);
+        Assert.assertEquals("keep", target.getName());
+        Assert.assertEquals("keep", target.getOpenid());
+        Assert.assertEquals(18, target.getAge());
+    }
+
+    @Test
+    public void cacheTest() {
+        CopyOptions options = CopyOptions.create().setIgnoreProperties("name");
+        BeanCopier<Person, Person> copier = BeanCopier.of(Person.class, Person.class, false, options);
+        Assert.assertSame(copier, BeanCopier.of(Person.class, Person.class, false, CopyOptions.create().setIgnoreProperties("name")));
+        Assert.assertNotSame(copier, BeanCopier.of(Person.class, Person.class, true, options));
+
+        // 修改选项后使用新的拷贝器，已缓存的拷贝器不受影响
+        options.setIgnoreProperties("age");
+        Assert.assertNotSame(copier, BeanCopier.of(Person.class, Person.class, false, options));
+        Person person = new Person();
+        person.setName("张三");
+        person.setAge(18);
+        Person copy = copier.copy(person);
+        Assert.assertNull(copy.getName());
+        Assert.assertEquals(18, copy.getAge());
+    }
+
+    @Test
+    public void convertTest() {
+        StrAge strAge = new StrAge();
+        strAge.setAge("20");
+        strAge.setName("张三");
+        Person person = BeanCopier.create(StrAge.class, Person.class).copy(strAge);
+        Assert.assertEquals(20, person.getAge());
+
+        Person ignoreCase = BeanCopier.create(UpperName.class, Person.class, true, null).copy(new UpperName());
+        Assert.assertEquals("upper", ignoreCase.getName());
+    }
+
+    @Test(expected = UtilException.class)
+    public void injectErrorTest() {
+        BeanCopier.create(StrAge.class, Person.class).copy(new StrAge());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void editableTest() {
+        BeanCopier.create(Person.class, Person.class, CopyOptions.create().setEditable(SubPerson.class));
+    }
+
+    public static class StrAge {
+        private String age;
+        private String name;
+
+        public String getAge() {
+            return age;
+        }
+
+        public void setAge(String age) {
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class UpperName {
+        public String getNAME() {
+            return "upper";
+        }
+    }
+}
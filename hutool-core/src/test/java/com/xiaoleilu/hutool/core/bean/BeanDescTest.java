@@ -0,0 +1,72 @@
+package com.xiaoleilu.hutool.core.bean;
+
+import com.xiaoleilu.hutool.bean.BeanDesc;
+import com.xiaoleilu.hutool.bean.BeanDesc.PropDesc;
+import com.xiaoleilu.hutool.core.util.BeanUtilTest.SubPerson;
+import com.xiaoleilu.hutool.util.BeanUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link BeanDesc} 单元测试
+ *
+ * @author Looly
+ */
+public class BeanDescTest {
+
+    @Test
+    public void propDescTest() {
+        BeanDesc desc = BeanDesc.of(SubPerson.class);
+        Assert.assertSame(desc, BeanDesc.of(SubPerson.class));
+
+        PropDesc name = desc.getProp("name");
+        Assert.assertNotNull(name.getGetter());
+        Assert.assertNotNull(name.getSetter());
+        // 父类中的私有字段
+        Assert.assertNotNull(name.getField());
+        Assert.assertSame(name, desc.getPropMap(true).get("NAME"));
+
+        PropDesc clazz = desc.getProp("class");
+        Assert.assertNull(clazz.getSetter());
+        Assert.assertNull(clazz.getField());
+
+        Assert.assertEquals("java.util.List<java.lang.String>", BeanDesc.of(TagBean.class).getProp("tags").getFieldType().toString());
+    }
+
+    @Test
+    public void valueTest() {
+        SubPerson person = new SubPerson();
+        PropDesc age = BeanDesc.of(SubPerson.class).getProp("age");
+        age.setValue(person, 20);
+        Assert.assertEquals(20, age.getValue(person));
+        Assert.assertEquals(20, age.getFieldValue(person));
+    }
+
+    @Test
+    public void beanToMapTest() {
+        TagBean bean = new TagBean();
+        bean.setTags(null);
+        // 只有setter的属性不影响转换
+        Map<String, Object> map = BeanUtil.beanToMap(bean);
+        Assert.assertTrue(map.containsKey("tags"));
+        Assert.assertFalse(map.containsKey("secret"));
+    }
+
+    public static class TagBean {
+        private List<String> tags;
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public void setSecret(String secret) {
+        }
+    }
+}
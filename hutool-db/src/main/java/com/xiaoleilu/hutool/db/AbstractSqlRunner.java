@@ -7,8 +7,11 @@ import java.util.List;
 
 import com.xiaoleilu.hutool.db.handler.EntityHandler;
 import com.xiaoleilu.hutool.db.handler.EntityListHandler;
+import com.xiaoleilu.hutool.db.handler.RowHandler;
+import com.xiaoleilu.hutool.db.handler.RowMapper;
 import com.xiaoleilu.hutool.db.handler.RsHandler;
 import com.xiaoleilu.hutool.db.sql.Condition.LikeType;
+import com.xiaoleilu.hutool.db.sql.Query;
 import com.xiaoleilu.hutool.util.CollectionUtil;
 import com.xiaoleilu.hutool.db.sql.SqlExecutor;
 
@@ -62,6 +65,30 @@ public abstract class AbstractSqlRunner{
 		}
 	}
 
+	/**
+	 * 流式查询，逐行回调，适用于大结果集<br>
+	 * 结果集按fetchSize分批读取，处理完的行不保留在内存中
+	 * 
+	 * @param <T> 行对象类型
+	 * @param sql 查询语句
+	 * @param fetchSize 每批读取的行数，0表示使用驱动默认值
+	 * @param mapper 行映射
+	 * @param rowHandler 行处理
+	 * @param params 参数
+	 * @return 处理的行数
+	 * @throws SQLException SQL执行异常
+	 * @since 3.1.0
+	 */
+	public <T> int forEach(String sql, int fetchSize, RowMapper<T> mapper, RowHandler<T> rowHandler, Object... params) throws SQLException {
+		Connection conn = null;
+		try {
+			conn = this.getConnection();
+			return SqlExecutor.forEach(conn, sql, fetchSize, mapper, rowHandler, params);
+		} finally {
+			this.closeConnection(conn);
+		}
+	}
+
 	/**
 	 * 执行非查询语句<br>
 	 * 语句包括 插入、更新、删除
@@ -164,6 +191,37 @@ public abstract class AbstractSqlRunner{
 		}
 	}
 	
+	/**
+	 * 创建批量导入器，使用当前数据库方言<br>
+	 * 适用于大量数据分块插入或插入更新，见{@link BulkLoader}
+	 * 
+	 * @return {@link BulkLoader}
+	 * @since 3.1.0
+	 */
+	public BulkLoader bulkLoader() {
+		return BulkLoader.create(runner.getDialect());
+	}
+	
+	/**
+	 * 使用批量导入器导入记录，记录逐条读取，每满一块执行一次<br>
+	 * 不同于{@link #insert(Collection)}，记录的字段可以不一致，字段不同的记录分块执行
+	 * 
+	 * @param loader 批量导入器，通过{@link #bulkLoader()}创建
+	 * @param records 记录，{@link Entity}或Bean
+	 * @return 导入结果
+	 * @throws SQLException SQL执行异常
+	 * @since 3.1.0
+	 */
+	public BulkLoader.Result bulkLoad(BulkLoader loader, Iterable<?> records) throws SQLException {
+		Connection conn = null;
+		try {
+			conn = this.getConnection();
+			return loader.load(conn, records);
+		} finally {
+			this.closeConnection(conn);
+		}
+	}
+	
 	/**
 	 * 插入数据
 	 * @param record 记录
@@ -302,6 +360,31 @@ public abstract class AbstractSqlRunner{
 		}
 	}
 	
+	/**
+	 * 流式查询，逐行回调，适用于大结果集
+	 * 
+	 * @param <T> 行对象类型
+	 * @param fields 返回的字段列表，null则返回所有字段
+	 * @param where 条件实体类（包含表名）
+	 * @param fetchSize 每批读取的行数，0表示使用驱动默认值
+	 * @param mapper 行映射
+	 * @param rowHandler 行处理
+	 * @return 处理的行数
+	 * @throws SQLException SQL执行异常
+	 * @since 3.1.0
+	 */
+	public <T> int forEach(Collection<String> fields, Entity where, int fetchSize, RowMapper<T> mapper, RowHandler<T> rowHandler) throws SQLException {
+		final Query query = new Query(DbUtil.buildConditions(where), where.getTableName());
+		query.setFields(fields);
+		Connection conn = null;
+		try {
+			conn = this.getConnection();
+			return runner.forEach(conn, query, fetchSize, mapper, rowHandler);
+		} finally {
+			this.closeConnection(conn);
+		}
+	}
+	
 	/**
 	 * 查询，返回所有字段
 	 * 
@@ -0,0 +1,518 @@
+package com.xiaoleilu.hutool.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Map.Entry;
+
+import com.xiaoleilu.hutool.db.dialect.Dialect;
+import com.xiaoleilu.hutool.db.dialect.DialectName;
+import com.xiaoleilu.hutool.db.sql.SqlBuilder;
+import com.xiaoleilu.hutool.lang.Assert;
+import com.xiaoleilu.hutool.util.StrUtil;
+
+/**
+ * 批量导入器，将大量记录分块插入（或插入更新）到数据库中<br>
+ * 记录可以是{@link Entity}或Bean（字段名为属性名，未指定表名时表名为类名首字母小写），逐条读取，每满chunkSize条执行一次：
+ * <ul>
+ * <li>MySQL、PostgreSQL、SQLite使用多行VALUES语句，单条语句的参数数超过数据库限制时拆分为多条语句</li>
+ * <li>其它数据库使用JDBC批量执行（executeBatch）</li>
+ * <li>upsert模式下MySQL使用ON DUPLICATE KEY UPDATE，PostgreSQL使用ON CONFLICT，SQLite使用INSERT OR REPLACE（忽略conflictKeys，见{@link SqlBuilder#upsertRows(String, java.util.Collection, int, DialectName, String...)}）</li>
+ * <li>PostgreSQL的多行upsert中唯一键不能重复，同一块中唯一键相同的记录只保留最后一条</li>
+ * <li>记录的字段可以顺序不同，字段集合或表名与前一条不同时先执行已累积的记录</li>
+ * </ul>
+ * 此类不会开启事务或提交，需要整体提交时在{@link Session}中开启事务后执行。
+ *
+ * <pre>
+ * BulkLoader.Result result = BulkLoader.create(dialect).setTableName("user").setChunkSize(500).setUpsert("id").load(conn, users);
+ * </pre>
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public class BulkLoader {
+
+	/** SQLite单条语句的默认参数数上限 */
+	private static final int SQLITE_MAX_PARAMS = 999;
+	/** 其它数据库单条语句的参数数上限 */
+	private static final int MAX_PARAMS = 32767;
+
+	private final Dialect dialect;
+	private String tableName;
+	private int chunkSize = 1000;
+	private boolean multiRowValues = true;
+	private boolean upsert;
+	private String[] conflictKeys;
+	private ChunkListener chunkListener;
+
+	/**
+	 * 创建批量导入器
+	 * @param dialect 方言
+	 * @return 批量导入器
+	 */
+	public static BulkLoader create(Dialect dialect) {
+		return new BulkLoader(dialect);
+	}
+
+	/**
+	 * 构造
+	 * @param dialect 方言
+	 */
+	public BulkLoader(Dialect dialect) {
+		Assert.notNull(dialect, "Dialect must be not null !");
+		this.dialect = dialect;
+	}
+
+	//-------------------------------------------------------------------- Setters start
+	/**
+	 * 设置表名，设置后忽略记录中的表名
+	 * @param tableName 表名
+	 * @return this
+	 */
+	public BulkLoader setTableName(String tableName) {
+		this.tableName = tableName;
+		return this;
+	}
+
+	/**
+	 * 设置每次执行的记录数，默认1000
+	 * @param chunkSize 每次执行的记录数
+	 * @return this
+	 */
+	public BulkLoader setChunkSize(int chunkSize) {
+		if(chunkSize < 1) {
+			throw new IllegalArgumentException("Chunk size must be greater than 0 !");
+		}
+		this.chunkSize = chunkSize;
+		return this;
+	}
+
+	/**
+	 * 设置是否使用多行VALUES语句，默认true，仅对MySQL、PostgreSQL、SQLite有效<br>
+	 * 为false时使用JDBC批量执行
+	 * @param multiRowValues 是否使用多行VALUES语句
+	 * @return this
+	 */
+	public BulkLoader setMultiRowValues(boolean multiRowValues) {
+		this.multiRowValues = multiRowValues;
+		return this;
+	}
+
+	/**
+	 * 设置为插入更新（upsert）模式，仅支持MySQL、PostgreSQL、SQLite
+	 * @param conflictKeys 唯一键（主键）字段，PostgreSQL必须指定，同一块中唯一键相同的记录只保留最后一条；MySQL中不更新这些字段；
+	 * SQLite忽略，按表上所有的唯一约束替换记录
+	 * @return this
+	 */
+	public BulkLoader setUpsert(String... conflictKeys) {
+		this.upsert = true;
+		this.conflictKeys = conflictKeys;
+		return this;
+	}
+
+	/**
+	 * 设置每次执行完成后的回调
+	 * @param chunkListener 回调
+	 * @return this
+	 */
+	public BulkLoader setChunkListener(ChunkListener chunkListener) {
+		this.chunkListener = chunkListener;
+		return this;
+	}
+	//-------------------------------------------------------------------- Setters end
+
+	/**
+	 * 导入记录，此方法不会关闭Connection
+	 * @param conn 数据库连接对象
+	 * @param records 记录，{@link Entity}或Bean
+	 * @return 导入结果
+	 * @throws SQLException SQL执行异常
+	 */
+	public Result load(Connection conn, Iterable<?> records) throws SQLException {
+		return load(conn, records.iterator());
+	}
+
+	/**
+	 * 导入记录，逐条读取，可用于流式数据，此方法不会关闭Connection
+	 * @param conn 数据库连接对象
+	 * @param records 记录，{@link Entity}或Bean
+	 * @return 导入结果
+	 * @throws SQLException SQL执行异常
+	 */
+	public Result load(Connection conn, Iterator<?> records) throws SQLException {
+		Assert.notNull(conn, "Connection is null !");
+		final Result result = new Result();
+		final long start = System.nanoTime();
+
+		final Chunk chunk = new Chunk(chunkSize);
+		Entity entity;
+		String table;
+		while(records.hasNext()) {
+			entity = toEntity(records.next());
+			table = StrUtil.isNotBlank(tableName) ? tableName : entity.getTableName();
+			if(StrUtil.isBlank(table)) {
+				throw new DbRuntimeException("Table name is blank !");
+			}
+			if(false == chunk.accept(table, entity)) {
+				flush(conn, chunk, result);
+				chunk.reset(table, entity);
+			}
+			chunk.add(entity);
+			if(chunk.size() >= chunkSize) {
+				flush(conn, chunk, result);
+			}
+		}
+		flush(conn, chunk, result);
+
+		result.elapsedNanos = System.nanoTime() - start;
+		return result;
+	}
+
+	/**
+	 * 执行已累积的记录
+	 * @param conn 数据库连接对象
+	 * @param chunk 累积的记录
+	 * @param result 导入结果
+	 * @throws SQLException SQL执行异常
+	 */
+	private void flush(Connection conn, Chunk chunk, Result result) throws SQLException {
+		final int rows = chunk.size();
+		if(0 == rows) {
+			return;
+		}
+		final long start = System.nanoTime();
+		final DialectName dialectName = dialect.dialectName();
+		final boolean isMultiRow = multiRowValues && (DialectName.MYSQL == dialectName || DialectName.POSTGREESQL == dialectName || DialectName.SQLITE3 == dialectName);
+
+		long affected = 0;
+		if(isMultiRow) {
+			if(upsert && DialectName.POSTGREESQL == dialectName) {
+				// 同一条ON CONFLICT语句不能两次更新同一行
+				chunk.distinct(conflictKeys);
+			}
+			final int statementRows = chunk.size();
+			final int maxParams = (DialectName.SQLITE3 == dialectName) ? SQLITE_MAX_PARAMS : MAX_PARAMS;
+			final int rowsPerStatement = Math.max(1, Math.min(statementRows, maxParams / chunk.fields.size()));
+			String sql = null;
+			int sqlRows = 0;
+			for (int from = 0; from < statementRows; from += rowsPerStatement) {
+				final int count = Math.min(rowsPerStatement, statementRows - from);
+				if(count != sqlRows) {
+					sql = buildSql(chunk, count);
+					sqlRows = count;
+				}
+				affected += executeMultiRow(conn, sql, chunk, from, count);
+			}
+		} else {
+			affected = executeBatch(conn, buildSql(chunk, 1), chunk);
+		}
+
+		final long nanos = System.nanoTime() - start;
+		result.rows += rows;
+		result.affected += affected;
+		result.chunks++;
+		if(null != chunkListener) {
+			chunkListener.onChunk(result.chunks, rows, affected, nanos);
+		}
+		chunk.clear();
+	}
+
+	/**
+	 * 使用一条多行VALUES语句插入
+	 * @param conn 数据库连接对象
+	 * @param sql SQL
+	 * @param chunk 累积的记录
+	 * @param from 起始行
+	 * @param count 行数
+	 * @return 影响行数
+	 * @throws SQLException SQL执行异常
+	 */
+	private long executeMultiRow(Connection conn, String sql, Chunk chunk, int from, int count) throws SQLException {
+		final int fieldCount = chunk.fields.size();
+		final Object[] params = new Object[count * fieldCount];
+		for (int i = 0; i < count; i++) {
+			System.arraycopy(chunk.rows.get(from + i), 0, params, i * fieldCount, fieldCount);
+		}
+		PreparedStatement ps = null;
+		try {
+			ps = conn.prepareStatement(sql);
+			DbUtil.fillParams(ps, params);
+			return ps.executeUpdate();
+		} finally {
+			DbUtil.close(ps);
+		}
+	}
+
+	/**
+	 * 使用JDBC批量执行插入
+	 * @param conn 数据库连接对象
+	 * @param sql 单行插入SQL
+	 * @param chunk 累积的记录
+	 * @return 影响行数，驱动未返回影响行数的按1行计
+	 * @throws SQLException SQL执行异常
+	 */
+	private long executeBatch(Connection conn, String sql, Chunk chunk) throws SQLException {
+		PreparedStatement ps = null;
+		try {
+			ps = conn.prepareStatement(sql);
+			for (Object[] row : chunk.rows) {
+				DbUtil.fillParams(ps, row);
+				ps.addBatch();
+			}
+			long affected = 0;
+			for (int count : ps.executeBatch()) {
+				if(count > 0) {
+					affected += count;
+				} else if(Statement.SUCCESS_NO_INFO == count) {
+					affected++;
+				}
+			}
+			return affected;
+		} finally {
+			DbUtil.close(ps);
+		}
+	}
+
+	/**
+	 * 生成插入SQL
+	 * @param chunk 累积的记录
+	 * @param rowCount 行数
+	 * @return SQL
+	 */
+	private String buildSql(Chunk chunk, int rowCount) {
+		final SqlBuilder builder = SqlBuilder.create(dialect.getWrapper());
+		if(upsert) {
+			builder.upsertRows(chunk.table, chunk.fields, rowCount, dialect.dialectName(), conflictKeys);
+		} else {
+			builder.insertRows(chunk.table, chunk.fields, rowCount, dialect.dialectName());
+		}
+		return builder.build();
+	}
+
+	/**
+	 * 记录转为{@link Entity}
+	 * @param record 记录
+	 * @return {@link Entity}
+	 */
+	private static Entity toEntity(Object record) {
+		if(null == record) {
+			throw new DbRuntimeException("Record is null !");
+		}
+		if(record instanceof Entity) {
+			return (Entity) record;
+		}
+		return Entity.parse(record);
+	}
+
+	/**
+	 * 累积的记录，同一块中的记录表名和字段集合相同
+	 *
+	 * @author Looly
+	 */
+	private static final class Chunk {
+		private String table;
+		private final List<String> fields = new ArrayList<String>();
+		private final List<Object[]> rows;
+
+		/**
+		 * 构造
+		 * @param chunkSize 每块记录数
+		 */
+		Chunk(int chunkSize) {
+			this.rows = new ArrayList<Object[]>(Math.min(chunkSize, 10000));
+		}
+
+		/**
+		 * 记录是否可以加入当前块，当前块为空时重新确定表名和字段
+		 * @param table 表名
+		 * @param entity 记录
+		 * @return 是否可以加入
+		 */
+		boolean accept(String table, Entity entity) {
+			if(rows.isEmpty()) {
+				reset(table, entity);
+				return true;
+			}
+			if(false == this.table.equals(table) || fieldCount(entity) != fields.size()) {
+				return false;
+			}
+			for (String field : fields) {
+				if(false == entity.containsKey(field)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * 使用新的表名和记录的字段重置块
+		 * @param table 表名
+		 * @param entity 记录
+		 */
+		void reset(String table, Entity entity) {
+			this.table = table;
+			this.fields.clear();
+			for (Entry<String, Object> entry : entity.entrySet()) {
+				if(StrUtil.isNotBlank(entry.getKey())) {
+					this.fields.add(entry.getKey());
+				}
+			}
+			if(this.fields.isEmpty()) {
+				throw new DbRuntimeException("No filed and value in this entity !");
+			}
+		}
+
+		/**
+		 * 按唯一键去重，唯一键相同的记录只保留最后一条，保留的记录按原顺序排列<br>
+		 * 唯一键不全在字段中时不去重，唯一键中有<code>null</code>值的记录不会冲突，全部保留
+		 * @param conflictKeys 唯一键字段
+		 */
+		void distinct(String[] conflictKeys) {
+			if(null == conflictKeys || 0 == conflictKeys.length || rows.size() < 2) {
+				return;
+			}
+			final int[] keyIndexes = new int[conflictKeys.length];
+			for (int i = 0; i < conflictKeys.length; i++) {
+				keyIndexes[i] = fields.indexOf(conflictKeys[i]);
+				if(keyIndexes[i] < 0) {
+					return;
+				}
+			}
+
+			final Set<List<Object>> keys = new HashSet<List<Object>>();
+			final List<Object[]> distinctRows = new ArrayList<Object[]>(rows.size());
+			Object[] row;
+			Object[] key;
+			boolean hasNull;
+			for (int i = rows.size() - 1; i >= 0; i--) {
+				row = rows.get(i);
+				key = new Object[keyIndexes.length];
+				hasNull = false;
+				for (int j = 0; j < keyIndexes.length; j++) {
+					key[j] = row[keyIndexes[j]];
+					hasNull |= (null == key[j]);
+				}
+				if(hasNull || keys.add(Arrays.asList(key))) {
+					distinctRows.add(row);
+				}
+			}
+			if(distinctRows.size() < rows.size()) {
+				Collections.reverse(distinctRows);
+				rows.clear();
+				rows.addAll(distinctRows);
+			}
+		}
+
+		/**
+		 * 记录中非空字段名的个数，与{@link #reset(String, Entity)}中的字段过滤规则一致
+		 * @param entity 记录
+		 * @return 字段数
+		 */
+		private static int fieldCount(Entity entity) {
+			int count = 0;
+			for (String field : entity.keySet()) {
+				if(StrUtil.isNotBlank(field)) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * 加入记录，按字段顺序取值
+		 * @param entity 记录
+		 */
+		void add(Entity entity) {
+			final Object[] row = new Object[fields.size()];
+			for (int i = 0; i < row.length; i++) {
+				row[i] = entity.get(fields.get(i));
+			}
+			rows.add(row);
+		}
+
+		int size() {
+			return rows.size();
+		}
+
+		void clear() {
+			rows.clear();
+		}
+	}
+
+	/**
+	 * 每次执行完成后的回调，可用于记录进度
+	 *
+	 * @author Looly
+	 */
+	public static interface ChunkListener {
+		/**
+		 * 一块记录执行完成
+		 * @param chunkIndex 块序号，从1开始
+		 * @param rows 本块记录数
+		 * @param affected 本块影响行数，MySQL upsert中更新的记录计为2行
+		 * @param nanos 本块执行耗时（纳秒）
+		 */
+		void onChunk(int chunkIndex, int rows, long affected, long nanos);
+	}
+
+	/**
+	 * 导入结果
+	 *
+	 * @author Looly
+	 */
+	public static class Result {
+		private long rows;
+		private long affected;
+		private int chunks;
+		private long elapsedNanos;
+
+		/**
+		 * @return 导入的记录数
+		 */
+		public long getRows() {
+			return rows;
+		}
+
+		/**
+		 * @return 影响行数
+		 */
+		public long getAffected() {
+			return affected;
+		}
+
+		/**
+		 * @return 执行的块数
+		 */
+		public int getChunks() {
+			return chunks;
+		}
+
+		/**
+		 * @return 总耗时（纳秒），包括读取记录的时间
+		 */
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		/**
+		 * @return 每秒导入的记录数
+		 */
+		public double getRowsPerSecond() {
+			return elapsedNanos > 0 ? rows * 1000000000D / elapsedNanos : 0;
+		}
+
+		@Override
+		public String toString() {
+			return StrUtil.format("BulkLoader.Result [rows={}, affected={}, chunks={}, elapsedMs={}, rowsPerSecond={}]", //
+					rows, affected, chunks, elapsedNanos / 1000000, (long) getRowsPerSecond());
+		}
+	}
+}
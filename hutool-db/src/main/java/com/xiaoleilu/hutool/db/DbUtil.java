@@ -379,7 +379,7 @@ public final class DbUtil {
 		if (ArrayUtil.isEmpty(params)) {
 			return;//无参数
 		}
-		ParameterMetaData pmd = ps.getParameterMetaData();
+		ParameterMetaData pmd = null;
 		for (int i = 0; i < params.length; i++) {
 			int paramIndex = i + 1;
 			if (params[i] != null) {
@@ -387,6 +387,10 @@ public final class DbUtil {
 			} else {
 				int sqlType = Types.VARCHAR;
 				try {
+					//只在有null参数时获取参数元信息，部分驱动获取时需访问数据库
+					if(null == pmd) {
+						pmd = ps.getParameterMetaData();
+					}
 					sqlType = pmd.getParameterType(paramIndex);
 				} catch (SQLException e) {
 					log.warn("Param get type fail, by: {}", e.getMessage());
@@ -8,6 +8,9 @@ import java.sql.Savepoint;
 import javax.sql.DataSource;
 
 import com.xiaoleilu.hutool.db.dialect.DialectFactory;
+import com.xiaoleilu.hutool.db.handler.RowMapper;
+import com.xiaoleilu.hutool.db.handler.RsIterator;
+import com.xiaoleilu.hutool.db.sql.SqlExecutor;
 import com.xiaoleilu.hutool.log.Log;
 import com.xiaoleilu.hutool.log.LogFactory;
 import com.xiaoleilu.hutool.util.StrUtil;
@@ -266,6 +269,23 @@ public class Session extends AbstractSqlRunner implements Closeable{
 		//Session中不关闭连接
 	}
 	
+	/**
+	 * 流式查询，返回结果集迭代器<br>
+	 * 迭代器使用Session的连接，遍历完成或关闭迭代器前不要关闭Session
+	 * 
+	 * @param <T> 行对象类型
+	 * @param sql 查询语句
+	 * @param fetchSize 每批读取的行数，0表示使用驱动默认值
+	 * @param mapper 行映射
+	 * @param params 参数
+	 * @return 结果集迭代器
+	 * @throws SQLException SQL执行异常
+	 * @since 3.1.0
+	 */
+	public <T> RsIterator<T> iterate(String sql, int fetchSize, RowMapper<T> mapper, Object... params) throws SQLException {
+		return SqlExecutor.iterate(this.conn, sql, fetchSize, mapper, params);
+	}
+	
 	@Override
 	public void close() {
 		DbUtil.close(conn);
@@ -13,7 +13,10 @@ import com.xiaoleilu.hutool.db.dialect.DialectFactory;
 import com.xiaoleilu.hutool.db.handler.EntityListHandler;
 import com.xiaoleilu.hutool.db.handler.NumberHandler;
 import com.xiaoleilu.hutool.db.handler.PageResultHandler;
+import com.xiaoleilu.hutool.db.handler.RowHandler;
+import com.xiaoleilu.hutool.db.handler.RowMapper;
 import com.xiaoleilu.hutool.db.handler.RsHandler;
+import com.xiaoleilu.hutool.db.handler.RsIterator;
 import com.xiaoleilu.hutool.db.sql.Condition.LikeType;
 import com.xiaoleilu.hutool.db.sql.Query;
 import com.xiaoleilu.hutool.db.sql.SqlExecutor;
@@ -295,6 +298,44 @@ public class SqlConnRunner{
 		}
 	}
 	
+	/**
+	 * 流式查询，返回结果集迭代器<br>
+	 * 结果集按fetchSize分批读取，迭代器遍历结束后自动关闭结果集和PreparedStatement，提前结束时需关闭迭代器<br>
+	 * 此方法不会关闭Connection，遍历期间Connection需保持打开
+	 * 
+	 * @param <T> 行对象类型
+	 * @param conn 数据库连接对象
+	 * @param query {@link Query}
+	 * @param fetchSize 每批读取的行数，0表示使用驱动默认值
+	 * @param mapper 行映射
+	 * @return 结果集迭代器
+	 * @throws SQLException SQL执行异常
+	 * @since 3.1.0
+	 */
+	public <T> RsIterator<T> iterate(Connection conn, Query query, int fetchSize, RowMapper<T> mapper) throws SQLException {
+		checkConn(conn);
+		Assert.notNull(query, "[query] is null !");
+		return SqlExecutor.iterate(dialect.psForFind(conn, query), fetchSize, mapper);
+	}
+	
+	/**
+	 * 流式查询，逐行回调<br>
+	 * 此方法不会关闭Connection
+	 * 
+	 * @param <T> 行对象类型
+	 * @param conn 数据库连接对象
+	 * @param query {@link Query}
+	 * @param fetchSize 每批读取的行数，0表示使用驱动默认值
+	 * @param mapper 行映射
+	 * @param rowHandler 行处理
+	 * @return 处理的行数
+	 * @throws SQLException SQL执行异常
+	 * @since 3.1.0
+	 */
+	public <T> int forEach(Connection conn, Query query, int fetchSize, RowMapper<T> mapper, RowHandler<T> rowHandler) throws SQLException {
+		return SqlExecutor.forEach(iterate(conn, query, fetchSize, mapper), rowHandler);
+	}
+	
 	/**
 	 * 查询<br>
 	 * 此方法不会关闭Connection
@@ -0,0 +1,232 @@
+package com.xiaoleilu.hutool.db.ds.pooled;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+
+import com.xiaoleilu.hutool.db.DbUtil;
+import com.xiaoleilu.hutool.util.StrUtil;
+
+/**
+ * 连接池中的物理连接及其状态<br>
+ * 连接池只保存此对象，每次借出时创建新的{@link PooledConnection}，归还后旧的{@link PooledConnection}再次关闭不会影响新的借出者。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+final class ConnectionEntry {
+
+	private final PooledDataSource ds;
+	/** 真正的连接 */
+	final Connection raw;
+
+	/** 创建时间 */
+	private final long createTime = System.currentTimeMillis();
+	/** 最近一次借出或归还的时间 */
+	private volatile long lastUsedTime = createTime;
+	/** 借出时的调用栈，仅开启泄露检测时记录 */
+	private volatile Throwable borrowStack;
+	/** 是否已记录过泄露 */
+	private volatile boolean leakReported;
+	/** PreparedStatement缓存，未开启时为<code>null</code> */
+	private final StatementCache statementCache;
+
+	/**
+	 * 构造，创建新的物理连接
+	 * @param ds 所属数据源
+	 * @throws SQLException SQL异常
+	 */
+	ConnectionEntry(PooledDataSource ds) throws SQLException {
+		this(ds, DriverManager.getConnection(ds.getConfig().getUrl(), ds.getConfig().getUser(), ds.getConfig().getPass()));
+	}
+
+	/**
+	 * 构造
+	 * @param ds 所属数据源
+	 * @param conn 物理连接
+	 */
+	ConnectionEntry(PooledDataSource ds, Connection conn) {
+		this.ds = ds;
+		this.raw = conn;
+		final int statementCacheSize = ds.getConfig().getStatementCacheSize();
+		this.statementCache = statementCacheSize > 0 ? new StatementCache(statementCacheSize) : null;
+	}
+
+	/**
+	 * 借出连接
+	 * @param recordStack 是否记录借出时的调用栈，用于泄露检测
+	 * @return 本次借出使用的{@link PooledConnection}
+	 */
+	PooledConnection open(boolean recordStack) {
+		this.lastUsedTime = System.currentTimeMillis();
+		this.borrowStack = recordStack ? new Throwable("Connection borrowed here") : null;
+		this.leakReported = false;
+		return new PooledConnection(this);
+	}
+
+	/**
+	 * 归还到连接池
+	 */
+	void free() {
+		ds.free(this);
+	}
+
+	/**
+	 * 标记连接已归还到池中
+	 * @return this
+	 */
+	ConnectionEntry touch() {
+		this.lastUsedTime = System.currentTimeMillis();
+		this.borrowStack = null;
+		return this;
+	}
+
+	/**
+	 * 释放连接，同时物理关闭缓存的Statement
+	 * @return this
+	 */
+	ConnectionEntry release() {
+		if(null != statementCache){
+			statementCache.close();
+		}
+		DbUtil.close(this.raw);
+		return this;
+	}
+
+	//-------------------------------------------------------------------- PreparedStatement cache start
+	/**
+	 * 创建PreparedStatement，开启Statement缓存时优先使用缓存中相同SQL和参数的Statement
+	 * @param conn 本次借出使用的连接，Statement的{@link PreparedStatement#getConnection()}返回此连接
+	 * @param key Statement缓存键
+	 * @return {@link PreparedStatement}
+	 * @throws SQLException SQL异常
+	 */
+	PreparedStatement prepareStatement(PooledConnection conn, StatementCache.Key key) throws SQLException {
+		if(null == statementCache){
+			return key.prepare(raw);
+		}
+		PreparedStatement statement = statementCache.take(key);
+		if(null == statement){
+			statement = key.prepare(raw);
+		}
+		// 每次使用创建新的包装对象，旧对象再次关闭不会影响之后的使用者
+		return new PooledPreparedStatement(this, conn, key, statement);
+	}
+
+	/**
+	 * 逻辑关闭的Statement清空参数、批量和警告后归还到缓存
+	 * @param key Statement缓存键
+	 * @param statement 实际的Statement
+	 * @return 是否放入缓存，未放入的Statement需物理关闭
+	 */
+	boolean recycle(StatementCache.Key key, PreparedStatement statement) {
+		if(null == statementCache){
+			return false;
+		}
+		try {
+			statement.clearParameters();
+			statement.clearBatch();
+			statement.clearWarnings();
+		} catch (SQLException e) {
+			return false;
+		}
+		return statementCache.offer(key, statement);
+	}
+
+	/**
+	 * @return 缓存中的Statement数
+	 */
+	int getCachedStatementCount() {
+		return null == statementCache ? 0 : statementCache.size();
+	}
+	//-------------------------------------------------------------------- PreparedStatement cache end
+
+	/**
+	 * 检查实际连接是否可用<br>
+	 * 配置了validationQuery时执行此SQL，否则调用{@link Connection#isValid(int)}，驱动不支持isValid时只检查连接是否关闭
+	 *
+	 * @return 是否可用
+	 */
+	boolean validate() {
+		final DbConfig config = ds.getConfig();
+		try {
+			final String validationQuery = config.getValidationQuery();
+			if(StrUtil.isNotBlank(validationQuery)){
+				Statement st = null;
+				try {
+					st = raw.createStatement();
+					st.setQueryTimeout(config.getValidationTimeout());
+					st.execute(validationQuery);
+					return true;
+				} finally {
+					DbUtil.close(st);
+				}
+			}
+			try {
+				return raw.isValid(config.getValidationTimeout());
+			} catch (SQLFeatureNotSupportedException | AbstractMethodError e) {
+				return false == raw.isClosed();
+			}
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * 实际连接是否已关闭
+	 * @return 是否已关闭，检查出错视为已关闭
+	 */
+	boolean isRawClosed() {
+		try {
+			return raw.isClosed();
+		} catch (SQLException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * 连接存活时间是否超过最大存活时间
+	 * @param now 当前时间
+	 * @param maxLifetime 最大存活毫秒数，小于等于0表示不限制
+	 * @return 是否超时
+	 */
+	boolean isExpired(long now, long maxLifetime) {
+		return maxLifetime > 0 && now - createTime >= maxLifetime;
+	}
+
+	/**
+	 * @return 创建时间
+	 */
+	long getCreateTime() {
+		return createTime;
+	}
+
+	/**
+	 * @return 最近一次借出或归还的时间
+	 */
+	long getLastUsedTime() {
+		return lastUsedTime;
+	}
+
+	/**
+	 * @return 借出时的调用栈，未开启泄露检测或未借出时为<code>null</code>
+	 */
+	Throwable getBorrowStack() {
+		return borrowStack;
+	}
+
+	/**
+	 * 标记泄露已记录，每次借出只记录一次
+	 * @return 此前是否未记录
+	 */
+	boolean markLeakReported() {
+		if(leakReported){
+			return false;
+		}
+		leakReported = true;
+		return true;
+	}
+}
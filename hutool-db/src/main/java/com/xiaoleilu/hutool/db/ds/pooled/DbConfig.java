@@ -18,8 +18,19 @@ public class DbConfig {
 	
 	private int initialSize;		//初始连接数
 	private int minIdle;			//最小闲置连接数
-	private int maxActive;		//最大活跃连接数
-	private long maxWait;		//获取连接的超时等待
+	private int maxIdle = -1;		//最大闲置连接数，归还时闲置连接已达此数则直接关闭，小于0表示与maxActive相同
+	private int maxActive = 8;		//最大活跃连接数
+	private long maxWait = 6000;		//获取连接的超时等待
+	
+	private long maxLifetime = 1800000;			//连接最大存活毫秒数，超过后不再复用，0表示不限制
+	private long idleTimeout = 600000;			//闲置连接超时毫秒数，超时且闲置数大于minIdle时关闭，0表示不限制
+	private long timeBetweenEvictionRuns = 30000;	//闲置连接维护（补足、回收、检查）的间隔毫秒数，0表示不维护
+	private boolean testOnBorrow;				//借出连接时是否检查可用性
+	private boolean testWhileIdle = true;		//闲置维护时是否检查可用性
+	private String validationQuery;				//检查可用性的SQL，为空时使用Connection.isValid
+	private int validationTimeout = 3;			//检查可用性的超时秒数
+	private long leakDetectionThreshold;		//连接借出超过此毫秒数未归还则记录泄露日志，0表示不检测
+	private int statementCacheSize;				//每个连接缓存的PreparedStatement数，0表示不缓存
 	//-------------------------------------------------------------------- Fields end
 	
 	//-------------------------------------------------------------------- Constructor start
@@ -93,6 +104,19 @@ public class DbConfig {
 	public void setMinIdle(int minIdle) {
 		this.minIdle = minIdle;
 	}
+	/**
+	 * @return 最大闲置连接数，未设置时与maxActive相同
+	 */
+	public int getMaxIdle() {
+		return maxIdle < 0 ? maxActive : maxIdle;
+	}
+	/**
+	 * 设置最大闲置连接数
+	 * @param maxIdle 最大闲置连接数，小于0表示与maxActive相同
+	 */
+	public void setMaxIdle(int maxIdle) {
+		this.maxIdle = maxIdle;
+	}
 	public int getMaxActive() {
 		return maxActive;
 	}
@@ -105,5 +129,60 @@ public class DbConfig {
 	public void setMaxWait(long maxWait) {
 		this.maxWait = maxWait;
 	}
+	
+	public long getMaxLifetime() {
+		return maxLifetime;
+	}
+	public void setMaxLifetime(long maxLifetime) {
+		this.maxLifetime = maxLifetime;
+	}
+	public long getIdleTimeout() {
+		return idleTimeout;
+	}
+	public void setIdleTimeout(long idleTimeout) {
+		this.idleTimeout = idleTimeout;
+	}
+	public long getTimeBetweenEvictionRuns() {
+		return timeBetweenEvictionRuns;
+	}
+	public void setTimeBetweenEvictionRuns(long timeBetweenEvictionRuns) {
+		this.timeBetweenEvictionRuns = timeBetweenEvictionRuns;
+	}
+	public boolean isTestOnBorrow() {
+		return testOnBorrow;
+	}
+	public void setTestOnBorrow(boolean testOnBorrow) {
+		this.testOnBorrow = testOnBorrow;
+	}
+	public boolean isTestWhileIdle() {
+		return testWhileIdle;
+	}
+	public void setTestWhileIdle(boolean testWhileIdle) {
+		this.testWhileIdle = testWhileIdle;
+	}
+	public String getValidationQuery() {
+		return validationQuery;
+	}
+	public void setValidationQuery(String validationQuery) {
+		this.validationQuery = validationQuery;
+	}
+	public int getValidationTimeout() {
+		return validationTimeout;
+	}
+	public void setValidationTimeout(int validationTimeout) {
+		this.validationTimeout = validationTimeout;
+	}
+	public long getLeakDetectionThreshold() {
+		return leakDetectionThreshold;
+	}
+	public void setLeakDetectionThreshold(long leakDetectionThreshold) {
+		this.leakDetectionThreshold = leakDetectionThreshold;
+	}
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+	public void setStatementCacheSize(int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
 	//-------------------------------------------------------------------- Getters and Setters end
 }
\ No newline at end of file
@@ -49,10 +49,20 @@ public class DbSetting {
 		config.setPass(setting.getStr("pass", group));
 		
 		//连接池相关信息
-		config.setInitialSize(setting.getInt("initialSize", group, 0));
-		config.setMinIdle(setting.getInt("minIdle", group, 0));
-		config.setMaxActive(setting.getInt("maxActive", group, 8));
-		config.setMaxWait(setting.getLong("maxWait", group, 6000L));
+		config.setInitialSize(setting.getInt("initialSize", group, config.getInitialSize()));
+		config.setMinIdle(setting.getInt("minIdle", group, config.getMinIdle()));
+		config.setMaxIdle(setting.getInt("maxIdle", group, -1));//未配置时与maxActive相同
+		config.setMaxActive(setting.getInt("maxActive", group, config.getMaxActive()));
+		config.setMaxWait(setting.getLong("maxWait", group, config.getMaxWait()));
+		config.setMaxLifetime(setting.getLong("maxLifetime", group, config.getMaxLifetime()));
+		config.setIdleTimeout(setting.getLong("idleTimeout", group, config.getIdleTimeout()));
+		config.setTimeBetweenEvictionRuns(setting.getLong("timeBetweenEvictionRuns", group, config.getTimeBetweenEvictionRuns()));
+		config.setTestOnBorrow(setting.getBool("testOnBorrow", group, config.isTestOnBorrow()));
+		config.setTestWhileIdle(setting.getBool("testWhileIdle", group, config.isTestWhileIdle()));
+		config.setValidationQuery(setting.getStr("validationQuery", group, config.getValidationQuery()));
+		config.setValidationTimeout(setting.getInt("validationTimeout", group, config.getValidationTimeout()));
+		config.setLeakDetectionThreshold(setting.getLong("leakDetectionThreshold", group, config.getLeakDetectionThreshold()));
+		config.setStatementCacheSize(setting.getInt("statementCacheSize", group, config.getStatementCacheSize()));
 		
 		return config;
 	}
@@ -1,39 +1,83 @@
 package com.xiaoleilu.hutool.db.ds.pooled;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
-
-import com.xiaoleilu.hutool.db.DbUtil;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * 池化
+ * 池化连接，每次从连接池借出时创建新的对象<br>
+ * 关闭时将物理连接归还到连接池，同一对象重复关闭只归还一次；归还后即使物理连接已被其它线程借出，旧对象再次关闭也不会影响新的借出者。
+ *
  * @author Looly
  *
  */
 public class PooledConnection extends ConnectionWraper{
-	
-	private PooledDataSource ds;
-	private boolean isClosed;
-	
-	public PooledConnection(PooledDataSource ds) throws SQLException {
-		this.ds = ds;
-		DbConfig config = ds.getConfig();
-		this.raw = DriverManager.getConnection(config.getUrl(), config.getUser(), config.getPass());
+
+	/** 池中的物理连接 */
+	private final ConnectionEntry entry;
+	private final AtomicBoolean isClosed = new AtomicBoolean(false);
+
+	/**
+	 * 构造
+	 * @param entry 池中的物理连接
+	 */
+	PooledConnection(ConnectionEntry entry) {
+		this.entry = entry;
+		this.raw = entry.raw;
+	}
+
+	//-------------------------------------------------------------------- PreparedStatement cache start
+	@Override
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		return prepareStatement(sql, StatementCache.Key.NONE, StatementCache.Key.NONE, StatementCache.Key.NONE, StatementCache.Key.NONE);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+		return prepareStatement(sql, resultSetType, resultSetConcurrency, StatementCache.Key.NONE, StatementCache.Key.NONE);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+		return prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability, StatementCache.Key.NONE);
 	}
-	
-	public PooledConnection(PooledDataSource ds, Connection conn) {
-		this.ds = ds;
-		this.raw = conn;
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+		return prepareStatement(sql, StatementCache.Key.NONE, StatementCache.Key.NONE, StatementCache.Key.NONE, autoGeneratedKeys);
 	}
 
 	/**
-	 * 重写关闭连接，实际操作是归还到连接池中
+	 * 创建PreparedStatement，开启Statement缓存时优先使用缓存中相同SQL和参数的Statement
+	 * @param sql SQL
+	 * @param resultSetType 结果集类型，未指定为{@link StatementCache.Key#NONE}
+	 * @param resultSetConcurrency 结果集并发类型，未指定为{@link StatementCache.Key#NONE}
+	 * @param resultSetHoldability 结果集可保持性，未指定为{@link StatementCache.Key#NONE}
+	 * @param autoGeneratedKeys 是否返回自动生成的键，未指定为{@link StatementCache.Key#NONE}
+	 * @return {@link PreparedStatement}
+	 * @throws SQLException SQL异常
+	 */
+	private PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability, int autoGeneratedKeys) throws SQLException {
+		return entry.prepareStatement(this, new StatementCache.Key(sql, resultSetType, resultSetConcurrency, resultSetHoldability, autoGeneratedKeys));
+	}
+
+	/**
+	 * @return 物理连接缓存中的Statement数
+	 */
+	public int getCachedStatementCount() {
+		return entry.getCachedStatementCount();
+	}
+	//-------------------------------------------------------------------- PreparedStatement cache end
+
+	/**
+	 * 重写关闭连接，实际操作是归还到连接池中<br>
+	 * 重复关闭只归还一次
 	 */
 	@Override
 	public void close() throws SQLException {
-		this.ds.free(this);
-		this.isClosed = true;
+		if(isClosed.compareAndSet(false, true)){
+			entry.free();
+		}
 	}
 
 	/**
@@ -43,24 +87,20 @@ public class PooledConnection extends ConnectionWraper{
 	 */
 	@Override
 	public boolean isClosed() throws SQLException {
-		return isClosed || raw.isClosed();
+		return isClosed.get() || raw.isClosed();
 	}
-	
+
 	/**
-	 * 打开连接
-	 * @return this
+	 * @return 物理连接的创建时间
 	 */
-	protected PooledConnection open() {
-		this.isClosed = false;
-		return this;
+	public long getCreateTime() {
+		return entry.getCreateTime();
 	}
 
 	/**
-	 * 释放连接
-	 * @return this
+	 * @return 物理连接最近一次借出或归还的时间
 	 */
-	protected PooledConnection release() {
-		DbUtil.close(this.raw);
-		return this;
+	public long getLastUsedTime() {
+		return entry.getLastUsedTime();
 	}
 }
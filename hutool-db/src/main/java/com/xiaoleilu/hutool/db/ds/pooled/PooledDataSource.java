@@ -1,40 +1,79 @@
 package com.xiaoleilu.hutool.db.ds.pooled;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.xiaoleilu.hutool.db.DbRuntimeException;
 import com.xiaoleilu.hutool.db.ds.simple.AbstractDataSource;
 import com.xiaoleilu.hutool.io.IoUtil;
-import com.xiaoleilu.hutool.util.CollectionUtil;
+import com.xiaoleilu.hutool.log.Log;
+import com.xiaoleilu.hutool.log.LogFactory;
 import com.xiaoleilu.hutool.util.StrUtil;
-import com.xiaoleilu.hutool.util.ThreadUtil;
 
 /**
- * 池化数据源
+ * 池化数据源<br>
+ * 闲置连接保存在无锁的双端队列中（后进先出，优先复用最近使用的连接），借出数量由公平信号量限制：
+ * <ul>
+ * <li>池满时借用线程按顺序阻塞等待，直到有连接归还或超过maxWait</li>
+ * <li>借出时丢弃超过maxLifetime的连接，testOnBorrow开启时检查连接可用性</li>
+ * <li>后台线程定期回收闲置超时、超过maxIdle、不可用的连接，补足minIdle，并检测借出未归还的泄露连接</li>
+ * </ul>
+ * 所有数据源共用一个守护线程（Hutool-Pooled-DataSource-Evictor）执行维护（timeBetweenEvictionRuns大于0时），
+ * 维护任务通过弱引用持有数据源，未关闭的数据源被回收后任务自动取消；timeBetweenEvictionRuns设为0时不维护，可自行定期调用{@link #evict()}。
+ *
  * @author Looly
  *
  */
 public class PooledDataSource extends AbstractDataSource{
-	
-	private Queue<PooledConnection> freePool;
-	private int activeCount;			//活跃连接数
-	
-	private DbConfig config;
-	
+	private static final Log log = LogFactory.get();
+	/** 所有数据源共用的维护线程，首次使用时创建 */
+	private static ScheduledThreadPoolExecutor sharedEvictor;
+
+	/** 闲置连接 */
+	private final ConcurrentLinkedDeque<ConnectionEntry> idleDeque = new ConcurrentLinkedDeque<>();
+	/** 已借出的连接，仅开启泄露检测时记录 */
+	private final Set<ConnectionEntry> borrowedSet = Collections.newSetFromMap(new ConcurrentHashMap<ConnectionEntry, Boolean>());
+	/** 可借出的连接数许可 */
+	private final Semaphore permits;
+
+	private final AtomicInteger idleCount = new AtomicInteger();		//闲置连接数
+	private final AtomicInteger activeCount = new AtomicInteger();		//活跃连接数
+	private final AtomicInteger waitingCount = new AtomicInteger();	//等待连接的线程数
+	private final AtomicLong borrowCount = new AtomicLong();			//借出次数
+	private final AtomicLong borrowNanos = new AtomicLong();			//借出总耗时
+	private final AtomicLong maxBorrowNanos = new AtomicLong();		//借出最大耗时
+	private final AtomicLong timeoutCount = new AtomicLong();			//等待超时次数
+	private final AtomicLong leakCount = new AtomicLong();			//泄露连接数
+
+	private final DbConfig config;
+	/** 维护任务，未开启维护时为<code>null</code> */
+	private final ScheduledFuture<?> evictFuture;
+	private volatile boolean closed;
+
 	/**
 	 * 获得一个数据源
-	 * 
+	 *
 	 * @param group 数据源分组
 	 * @return {@link PooledDataSource}
 	 */
 	synchronized public static PooledDataSource getDataSource(String group) {
 		return new PooledDataSource(group);
 	}
-	
+
 	/**
 	 * 获得一个数据源，使用空分组
 	 * @return {@link PooledDataSource}
@@ -42,7 +81,7 @@ public class PooledDataSource extends AbstractDataSource{
 	synchronized public static PooledDataSource getDataSource() {
 		return new PooledDataSource();
 	}
-	
+
 	//-------------------------------------------------------------------- Constructor start
 	/**
 	 * 构造，读取默认的配置文件和默认分组
@@ -50,7 +89,7 @@ public class PooledDataSource extends AbstractDataSource{
 	public PooledDataSource() {
 		this(StrUtil.EMPTY);
 	}
-	
+
 	/**
 	 * 构造，读取默认的配置文件
 	 * @param group 分组
@@ -58,7 +97,7 @@ public class PooledDataSource extends AbstractDataSource{
 	public PooledDataSource(String group) {
 		this(new DbSetting(), group);
 	}
-	
+
 	/**
 	 * 构造
 	 * @param setting 数据库配置文件对象
@@ -67,114 +106,410 @@ public class PooledDataSource extends AbstractDataSource{
 	public PooledDataSource(DbSetting setting, String group) {
 		this(setting.getDbConfig(group));
 	}
-	
+
 	/**
 	 * 构造
 	 * @param config 数据库配置
 	 */
 	public PooledDataSource(DbConfig config) {
 		this.config = config;
-		freePool = new LinkedList<PooledConnection>();
-		int initialSize = config.getInitialSize();
+		if(config.getMaxActive() <= 0){
+			throw new DbRuntimeException("Max Active must be greater than 0, but is {}", config.getMaxActive());
+		}
+		this.permits = new Semaphore(config.getMaxActive(), true);
+
+		int initialSize = Math.min(config.getInitialSize(), config.getMaxActive());
 		try {
 			while(initialSize-- > 0){
-				freePool.offer(newConnection());
+				addIdle(newConnection());
 			}
 		} catch (SQLException e) {
 			throw new DbRuntimeException(e);
 		}
+
+		final long period = config.getTimeBetweenEvictionRuns();
+		if(period > 0){
+			final EvictTask task = new EvictTask(this);
+			this.evictFuture = getSharedEvictor().scheduleWithFixedDelay(task, period, period, TimeUnit.MILLISECONDS);
+			task.future = this.evictFuture;
+		}else{
+			this.evictFuture = null;
+		}
 	}
-	//-------------------------------------------------------------------- Constructor start
+	//-------------------------------------------------------------------- Constructor end
 
 	/**
 	 * 从数据库连接池中获取数据库连接对象
 	 */
 	@Override
-	public synchronized Connection getConnection() throws SQLException {
+	public Connection getConnection() throws SQLException {
 		return getConnection(config.getMaxWait());
 	}
-	
+
 	@Override
 	public Connection getConnection(String username, String password) throws SQLException {
 		throw new SQLException("Pooled DataSource is not allow to get special Connection!");
 	}
-	
+
 	/**
-	 * 释放连接，连接会被返回给连接池
+	 * 释放连接，连接会被返回给连接池<br>
+	 * 连接超过最大存活时间、实际连接已关闭、闲置连接数已达maxIdle或连接池已关闭时直接关闭连接
 	 * @param conn 连接
-	 * @return 释放成功与否
+	 * @return 是否归还到池中
 	 */
-	protected synchronized boolean free(PooledConnection conn){
-		activeCount--;
-		return freePool.offer(conn);
+	boolean free(ConnectionEntry conn){
+		borrowedSet.remove(conn);
+		activeCount.decrementAndGet();
+		try {
+			if(closed || conn.isExpired(System.currentTimeMillis(), config.getMaxLifetime()) || conn.isRawClosed() || idleCount.get() >= config.getMaxIdle()){
+				conn.release();
+				return false;
+			}
+			addIdle(conn.touch());
+			// 归还与关闭并发时，关闭可能已清理完闲置队列
+			if(closed && idleDeque.removeFirstOccurrence(conn)){
+				idleCount.decrementAndGet();
+				conn.release();
+				return false;
+			}
+			return true;
+		} finally {
+			permits.release();
+		}
 	}
-	
+
 	/**
-	 * 创建新连接
+	 * 创建新的物理连接
 	 * @return 新连接
 	 * @throws SQLException SQL异常
 	 */
-	public PooledConnection newConnection() throws SQLException{
-		return new PooledConnection(this);
+	private ConnectionEntry newConnection() throws SQLException{
+		return new ConnectionEntry(this);
 	}
-	
+
 	public DbConfig getConfig() {
 		return config;
 	}
-	
+
 	/**
-	 * 获取连接对象
+	 * 获取连接对象，池中无可用连接时阻塞等待，等待线程按先后顺序获得连接<br>
+	 * 每次借出返回新的{@link PooledConnection}对象
 	 * @param wait 当池中无连接等待的毫秒数
 	 * @return 连接对象
-	 * @throws SQLException SQL异常
+	 * @throws SQLException SQL异常，等待超时、线程被中断或连接池已关闭
 	 */
 	public PooledConnection getConnection(long wait) throws SQLException{
+		checkOpen();
+		final long start = System.nanoTime();
+
+		waitingCount.incrementAndGet();
+		boolean acquired;
+		try {
+			acquired = permits.tryAcquire(Math.max(wait, 0), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for Connection!", e);
+		} finally {
+			waitingCount.decrementAndGet();
+		}
+		if(false == acquired){
+			timeoutCount.incrementAndGet();
+			throw new SQLException(StrUtil.format("Get Connection timeout after {}ms, active: {}, idle: {}, max active: {}", wait, activeCount.get(), idleCount.get(), config.getMaxActive()));
+		}
+
+		final ConnectionEntry conn;
 		try {
-			return getConnectionDirect();
-		} catch (Exception e) {
-			ThreadUtil.sleep(wait);
+			checkOpen();
+			conn = takeConnection();
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+		activeCount.incrementAndGet();
+
+		final boolean leakDetection = config.getLeakDetectionThreshold() > 0;
+		final PooledConnection pooledConnection = conn.open(leakDetection);
+		if(leakDetection){
+			borrowedSet.add(conn);
 		}
-		return getConnectionDirect();
+		recordBorrow(System.nanoTime() - start);
+		return pooledConnection;
 	}
-	
+
 	@Override
-	synchronized public void close() throws IOException{
-		if(CollectionUtil.isNotEmpty(this.freePool)){
-			for (PooledConnection pooledConnection : freePool) {
-				pooledConnection.release();
-				this.freePool.clear();
-				this.freePool = null;
-			}
+	public void close() throws IOException{
+		if(closed){
+			return;
+		}
+		closed = true;
+		if(null != evictFuture){
+			evictFuture.cancel(false);
+		}
+		ConnectionEntry conn;
+		while(null != (conn = idleDeque.pollFirst())){
+			idleCount.decrementAndGet();
+			conn.release();
 		}
 	}
-	
+
 	@Override
 	protected void finalize() throws Throwable {
 		IoUtil.close(this);
 	}
-	
+
+	//-------------------------------------------------------------------- Metrics start
+	/**
+	 * @return 已借出未归还的连接数
+	 */
+	public int getActiveCount() {
+		return activeCount.get();
+	}
+
+	/**
+	 * @return 池中闲置的连接数
+	 */
+	public int getIdleCount() {
+		return idleCount.get();
+	}
+
+	/**
+	 * @return 正在等待连接的线程数
+	 */
+	public int getWaitingCount() {
+		return waitingCount.get();
+	}
+
+	/**
+	 * @return 连接总数，即活跃连接数与闲置连接数之和
+	 */
+	public int getTotalCount() {
+		return activeCount.get() + idleCount.get();
+	}
+
+	/**
+	 * @return 累计借出次数
+	 */
+	public long getBorrowCount() {
+		return borrowCount.get();
+	}
+
+	/**
+	 * @return 借出连接的平均耗时（纳秒），包括等待、检查和创建连接的时间
+	 */
+	public long getAvgBorrowNanos() {
+		final long count = borrowCount.get();
+		return count > 0 ? borrowNanos.get() / count : 0;
+	}
+
+	/**
+	 * @return 借出连接的最大耗时（纳秒）
+	 */
+	public long getMaxBorrowNanos() {
+		return maxBorrowNanos.get();
+	}
+
+	/**
+	 * @return 累计等待超时次数
+	 */
+	public long getTimeoutCount() {
+		return timeoutCount.get();
+	}
+
+	/**
+	 * @return 累计检测到的泄露连接数
+	 */
+	public long getLeakCount() {
+		return leakCount.get();
+	}
+
+	@Override
+	public String toString() {
+		return StrUtil.format("PooledDataSource [url={}, active={}, idle={}, waiting={}, borrow={}, avgBorrowNanos={}, timeout={}, leak={}]", //
+				config.getUrl(), getActiveCount(), getIdleCount(), getWaitingCount(), getBorrowCount(), getAvgBorrowNanos(), getTimeoutCount(), getLeakCount());
+	}
+	//-------------------------------------------------------------------- Metrics end
+
+	/**
+	 * 闲置连接维护，由后台线程定期执行，也可手动调用：
+	 * <ol>
+	 * <li>从最久未使用的连接开始，回收超过最大存活时间、闲置超时（保留minIdle个）、超过maxIdle或不可用的连接</li>
+	 * <li>补足minIdle个闲置连接，创建前占用一个借出许可，与借出线程创建的连接合计不超过maxActive</li>
+	 * <li>记录借出超过leakDetectionThreshold仍未归还的连接</li>
+	 * </ol>
+	 */
+	public void evict() {
+		if(closed){
+			return;
+		}
+		final long now = System.currentTimeMillis();
+		final long idleTimeout = config.getIdleTimeout();
+
+		final Iterator<ConnectionEntry> iterator = idleDeque.descendingIterator();
+		ConnectionEntry conn;
+		boolean evict;
+		while(iterator.hasNext()){
+			conn = iterator.next();
+			evict = conn.isExpired(now, config.getMaxLifetime()) //
+					|| idleCount.get() > config.getMaxIdle() //
+					|| (idleTimeout > 0 && now - conn.getLastUsedTime() >= idleTimeout && idleCount.get() > config.getMinIdle());
+			if(false == evict && false == config.isTestWhileIdle()){
+				continue;
+			}
+			// 先移出队列，避免检查时被借出，已被借出则跳过
+			if(false == idleDeque.removeFirstOccurrence(conn)){
+				continue;
+			}
+			idleCount.decrementAndGet();
+			if(evict || false == conn.validate()){
+				conn.release();
+			}else{
+				idleCount.incrementAndGet();
+				idleDeque.offerLast(conn);
+			}
+		}
+
+		fillMinIdle();
+
+		final long leakDetectionThreshold = config.getLeakDetectionThreshold();
+		if(leakDetectionThreshold > 0){
+			for (ConnectionEntry borrowed : borrowedSet) {
+				if(now - borrowed.getLastUsedTime() >= leakDetectionThreshold && borrowed.markLeakReported()){
+					leakCount.incrementAndGet();
+					log.warn(borrowed.getBorrowStack(), "Connection leak detection triggered, Connection has been borrowed for more than {}ms", leakDetectionThreshold);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 补足minIdle个闲置连接<br>
+	 * 每次创建前占用一个许可，许可由借出线程和此处共用，创建中的连接也被计入，连接总数不会超过maxActive
+	 */
+	private void fillMinIdle() {
+		ConnectionEntry conn;
+		while(false == closed && idleCount.get() < config.getMinIdle()){
+			if(false == permits.tryAcquire()){
+				// 连接已全部借出
+				return;
+			}
+			try {
+				// 闲置数 + 其它许可持有者 + 新连接 <= maxActive，即闲置数不超过剩余许可数
+				if(idleCount.get() > permits.availablePermits()){
+					return;
+				}
+				conn = newConnection();
+				addIdle(conn);
+				// 与关闭并发时，关闭可能已清理完闲置队列
+				if(closed && idleDeque.removeFirstOccurrence(conn)){
+					idleCount.decrementAndGet();
+					conn.release();
+				}
+			} catch (SQLException e) {
+				log.error(e, "Fill min idle Connection error!");
+				return;
+			} finally {
+				permits.release();
+			}
+		}
+	}
+
 	/**
-	 * 直接从连接池中获取连接，如果池中无连接直接抛出异常
-	 * @return PooledConnection
+	 * 从闲置队列中取出可用连接，无可用连接时创建新连接
+	 * @return {@link ConnectionEntry}
 	 * @throws SQLException SQL异常
 	 */
-	private PooledConnection getConnectionDirect() throws SQLException{
-		if(null == freePool){
-			throw new SQLException("PooledDataSource is closed!");
+	private ConnectionEntry takeConnection() throws SQLException{
+		ConnectionEntry conn;
+		while(null != (conn = idleDeque.pollFirst())){
+			idleCount.decrementAndGet();
+			if(false == conn.isExpired(System.currentTimeMillis(), config.getMaxLifetime()) && (false == config.isTestOnBorrow() || conn.validate())){
+				return conn;
+			}
+			conn.release();
+		}
+		return newConnection();
+	}
+
+	/**
+	 * 加入闲置队列头部
+	 * @param conn 连接
+	 */
+	private void addIdle(ConnectionEntry conn) {
+		idleCount.incrementAndGet();
+		idleDeque.offerFirst(conn);
+	}
+
+	/**
+	 * 记录借出耗时
+	 * @param nanos 耗时纳秒数
+	 */
+	private void recordBorrow(long nanos) {
+		borrowCount.incrementAndGet();
+		borrowNanos.addAndGet(nanos);
+		long max;
+		while(nanos > (max = maxBorrowNanos.get()) && false == maxBorrowNanos.compareAndSet(max, nanos)){
+			// 并发更新失败时重试
 		}
-		
-		int maxActive = config.getMaxActive();
-		if(maxActive <= 0 || maxActive < this.activeCount){
-			//超过最大使用限制
-			throw new SQLException("In used Connection is more than Max Active.");
+	}
+
+	/**
+	 * 检查连接池是否已关闭
+	 * @throws SQLException 连接池已关闭
+	 */
+	private void checkOpen() throws SQLException{
+		if(closed){
+			throw new SQLException("PooledDataSource is closed!");
 		}
-		
-		PooledConnection conn = freePool.poll();
-		if(null == conn){
-			conn = this.newConnection();
+	}
+
+	/**
+	 * 获得所有数据源共用的维护线程，不存在时创建
+	 * @return {@link ScheduledThreadPoolExecutor}
+	 */
+	private static synchronized ScheduledThreadPoolExecutor getSharedEvictor() {
+		if(null == sharedEvictor){
+			sharedEvictor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					final Thread thread = new Thread(r, "Hutool-Pooled-DataSource-Evictor");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			sharedEvictor.setRemoveOnCancelPolicy(true);
 		}
-		activeCount++;
-		return conn.open();
+		return sharedEvictor;
 	}
 
+	/**
+	 * 维护任务，通过弱引用持有数据源，不阻止未关闭的数据源被回收（回收时由{@link #finalize()}关闭闲置连接）
+	 *
+	 * @author Looly
+	 */
+	private static class EvictTask implements Runnable {
+		private final WeakReference<PooledDataSource> dsRef;
+		/** 任务自身，数据源被回收后取消 */
+		private volatile ScheduledFuture<?> future;
+
+		EvictTask(PooledDataSource ds) {
+			this.dsRef = new WeakReference<>(ds);
+		}
+
+		@Override
+		public void run() {
+			final PooledDataSource ds = dsRef.get();
+			if(null == ds){
+				final ScheduledFuture<?> future = this.future;
+				if(null != future){
+					future.cancel(false);
+				}
+				return;
+			}
+			try {
+				ds.evict();
+			} catch (Throwable e) {
+				log.error(e, "Evict idle connections error!");
+			}
+		}
+	}
 }
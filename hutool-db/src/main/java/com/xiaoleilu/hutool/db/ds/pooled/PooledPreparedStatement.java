@@ -0,0 +1,180 @@
+package com.xiaoleilu.hutool.db.ds.pooled;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.xiaoleilu.hutool.db.DbUtil;
+
+/**
+ * 可缓存的{@link PreparedStatement}<br>
+ * 关闭时关闭打开的结果集、清空参数并归还到所属连接的Statement缓存中，修改过maxRows、fetchSize、queryTimeout等属性的Statement，
+ * 或所属连接已释放时直接物理关闭。<br>
+ * 每次从连接获取时创建新的对象，缓存中只保存实际的Statement，已关闭的对象再次关闭不会影响之后复用同一Statement的使用者。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public class PooledPreparedStatement extends StatementWraper{
+
+	/** 所属物理连接 */
+	private final ConnectionEntry entry;
+	/** 创建此Statement的连接 */
+	private final PooledConnection conn;
+	private final StatementCache.Key key;
+	/** 逻辑关闭 */
+	private boolean isClosed;
+	/** Statement属性是否被修改，修改后不再缓存 */
+	private boolean dirty;
+	/** 最近一次executeQuery或getResultSet返回的结果集，逻辑关闭时关闭 */
+	private ResultSet lastResultSet;
+	/** getGeneratedKeys返回的结果集，逻辑关闭时关闭 */
+	private ResultSet generatedKeys;
+
+	/**
+	 * 构造
+	 * @param entry 所属物理连接
+	 * @param conn 创建此Statement的连接
+	 * @param key 缓存键
+	 * @param raw 实际的Statement
+	 */
+	PooledPreparedStatement(ConnectionEntry entry, PooledConnection conn, StatementCache.Key key, PreparedStatement raw) {
+		this.entry = entry;
+		this.conn = conn;
+		this.key = key;
+		this.raw = raw;
+	}
+
+	/**
+	 * 重写关闭，实际操作是清空参数后归还到Statement缓存中
+	 */
+	@Override
+	public void close() throws SQLException {
+		if(isClosed){
+			return;
+		}
+		isClosed = true;
+		closeResultSets();
+		if(dirty || false == entry.recycle(key, raw)){
+			closeRaw();
+		}
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		return isClosed || raw.isClosed();
+	}
+
+	/**
+	 * 返回所属的池化连接，避免通过Statement关闭物理连接
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		return conn;
+	}
+
+	@Override
+	public ResultSet executeQuery() throws SQLException {
+		lastResultSet = raw.executeQuery();
+		return lastResultSet;
+	}
+
+	@Override
+	public ResultSet executeQuery(String sql) throws SQLException {
+		lastResultSet = raw.executeQuery(sql);
+		return lastResultSet;
+	}
+
+	@Override
+	public ResultSet getResultSet() throws SQLException {
+		lastResultSet = raw.getResultSet();
+		return lastResultSet;
+	}
+
+	@Override
+	public ResultSet getGeneratedKeys() throws SQLException {
+		generatedKeys = raw.getGeneratedKeys();
+		return generatedKeys;
+	}
+
+	//-------------------------------------------------------------------- Modify attributes start
+	@Override
+	public void setMaxFieldSize(int max) throws SQLException {
+		dirty = true;
+		raw.setMaxFieldSize(max);
+	}
+
+	@Override
+	public void setMaxRows(int max) throws SQLException {
+		dirty = true;
+		raw.setMaxRows(max);
+	}
+
+	@Override
+	public void setEscapeProcessing(boolean enable) throws SQLException {
+		dirty = true;
+		raw.setEscapeProcessing(enable);
+	}
+
+	@Override
+	public void setQueryTimeout(int seconds) throws SQLException {
+		dirty = true;
+		raw.setQueryTimeout(seconds);
+	}
+
+	@Override
+	public void setCursorName(String name) throws SQLException {
+		dirty = true;
+		raw.setCursorName(name);
+	}
+
+	@Override
+	public void setFetchDirection(int direction) throws SQLException {
+		dirty = true;
+		raw.setFetchDirection(direction);
+	}
+
+	@Override
+	public void setFetchSize(int rows) throws SQLException {
+		dirty = true;
+		raw.setFetchSize(rows);
+	}
+
+	@Override
+	public void setPoolable(boolean poolable) throws SQLException {
+		if(false == poolable){
+			dirty = true;
+		}
+		raw.setPoolable(poolable);
+	}
+
+	@Override
+	public void closeOnCompletion() throws SQLException {
+		dirty = true;
+		raw.closeOnCompletion();
+	}
+	//-------------------------------------------------------------------- Modify attributes end
+
+	/**
+	 * 关闭打开的结果集，包括execute执行后未被获取的结果集<br>
+	 * 无法确认结果集已关闭时标记为不可缓存
+	 */
+	private void closeResultSets() {
+		DbUtil.close(lastResultSet, generatedKeys);
+		lastResultSet = null;
+		generatedKeys = null;
+		try {
+			DbUtil.close(raw.getResultSet());
+		} catch (SQLException e) {
+			dirty = true;
+		}
+	}
+
+	/**
+	 * 物理关闭Statement
+	 */
+	private void closeRaw() {
+		DbUtil.close(this.raw);
+	}
+}
@@ -0,0 +1,163 @@
+package com.xiaoleilu.hutool.db.ds.pooled;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.xiaoleilu.hutool.db.DbUtil;
+
+/**
+ * 单个物理连接的{@link PreparedStatement}缓存，按最近最少使用（LRU）淘汰<br>
+ * 缓存中只保存已逻辑关闭的实际Statement：借出时从缓存移除，逻辑关闭时放回，同一SQL同时被多次使用时多出的Statement直接关闭。<br>
+ * 被淘汰或缓存关闭时物理关闭Statement，缓存关闭后放回的Statement也不再缓存。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+class StatementCache {
+
+	private final int maxSize;
+	private final LinkedHashMap<Key, PreparedStatement> cache;
+	/** 是否已关闭，所属连接释放后关闭 */
+	private boolean closed;
+
+	/**
+	 * 构造
+	 * @param maxSize 最大缓存数
+	 */
+	StatementCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.cache = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * 取出缓存的Statement，取出后从缓存中移除
+	 * @param key 键
+	 * @return 缓存的Statement，无缓存返回<code>null</code>
+	 */
+	synchronized PreparedStatement take(Key key) {
+		return cache.remove(key);
+	}
+
+	/**
+	 * 放回Statement，超过最大缓存数时物理关闭最久未使用的Statement
+	 * @param key 键
+	 * @param statement 实际的Statement
+	 * @return 是否放入缓存，已存在相同键的Statement或缓存已关闭时不放入
+	 */
+	synchronized boolean offer(Key key, PreparedStatement statement) {
+		if(closed || cache.containsKey(key)){
+			return false;
+		}
+		cache.put(key, statement);
+		if(cache.size() > maxSize){
+			final Iterator<Map.Entry<Key, PreparedStatement>> iterator = cache.entrySet().iterator();
+			final PreparedStatement eldest = iterator.next().getValue();
+			iterator.remove();
+			DbUtil.close(eldest);
+		}
+		return true;
+	}
+
+	/**
+	 * 关闭缓存，物理关闭并清空所有缓存的Statement，之后不再接受放回的Statement
+	 */
+	synchronized void close() {
+		closed = true;
+		for (PreparedStatement statement : cache.values()) {
+			DbUtil.close(statement);
+		}
+		cache.clear();
+	}
+
+	/**
+	 * @return 缓存的Statement数
+	 */
+	synchronized int size() {
+		return cache.size();
+	}
+
+	/**
+	 * Statement缓存的键，由SQL和创建Statement时的参数组成
+	 *
+	 * @author Looly
+	 */
+	static final class Key {
+		/** 未指定参数时的值 */
+		static final int NONE = Integer.MIN_VALUE;
+
+		private final String sql;
+		private final int resultSetType;
+		private final int resultSetConcurrency;
+		private final int resultSetHoldability;
+		private final int autoGeneratedKeys;
+		private final int hashCode;
+
+		/**
+		 * 构造
+		 * @param sql SQL
+		 * @param resultSetType 结果集类型，未指定为{@link #NONE}
+		 * @param resultSetConcurrency 结果集并发类型，未指定为{@link #NONE}
+		 * @param resultSetHoldability 结果集可保持性，未指定为{@link #NONE}
+		 * @param autoGeneratedKeys 是否返回自动生成的键，未指定为{@link #NONE}
+		 */
+		Key(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability, int autoGeneratedKeys) {
+			this.sql = sql;
+			this.resultSetType = resultSetType;
+			this.resultSetConcurrency = resultSetConcurrency;
+			this.resultSetHoldability = resultSetHoldability;
+			this.autoGeneratedKeys = autoGeneratedKeys;
+
+			int hash = sql.hashCode();
+			hash = 31 * hash + resultSetType;
+			hash = 31 * hash + resultSetConcurrency;
+			hash = 31 * hash + resultSetHoldability;
+			hash = 31 * hash + autoGeneratedKeys;
+			this.hashCode = hash;
+		}
+
+		/**
+		 * 使用物理连接创建Statement
+		 * @param conn 物理连接
+		 * @return {@link PreparedStatement}
+		 * @throws SQLException SQL异常
+		 */
+		PreparedStatement prepare(Connection conn) throws SQLException {
+			if(NONE != autoGeneratedKeys){
+				return conn.prepareStatement(sql, autoGeneratedKeys);
+			}
+			if(NONE == resultSetType){
+				return conn.prepareStatement(sql);
+			}
+			if(NONE == resultSetHoldability){
+				return conn.prepareStatement(sql, resultSetType, resultSetConcurrency);
+			}
+			return conn.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj){
+				return true;
+			}
+			if(false == (obj instanceof Key)){
+				return false;
+			}
+			final Key other = (Key) obj;
+			return hashCode == other.hashCode //
+					&& resultSetType == other.resultSetType //
+					&& resultSetConcurrency == other.resultSetConcurrency //
+					&& resultSetHoldability == other.resultSetHoldability //
+					&& autoGeneratedKeys == other.autoGeneratedKeys //
+					&& sql.equals(other.sql);
+		}
+	}
+}
@@ -1,7 +1,6 @@
 package com.xiaoleilu.hutool.db.handler;
 
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 
 /**
@@ -29,9 +28,6 @@ public class BeanHandler<E> implements RsHandler<E>{
 
 	@Override
 	public E handle(ResultSet rs) throws SQLException {
-		final ResultSetMetaData  meta = rs.getMetaData();
-		final int columnCount = meta.getColumnCount();
-		
-		return rs.next() ? HandleHelper.handleRow(columnCount, meta, rs).toBean(elementBeanType) : null;
+		return rs.next() ? new BeanRowMapper<E>(elementBeanType).map(rs) : null;
 	}
 }
@@ -0,0 +1,343 @@
+package com.xiaoleilu.hutool.db.handler;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.xiaoleilu.hutool.bean.BeanDesc;
+import com.xiaoleilu.hutool.bean.BeanDesc.PropDesc;
+import com.xiaoleilu.hutool.convert.BasicType;
+import com.xiaoleilu.hutool.convert.Convert;
+import com.xiaoleilu.hutool.db.DbRuntimeException;
+import com.xiaoleilu.hutool.util.ClassUtil;
+
+/**
+ * 行映射，将当前行直接注入到Bean中，不经过{@link com.xiaoleilu.hutool.db.Entity}<br>
+ * 列与属性的对应关系按结果集结构（列名及列类型）只计算一次，并按Bean类全局缓存：
+ * <ul>
+ * <li>列名与属性名需一致，无对应属性或无setter的列忽略，多列同名时取第一列的值</li>
+ * <li>列类型与属性类型匹配时使用getInt、getLong、getTimestamp等方法按列序号读取，否则读取后使用{@link Convert}转换</li>
+ * <li>值为<code>null</code>的列不注入基本类型属性，保留默认值</li>
+ * </ul>
+ * 映射器保存了上次处理的结果集信息，非线程安全，不可在多个线程间共享，列映射的全局缓存是线程安全的。
+ *
+ * @param <T> Bean类型
+ * @author Looly
+ * @since 3.1.0
+ */
+public class BeanRowMapper<T> implements RowMapper<T> {
+
+	/** 每个Bean类缓存的结果集结构数上限，超过后不再缓存 */
+	private static final int MAX_SHAPES_PER_CLASS = 64;
+	/** Bean类对应的结果集结构和列映射 */
+	private static final ClassValue<Map<String, Column[]>> CACHE = new ClassValue<Map<String, Column[]>>() {
+		@Override
+		protected Map<String, Column[]> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private final Class<T> beanClass;
+
+	/** 上次处理的结果集，结果集变化时重新获取列映射 */
+	private ResultSet lastRs;
+	/** 需要注入的列 */
+	private Column[] columns;
+
+	/**
+	 * 创建一个 BeanRowMapper对象
+	 * @param <T> Bean类型
+	 * @param beanClass Bean类型
+	 * @return BeanRowMapper对象
+	 */
+	public static <T> BeanRowMapper<T> create(Class<T> beanClass) {
+		return new BeanRowMapper<T>(beanClass);
+	}
+
+	/**
+	 * 构造
+	 * @param beanClass Bean类型
+	 */
+	public BeanRowMapper(Class<T> beanClass) {
+		this.beanClass = beanClass;
+	}
+
+	@Override
+	public T map(ResultSet rs) throws SQLException {
+		if(rs != lastRs) {
+			this.columns = resolve(beanClass, rs.getMetaData());
+			this.lastRs = rs;
+		}
+
+		final T bean = ClassUtil.newInstance(beanClass);
+		for (Column column : columns) {
+			column.inject(rs, bean);
+		}
+		return bean;
+	}
+
+	/**
+	 * 获取列映射，相同结构的结果集只计算一次
+	 * @param beanClass Bean类型
+	 * @param meta 结果集元信息
+	 * @return 列映射
+	 * @throws SQLException SQL异常
+	 */
+	private static Column[] resolve(Class<?> beanClass, ResultSetMetaData meta) throws SQLException {
+		final int columnCount = meta.getColumnCount();
+		final String[] labels = new String[columnCount];
+		final int[] sqlTypes = new int[columnCount];
+		final StringBuilder shape = new StringBuilder();
+		for (int i = 0; i < columnCount; i++) {
+			labels[i] = meta.getColumnLabel(i + 1);
+			sqlTypes[i] = meta.getColumnType(i + 1);
+			shape.append(labels[i]).append(':').append(sqlTypes[i]).append(',');
+		}
+
+		final Map<String, Column[]> shapes = CACHE.get(beanClass);
+		final String key = shape.toString();
+		Column[] columns = shapes.get(key);
+		if(null == columns) {
+			columns = compile(beanClass, labels, sqlTypes);
+			if(shapes.size() < MAX_SHAPES_PER_CLASS) {
+				shapes.put(key, columns);
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * 计算列与属性的对应关系及每列的读取方式
+	 * @param beanClass Bean类型
+	 * @param labels 列名
+	 * @param sqlTypes 列类型，见{@link Types}
+	 * @return 列映射
+	 */
+	private static Column[] compile(Class<?> beanClass, String[] labels, int[] sqlTypes) {
+		final Map<String, PropDesc> propMap = BeanDesc.of(beanClass).getPropMap(false);
+		final Set<String> labelSet = new HashSet<>();
+		final Column[] columns = new Column[labels.length];
+		int size = 0;
+		PropDesc prop;
+		for (int i = 0; i < labels.length; i++) {
+			if(false == labelSet.add(labels[i])) {
+				// 同名列只注入第一列
+				continue;
+			}
+			prop = propMap.get(labels[i]);
+			if(null != prop && null != prop.getSetter()) {
+				columns[size++] = new Column(i + 1, sqlTypes[i], prop);
+			}
+		}
+
+		final Column[] resolved = new Column[size];
+		System.arraycopy(columns, 0, resolved, 0, size);
+		return resolved;
+	}
+
+	/**
+	 * 单列的读取和注入方式
+	 *
+	 * @author Looly
+	 */
+	private static final class Column {
+		private static final int OBJECT = 0;
+		private static final int INT = 1;
+		private static final int LONG = 2;
+		private static final int SHORT = 3;
+		private static final int BYTE = 4;
+		private static final int DOUBLE = 5;
+		private static final int FLOAT = 6;
+		private static final int BOOLEAN = 7;
+		private static final int BIG_DECIMAL = 8;
+		private static final int STRING = 9;
+		private static final int TIMESTAMP = 10;
+		private static final int DATE = 11;
+		private static final int TIME = 12;
+		private static final int BYTES = 13;
+
+		private final int index;
+		private final PropDesc prop;
+		private final Class<?> fieldClass;
+		private final boolean primitive;
+		private final int reader;
+
+		/**
+		 * 构造
+		 * @param index 列序号，从1开始
+		 * @param sqlType 列类型
+		 * @param prop 对应属性
+		 */
+		Column(int index, int sqlType, PropDesc prop) {
+			this.index = index;
+			this.prop = prop;
+			this.fieldClass = prop.getFieldClass();
+			this.primitive = fieldClass.isPrimitive();
+			this.reader = reader(BasicType.wrap(fieldClass), sqlType);
+		}
+
+		/**
+		 * 读取列值并注入到Bean中
+		 * @param rs 结果集
+		 * @param bean Bean
+		 * @throws SQLException SQL异常
+		 */
+		void inject(ResultSet rs, Object bean) throws SQLException {
+			Object value;
+			// 按类型读取的值已是属性类型（或其包装类型），无需转换
+			boolean typed = (OBJECT != reader);
+			try {
+				value = read(rs);
+			} catch (SQLException e) {
+				// 驱动报告的列类型与实际值不符时退回通用读取
+				value = rs.getObject(index);
+				typed = false;
+			}
+			if(null == value && primitive) {
+				return;
+			}
+
+			try {
+				if(null != value && false == typed && false == fieldClass.isInstance(value)) {
+					value = Convert.convert(fieldClass, value);
+				}
+				prop.getSetter().invoke(bean, value);
+			} catch (Exception e) {
+				throw new DbRuntimeException(e, "Inject [{}] error!", prop.getName());
+			}
+		}
+
+		/**
+		 * 按读取方式读取列值
+		 * @param rs 结果集
+		 * @return 值，SQL NULL返回<code>null</code>
+		 * @throws SQLException SQL异常
+		 */
+		private Object read(ResultSet rs) throws SQLException {
+			final Object value;
+			switch (reader) {
+			case INT:
+				value = rs.getInt(index);
+				break;
+			case LONG:
+				value = rs.getLong(index);
+				break;
+			case SHORT:
+				value = rs.getShort(index);
+				break;
+			case BYTE:
+				value = rs.getByte(index);
+				break;
+			case DOUBLE:
+				value = rs.getDouble(index);
+				break;
+			case FLOAT:
+				value = rs.getFloat(index);
+				break;
+			case BOOLEAN:
+				value = rs.getBoolean(index);
+				break;
+			case BIG_DECIMAL:
+				return rs.getBigDecimal(index);
+			case STRING:
+				return rs.getString(index);
+			case TIMESTAMP:
+				return rs.getTimestamp(index);
+			case DATE:
+				return rs.getDate(index);
+			case TIME:
+				return rs.getTime(index);
+			case BYTES:
+				return rs.getBytes(index);
+			default:
+				return rs.getObject(index);
+			}
+			// 基本类型读取方法对NULL返回0或false
+			return rs.wasNull() ? null : value;
+		}
+
+		/**
+		 * 根据属性类型和列类型选择读取方式，类型不兼容时使用通用读取
+		 * @param type 属性类型（基本类型已转为包装类型）
+		 * @param sqlType 列类型
+		 * @return 读取方式
+		 */
+		private static int reader(Class<?> type, int sqlType) {
+			if(isNumeric(sqlType)) {
+				if(Integer.class == type) {
+					return INT;
+				} else if(Long.class == type) {
+					return LONG;
+				} else if(Short.class == type) {
+					return SHORT;
+				} else if(Byte.class == type) {
+					return BYTE;
+				} else if(Double.class == type) {
+					return DOUBLE;
+				} else if(Float.class == type) {
+					return FLOAT;
+				} else if(Boolean.class == type) {
+					return BOOLEAN;
+				} else if(BigDecimal.class == type) {
+					return BIG_DECIMAL;
+				}
+				return OBJECT;
+			}
+
+			switch (sqlType) {
+			case Types.CHAR:
+			case Types.VARCHAR:
+			case Types.LONGVARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+			case Types.LONGNVARCHAR:
+				return String.class == type ? STRING : OBJECT;
+			case Types.TIMESTAMP:
+				return (Timestamp.class == type || Date.class == type) ? TIMESTAMP : OBJECT;
+			case Types.DATE:
+				return (java.sql.Date.class == type || Date.class == type) ? DATE : OBJECT;
+			case Types.TIME:
+				return (Time.class == type) ? TIME : OBJECT;
+			case Types.BINARY:
+			case Types.VARBINARY:
+			case Types.LONGVARBINARY:
+				return (byte[].class == type) ? BYTES : OBJECT;
+			default:
+				return OBJECT;
+			}
+		}
+
+		/**
+		 * 是否为数字或布尔类型的列
+		 * @param sqlType 列类型
+		 * @return 是否为数字或布尔类型
+		 */
+		private static boolean isNumeric(int sqlType) {
+			switch (sqlType) {
+			case Types.BIT:
+			case Types.BOOLEAN:
+			case Types.TINYINT:
+			case Types.SMALLINT:
+			case Types.INTEGER:
+			case Types.BIGINT:
+			case Types.REAL:
+			case Types.FLOAT:
+			case Types.DOUBLE:
+			case Types.NUMERIC:
+			case Types.DECIMAL:
+				return true;
+			default:
+				return false;
+			}
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.xiaoleilu.hutool.db.handler;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.xiaoleilu.hutool.db.Entity;
+
+/**
+ * 行映射，将当前行转换为{@link Entity}<br>
+ * 表名和列名对每个结果集只读取一次，按列序号取值，多列同名时取第一列的值<br>
+ * 映射器保存了上次处理的结果集信息，非线程安全，不可在多个线程间共享
+ * 
+ * @author Looly
+ * @since 3.1.0
+ */
+public class EntityRowMapper implements RowMapper<Entity> {
+	
+	/** 上次处理的结果集，结果集变化时重新读取列信息 */
+	private ResultSet lastRs;
+	private String tableName;
+	private String[] columnLabels;
+	/** 列标签对应的列序号，从1开始 */
+	private int[] columnIndexes;
+	
+	/**
+	 * 创建一个 EntityRowMapper对象
+	 * @return EntityRowMapper对象
+	 */
+	public static EntityRowMapper create() {
+		return new EntityRowMapper();
+	}
+
+	@Override
+	public Entity map(ResultSet rs) throws SQLException {
+		if(rs != lastRs) {
+			final ResultSetMetaData meta = rs.getMetaData();
+			final int columnCount = meta.getColumnCount();
+			final Set<String> labelSet = new HashSet<>();
+			final String[] columnLabels = new String[columnCount];
+			final int[] columnIndexes = new int[columnCount];
+			int size = 0;
+			String label;
+			for (int i = 1; i <= columnCount; i++) {
+				label = meta.getColumnLabel(i);
+				if(labelSet.add(label)) {
+					columnLabels[size] = label;
+					columnIndexes[size] = i;
+					size++;
+				}
+			}
+			this.tableName = meta.getTableName(1);
+			this.columnLabels = Arrays.copyOf(columnLabels, size);
+			this.columnIndexes = Arrays.copyOf(columnIndexes, size);
+			this.lastRs = rs;
+		}
+		
+		final Entity row = Entity.create(tableName);
+		for (int i = 0; i < columnLabels.length; i++) {
+			row.put(columnLabels[i], rs.getObject(columnIndexes[i]));
+		}
+		return row;
+	}
+}
@@ -14,7 +14,8 @@ import com.xiaoleilu.hutool.db.Entity;
  */
 public class HandleHelper {
 	/**
-	 * 处理单条数据
+	 * 处理单条数据<br>
+	 * 多列同名时取第一列的值
 	 * @param columnCount 列数
 	 * @param meta ResultSetMetaData
 	 * @param rs 数据集
@@ -26,7 +27,9 @@ public class HandleHelper {
 		String columnLabel;
 		for (int i = 1; i <= columnCount; i++) {
 			columnLabel = meta.getColumnLabel(i);
-			row.put(columnLabel, rs.getObject(columnLabel));
+			if(false == row.containsKey(columnLabel)) {
+				row.put(columnLabel, rs.getObject(i));
+			}
 		}
 		return row;
 	}
@@ -45,7 +48,8 @@ public class HandleHelper {
 	}
 	
 	/**
-	 * 处理多条数据
+	 * 处理多条数据<br>
+	 * 表名和列名只读取一次，按列序号取值
 	 * @param <T> 集合类型
 	 * @param rs 数据集
 	 * @param collection 数据集
@@ -53,18 +57,12 @@ public class HandleHelper {
 	 * @throws SQLException SQL执行异常
 	 */
 	public static <T extends Collection<Entity>> T handleRs(ResultSet rs, T collection) throws SQLException {
-		final ResultSetMetaData  meta = rs.getMetaData();
-		final int columnCount = meta.getColumnCount();
-		
-		while(rs.next()) {
-			collection.add(HandleHelper.handleRow(columnCount, meta, rs));
-		}
-		
-		return collection;
+		return handleRs(rs, collection, new EntityRowMapper());
 	}
 	
 	/**
-	 * 处理多条数据并返回一个Bean列表
+	 * 处理多条数据并返回一个Bean列表<br>
+	 * 直接注入Bean，不创建中间的Entity，见{@link BeanRowMapper}
 	 * @param <T> 集合类型
 	 * @param rs 数据集
 	 * @param collection 数据集
@@ -74,13 +72,24 @@ public class HandleHelper {
 	 * @since 3.1.0
 	 */
 	public static <E, T extends Collection<E>> T handleRsToBeanList(ResultSet rs, T collection, Class<E> elementBeanType) throws SQLException {
-		final ResultSetMetaData  meta = rs.getMetaData();
-		final int columnCount = meta.getColumnCount();
-		
+		return handleRs(rs, collection, new BeanRowMapper<E>(elementBeanType));
+	}
+	
+	/**
+	 * 使用行映射处理多条数据
+	 * @param <E> 行对象类型
+	 * @param <T> 集合类型
+	 * @param rs 数据集
+	 * @param collection 数据集
+	 * @param mapper 行映射
+	 * @return 行对象集合
+	 * @throws SQLException SQL执行异常
+	 * @since 3.1.0
+	 */
+	public static <E, T extends Collection<? super E>> T handleRs(ResultSet rs, T collection, RowMapper<E> mapper) throws SQLException {
 		while(rs.next()) {
-			collection.add(HandleHelper.handleRow(columnCount, meta, rs).toBean(elementBeanType));
+			collection.add(mapper.map(rs));
 		}
-		
 		return collection;
 	}
 }
@@ -0,0 +1,20 @@
+package com.xiaoleilu.hutool.db.handler;
+
+import java.sql.SQLException;
+
+/**
+ * 行处理接口，流式查询时逐行回调，处理完的行不再保留在内存中
+ * 
+ * @param <T> 行对象类型
+ * @author Looly
+ * @since 3.1.0
+ */
+public interface RowHandler<T> {
+	
+	/**
+	 * 处理一行
+	 * @param row 行对象，由{@link RowMapper}转换
+	 * @throws SQLException SQL异常
+	 */
+	public void handle(T row) throws SQLException;
+}
@@ -0,0 +1,26 @@
+package com.xiaoleilu.hutool.db.handler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 行映射接口，将结果集的当前行转换为对象，用于流式读取结果集<br>
+ * 默认实现有：
+ * @see EntityRowMapper
+ * @see BeanRowMapper
+ * 
+ * @param <T> 行对象类型
+ * @author Looly
+ * @since 3.1.0
+ */
+public interface RowMapper<T> {
+	
+	/**
+	 * 转换结果集的当前行<br>
+	 * 不应移动结果集的游标
+	 * @param rs 结果集
+	 * @return 行对象
+	 * @throws SQLException SQL异常
+	 */
+	public T map(ResultSet rs) throws SQLException;
+}
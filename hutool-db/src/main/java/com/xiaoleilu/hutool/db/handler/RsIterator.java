@@ -0,0 +1,100 @@
+package com.xiaoleilu.hutool.db.handler;
+
+import java.io.Closeable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.xiaoleilu.hutool.db.DbRuntimeException;
+import com.xiaoleilu.hutool.db.DbUtil;
+
+/**
+ * 结果集迭代器，逐行读取并通过{@link RowMapper}转换，用于大结果集的流式读取<br>
+ * 遍历结束或出错时自动关闭结果集和Statement，提前结束遍历时需调用{@link #close()}。<br>
+ * 此迭代器不会关闭Connection，遍历期间Connection需保持打开。
+ * 
+ * @param <T> 行对象类型
+ * @author Looly
+ * @since 3.1.0
+ */
+public class RsIterator<T> implements Iterator<T>, Closeable {
+	
+	private final Statement statement;
+	private final ResultSet rs;
+	private final RowMapper<T> mapper;
+	
+	/** 是否已移动到下一行且未被读取 */
+	private boolean hasNextRow;
+	/** 游标是否已移动过 */
+	private boolean fetched;
+	private boolean closed;
+	
+	/**
+	 * 构造
+	 * @param statement 结果集所属的Statement，关闭时一同关闭，<code>null</code>表示不关闭
+	 * @param rs 结果集
+	 * @param mapper 行映射
+	 */
+	public RsIterator(Statement statement, ResultSet rs, RowMapper<T> mapper) {
+		this.statement = statement;
+		this.rs = rs;
+		this.mapper = mapper;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if(closed) {
+			return false;
+		}
+		if(false == fetched) {
+			try {
+				hasNextRow = rs.next();
+			} catch (SQLException e) {
+				close();
+				throw new DbRuntimeException(e);
+			}
+			fetched = true;
+			if(false == hasNextRow) {
+				close();
+			}
+		}
+		return hasNextRow;
+	}
+
+	@Override
+	public T next() {
+		if(false == hasNext()) {
+			throw new NoSuchElementException();
+		}
+		fetched = false;
+		try {
+			return mapper.map(rs);
+		} catch (SQLException e) {
+			close();
+			throw new DbRuntimeException(e);
+		} catch (RuntimeException e) {
+			close();
+			throw e;
+		}
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("ResultSet iterator is read only!");
+	}
+
+	/**
+	 * 关闭结果集和Statement，重复调用无效
+	 */
+	@Override
+	public void close() {
+		if(closed) {
+			return;
+		}
+		closed = true;
+		hasNextRow = false;
+		DbUtil.close(rs, statement);
+	}
+}
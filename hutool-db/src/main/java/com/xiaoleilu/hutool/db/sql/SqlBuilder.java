@@ -161,6 +161,43 @@ public class SqlBuilder {
 		return this;
 	}
 	
+	/**
+	 * 多行插入，只生成SQL，参数由调用者按行依次绑定<br>
+	 * MySQL、PostgreSQL、SQLite生成多行VALUES语句，其它数据库rowCount只能为1
+	 * 
+	 * @param tableName 表名
+	 * @param fields 字段列表
+	 * @param rowCount 行数
+	 * @param dialectName 方言名
+	 * @return 自己
+	 * @since 3.1.0
+	 */
+	public SqlBuilder insertRows(String tableName, Collection<String> fields, int rowCount, DialectName dialectName){
+		return insertRows(tableName, fields, rowCount, dialectName, false, null);
+	}
+	
+	/**
+	 * 多行插入，已存在时更新（upsert），只生成SQL，参数由调用者按行依次绑定：
+	 * <ul>
+	 * <li>MySQL：ON DUPLICATE KEY UPDATE，更新conflictKeys以外的字段，conflictKeys可为空</li>
+	 * <li>PostgreSQL：ON CONFLICT (conflictKeys) DO UPDATE，conflictKeys不能为空；
+	 * 同一条语句中多行的唯一键相同时执行报错（command cannot affect row a second time），调用者需先按唯一键去重</li>
+	 * <li>SQLite：INSERT OR REPLACE，按表上所有的唯一约束判断冲突，删除冲突的旧记录后插入，忽略conflictKeys，未插入的字段为默认值而非保留原值</li>
+	 * </ul>
+	 * 
+	 * @param tableName 表名
+	 * @param fields 字段列表
+	 * @param rowCount 行数
+	 * @param dialectName 方言名
+	 * @param conflictKeys 唯一键（主键）字段，用于判断记录是否已存在，SQLite忽略
+	 * @return 自己
+	 * @throws DbRuntimeException 方言不支持upsert或PostgreSQL未指定唯一键
+	 * @since 3.1.0
+	 */
+	public SqlBuilder upsertRows(String tableName, Collection<String> fields, int rowCount, DialectName dialectName, String... conflictKeys){
+		return insertRows(tableName, fields, rowCount, dialectName, true, conflictKeys);
+	}
+	
 	/**
 	 * 删除
 	 * @param tableName 表名
@@ -559,6 +596,114 @@ public class SqlBuilder {
 	}
 	
 	//--------------------------------------------------------------- private method start
+	/**
+	 * 多行插入或插入更新
+	 * @param tableName 表名
+	 * @param fields 字段列表
+	 * @param rowCount 行数
+	 * @param dialectName 方言名
+	 * @param isUpsert 是否已存在时更新
+	 * @param conflictKeys 唯一键（主键）字段
+	 * @return 自己
+	 */
+	private SqlBuilder insertRows(String tableName, Collection<String> fields, int rowCount, DialectName dialectName, boolean isUpsert, String[] conflictKeys){
+		if(StrUtil.isBlank(tableName)) {
+			throw new DbRuntimeException("Table name is blank !");
+		}
+		if(CollectionUtil.isEmpty(fields)) {
+			throw new DbRuntimeException("No field for insert !");
+		}
+		final boolean isMultiRowSupported = DialectName.MYSQL == dialectName || DialectName.POSTGREESQL == dialectName || DialectName.SQLITE3 == dialectName;
+		if(rowCount < 1 || (rowCount > 1 && false == isMultiRowSupported)) {
+			throw new DbRuntimeException("Multi rows insert is not supported by dialect [{}], row count: {}", dialectName, rowCount);
+		}
+		if(isUpsert && false == isMultiRowSupported) {
+			throw new DbRuntimeException("Upsert is not supported by dialect [{}]", dialectName);
+		}
+		
+		this.fields.addAll(fields);
+		final StringBuilder placeHolder = new StringBuilder("(");
+		for (int i = 0; i < fields.size(); i++) {
+			if(i > 0) {
+				placeHolder.append(", ");
+			}
+			placeHolder.append('?');
+		}
+		placeHolder.append(')');
+		
+		sql.append((isUpsert && DialectName.SQLITE3 == dialectName) ? "INSERT OR REPLACE INTO " : "INSERT INTO ")//
+			.append(wrap(tableName)).append(" (");
+		appendFields(fields);
+		sql.append(") VALUES ");
+		for (int i = 0; i < rowCount; i++) {
+			if(i > 0) {
+				sql.append(", ");
+			}
+			sql.append(placeHolder);
+		}
+		
+		if(isUpsert) {
+			final List<String> updateFields = new ArrayList<String>(fields);
+			if(ArrayUtil.isNotEmpty(conflictKeys)) {
+				updateFields.removeAll(Arrays.asList(conflictKeys));
+			}
+			if(DialectName.MYSQL == dialectName) {
+				sql.append(" ON DUPLICATE KEY UPDATE ");
+				if(updateFields.isEmpty()) {
+					//无需更新的字段时更新为原值，相当于忽略
+					final String field = wrap(fields.iterator().next());
+					sql.append(field).append(" = ").append(field);
+				}
+				for (int i = 0; i < updateFields.size(); i++) {
+					final String field = wrap(updateFields.get(i));
+					sql.append(i > 0 ? ", " : "").append(field).append(" = VALUES(").append(field).append(')');
+				}
+			} else if(DialectName.POSTGREESQL == dialectName) {
+				if(ArrayUtil.isEmpty(conflictKeys)) {
+					throw new DbRuntimeException("Conflict keys must be set for PostgreSQL upsert !");
+				}
+				sql.append(" ON CONFLICT (");
+				appendFields(Arrays.asList(conflictKeys));
+				sql.append(')');
+				if(updateFields.isEmpty()) {
+					sql.append(" DO NOTHING");
+				} else {
+					sql.append(" DO UPDATE SET ");
+					for (int i = 0; i < updateFields.size(); i++) {
+						final String field = wrap(updateFields.get(i));
+						sql.append(i > 0 ? ", " : "").append(field).append(" = EXCLUDED.").append(field);
+					}
+				}
+			}
+		}
+		return this;
+	}
+	
+	/**
+	 * 追加逗号分隔的包装后的字段
+	 * @param fields 字段列表
+	 */
+	private void appendFields(Collection<String> fields) {
+		boolean isFirst = true;
+		for (String field : fields) {
+			if(isFirst) {
+				isFirst = false;
+			} else {
+				sql.append(", ");
+			}
+			sql.append(wrap(field));
+		}
+	}
+	
+	/**
+	 * 包装表名或字段名，无包装器时返回原值
+	 * @param field 表名或字段名
+	 * @return 包装后的名称
+	 */
+	private String wrap(String field) {
+		return (null != wrapper) ? wrapper.wrap(field) : field;
+	}
+	
 	/**
 	 * 构建组合条件
 	 * @param logicalOperator 逻辑运算符
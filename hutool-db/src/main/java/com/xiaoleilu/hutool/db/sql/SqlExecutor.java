@@ -8,7 +8,10 @@ import java.sql.SQLException;
 import java.sql.Statement;
 
 import com.xiaoleilu.hutool.db.DbUtil;
+import com.xiaoleilu.hutool.db.handler.RowHandler;
+import com.xiaoleilu.hutool.db.handler.RowMapper;
 import com.xiaoleilu.hutool.db.handler.RsHandler;
+import com.xiaoleilu.hutool.db.handler.RsIterator;
 
 /**
  * SQL执行器，全部为静态方法，执行查询或非查询的SQL语句<br>
@@ -135,6 +138,46 @@ public class SqlExecutor {
 		}
 	}
 	
+	/**
+	 * 流式查询，返回结果集迭代器<br>
+	 * 使用只进、只读游标，结果集按fetchSize分批从数据库读取，不会一次性加载到内存<br>
+	 * 迭代器遍历结束后自动关闭结果集和PreparedStatement，提前结束时需关闭迭代器；此方法不会关闭Connection<br>
+	 * 注意：MySQL需设置fetchSize为{@link Integer#MIN_VALUE}才会逐行读取，PostgreSQL需关闭自动提交fetchSize才生效
+	 * 
+	 * @param <T> 行对象类型
+	 * @param conn 数据库连接对象
+	 * @param sql 查询语句
+	 * @param fetchSize 每批读取的行数，0表示使用驱动默认值
+	 * @param mapper 行映射
+	 * @param params 参数
+	 * @return 结果集迭代器
+	 * @throws SQLException SQL执行异常
+	 * @since 3.1.0
+	 */
+	public static <T> RsIterator<T> iterate(Connection conn, String sql, int fetchSize, RowMapper<T> mapper, Object... params) throws SQLException {
+		return iterate(conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY), fetchSize, mapper, params);
+	}
+	
+	/**
+	 * 流式查询，逐行回调，返回处理的行数<br>
+	 * 使用只进、只读游标，结果集按fetchSize分批从数据库读取，不会一次性加载到内存<br>
+	 * 此方法不会关闭Connection
+	 * 
+	 * @param <T> 行对象类型
+	 * @param conn 数据库连接对象
+	 * @param sql 查询语句
+	 * @param fetchSize 每批读取的行数，0表示使用驱动默认值
+	 * @param mapper 行映射
+	 * @param rowHandler 行处理
+	 * @param params 参数
+	 * @return 处理的行数
+	 * @throws SQLException SQL执行异常
+	 * @since 3.1.0
+	 */
+	public static <T> int forEach(Connection conn, String sql, int fetchSize, RowMapper<T> mapper, RowHandler<T> rowHandler, Object... params) throws SQLException {
+		return forEach(iterate(conn, sql, fetchSize, mapper, params), rowHandler);
+	}
+	
 	//-------------------------------------------------------------------------------------- Execute With PreparedStatement
 	/**
 	 * 执行非查询语句<br>
@@ -188,6 +231,55 @@ public class SqlExecutor {
 		}
 	}
 	
+	/**
+	 * 流式查询，返回结果集迭代器<br>
+	 * 迭代器遍历结束或关闭时一同关闭PreparedStatement，执行出错时立即关闭PreparedStatement
+	 * 
+	 * @param <T> 行对象类型
+	 * @param ps PreparedStatement，应为只进、只读
+	 * @param fetchSize 每批读取的行数，0表示使用驱动默认值
+	 * @param mapper 行映射
+	 * @param params 参数
+	 * @return 结果集迭代器
+	 * @throws SQLException SQL执行异常
+	 * @since 3.1.0
+	 */
+	public static <T> RsIterator<T> iterate(PreparedStatement ps, int fetchSize, RowMapper<T> mapper, Object... params) throws SQLException {
+		try {
+			if(fetchSize != 0) {
+				ps.setFetchSize(fetchSize);
+			}
+			DbUtil.fillParams(ps, params);
+			return new RsIterator<T>(ps, ps.executeQuery(), mapper);
+		} catch (SQLException | RuntimeException e) {
+			DbUtil.close(ps);
+			throw e;
+		}
+	}
+	
+	/**
+	 * 遍历结果集迭代器并逐行回调，结束后关闭迭代器
+	 * 
+	 * @param <T> 行对象类型
+	 * @param iterator 结果集迭代器
+	 * @param rowHandler 行处理
+	 * @return 处理的行数
+	 * @throws SQLException SQL执行异常
+	 * @since 3.1.0
+	 */
+	public static <T> int forEach(RsIterator<T> iterator, RowHandler<T> rowHandler) throws SQLException {
+		int count = 0;
+		try {
+			while(iterator.hasNext()) {
+				rowHandler.handle(iterator.next());
+				count++;
+			}
+		} finally {
+			iterator.close();
+		}
+		return count;
+	}
+	
 	/**
 	 * 执行查询语句并关闭PreparedStatement
 	 * 
@@ -0,0 +1,105 @@
+package com.xiaoleilu.hutool.db;
+
+import com.xiaoleilu.hutool.db.ds.DSFactory;
+import com.xiaoleilu.hutool.db.handler.BeanHandler;
+import com.xiaoleilu.hutool.db.handler.BeanListHandler;
+import com.xiaoleilu.hutool.db.handler.EntityListHandler;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 结果集转Bean单元测试
+ *
+ * @author Looly
+ */
+public class BeanHandlerTest {
+
+    @Test
+    public void beanListTest() throws SQLException {
+        SqlRunner runner = SqlRunner.create(DSFactory.get());
+        List<Entity> entities = runner.query("select * from user order by id", EntityListHandler.create());
+        List<User> users = runner.query("select * from user order by id", BeanListHandler.create(User.class));
+        Assert.assertEquals(entities.size(), users.size());
+        for (int i = 0; i < users.size(); i++) {
+            Entity entity = entities.get(i);
+            User user = users.get(i);
+            Assert.assertEquals(entity.getLong("id"), user.getId());
+            Assert.assertEquals(entity.getStr("name"), user.getName());
+            Assert.assertEquals(entity.getInt("age").intValue(), user.getAge());
+            Assert.assertEquals(entity.getStr("birthday"), user.getBirthday());
+            // NULL不注入基本类型，保留默认值
+            Assert.assertEquals(null == entity.get("gender") ? -1 : entity.getInt("gender").intValue(), user.getGender());
+        }
+    }
+
+    @Test
+    public void beanTest() throws SQLException {
+        SqlRunner runner = SqlRunner.create(DSFactory.get());
+        User user = runner.query("select id, name as name, age from user where id = ?", BeanHandler.create(User.class), 1);
+        Assert.assertEquals(Long.valueOf(1), user.getId());
+        Assert.assertNull(user.getBirthday());
+        Assert.assertNull(runner.query("select * from user where id = ?", BeanHandler.create(User.class), -1));
+    }
+
+    @Test
+    public void duplicateLabelTest() throws SQLException {
+        SqlRunner runner = SqlRunner.create(DSFactory.get());
+        final String sql = "select id, name, 'other' as name from user where id = ?";
+        // 同名列取第一列的值
+        Entity entity = runner.query(sql, EntityListHandler.create(), 1).get(0);
+        User user = runner.query(sql, BeanHandler.create(User.class), 1);
+        Assert.assertNotEquals("other", entity.getStr("name"));
+        Assert.assertEquals(entity.getStr("name"), user.getName());
+    }
+
+    public static class User {
+        private Long   id;
+        private String name;
+        private int    age;
+        private String birthday;
+        private int    gender = -1;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public String getBirthday() {
+            return birthday;
+        }
+
+        public void setBirthday(String birthday) {
+            this.birthday = birthday;
+        }
+
+        public int getGender() {
+            return gender;
+        }
+
+        public void setGender(int gender) {
+            this.gender = gender;
+        }
+    }
+}
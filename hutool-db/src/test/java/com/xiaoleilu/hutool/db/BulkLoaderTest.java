@@ -0,0 +1,127 @@
+package com.xiaoleilu.hutool.db;
+
+import com.xiaoleilu.hutool.db.dialect.DialectName;
+import com.xiaoleilu.hutool.db.ds.DSFactory;
+import com.xiaoleilu.hutool.db.sql.SqlBuilder;
+import com.xiaoleilu.hutool.db.sql.Wrapper;
+import com.xiaoleilu.hutool.util.CollectionUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量导入单元测试
+ *
+ * @author Looly
+ */
+public class BulkLoaderTest {
+
+    private static final String TABLE = "bulk_test";
+
+    private SqlRunner runner;
+
+    @Before
+    public void init() throws SQLException {
+        runner = SqlRunner.create(DSFactory.get());
+        runner.execute("drop table if exists " + TABLE);
+        runner.execute("create table " + TABLE + " (id integer primary key, name varchar(32), age integer)");
+    }
+
+    @After
+    public void clean() throws SQLException {
+        runner.execute("drop table if exists " + TABLE);
+    }
+
+    @Test
+    public void chunkTest() throws SQLException {
+        List<Entity> records = new ArrayList<>();
+        for (int i = 1; i <= 25; i++) {
+            records.add(Entity.create(TABLE).set("id", i).set("name", "name" + i).set("age", i));
+        }
+
+        final List<Integer> chunkRows = new ArrayList<>();
+        BulkLoader loader = runner.bulkLoader().setChunkSize(10).setChunkListener(new BulkLoader.ChunkListener() {
+            @Override
+            public void onChunk(int chunkIndex, int rows, long affected, long nanos) {
+                chunkRows.add(rows);
+            }
+        });
+        BulkLoader.Result result = runner.bulkLoad(loader, records);
+
+        Assert.assertEquals(25, result.getRows());
+        Assert.assertEquals(25, result.getAffected());
+        Assert.assertEquals(3, result.getChunks());
+        Assert.assertEquals(CollectionUtil.newArrayList(10, 10, 5), chunkRows);
+        Assert.assertEquals(25, runner.count(Entity.create(TABLE)));
+    }
+
+    @Test
+    public void blankFieldTest() throws SQLException {
+        List<Entity> records = new ArrayList<>();
+        records.add(Entity.create(TABLE).set("id", 1).set("name", "a").set("age", 1));
+        // 空字段名被忽略，与上一条同块
+        Entity blank = Entity.create(TABLE).set("id", 2).set("name", "b").set("age", 2);
+        blank.put(" ", "ignored");
+        records.add(blank);
+
+        BulkLoader.Result result = runner.bulkLoad(runner.bulkLoader(), records);
+        Assert.assertEquals(2, result.getRows());
+        Assert.assertEquals(1, result.getChunks());
+        Assert.assertEquals(2, runner.count(Entity.create(TABLE)));
+    }
+
+    @Test
+    public void upsertAndMixedFieldsTest() throws SQLException {
+        runner.insert(Entity.create(TABLE).set("id", 1).set("name", "old").set("age", 1));
+
+        List<Entity> records = new ArrayList<>();
+        records.add(Entity.create(TABLE).set("id", 1).set("name", "new").set("age", 2));
+        // 字段顺序不同但字段相同，与上一条同块
+        records.add(Entity.create(TABLE).set("age", 3).set("name", "b").set("id", 2));
+        // 字段不同，另起一块
+        records.add(Entity.create(TABLE).set("id", 3).set("name", "c"));
+
+        BulkLoader.Result result = runner.bulkLoad(runner.bulkLoader().setUpsert("id"), records);
+        Assert.assertEquals(3, result.getRows());
+        Assert.assertEquals(2, result.getChunks());
+
+        Assert.assertEquals(3, runner.count(Entity.create(TABLE)));
+        Entity first = runner.get(TABLE, "id", 1);
+        Assert.assertEquals("new", first.getStr("name"));
+        Assert.assertEquals(Integer.valueOf(2), first.getInt("age"));
+        Assert.assertEquals(Integer.valueOf(3), runner.get(TABLE, "id", 2).getInt("age"));
+        Assert.assertNull(runner.get(TABLE, "id", 3).getInt("age"));
+    }
+
+    @Test
+    public void batchTest() throws SQLException {
+        List<Entity> records = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            records.add(Entity.create().set("id", i).set("name", "name" + i));
+        }
+        BulkLoader loader = runner.bulkLoader().setTableName(TABLE).setChunkSize(3).setMultiRowValues(false);
+        BulkLoader.Result result = runner.bulkLoad(loader, records);
+        Assert.assertEquals(7, result.getRows());
+        Assert.assertEquals(3, result.getChunks());
+        Assert.assertEquals(7, runner.count(Entity.create(TABLE)));
+    }
+
+    @Test
+    public void upsertSqlTest() {
+        List<String> fields = CollectionUtil.newArrayList("id", "name");
+
+        String mysql = SqlBuilder.create(new Wrapper('`')).upsertRows("user", fields, 2, DialectName.MYSQL, "id").build();
+        Assert.assertEquals("INSERT INTO `user` (`id`, `name`) VALUES (?, ?), (?, ?) ON DUPLICATE KEY UPDATE `name` = VALUES(`name`)", mysql);
+
+        String postgre = SqlBuilder.create(new Wrapper('"')).upsertRows("user", fields, 1, DialectName.POSTGREESQL, "id").build();
+        Assert.assertEquals("INSERT INTO \"user\" (\"id\", \"name\") VALUES (?, ?) ON CONFLICT (\"id\") DO UPDATE SET \"name\" = EXCLUDED.\"name\"", postgre);
+
+        String sqlite = SqlBuilder.create().upsertRows("user", fields, 1, DialectName.SQLITE3).build();
+        Assert.assertEquals("INSERT OR REPLACE INTO user (id, name) VALUES (?, ?)", sqlite);
+    }
+}
@@ -0,0 +1,255 @@
+package com.xiaoleilu.hutool.db;
+
+import com.xiaoleilu.hutool.db.ds.pooled.DbConfig;
+import com.xiaoleilu.hutool.db.ds.pooled.PooledConnection;
+import com.xiaoleilu.hutool.db.ds.pooled.PooledDataSource;
+import com.xiaoleilu.hutool.io.IoUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 池化数据源单元测试
+ *
+ * @author Looly
+ */
+public class PooledDataSourceTest {
+
+    private static DbConfig createConfig() {
+        DbConfig config = new DbConfig("jdbc:sqlite:test.db", null, null);
+        config.setMaxActive(2);
+        config.setMaxIdle(2);
+        config.setMaxWait(200);
+        config.setTimeBetweenEvictionRuns(0);
+        return config;
+    }
+
+    @Test
+    public void reuseTest() throws Exception {
+        PooledDataSource ds = new PooledDataSource(createConfig());
+        try {
+            Connection conn = ds.getConnection();
+            Assert.assertEquals(1, ds.getActiveCount());
+            conn.close();
+            // 重复关闭只归还一次
+            conn.close();
+            Assert.assertTrue(conn.isClosed());
+            Assert.assertEquals(0, ds.getActiveCount());
+            Assert.assertEquals(1, ds.getIdleCount());
+
+            // 复用同一物理连接，每次借出返回新对象
+            Connection conn2 = ds.getConnection();
+            Assert.assertNotSame(conn, conn2);
+            Assert.assertEquals(1, ds.getIdleCount() + ds.getActiveCount());
+            Assert.assertFalse(conn2.isClosed());
+
+            // 上一个借出者迟到的关闭不影响新的借出者
+            conn.close();
+            Assert.assertFalse(conn2.isClosed());
+            Assert.assertEquals(1, ds.getActiveCount());
+            conn2.close();
+            Assert.assertEquals(0, ds.getActiveCount());
+            Assert.assertEquals(2, ds.getBorrowCount());
+        } finally {
+            IoUtil.close(ds);
+        }
+    }
+
+    @Test
+    public void timeoutTest() throws Exception {
+        PooledDataSource ds = new PooledDataSource(createConfig());
+        try {
+            Connection conn1 = ds.getConnection();
+            Connection conn2 = ds.getConnection();
+            try {
+                ds.getConnection();
+                Assert.fail("Max active must be limited");
+            } catch (SQLException e) {
+                Assert.assertEquals(1, ds.getTimeoutCount());
+            }
+            conn1.close();
+            conn2.close();
+            Assert.assertEquals(2, ds.getIdleCount());
+        } finally {
+            IoUtil.close(ds);
+        }
+    }
+
+    @Test
+    public void waitTest() throws Exception {
+        DbConfig config = createConfig();
+        config.setMaxActive(1);
+        config.setMaxWait(5000);
+        final PooledDataSource ds = new PooledDataSource(config);
+        try {
+            final Connection conn = ds.getConnection();
+            final CountDownLatch waiting = new CountDownLatch(1);
+            final AtomicReference<Connection> borrowed = new AtomicReference<>();
+            Thread borrower = new Thread() {
+                @Override
+                public void run() {
+                    waiting.countDown();
+                    try {
+                        borrowed.set(ds.getConnection());
+                    } catch (SQLException e) {
+                        // 失败时borrowed为null
+                    }
+                }
+            };
+            borrower.start();
+            waiting.await();
+            while (ds.getWaitingCount() == 0) {
+                Thread.sleep(1);
+            }
+            conn.close();
+            borrower.join();
+            Assert.assertNotNull(borrowed.get());
+            borrowed.get().close();
+        } finally {
+            IoUtil.close(ds);
+        }
+    }
+
+    @Test
+    public void evictTest() throws Exception {
+        DbConfig config = createConfig();
+        config.setMinIdle(1);
+        config.setMaxLifetime(1);
+        config.setLeakDetectionThreshold(1);
+        PooledDataSource ds = new PooledDataSource(config);
+        try {
+            Connection conn = ds.getConnection();
+            Thread.sleep(5);
+            ds.evict();
+            Assert.assertEquals(1, ds.getLeakCount());
+            Assert.assertEquals(1, ds.getIdleCount());
+
+            // 超过最大存活时间的连接归还时关闭
+            conn.close();
+            Assert.assertEquals(1, ds.getIdleCount());
+            Thread.sleep(5);
+            ds.evict();
+            Assert.assertEquals(1, ds.getIdleCount());
+            Assert.assertNotSame(conn, ds.getConnection());
+        } finally {
+            IoUtil.close(ds);
+        }
+    }
+
+    @Test
+    public void statementCacheTest() throws Exception {
+        DbConfig config = createConfig();
+        config.setStatementCacheSize(1);
+        PooledDataSource ds = new PooledDataSource(config);
+        try {
+            PooledConnection conn = (PooledConnection) ds.getConnection();
+            PreparedStatement ps = conn.prepareStatement("select ? as a");
+            ps.setInt(1, 1);
+            ResultSet rs = ps.executeQuery();
+            Assert.assertTrue(rs.next());
+            ps.close();
+            Assert.assertTrue(ps.isClosed());
+            Assert.assertTrue(rs.isClosed());
+            Assert.assertEquals(1, conn.getCachedStatementCount());
+
+            // 相同SQL复用缓存的实际Statement，每次返回新的包装对象，同时使用时创建新的
+            PreparedStatement ps2 = conn.prepareStatement("select ? as a");
+            Assert.assertNotSame(ps, ps2);
+            Assert.assertSame(raw(ps), raw(ps2));
+            Assert.assertFalse(ps2.isClosed());
+            // 上一个使用者迟到的关闭不影响复用者
+            ps.close();
+            Assert.assertFalse(ps2.isClosed());
+            Assert.assertEquals(0, conn.getCachedStatementCount());
+            PreparedStatement ps3 = conn.prepareStatement("select ? as a");
+            Assert.assertNotSame(raw(ps2), raw(ps3));
+            Assert.assertSame(conn, ps3.getConnection());
+            ps2.setInt(1, 2);
+            rs = ps2.executeQuery();
+            Assert.assertTrue(rs.next());
+            Assert.assertEquals(2, rs.getInt(1));
+            ps2.close();
+            ps3.close();
+            Assert.assertEquals(1, conn.getCachedStatementCount());
+
+            // 超出缓存大小时淘汰最久未使用的
+            PreparedStatement other = conn.prepareStatement("select 1");
+            other.close();
+            Assert.assertEquals(1, conn.getCachedStatementCount());
+            Assert.assertNotSame(raw(ps2), raw(conn.prepareStatement("select ? as a")));
+
+            // 逻辑关闭连接后缓存保留
+            conn.close();
+            PooledConnection conn2 = (PooledConnection) ds.getConnection();
+            PreparedStatement reused = conn2.prepareStatement("select 1");
+            Assert.assertSame(raw(other), raw(reused));
+            Assert.assertSame(conn2, reused.getConnection());
+        } finally {
+            IoUtil.close(ds);
+        }
+    }
+
+    @Test
+    public void statementResultSetTest() throws Exception {
+        DbConfig config = createConfig();
+        config.setStatementCacheSize(1);
+        PooledDataSource ds = new PooledDataSource(config);
+        PooledConnection conn = (PooledConnection) ds.getConnection();
+        // 通过execute打开的结果集在归还Statement时关闭
+        PreparedStatement ps = conn.prepareStatement("select 1");
+        Assert.assertTrue(ps.execute());
+        ResultSet rs = ps.getResultSet();
+        ps.close();
+        Assert.assertTrue(rs.isClosed());
+        Assert.assertEquals(1, conn.getCachedStatementCount());
+
+        // 连接释放后关闭的Statement直接物理关闭，不再放入缓存
+        ps = conn.prepareStatement("select 1");
+        conn.close();
+        ds.close();
+        ps.close();
+        Assert.assertTrue(ps.isClosed());
+        Assert.assertEquals(0, conn.getCachedStatementCount());
+    }
+
+    @Test
+    public void unreferencedTest() throws Exception {
+        DbConfig config = createConfig();
+        config.setTimeBetweenEvictionRuns(60000);
+        PooledDataSource ds = new PooledDataSource(config);
+        ds.getConnection().close();
+        // 维护任务不持有数据源，未关闭的数据源也可被回收
+        WeakReference<PooledDataSource> ref = new WeakReference<>(ds);
+        ds = null;
+        for (int i = 0; i < 50 && null != ref.get(); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull(ref.get());
+    }
+
+    @Test(expected = SQLException.class)
+    public void closedTest() throws Exception {
+        PooledDataSource ds = new PooledDataSource(createConfig());
+        ds.close();
+        ds.getConnection();
+    }
+
+    /**
+     * 获取包装的实际Statement
+     *
+     * @param ps 池化的Statement
+     * @return 实际的Statement
+     * @throws SQLException SQL异常
+     */
+    private static PreparedStatement raw(PreparedStatement ps) throws SQLException {
+        return ps.unwrap(PreparedStatement.class);
+    }
+}
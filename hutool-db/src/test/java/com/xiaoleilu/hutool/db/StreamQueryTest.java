@@ -0,0 +1,71 @@
+package com.xiaoleilu.hutool.db;
+
+import com.xiaoleilu.hutool.db.ds.DSFactory;
+import com.xiaoleilu.hutool.db.handler.BeanRowMapper;
+import com.xiaoleilu.hutool.db.handler.EntityRowMapper;
+import com.xiaoleilu.hutool.db.handler.RowHandler;
+import com.xiaoleilu.hutool.db.handler.RsIterator;
+import com.xiaoleilu.hutool.db.sql.SqlExecutor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 流式查询单元测试
+ *
+ * @author Looly
+ */
+public class StreamQueryTest {
+
+    @Test
+    public void iterateTest() throws SQLException {
+        List<Entity> all = SqlRunner.create(DSFactory.get()).findAll("user");
+
+        Session session = Session.create(DSFactory.get());
+        try {
+            RsIterator<Entity> iterator = session.iterate("select * from user", 1, EntityRowMapper.create());
+            List<Entity> rows = new ArrayList<>();
+            while (iterator.hasNext()) {
+                rows.add(iterator.next());
+            }
+            Assert.assertFalse(iterator.hasNext());
+            Assert.assertEquals(all, rows);
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    public void forEachBeanTest() throws SQLException {
+        final List<EntityTest.User> users = new ArrayList<>();
+        int count = SqlRunner.create(DSFactory.get()).forEach(null, Entity.create("user"), 2, BeanRowMapper.create(EntityTest.User.class), new RowHandler<EntityTest.User>() {
+            @Override
+            public void handle(EntityTest.User row) {
+                users.add(row);
+            }
+        });
+        Assert.assertEquals(users.size(), count);
+        Assert.assertTrue(count > 0);
+
+        Entity first = SqlRunner.create(DSFactory.get()).get("user", "id", users.get(0).getId());
+        Assert.assertEquals(first.getStr("name"), users.get(0).getName());
+    }
+
+    @Test
+    public void closeEarlyTest() throws SQLException {
+        Connection conn = DSFactory.get().getConnection();
+        try {
+            RsIterator<Entity> iterator = SqlExecutor.iterate(conn, "select * from user where id > ?", 0, EntityRowMapper.create(), 0);
+            Assert.assertTrue(iterator.hasNext());
+            Assert.assertNotNull(iterator.next());
+            iterator.close();
+            Assert.assertFalse(iterator.hasNext());
+        } finally {
+            DbUtil.close(conn);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.xiaoleilu.hutool.dfa;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 敏感词替换Writer，写入的内容中的敏感词被替换为指定字符后写出<br>
+ * 只扫描一遍，不生成完整文本：可能属于敏感词的末尾字符暂存，确定不会再被匹配后写出，暂存的字符数不超过最长敏感词的长度（含中间的停顿字符）。<br>
+ * 重叠的敏感词全部替换，关键词中间的停顿字符一并替换，替换前后长度不变。{@link #flush()}只写出已确定的内容，{@link #close()}时写出全部内容。
+ *
+ * <pre>
+ * Writer writer = new MaskWriter(out, SensitiveUtil.getDictionary());
+ * </pre>
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public class MaskWriter extends Writer {
+
+	/** 默认替换字符 */
+	public static final char DEFAULT_MASK = '*';
+
+	private final Writer out;
+	private final char mask;
+	private final WordScanner scanner;
+
+	/** 待写出的字符 */
+	private final StringBuilder buffer = new StringBuilder();
+	/** 待写出的第一个字符的位置 */
+	private long bufferStart;
+
+	/**
+	 * 构造，使用{@link #DEFAULT_MASK}替换
+	 *
+	 * @param out 写出的Writer
+	 * @param dictionary 敏感词词典
+	 */
+	public MaskWriter(Writer out, SensitiveDictionary dictionary) {
+		this(out, dictionary, DEFAULT_MASK);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param out 写出的Writer
+	 * @param dictionary 敏感词词典
+	 * @param mask 替换字符
+	 */
+	public MaskWriter(Writer out, SensitiveDictionary dictionary, char mask) {
+		this.out = out;
+		this.mask = mask;
+		// 密集匹配及贪婪匹配，所有敏感词都被替换
+		this.scanner = dictionary.newScanner(true, true, new MatchHandler() {
+			@Override
+			public boolean onMatch(long start, long end) {
+				mask(start, end);
+				return true;
+			}
+		});
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+		buffer.append(cbuf, off, len);
+		scanner.feed(cbuf, off, len);
+		writeSafe(scanner.safePosition());
+	}
+
+	@Override
+	public void write(String str, int off, int len) throws IOException {
+		buffer.append(str, off, off + len);
+		scanner.feed(str.subSequence(off, off + len));
+		writeSafe(scanner.safePosition());
+	}
+
+	@Override
+	public void write(int c) throws IOException {
+		buffer.append((char) c);
+		scanner.feed((char) c);
+		writeSafe(scanner.safePosition());
+	}
+
+	/**
+	 * 写出已确定的内容并flush，末尾可能属于敏感词的字符仍然暂存
+	 */
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	/**
+	 * 写出全部内容并关闭
+	 */
+	@Override
+	public void close() throws IOException {
+		scanner.finish();
+		writeSafe(scanner.position());
+		out.close();
+	}
+
+	/**
+	 * 替换匹配的字符
+	 *
+	 * @param start 起始位置
+	 * @param end 结束位置
+	 */
+	private void mask(long start, long end) {
+		final int from = (int) (Math.max(start, bufferStart) - bufferStart);
+		final int to = (int) (end - bufferStart);
+		for (int i = from; i <= to; i++) {
+			buffer.setCharAt(i, mask);
+		}
+	}
+
+	/**
+	 * 写出指定位置之前的字符
+	 *
+	 * @param safePosition 此位置之前的字符不会再被替换
+	 * @throws IOException IO异常
+	 */
+	private void writeSafe(long safePosition) throws IOException {
+		final int count = (int) (safePosition - bufferStart);
+		if (count > 0) {
+			out.append(buffer, 0, count);
+			buffer.delete(0, count);
+			bufferStart = safePosition;
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.xiaoleilu.hutool.dfa;
+
+/**
+ * 匹配回调，用于{@link WordScanner}流式查找
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public interface MatchHandler {
+	/**
+	 * 找到匹配，位置为从开始输入起的字符序号，关键词中间的停顿字符包含在内
+	 *
+	 * @param start 起始位置（包含）
+	 * @param end 结束位置（包含）
+	 * @return 是否继续查找
+	 */
+	boolean onMatch(long start, long end);
+}
@@ -0,0 +1,116 @@
+package com.xiaoleilu.hutool.dfa;
+
+import java.util.Arrays;
+
+/**
+ * 匹配筛选器，非线程安全<br>
+ * 自动机按结束位置发现匹配，而结果需要按起始位置排序：当前状态深度为d时，之后的匹配起始位置不会早于最近第d个字符，
+ * 早于此位置开始的匹配即可按密集匹配和贪婪匹配原则筛选输出，因此只需缓存很少的匹配。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+final class MatchSelector {
+
+	private final boolean isDensityMatch;
+	private final boolean isGreedMatch;
+	private final MatchHandler handler;
+
+	/** 待输出的匹配的起始位置，按起始位置、结束位置排序 */
+	private long[] starts = new long[8];
+	/** 待输出的匹配的结束位置 */
+	private long[] ends = new long[8];
+	private int pendingSize;
+
+	/** 非密集匹配时，下一个匹配的最小起始位置 */
+	private long nextStart = Long.MIN_VALUE;
+	/** 上一个输出的匹配的起始位置 */
+	private long lastStart = Long.MIN_VALUE;
+	/** 是否已停止 */
+	private boolean stopped;
+
+	/**
+	 * 构造
+	 *
+	 * @param isDensityMatch 是否使用密集匹配原则
+	 * @param isGreedMatch 是否使用贪婪匹配（最长匹配）原则
+	 * @param handler 匹配回调
+	 */
+	MatchSelector(boolean isDensityMatch, boolean isGreedMatch, MatchHandler handler) {
+		this.isDensityMatch = isDensityMatch;
+		this.isGreedMatch = isGreedMatch;
+		this.handler = handler;
+	}
+
+	/**
+	 * 加入待输出的匹配，按起始位置、结束位置插入<br>
+	 * 匹配按结束位置发现，待输出的匹配很少，插入通常只需比较一两次
+	 *
+	 * @param start 起始位置
+	 * @param end 结束位置
+	 */
+	void add(long start, long end) {
+		if (pendingSize == starts.length) {
+			starts = Arrays.copyOf(starts, pendingSize << 1);
+			ends = Arrays.copyOf(ends, pendingSize << 1);
+		}
+		int i = pendingSize;
+		while (i > 0 && (starts[i - 1] > start || (starts[i - 1] == start && ends[i - 1] > end))) {
+			starts[i] = starts[i - 1];
+			ends[i] = ends[i - 1];
+			i--;
+		}
+		starts[i] = start;
+		ends[i] = end;
+		pendingSize++;
+	}
+
+	/**
+	 * @return 是否已停止
+	 */
+	boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 * 输出起始位置早于minStart的匹配
+	 *
+	 * @param minStart 之后的匹配的最小起始位置
+	 * @return 是否继续查找
+	 */
+	boolean flush(long minStart) {
+		if (0 == pendingSize) {
+			return false == stopped;
+		}
+		int flushed = 0;
+		long start;
+		long end;
+		while (flushed < pendingSize && (start = starts[flushed]) < minStart) {
+			end = ends[flushed];
+			flushed++;
+			if (stopped) {
+				continue;
+			}
+			if (start == lastStart) {
+				// 同一起始位置的更长匹配，只在贪婪匹配时保留
+				if (false == isGreedMatch) {
+					continue;
+				}
+			} else if (false == isDensityMatch && start < nextStart) {
+				// 非密集匹配时跳过与已匹配词重叠的词
+				continue;
+			}
+			lastStart = start;
+			nextStart = end + 1;
+			if (false == handler.onMatch(start, end)) {
+				stopped = true;
+			}
+		}
+		if (flushed > 0) {
+			System.arraycopy(starts, flushed, starts, 0, pendingSize - flushed);
+			System.arraycopy(ends, flushed, ends, 0, pendingSize - flushed);
+			pendingSize -= flushed;
+		}
+		return false == stopped;
+	}
+}
@@ -0,0 +1,381 @@
+package com.xiaoleilu.hutool.dfa;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.xiaoleilu.hutool.dfa.WordAutomaton.Cursor;
+import com.xiaoleilu.hutool.io.IORuntimeException;
+import com.xiaoleilu.hutool.util.CollectionUtil;
+
+/**
+ * 不可变的敏感词词典，线程安全<br>
+ * 词典由编译后的{@link WordAutomaton}组成，构建完成后不再修改，可以在其它线程中构建好后直接替换引用，查找时不会看到构建中的状态。<br>
+ * 增删单词返回新的词典，不重新编译全部单词：
+ * <ul>
+ * 		<li>删除的单词在原自动机中标记为不输出</li>
+ * 		<li>新增的单词单独编译为一个小的自动机，查找时与原自动机同时扫描</li>
+ * 		<li>增删的单词数超过原词典的1/8（至少1024个）时重新编译全部单词</li>
+ * </ul>
+ * 词典可以写出为二进制格式，读取时无需重新编译。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public final class SensitiveDictionary {
+
+	/** 空词典 */
+	public static final SensitiveDictionary EMPTY = of(Collections.<String> emptySet());
+
+	/** 增删单词数超过此值才会重新编译 */
+	private static final int MIN_DELTA = 1024;
+	/** 增删单词数超过原词典单词数的1/DELTA_RATIO时重新编译 */
+	private static final int DELTA_RATIO = 8;
+
+	/** 原自动机 */
+	private final WordAutomaton base;
+	/** 原自动机的单词数 */
+	private final int baseWordCount;
+	/** 原自动机中被删除的单词节点，无则为<code>null</code> */
+	private final BitSet removed;
+	/** 被删除的单词数 */
+	private final int removedCount;
+	/** 新增的单词 */
+	private final Set<String> addedWords;
+	/** 新增单词编译的自动机，无则为<code>null</code> */
+	private final WordAutomaton added;
+
+	// ---------------------------------------------------------------- static method start
+	/**
+	 * 编译单词，构建词典
+	 *
+	 * @param words 单词
+	 * @return 词典
+	 */
+	public static SensitiveDictionary of(Collection<String> words) {
+		final WordTree tree = new WordTree();
+		tree.addWords(words);
+		return of(WordAutomaton.compile(tree));
+	}
+
+	/**
+	 * 使用编译好的自动机构建词典
+	 *
+	 * @param automaton 自动机
+	 * @return 词典
+	 */
+	public static SensitiveDictionary of(WordAutomaton automaton) {
+		return new SensitiveDictionary(automaton, automaton.wordCount(), null, Collections.<String> emptySet(), null);
+	}
+
+	/**
+	 * 读取{@link #write(OutputStream)}写出的词典
+	 *
+	 * @param in 输入流，不关闭
+	 * @return 词典
+	 * @throws IORuntimeException IO异常或格式错误
+	 */
+	public static SensitiveDictionary read(InputStream in) throws IORuntimeException {
+		return of(WordAutomaton.read(in));
+	}
+	// ---------------------------------------------------------------- static method end
+
+	/**
+	 * 构造
+	 *
+	 * @param base 原自动机
+	 * @param baseWordCount 原自动机的单词数
+	 * @param removed 原自动机中被删除的单词节点
+	 * @param addedWords 新增的单词
+	 * @param added 新增单词编译的自动机
+	 */
+	private SensitiveDictionary(WordAutomaton base, int baseWordCount, BitSet removed, Set<String> addedWords, WordAutomaton added) {
+		this.base = base;
+		this.baseWordCount = baseWordCount;
+		this.removed = (null == removed || removed.isEmpty()) ? null : removed;
+		this.removedCount = (null == this.removed) ? 0 : this.removed.cardinality();
+		this.addedWords = addedWords;
+		this.added = added;
+	}
+
+	/**
+	 * 增加单词，返回新的词典，本词典不变
+	 *
+	 * @param words 单词
+	 * @return 新的词典，无变化时返回本词典
+	 */
+	public SensitiveDictionary add(Collection<String> words) {
+		BitSet newRemoved = null;
+		Set<String> newAddedWords = null;
+		String word;
+		int node;
+		for (String rawWord : words) {
+			word = normalize(rawWord);
+			if (word.isEmpty()) {
+				continue;
+			}
+			node = base.wordNode(word);
+			if (WordAutomaton.NONE != node) {
+				// 原自动机中的单词，被删除过则恢复
+				if (null == newRemoved) {
+					newRemoved = copy(removed);
+				}
+				newRemoved.clear(node);
+			} else if (false == addedWords.contains(word)) {
+				if (null == newAddedWords) {
+					newAddedWords = new HashSet<>(addedWords);
+				}
+				newAddedWords.add(word);
+			}
+		}
+		return derive(newRemoved, newAddedWords);
+	}
+
+	/**
+	 * 增加单词，返回新的词典，本词典不变
+	 *
+	 * @param words 单词
+	 * @return 新的词典，无变化时返回本词典
+	 */
+	public SensitiveDictionary add(String... words) {
+		return add(CollectionUtil.newArrayList(words));
+	}
+
+	/**
+	 * 删除单词，返回新的词典，本词典不变
+	 *
+	 * @param words 单词
+	 * @return 新的词典，无变化时返回本词典
+	 */
+	public SensitiveDictionary remove(Collection<String> words) {
+		BitSet newRemoved = null;
+		Set<String> newAddedWords = null;
+		String word;
+		int node;
+		for (String rawWord : words) {
+			word = normalize(rawWord);
+			if (word.isEmpty()) {
+				continue;
+			}
+			node = base.wordNode(word);
+			if (WordAutomaton.NONE != node) {
+				if (null == newRemoved) {
+					newRemoved = copy(removed);
+				}
+				newRemoved.set(node);
+			} else if (addedWords.contains(word)) {
+				if (null == newAddedWords) {
+					newAddedWords = new HashSet<>(addedWords);
+				}
+				newAddedWords.remove(word);
+			}
+		}
+		return derive(newRemoved, newAddedWords);
+	}
+
+	/**
+	 * 删除单词，返回新的词典，本词典不变
+	 *
+	 * @param words 单词
+	 * @return 新的词典，无变化时返回本词典
+	 */
+	public SensitiveDictionary remove(String... words) {
+		return remove(CollectionUtil.newArrayList(words));
+	}
+
+	/**
+	 * 将增删的单词合并后重新编译
+	 *
+	 * @return 新的词典，无增删时返回本词典
+	 */
+	public SensitiveDictionary compact() {
+		if (null == removed && null == added) {
+			return this;
+		}
+		return of(words());
+	}
+
+	/**
+	 * 将词典写出为二进制格式，有增删的单词时先合并重新编译
+	 *
+	 * @param out 输出流，不关闭
+	 * @throws IORuntimeException IO异常
+	 */
+	public void write(OutputStream out) throws IORuntimeException {
+		compact().base.write(out);
+	}
+
+	/**
+	 * @return 单词数
+	 */
+	public int size() {
+		return baseWordCount - removedCount + addedWords.size();
+	}
+
+	/**
+	 * @return 是否无单词
+	 */
+	public boolean isEmpty() {
+		return 0 == size();
+	}
+
+	/**
+	 * 获取所有单词，单词中的停顿字符已被去除
+	 *
+	 * @return 单词
+	 */
+	public Set<String> words() {
+		final Set<String> words = new HashSet<>();
+		base.collectWords(removed, words);
+		words.addAll(addedWords);
+		return words;
+	}
+
+	// ---------------------------------------------------------------- match start
+	/**
+	 * 指定文本是否包含词典中的词
+	 *
+	 * @param text 被检查的文本
+	 * @return 是否包含
+	 */
+	public boolean isMatch(String text) {
+		return null != match(text);
+	}
+
+	/**
+	 * 获得第一个匹配的关键字
+	 *
+	 * @param text 被检查的文本
+	 * @return 匹配到的关键字
+	 */
+	public String match(String text) {
+		if (null == text) {
+			return null;
+		}
+		final List<String> matchAll = matchAll(text, 1, false, false);
+		return matchAll.isEmpty() ? null : matchAll.get(0);
+	}
+
+	/**
+	 * 找出所有匹配的关键字
+	 *
+	 * @param text 被检查的文本
+	 * @return 匹配的词列表
+	 */
+	public List<String> matchAll(String text) {
+		return matchAll(text, -1, false, false);
+	}
+
+	/**
+	 * 找出所有匹配的关键字<br>
+	 * 密集匹配原则：假如关键词有 ab,b，文本是abab，将匹配 [ab,b,ab]<br>
+	 * 贪婪匹配（最长匹配）原则：假如关键字a,ab，最长匹配将匹配[a, ab]
+	 *
+	 * @param text 被检查的文本
+	 * @param limit 限制匹配个数，小于等于0表示不限制
+	 * @param isDensityMatch 是否使用密集匹配原则
+	 * @param isGreedMatch 是否使用贪婪匹配（最长匹配）原则
+	 * @return 匹配的词列表
+	 */
+	public List<String> matchAll(String text, int limit, boolean isDensityMatch, boolean isGreedMatch) {
+		if (null == text) {
+			return null;
+		}
+		return WordScanner.matchAll(newCursors(), text, limit, isDensityMatch, isGreedMatch);
+	}
+
+	/**
+	 * 创建流式扫描器，文本可分多次输入，匹配的位置通过回调返回
+	 *
+	 * @param isDensityMatch 是否使用密集匹配原则
+	 * @param isGreedMatch 是否使用贪婪匹配（最长匹配）原则
+	 * @param handler 匹配回调
+	 * @return {@link WordScanner}
+	 */
+	public WordScanner newScanner(boolean isDensityMatch, boolean isGreedMatch, MatchHandler handler) {
+		return new WordScanner(newCursors(), isDensityMatch, isGreedMatch, handler);
+	}
+	// ---------------------------------------------------------------- match end
+
+	// ---------------------------------------------------------------- private method start
+	/**
+	 * 创建各自动机的扫描状态
+	 *
+	 * @return 扫描状态
+	 */
+	private Cursor[] newCursors() {
+		final Cursor baseCursor = base.newCursor(removed);
+		if (null == added) {
+			return new Cursor[] { baseCursor };
+		}
+		return new Cursor[] { baseCursor, added.newCursor(null) };
+	}
+
+	/**
+	 * 根据增删结果创建新的词典，增删过多时重新编译
+	 *
+	 * @param newRemoved 新的删除节点，<code>null</code>表示不变
+	 * @param newAddedWords 新的新增单词，<code>null</code>表示不变
+	 * @return 新的词典
+	 */
+	private SensitiveDictionary derive(BitSet newRemoved, Set<String> newAddedWords) {
+		if (null == newRemoved && null == newAddedWords) {
+			return this;
+		}
+
+		WordAutomaton newAdded = this.added;
+		if (null != newAddedWords) {
+			if (newAddedWords.isEmpty()) {
+				newAdded = null;
+			} else {
+				final WordTree tree = new WordTree();
+				tree.addWords(newAddedWords);
+				newAdded = WordAutomaton.compile(tree);
+			}
+		} else {
+			newAddedWords = this.addedWords;
+		}
+		final SensitiveDictionary dictionary = new SensitiveDictionary(base, baseWordCount, //
+				(null == newRemoved) ? removed : newRemoved, Collections.unmodifiableSet(newAddedWords), newAdded);
+
+		final int delta = dictionary.removedCount + dictionary.addedWords.size();
+		if (delta > Math.max(MIN_DELTA, baseWordCount / DELTA_RATIO)) {
+			return dictionary.compact();
+		}
+		return dictionary;
+	}
+
+	/**
+	 * 复制BitSet
+	 *
+	 * @param bitSet BitSet，可为<code>null</code>
+	 * @return 副本
+	 */
+	private static BitSet copy(BitSet bitSet) {
+		return (null == bitSet) ? new BitSet() : (BitSet) bitSet.clone();
+	}
+
+	/**
+	 * 去除单词中的停顿字符，与{@link WordTree#addWord(String)}一致
+	 *
+	 * @param word 单词
+	 * @return 去除停顿字符后的单词
+	 */
+	private static String normalize(String word) {
+		final StringBuilder builder = new StringBuilder(word.length());
+		char c;
+		for (int i = 0; i < word.length(); i++) {
+			c = word.charAt(i);
+			if (false == StopChar.isStopChar(c)) {
+				builder.append(c);
+			}
+		}
+		return builder.toString();
+	}
+	// ---------------------------------------------------------------- private method end
+}
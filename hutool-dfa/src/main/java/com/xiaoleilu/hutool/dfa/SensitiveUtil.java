@@ -1,15 +1,23 @@
 package com.xiaoleilu.hutool.dfa;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Callable;
 
+import com.xiaoleilu.hutool.io.IORuntimeException;
+import com.xiaoleilu.hutool.json.JSONException;
 import com.xiaoleilu.hutool.json.JSONUtil;
 import com.xiaoleilu.hutool.util.StrUtil;
 import com.xiaoleilu.hutool.util.ThreadUtil;
 
 /**
- * 敏感词工具类
+ * 敏感词工具类<br>
+ * 敏感词保存在不可变的{@link SensitiveDictionary}中，初始化和增删单词时构建新的词典后替换引用，查找不需要加锁，也不会看到构建中的词典。<br>
+ * 初始化、增删单词和替换词典使用同一把锁串行执行，并发修改不会丢失。
  * @author Looly
  *
  */
@@ -17,7 +25,7 @@ public final class SensitiveUtil {
 //	private static final Log log = LogFactory.get();
 	
 	public static final char DEFAULT_SEPARATOR = StrUtil.C_COMMA;
-	private static WordTree sensitiveTree = new WordTree();
+	private static volatile SensitiveDictionary dictionary = SensitiveDictionary.EMPTY;
 	
 	private SensitiveUtil() {}
 	
@@ -25,7 +33,7 @@ public final class SensitiveUtil {
 	 * @return 是否已经被初始化
 	 */
 	public static boolean isInited(){
-		return !sensitiveTree.isEmpty();
+		return false == dictionary.isEmpty();
 	}
 	
 	/**
@@ -33,7 +41,7 @@ public final class SensitiveUtil {
 	 * @param isAsync 是否异步初始化
 	 * @param sensitiveWords 敏感词列表
 	 */
-	public static void init(final Collection<String> sensitiveWords, boolean isAsync){
+	public static synchronized void init(final Collection<String> sensitiveWords, boolean isAsync){
 		if(isAsync){
 			ThreadUtil.execAsync(new Callable<Boolean>(){
 				@Override
@@ -49,12 +57,11 @@ public final class SensitiveUtil {
 	}
 	
 	/**
-	 * 初始化敏感词树
+	 * 初始化敏感词树，在当前线程中编译完成后替换原词典，编译期间的增删单词等待初始化完成
 	 * @param sensitiveWords 敏感词列表
 	 */
-	public static void init(Collection<String> sensitiveWords){
-		sensitiveTree.clear();
-		sensitiveTree.addWords(sensitiveWords);
+	public static synchronized void init(Collection<String> sensitiveWords){
+		setDictionary(SensitiveDictionary.of(sensitiveWords));
 //		log.debug("Sensitive init finished, sensitives: {}", sensitiveWords);
 	}
 	
@@ -64,7 +71,7 @@ public final class SensitiveUtil {
 	 * @param isAsync 是否异步初始化
 	 * @param separator 分隔符
 	 */
-	public static void init(String sensitiveWords, char separator, boolean isAsync){
+	public static synchronized void init(String sensitiveWords, char separator, boolean isAsync){
 		if(StrUtil.isNotBlank(sensitiveWords)){
 			init(StrUtil.split(sensitiveWords, separator), isAsync);
 		}
@@ -75,26 +82,157 @@ public final class SensitiveUtil {
 	 * @param sensitiveWords 敏感词列表组成的字符串
 	 * @param isAsync 是否异步初始化
 	 */
-	public static void init(String sensitiveWords, boolean isAsync){
+	public static synchronized void init(String sensitiveWords, boolean isAsync){
 		init(sensitiveWords, DEFAULT_SEPARATOR, isAsync);
 	}
 	
+	/**
+	 * 增加敏感词，只编译新增的词
+	 * @param sensitiveWords 敏感词列表
+	 * @since 3.1.0
+	 */
+	public static synchronized void addWords(Collection<String> sensitiveWords){
+		dictionary = dictionary.add(sensitiveWords);
+	}
+	
+	/**
+	 * 删除敏感词，不重新编译
+	 * @param sensitiveWords 敏感词列表
+	 * @since 3.1.0
+	 */
+	public static synchronized void removeWords(Collection<String> sensitiveWords){
+		dictionary = dictionary.remove(sensitiveWords);
+	}
+	
+	/**
+	 * @return 当前的敏感词词典，可用于{@link SensitiveDictionary#write(java.io.OutputStream)}
+	 * @since 3.1.0
+	 */
+	public static SensitiveDictionary getDictionary(){
+		return dictionary;
+	}
+	
+	/**
+	 * 替换敏感词词典，例如使用{@link SensitiveDictionary#read(java.io.InputStream)}读取的词典
+	 * @param sensitiveDictionary 敏感词词典
+	 * @since 3.1.0
+	 */
+	public static synchronized void setDictionary(SensitiveDictionary sensitiveDictionary){
+		dictionary = (null == sensitiveDictionary) ? SensitiveDictionary.EMPTY : sensitiveDictionary;
+	}
+	
 	/**
 	 * 是否包含敏感词
 	 * @param text 文本
 	 * @return 是否包含
 	 */
 	public static boolean containsSensitive(String text){
-		return sensitiveTree.isMatch(text);
+		return dictionary.isMatch(text);
 	}
 	
 	/**
-	 * 是否包含敏感词
-	 * @param obj bean，会被转为JSON字符串
+	 * 是否包含敏感词<br>
+	 * 对象边转为JSON边写入扫描器，不构建JSONObject和JSON字符串，找到第一个敏感词后中断JSON的写出
+	 * @param obj bean，会被转为JSON
 	 * @return 是否包含
 	 */
 	public static boolean containsSensitive(Object obj){
-		return sensitiveTree.isMatch(JSONUtil.toJsonStr(obj));
+		if(null == obj){
+			return false;
+		}
+		if(obj instanceof String){
+			return containsSensitive((String)obj);
+		}
+		
+		final boolean[] found = new boolean[1];
+		final WordScanner scanner = dictionary.newScanner(false, false, new MatchHandler(){
+			@Override
+			public boolean onMatch(long start, long end) {
+				found[0] = true;
+				return false;
+			}
+		});
+		try {
+			JSONUtil.write(obj, new Writer(){
+				@Override
+				public void write(char[] cbuf, int off, int len) throws IOException {
+					if(false == scanner.feed(cbuf, off, len)){
+						// 找到敏感词后中断JSON的写出
+						throw new IOException("Sensitive word found");
+					}
+				}
+				
+				@Override
+				public void flush() {
+				}
+				
+				@Override
+				public void close() {
+				}
+			});
+		} catch (JSONException e) {
+			if(found[0]){
+				return true;
+			}
+			throw e;
+		}
+		scanner.finish();
+		return found[0];
+	}
+	
+	/**
+	 * 是否包含敏感词，流式读取，找到第一个敏感词后不再读取，Reader不关闭
+	 * @param reader Reader
+	 * @return 是否包含
+	 * @since 3.1.0
+	 */
+	public static boolean containsSensitive(Reader reader){
+		final boolean[] found = new boolean[1];
+		final WordScanner scanner = dictionary.newScanner(false, false, new MatchHandler(){
+			@Override
+			public boolean onMatch(long start, long end) {
+				found[0] = true;
+				return false;
+			}
+		});
+		if(scanner.feed(reader)){
+			scanner.finish();
+		}
+		return found[0];
+	}
+	
+	/**
+	 * 创建替换敏感词的Writer，写入的内容中的敏感词被替换为指定字符后写出到out
+	 * @param out 写出的Writer
+	 * @param mask 替换字符
+	 * @return {@link MaskWriter}
+	 * @since 3.1.0
+	 */
+	public static MaskWriter getMaskWriter(Writer out, char mask){
+		return new MaskWriter(out, dictionary, mask);
+	}
+	
+	/**
+	 * 将文本中的敏感词替换为指定字符，替换前后长度不变
+	 * @param text 文本
+	 * @param mask 替换字符
+	 * @return 替换后的文本
+	 * @since 3.1.0
+	 */
+	public static String replace(String text, char mask){
+		if(StrUtil.isEmpty(text)){
+			return text;
+		}
+		final StringWriter stringWriter = new StringWriter(text.length());
+		final MaskWriter maskWriter = getMaskWriter(stringWriter, mask);
+		try {
+			maskWriter.write(text);
+			maskWriter.close();
+		} catch (IOException e) {
+			// StringWriter不会抛出IO异常
+			throw new IORuntimeException(e);
+		}
+		return stringWriter.toString();
 	}
 	
 	/**
@@ -103,7 +241,7 @@ public final class SensitiveUtil {
 	 * @return 敏感词
 	 */
 	public static String getFindedFirstSensitive(String text){
-		return sensitiveTree.match(text);
+		return dictionary.match(text);
 	}
 	
 	/**
@@ -112,7 +250,7 @@ public final class SensitiveUtil {
 	 * @return 敏感词
 	 */
 	public static String getFindedFirstSensitive(Object obj){
-		return sensitiveTree.match(JSONUtil.toJsonStr(obj));
+		return dictionary.match(JSONUtil.toJsonStr(obj));
 	}
 	
 	/**
@@ -121,7 +259,7 @@ public final class SensitiveUtil {
 	 * @return 敏感词
 	 */
 	public static List<String> getFindedAllSensitive(String text){
-		return sensitiveTree.matchAll(text);
+		return dictionary.matchAll(text);
 	}
 	
 	/**
@@ -135,7 +273,7 @@ public final class SensitiveUtil {
 	 * @return 敏感词
 	 */
 	public static List<String> getFindedAllSensitive(String text, boolean isDensityMatch, boolean isGreedMatch){
-		return sensitiveTree.matchAll(text, -1, isDensityMatch, isGreedMatch);
+		return dictionary.matchAll(text, -1, isDensityMatch, isGreedMatch);
 	}
 	
 	/**
@@ -144,7 +282,7 @@ public final class SensitiveUtil {
 	 * @return 敏感词
 	 */
 	public static List<String> getFindedAllSensitive(Object bean){
-		return sensitiveTree.matchAll(JSONUtil.toJsonStr(bean));
+		return dictionary.matchAll(JSONUtil.toJsonStr(bean));
 	}
 	
 	/**
@@ -0,0 +1,474 @@
+package com.xiaoleilu.hutool.dfa;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+
+import com.xiaoleilu.hutool.io.IORuntimeException;
+
+/**
+ * 由{@link WordTree}编译得到的Aho-Corasick自动机，不可变，线程安全<br>
+ * <ul>
+ * 		<li>节点按广度优先编号，每个节点的子节点按字符排序后连续存放，第e条边指向第e+1个节点，按二分查找转移，根节点子节点较多时使用直接索引表</li>
+ * 		<li>匹配失败时沿失败链接转移，文本只扫描一遍，时间复杂度与文本长度成线性关系</li>
+ * 		<li>停顿字符（{@link StopChar}）被跳过，位于关键词中间时作为关键词的一部分返回</li>
+ * </ul>
+ * 匹配结果按起始位置、长度排序后再按密集匹配和贪婪匹配原则筛选，与逐字符重新查找的结果一致。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public final class WordAutomaton {
+
+	/** 无转移 */
+	static final int NONE = -1;
+	/** 根节点 */
+	static final int ROOT = 0;
+	/** 根节点子节点超过此数时使用直接索引表 */
+	private static final int ROOT_TABLE_THRESHOLD = 256;
+	/** 序列化文件头，即"HDFA" */
+	private static final int MAGIC = 0x48444641;
+	/** 序列化格式版本 */
+	private static final int VERSION = 1;
+
+	/** 每个节点的子节点在edgeChars中的起始位置，长度为节点数+1 */
+	private final int[] edgeStart;
+	/** 转移字符，同一节点的按字符排序，第e条边指向第e+1个节点 */
+	private final char[] edgeChars;
+	/** 是否单词结尾 */
+	private final boolean[] end;
+	/** 失败链接 */
+	private final int[] fail;
+	/** 沿失败链接最近的单词结尾节点，无则为{@link #NONE} */
+	private final int[] outputLink;
+	/** 节点深度，即到此节点的单词长度（不含停顿字符） */
+	private final int[] depth;
+	/** 根节点直接索引表，子节点较少时为<code>null</code> */
+	private final int[] rootTable;
+	/** 最大深度 */
+	private final int maxDepth;
+
+	/**
+	 * 编译单词树
+	 *
+	 * @param tree 单词树
+	 * @return {@link WordAutomaton}
+	 */
+	static WordAutomaton compile(WordTree tree) {
+		// 广度优先遍历，父节点的编号总是小于子节点，子节点的编号即边的序号+1
+		final List<WordTree> nodes = new ArrayList<>();
+		final List<Boolean> ends = new ArrayList<>();
+		final List<Integer> starts = new ArrayList<>();
+		final StringBuilder chars = new StringBuilder();
+		nodes.add(tree);
+		ends.add(false);
+		for (int u = 0; u < nodes.size(); u++) {
+			starts.add(chars.length());
+			for (Entry<Character, WordTree> entry : sortedChildren(nodes.get(u))) {
+				chars.append(entry.getKey().charValue());
+				nodes.add(entry.getValue());
+				ends.add(nodes.get(u).isEnd(entry.getKey()));
+			}
+		}
+		starts.add(chars.length());
+
+		final int[] edgeStart = new int[starts.size()];
+		for (int i = 0; i < edgeStart.length; i++) {
+			edgeStart[i] = starts.get(i);
+		}
+		final char[] edgeChars = new char[chars.length()];
+		chars.getChars(0, edgeChars.length, edgeChars, 0);
+		final boolean[] end = new boolean[ends.size()];
+		for (int i = 0; i < end.length; i++) {
+			end[i] = ends.get(i);
+		}
+		return new WordAutomaton(edgeStart, edgeChars, end, null, null);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param edgeStart 每个节点的子节点起始位置
+	 * @param edgeChars 转移字符
+	 * @param end 是否单词结尾
+	 * @param fail 失败链接，<code>null</code>表示重新计算
+	 * @param outputLink 输出链接，fail为<code>null</code>时忽略
+	 */
+	private WordAutomaton(int[] edgeStart, char[] edgeChars, boolean[] end, int[] fail, int[] outputLink) {
+		this.edgeStart = edgeStart;
+		this.edgeChars = edgeChars;
+		this.end = end;
+
+		final int nodeCount = end.length;
+		this.depth = new int[nodeCount];
+		int max = 0;
+		for (int u = 0; u < nodeCount; u++) {
+			for (int e = edgeStart[u]; e < edgeStart[u + 1]; e++) {
+				depth[e + 1] = depth[u] + 1;
+			}
+			max = Math.max(max, depth[u]);
+		}
+		this.maxDepth = Math.max(1, max);
+
+		if (edgeStart[ROOT + 1] - edgeStart[ROOT] > ROOT_TABLE_THRESHOLD) {
+			this.rootTable = new int[Character.MAX_VALUE + 1];
+			Arrays.fill(rootTable, NONE);
+			for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++) {
+				rootTable[edgeChars[e]] = e + 1;
+			}
+		} else {
+			this.rootTable = null;
+		}
+
+		if (null == fail) {
+			this.fail = new int[nodeCount];
+			this.outputLink = new int[nodeCount];
+			linkFails();
+		} else {
+			this.fail = fail;
+			this.outputLink = outputLink;
+		}
+	}
+
+	/**
+	 * @return 节点数
+	 */
+	public int nodeCount() {
+		return end.length;
+	}
+
+	/**
+	 * @return 单词数
+	 */
+	public int wordCount() {
+		int count = 0;
+		for (boolean isEnd : end) {
+			if (isEnd) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 找出所有匹配的关键字<br>
+	 * 密集匹配原则：假如关键词有 ab,b，文本是abab，将匹配 [ab,b,ab]<br>
+	 * 贪婪匹配（最长匹配）原则：假如关键字a,ab，最长匹配将匹配[a, ab]
+	 *
+	 * @param text 被检查的文本
+	 * @param limit 限制匹配个数，小于等于0表示不限制
+	 * @param isDensityMatch 是否使用密集匹配原则
+	 * @param isGreedMatch 是否使用贪婪匹配（最长匹配）原则
+	 * @return 匹配的词列表
+	 */
+	public List<String> matchAll(String text, int limit, boolean isDensityMatch, boolean isGreedMatch) {
+		return WordScanner.matchAll(new Cursor[] { newCursor(null) }, text, limit, isDensityMatch, isGreedMatch);
+	}
+
+	/**
+	 * 创建流式扫描器，文本可分多次输入
+	 *
+	 * @param isDensityMatch 是否使用密集匹配原则
+	 * @param isGreedMatch 是否使用贪婪匹配（最长匹配）原则
+	 * @param handler 匹配回调
+	 * @return {@link WordScanner}
+	 */
+	public WordScanner newScanner(boolean isDensityMatch, boolean isGreedMatch, MatchHandler handler) {
+		return new WordScanner(new Cursor[] { newCursor(null) }, isDensityMatch, isGreedMatch, handler);
+	}
+
+	/**
+	 * 将编译后的自动机写出为紧凑的二进制格式，读取时无需重新编译
+	 *
+	 * @param out 输出流，不关闭
+	 * @throws IORuntimeException IO异常
+	 */
+	public void write(OutputStream out) throws IORuntimeException {
+		final int nodeCount = end.length;
+		final int edgeCount = edgeChars.length;
+		final ByteBuffer buffer = ByteBuffer.allocate(16 + bodySize(nodeCount, edgeCount));
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(nodeCount).putInt(edgeCount);
+		buffer.asIntBuffer().put(edgeStart);
+		buffer.position(buffer.position() + edgeStart.length * 4);
+		buffer.asCharBuffer().put(edgeChars);
+		buffer.position(buffer.position() + edgeCount * 2);
+		buffer.asIntBuffer().put(fail);
+		buffer.position(buffer.position() + nodeCount * 4);
+		buffer.asIntBuffer().put(outputLink);
+		buffer.position(buffer.position() + nodeCount * 4);
+		for (boolean isEnd : end) {
+			buffer.put(isEnd ? (byte) 1 : (byte) 0);
+		}
+		try {
+			out.write(buffer.array());
+			out.flush();
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+	}
+
+	/**
+	 * 读取{@link #write(OutputStream)}写出的自动机
+	 *
+	 * @param in 输入流，不关闭
+	 * @return {@link WordAutomaton}
+	 * @throws IORuntimeException IO异常或格式错误
+	 */
+	public static WordAutomaton read(InputStream in) throws IORuntimeException {
+		final DataInputStream dataIn = new DataInputStream(in);
+		try {
+			final byte[] header = new byte[16];
+			dataIn.readFully(header);
+			ByteBuffer buffer = ByteBuffer.wrap(header);
+			if (MAGIC != buffer.getInt()) {
+				throw new IORuntimeException("Not a compiled word automaton");
+			}
+			final int version = buffer.getInt();
+			if (VERSION != version) {
+				throw new IORuntimeException("Unsupported word automaton version: {}", version);
+			}
+			final int nodeCount = buffer.getInt();
+			final int edgeCount = buffer.getInt();
+			if (nodeCount < 1 || edgeCount != nodeCount - 1) {
+				throw new IORuntimeException("Corrupt word automaton, nodes: {}, edges: {}", nodeCount, edgeCount);
+			}
+
+			final byte[] body = new byte[bodySize(nodeCount, edgeCount)];
+			dataIn.readFully(body);
+			buffer = ByteBuffer.wrap(body);
+			final int[] edgeStart = new int[nodeCount + 1];
+			buffer.asIntBuffer().get(edgeStart);
+			buffer.position(buffer.position() + edgeStart.length * 4);
+			final char[] edgeChars = new char[edgeCount];
+			buffer.asCharBuffer().get(edgeChars);
+			buffer.position(buffer.position() + edgeCount * 2);
+			final int[] fail = new int[nodeCount];
+			buffer.asIntBuffer().get(fail);
+			buffer.position(buffer.position() + nodeCount * 4);
+			final int[] outputLink = new int[nodeCount];
+			buffer.asIntBuffer().get(outputLink);
+			buffer.position(buffer.position() + nodeCount * 4);
+			final boolean[] end = new boolean[nodeCount];
+			for (int i = 0; i < nodeCount; i++) {
+				end[i] = buffer.get() != 0;
+			}
+			return new WordAutomaton(edgeStart, edgeChars, end, fail, outputLink);
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+	}
+
+	// ---------------------------------------------------------------- package method start
+	/**
+	 * 查找单词对应的节点，单词中的停顿字符被跳过
+	 *
+	 * @param word 单词
+	 * @return 节点，单词不在自动机中返回{@link #NONE}
+	 */
+	int wordNode(CharSequence word) {
+		int node = ROOT;
+		char c;
+		for (int i = 0; i < word.length(); i++) {
+			c = word.charAt(i);
+			if (false == StopChar.isStopChar(c)) {
+				node = next(node, c);
+				if (NONE == node) {
+					return NONE;
+				}
+			}
+		}
+		return (ROOT != node && end[node]) ? node : NONE;
+	}
+
+	/**
+	 * 收集所有单词（不含停顿字符）
+	 *
+	 * @param excluded 排除的单词节点，可为<code>null</code>
+	 * @param words 单词集合
+	 */
+	void collectWords(BitSet excluded, Collection<String> words) {
+		collectWords(ROOT, new StringBuilder(maxDepth), excluded, words);
+	}
+
+	/**
+	 * 创建扫描状态
+	 *
+	 * @param excluded 不输出的单词节点，可为<code>null</code>
+	 * @return {@link Cursor}
+	 */
+	Cursor newCursor(BitSet excluded) {
+		return new Cursor(excluded);
+	}
+	// ---------------------------------------------------------------- package method end
+
+	// ---------------------------------------------------------------- private method start
+	/**
+	 * 查找转移
+	 *
+	 * @param node 节点
+	 * @param c 字符
+	 * @return 目标节点，无转移返回{@link #NONE}
+	 */
+	private int next(int node, char c) {
+		if (ROOT == node && null != rootTable) {
+			return rootTable[c];
+		}
+		int low = edgeStart[node];
+		int high = edgeStart[node + 1] - 1;
+		int mid;
+		char midChar;
+		while (low <= high) {
+			mid = (low + high) >>> 1;
+			midChar = edgeChars[mid];
+			if (midChar < c) {
+				low = mid + 1;
+			} else if (midChar > c) {
+				high = mid - 1;
+			} else {
+				return mid + 1;
+			}
+		}
+		return NONE;
+	}
+
+	/**
+	 * 按编号顺序（即广度优先）计算失败链接和输出链接
+	 */
+	private void linkFails() {
+		outputLink[ROOT] = NONE;
+		int node;
+		int f;
+		int target;
+		for (int u = 0; u < end.length; u++) {
+			for (int e = edgeStart[u]; e < edgeStart[u + 1]; e++) {
+				node = e + 1;
+				if (ROOT == u) {
+					fail[node] = ROOT;
+				} else {
+					f = fail[u];
+					while (ROOT != f && NONE == next(f, edgeChars[e])) {
+						f = fail[f];
+					}
+					target = next(f, edgeChars[e]);
+					fail[node] = (NONE == target) ? ROOT : target;
+				}
+				outputLink[node] = end[fail[node]] ? fail[node] : outputLink[fail[node]];
+			}
+		}
+	}
+
+	/**
+	 * 递归收集单词
+	 *
+	 * @param node 当前节点
+	 * @param path 到当前节点的字符
+	 * @param excluded 排除的单词节点
+	 * @param words 单词集合
+	 */
+	private void collectWords(int node, StringBuilder path, BitSet excluded, Collection<String> words) {
+		if (end[node] && (null == excluded || false == excluded.get(node))) {
+			words.add(path.toString());
+		}
+		for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+			path.append(edgeChars[e]);
+			collectWords(e + 1, path, excluded, words);
+			path.setLength(path.length() - 1);
+		}
+	}
+
+	/**
+	 * 序列化后除文件头外的字节数
+	 *
+	 * @param nodeCount 节点数
+	 * @param edgeCount 边数
+	 * @return 字节数
+	 */
+	private static int bodySize(int nodeCount, int edgeCount) {
+		// edgeStart + edgeChars + fail + outputLink + end
+		return (nodeCount + 1) * 4 + edgeCount * 2 + nodeCount * 8 + nodeCount;
+	}
+
+	/**
+	 * 按字符排序子节点，保证编号与数组存放顺序一致
+	 *
+	 * @param node 节点
+	 * @return 排序后的子节点
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private static Entry<Character, WordTree>[] sortedChildren(WordTree node) {
+		final Entry<Character, WordTree>[] entries = node.entrySet().toArray(new Entry[node.size()]);
+		Arrays.sort(entries, new Comparator<Entry<Character, WordTree>>() {
+			@Override
+			public int compare(Entry<Character, WordTree> o1, Entry<Character, WordTree> o2) {
+				return o1.getKey().compareTo(o2.getKey());
+			}
+		});
+		return entries;
+	}
+	// ---------------------------------------------------------------- private method end
+
+	/**
+	 * 自动机的扫描状态，非线程安全<br>
+	 * 只输入非停顿字符，发现的匹配按结束位置加入{@link MatchSelector}
+	 *
+	 * @author Looly
+	 */
+	final class Cursor {
+		/** 不输出的单词节点 */
+		private final BitSet excluded;
+		/** 当前节点 */
+		private int state = ROOT;
+		/** 已输入的字符数 */
+		private long count;
+		/** 最近maxDepth个字符在文本中的位置 */
+		private final long[] positions = new long[maxDepth];
+
+		Cursor(BitSet excluded) {
+			this.excluded = excluded;
+		}
+
+		/**
+		 * 输入一个非停顿字符
+		 *
+		 * @param c 字符
+		 * @param position 字符在文本中的位置
+		 * @param selector 匹配加入的筛选器
+		 * @return 当前状态对应的起始位置，之后的匹配不会早于此位置开始，当前位于根节点时返回{@link Long#MAX_VALUE}
+		 */
+		long feed(char c, long position, MatchSelector selector) {
+			positions[(int) (count % maxDepth)] = position;
+			int target;
+			while (NONE == (target = next(state, c)) && ROOT != state) {
+				state = fail[state];
+			}
+			state = (NONE == target) ? ROOT : target;
+
+			for (int node = end[state] ? state : outputLink[state]; NONE != node && ROOT != node; node = outputLink[node]) {
+				if (null == excluded || false == excluded.get(node)) {
+					selector.add(positionAt(count - depth[node] + 1), position);
+				}
+			}
+			count++;
+			return (ROOT == state) ? Long.MAX_VALUE : positionAt(count - depth[state]);
+		}
+
+		/**
+		 * 获取第index个字符在文本中的位置
+		 *
+		 * @param index 字符序号
+		 * @return 位置
+		 */
+		private long positionAt(long index) {
+			return positions[(int) (index % maxDepth)];
+		}
+	}
+}
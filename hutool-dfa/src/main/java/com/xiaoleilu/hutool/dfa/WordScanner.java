@@ -0,0 +1,179 @@
+package com.xiaoleilu.hutool.dfa;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.xiaoleilu.hutool.dfa.WordAutomaton.Cursor;
+import com.xiaoleilu.hutool.io.IORuntimeException;
+
+/**
+ * 流式单词扫描器，非线程安全<br>
+ * 文本可以分多次输入，自动机状态跨输入保留，跨越两次输入的关键词同样可以匹配，匹配的位置通过{@link MatchHandler}回调，不生成子串。<br>
+ * 扫描器可同时驱动多个自动机（如词典的原自动机和新增单词的自动机），合并它们的匹配后统一筛选。
+ *
+ * <pre>
+ * WordScanner scanner = SensitiveUtil.getDictionary().newScanner(false, false, handler);
+ * scanner.feed(chunk1);
+ * scanner.feed(chunk2);
+ * scanner.finish();
+ * </pre>
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public final class WordScanner {
+
+	/** 读取Reader时的缓冲大小 */
+	private static final int BUFFER_SIZE = 8192;
+
+	private final Cursor[] cursors;
+	private final MatchSelector selector;
+
+	/** 已输入的字符数，即下一个字符的位置 */
+	private long position;
+	/** 之后的匹配不会早于此位置开始 */
+	private long minStart = Long.MAX_VALUE;
+
+	/**
+	 * 构造
+	 *
+	 * @param cursors 各自动机的扫描状态
+	 * @param isDensityMatch 是否使用密集匹配原则
+	 * @param isGreedMatch 是否使用贪婪匹配（最长匹配）原则
+	 * @param handler 匹配回调
+	 */
+	WordScanner(Cursor[] cursors, boolean isDensityMatch, boolean isGreedMatch, MatchHandler handler) {
+		this.cursors = cursors;
+		this.selector = new MatchSelector(isDensityMatch, isGreedMatch, handler);
+	}
+
+	/**
+	 * 输入一个字符
+	 *
+	 * @param c 字符
+	 * @return 是否继续查找，回调要求停止后返回<code>false</code>
+	 */
+	public boolean feed(char c) {
+		if (selector.isStopped()) {
+			return false;
+		}
+		final long current = position++;
+		if (StopChar.isStopChar(c)) {
+			return true;
+		}
+		long start = Long.MAX_VALUE;
+		for (Cursor cursor : cursors) {
+			start = Math.min(start, cursor.feed(c, current, selector));
+		}
+		this.minStart = start;
+		return selector.flush(start);
+	}
+
+	/**
+	 * 输入一段文本
+	 *
+	 * @param text 文本
+	 * @return 是否继续查找
+	 */
+	public boolean feed(CharSequence text) {
+		final int length = text.length();
+		for (int i = 0; i < length; i++) {
+			if (false == feed(text.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 输入一段字符
+	 *
+	 * @param chars 字符数组
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @return 是否继续查找
+	 */
+	public boolean feed(char[] chars, int offset, int length) {
+		final int end = offset + length;
+		for (int i = offset; i < end; i++) {
+			if (false == feed(chars[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 读取Reader中的全部字符，回调要求停止时不再读取，Reader不关闭
+	 *
+	 * @param reader Reader
+	 * @return 是否继续查找
+	 * @throws IORuntimeException IO异常
+	 */
+	public boolean feed(Reader reader) throws IORuntimeException {
+		final char[] buffer = new char[BUFFER_SIZE];
+		int read;
+		try {
+			while ((read = reader.read(buffer)) > -1) {
+				if (false == feed(buffer, 0, read)) {
+					return false;
+				}
+			}
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+		return true;
+	}
+
+	/**
+	 * 输入结束，输出所有待输出的匹配<br>
+	 * 输入结束前，末尾可能是更长关键词前缀的匹配暂不回调
+	 */
+	public void finish() {
+		selector.flush(Long.MAX_VALUE);
+		this.minStart = Long.MAX_VALUE;
+	}
+
+	/**
+	 * @return 已输入的字符数
+	 */
+	public long position() {
+		return position;
+	}
+
+	/**
+	 * 获取之后的匹配的最小起始位置，早于此位置的字符不会再出现在回调的匹配中
+	 *
+	 * @return 位置，不大于已输入的字符数
+	 */
+	long safePosition() {
+		return Math.min(minStart, position);
+	}
+
+	/**
+	 * 找出所有匹配的关键字
+	 *
+	 * @param cursors 各自动机的扫描状态
+	 * @param text 被检查的文本
+	 * @param limit 限制匹配个数，小于等于0表示不限制
+	 * @param isDensityMatch 是否使用密集匹配原则
+	 * @param isGreedMatch 是否使用贪婪匹配（最长匹配）原则
+	 * @return 匹配的词列表
+	 */
+	static List<String> matchAll(Cursor[] cursors, final String text, final int limit, boolean isDensityMatch, boolean isGreedMatch) {
+		final List<String> findedWords = new ArrayList<>();
+		final WordScanner scanner = new WordScanner(cursors, isDensityMatch, isGreedMatch, new MatchHandler() {
+			@Override
+			public boolean onMatch(long start, long end) {
+				findedWords.add(text.substring((int) start, (int) end + 1));
+				return limit <= 0 || findedWords.size() < limit;
+			}
+		});
+		if (scanner.feed(text)) {
+			scanner.finish();
+		}
+		return findedWords;
+	}
+}
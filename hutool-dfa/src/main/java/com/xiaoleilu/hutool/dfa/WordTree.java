@@ -1,5 +1,4 @@
 package com.xiaoleilu.hutool.dfa;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -7,7 +6,6 @@ import java.util.List;
 import java.util.Set;
 
 import com.xiaoleilu.hutool.util.CollectionUtil;
-import com.xiaoleilu.hutool.util.StrUtil;
 
 /**
  * DFA（Deterministic Finite Automaton 确定有穷自动机）
@@ -31,6 +29,10 @@ public class WordTree extends HashMap<Character, WordTree>{
 	 * 敏感词字符末尾标识，用于标识单词末尾字符
 	 */
 	private Set<Character> endCharacterSet = new HashSet<>();
+	/**
+	 * 编译后的自动机，单词变更后置空，查找时重新编译
+	 */
+	private transient volatile WordAutomaton automaton;
 	
 	//--------------------------------------------------------------------------------------- Constructor start
 	/**
@@ -92,6 +94,33 @@ public class WordTree extends HashMap<Character, WordTree>{
 		if(null != parent){
 			parent.setEnd(currentChar);
 		}
+		this.automaton = null;
+	}
+	
+	/**
+	 * 清空所有单词
+	 */
+	@Override
+	public void clear() {
+		super.clear();
+		this.endCharacterSet.clear();
+		this.automaton = null;
+	}
+	
+	/**
+	 * 获取编译后的Aho-Corasick自动机，单词变更后首次调用时重新编译<br>
+	 * 查找时文本只扫描一遍，不必从每个字符重新开始查找
+	 * 
+	 * @return {@link WordAutomaton}
+	 * @since 3.1.0
+	 */
+	public WordAutomaton getAutomaton() {
+		WordAutomaton automaton = this.automaton;
+		if(null == automaton){
+			automaton = WordAutomaton.compile(this);
+			this.automaton = automaton;
+		}
+		return automaton;
 	}
 	
 	//------------------------------------------------------------------------------- match
@@ -159,54 +188,7 @@ public class WordTree extends HashMap<Character, WordTree>{
 			return null;
 		}
 		
-		List<String> findedWords = new ArrayList<String>();
-		WordTree current = this;
-		int length = text.length();
-		StringBuilder wordBuffer;//存放查找到的字符缓存。完整出现一个词时加到findedWords中，否则清空
-		char currentChar;
-		for (int i = 0; i < length; i++) {
-			wordBuffer = StrUtil.builder();
-			for (int j = i; j < length; j++) {
-				currentChar = text.charAt(j);
-//				Console.log("i: {}, j: {}, currentChar: {}", i, j, currentChar);
-				if(StopChar.isStopChar(currentChar)){
-					if(wordBuffer.length() > 0){
-						//做为关键词中间的停顿词被当作关键词的一部分被返回
-						wordBuffer.append(currentChar);
-					}else{
-						//停顿词做为关键词的第一个字符时需要跳过
-						i++;
-					}
-					continue;
-				}else if(false == current.containsKey(currentChar)){
-					//非关键字符被整体略过，重新以下个字符开始检查
-					break;
-				}
-				wordBuffer.append(currentChar);
-				if(current.isEnd(currentChar)){
-					//到达单词末尾，关键词成立，从此词的下一个位置开始查找
-					findedWords.add(wordBuffer.toString());
-					if(limit > 0 && findedWords.size() >= limit){
-						//超过匹配限制个数，直接返回
-						return findedWords;
-					}
-					if(false == isDensityMatch){
-						//如果非密度匹配，跳过匹配到的词
-						i = j;
-					}
-					if(false == isGreedMatch){
-						//如果懒惰匹配（非贪婪匹配）。当遇到第一个结尾标记就结束本轮匹配
-						break;
-					}
-				}
-				current = current.get(currentChar);
-				if(null == current){
-					break;
-				}
-			}
-			current = this;
-		}
-		return findedWords;
+		return getAutomaton().matchAll(text, limit, isDensityMatch, isGreedMatch);
 	}
 	
 	
@@ -216,7 +198,7 @@ public class WordTree extends HashMap<Character, WordTree>{
 	 * @param c 检查的字符
 	 * @return 是否末尾
 	 */
-	private boolean isEnd(Character c){
+	boolean isEnd(Character c){
 		return this.endCharacterSet.contains(c);
 	}
 	
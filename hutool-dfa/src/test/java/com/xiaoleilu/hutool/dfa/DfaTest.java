@@ -93,6 +93,32 @@ public class DfaTest {
 		Assert.assertEquals(all, CollectionUtil.newArrayList("t-io"));
 	}
 
+	/**
+	 * 失败链接测试，后开始的短词先结束时，结果仍按起始位置排序
+	 */
+	@Test
+	public void failLinkTest() {
+		WordTree tree = new WordTree();
+		tree.addWords("abcd", "bc", "c-d");
+
+		Assert.assertEquals(tree.matchAll("xabcdx"), CollectionUtil.newArrayList("abcd"));
+		Assert.assertEquals(tree.matchAll("xabcdx", -1, true, false), CollectionUtil.newArrayList("abcd", "bc", "cd"));
+		Assert.assertEquals(tree.match("xab-c-dx"), "ab-c-d");
+	}
+
+	/**
+	 * 清空后重新加词测试
+	 */
+	@Test
+	public void clearTest() {
+		WordTree tree = buildWordTree();
+		Assert.assertEquals(tree.match(text), "大");
+
+		tree.clear();
+		tree.addWord("土豆");
+		Assert.assertEquals(tree.matchAll(text), CollectionUtil.newArrayList("土豆"));
+	}
+
 	// ----------------------------------------------------------------------------------------------------------
 	/**
 	 * 构建查找树
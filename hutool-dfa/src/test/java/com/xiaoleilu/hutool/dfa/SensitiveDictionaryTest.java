@@ -0,0 +1,118 @@
+package com.xiaoleilu.hutool.dfa;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xiaoleilu.hutool.util.CollectionUtil;
+
+/**
+ * 敏感词词典单元测试
+ * 
+ * @author Looly
+ *
+ */
+public class SensitiveDictionaryTest {
+
+	String text = "我有一颗大土豆，刚出锅的";
+
+	@Test
+	public void addAndRemoveTest() {
+		SensitiveDictionary dictionary = SensitiveDictionary.of(CollectionUtil.newArrayList("大", "土豆", "刚出锅"));
+		Assert.assertEquals(3, dictionary.size());
+
+		SensitiveDictionary removed = dictionary.remove("大", "不存在");
+		Assert.assertEquals(CollectionUtil.newArrayList("土豆", "刚出锅"), removed.matchAll(text));
+		// 原词典不变
+		Assert.assertEquals(CollectionUtil.newArrayList("大", "土豆", "刚出锅"), dictionary.matchAll(text));
+
+		SensitiveDictionary added = removed.add("大土豆", "出锅", "大");
+		Assert.assertEquals(5, added.size());
+		Assert.assertEquals(CollectionUtil.newArrayList("大", "大土豆", "土豆", "刚出锅", "出锅"), added.matchAll(text, -1, true, true));
+		Assert.assertEquals(CollectionUtil.newArrayList("大", "大土豆", "刚出锅"), added.matchAll(text, -1, false, true));
+
+		SensitiveDictionary compacted = added.remove("出锅").compact();
+		Assert.assertEquals(CollectionUtil.newHashSet("大", "大土豆", "土豆", "刚出锅"), compacted.words());
+		Assert.assertEquals(CollectionUtil.newArrayList("大", "土豆", "刚出锅"), compacted.matchAll(text, -1, true, false));
+	}
+
+	@Test
+	public void writeAndReadTest() {
+		SensitiveDictionary dictionary = SensitiveDictionary.of(CollectionUtil.newArrayList("大", "大土豆", "土豆")).add("t-io");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		dictionary.write(out);
+		SensitiveDictionary read = SensitiveDictionary.read(new ByteArrayInputStream(out.toByteArray()));
+
+		Assert.assertEquals(dictionary.words(), read.words());
+		Assert.assertEquals(CollectionUtil.newArrayList("大", "大土豆", "土豆", "t-io"), read.matchAll(text + "t-io", -1, true, true));
+	}
+
+	@Test
+	public void scannerTest() {
+		SensitiveDictionary dictionary = SensitiveDictionary.of(CollectionUtil.newArrayList("大土豆", "刚出锅"));
+		final List<String> positions = new ArrayList<>();
+		WordScanner scanner = dictionary.newScanner(false, false, new MatchHandler() {
+			@Override
+			public boolean onMatch(long start, long end) {
+				positions.add(start + "-" + end);
+				return true;
+			}
+		});
+		// 关键词跨越多次输入
+		scanner.feed("我有一颗大");
+		scanner.feed("土豆，刚");
+		scanner.feed("出锅的");
+		scanner.finish();
+		Assert.assertEquals(CollectionUtil.newArrayList("4-6", "8-10"), positions);
+	}
+
+	@Test
+	public void maskWriterTest() throws IOException {
+		SensitiveDictionary dictionary = SensitiveDictionary.of(CollectionUtil.newArrayList("大土豆", "土豆", "出锅", "tio"));
+		StringWriter out = new StringWriter();
+		MaskWriter writer = new MaskWriter(out, dictionary);
+		writer.write("我有一颗大");
+		writer.write("土豆，刚出");
+		writer.write("锅的t-i");
+		writer.write("o");
+		writer.close();
+		Assert.assertEquals("我有一颗***，刚**的****", out.toString());
+	}
+
+	@Test
+	public void containsSensitiveObjectTest() {
+		final SensitiveDictionary old = SensitiveUtil.getDictionary();
+		SensitiveUtil.setDictionary(SensitiveDictionary.of(CollectionUtil.newArrayList("大土豆")));
+		try {
+			final AtomicInteger read = new AtomicInteger();
+			final List<String> list = new AbstractList<String>() {
+				@Override
+				public String get(int index) {
+					read.incrementAndGet();
+					return index == 10 ? "我有一颗大土豆" : "刚出锅的";
+				}
+
+				@Override
+				public int size() {
+					return 100000;
+				}
+			};
+			Assert.assertTrue(SensitiveUtil.containsSensitive((Object) list));
+			// 找到敏感词后不再继续转换JSON
+			Assert.assertTrue(read.get() < list.size());
+
+			Assert.assertFalse(SensitiveUtil.containsSensitive((Object) CollectionUtil.newArrayList("刚出锅的")));
+		} finally {
+			SensitiveUtil.setDictionary(old);
+		}
+	}
+}
@@ -0,0 +1,367 @@
+package com.xiaoleilu.hutool.json;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.xiaoleilu.hutool.bean.BeanDesc;
+import com.xiaoleilu.hutool.bean.BeanDesc.PropDesc;
+import com.xiaoleilu.hutool.convert.BasicType;
+import com.xiaoleilu.hutool.convert.Convert;
+import com.xiaoleilu.hutool.exceptions.UtilException;
+import com.xiaoleilu.hutool.util.ClassUtil;
+import com.xiaoleilu.hutool.util.CollectionUtil;
+import com.xiaoleilu.hutool.util.TypeUtil;
+
+/**
+ * Bean与JSON的绑定信息，每个类只解析一次并缓存<br>
+ * 缓存使用{@link ClassValue}，无全局锁，类卸载时随之释放。<br>
+ * 属性信息（getter、setter、泛型类型及可访问设置）来自{@link BeanDesc}，此处只按可读、可写分组并记录无参构造，
+ * 可以从{@link JSONObject}填充Bean，也可以从{@link JSONReader}直接读取Bean而不构建中间的JSONObject。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+final class BeanBinder {
+
+    private static final ClassValue<BeanBinder> CACHE = new ClassValue<BeanBinder>() {
+        @Override
+        protected BeanBinder computeValue(Class<?> type) {
+            return new BeanBinder(type);
+        }
+    };
+
+    /**
+     * 获取类的绑定信息
+     *
+     * @param beanClass Bean类
+     * @return 绑定信息
+     */
+    static BeanBinder of(Class<?> beanClass) {
+        return CACHE.get(beanClass);
+    }
+
+    /**
+     * 无参构造，不存在为<code>null</code>
+     */
+    private final Constructor<?> constructor;
+    /**
+     * 是否可以从JSON对象直接绑定，即普通的有setter方法和无参构造的类，Map和集合除外
+     */
+    private final boolean bindable;
+    /**
+     * 有getter的属性，按照{@link BeanDesc#getProps()}的顺序
+     */
+    private final PropDesc[] readableProperties;
+    /**
+     * 属性名与有getter的属性对应表
+     */
+    private final Map<String, PropDesc> readablePropertyMap;
+    /**
+     * 有setter的属性，按照{@link BeanDesc#getProps()}的顺序
+     */
+    private final PropDesc[] writableProperties;
+    /**
+     * 属性名与有setter的属性对应表
+     */
+    private final Map<String, PropDesc> writablePropertyMap;
+
+    /**
+     * 构造，解析类的属性
+     *
+     * @param beanClass Bean类
+     */
+    private BeanBinder(Class<?> beanClass) {
+        Collection<PropDesc> props;
+        try {
+            props = BeanDesc.of(beanClass).getProps();
+        } catch (Exception e) {
+            //忽略失败的类
+            props = new ArrayList<>(0);
+        }
+
+        final List<PropDesc> readable = new ArrayList<>(props.size());
+        final List<PropDesc> writable = new ArrayList<>(props.size());
+        final Map<String, PropDesc> readableMap = new HashMap<>((int) (props.size() / 0.75) + 1);
+        final Map<String, PropDesc> writableMap = new HashMap<>((int) (props.size() / 0.75) + 1);
+        for (PropDesc prop : props) {
+            // 过滤class属性
+            if ("class".equals(prop.getName()) || "declaringClass".equals(prop.getName())) {
+                continue;
+            }
+            if (null != prop.getGetter()) {
+                readable.add(prop);
+                readableMap.put(prop.getName(), prop);
+            }
+            if (null != prop.getSetter()) {
+                writable.add(prop);
+                writableMap.put(prop.getName(), prop);
+            }
+        }
+        this.readableProperties = readable.toArray(new PropDesc[readable.size()]);
+        this.readablePropertyMap = readableMap;
+        this.writableProperties = writable.toArray(new PropDesc[writable.size()]);
+        this.writablePropertyMap = writableMap;
+
+        Constructor<?> defaultConstructor = null;
+        if (ClassUtil.isNormalClass(beanClass) && false == Map.class.isAssignableFrom(beanClass) && false == Collection.class.isAssignableFrom(beanClass)) {
+            try {
+                defaultConstructor = beanClass.getDeclaredConstructor();
+                defaultConstructor.setAccessible(true);
+            } catch (Exception e) {
+                // 无无参构造
+            }
+        }
+        this.constructor = defaultConstructor;
+        this.bindable = null != defaultConstructor && writableProperties.length > 0 //
+                && (null == beanClass.getEnclosingClass() || Modifier.isStatic(beanClass.getModifiers()));
+    }
+
+    /**
+     * @return 有getter的属性
+     */
+    PropDesc[] getReadableProperties() {
+        return readableProperties;
+    }
+
+    /**
+     * 获取有getter的属性
+     *
+     * @param name 属性名
+     * @return 属性，不存在返回<code>null</code>
+     */
+    PropDesc getReadableProperty(String name) {
+        return readablePropertyMap.get(name);
+    }
+
+    /**
+     * 将JSONObject中的值注入Bean，值按照setter的参数类型（包括泛型）转换
+     *
+     * @param <T>         Bean类型
+     * @param jsonObject  JSONObject
+     * @param bean        Bean对象
+     * @param ignoreError 是否忽略转换或注入错误
+     * @return Bean对象
+     * @throws UtilException 转换或注入错误
+     */
+    <T> T fill(JSONObject jsonObject, T bean, boolean ignoreError) throws UtilException {
+        Object value;
+        for (PropDesc property : writableProperties) {
+            value = jsonObject.get(property.getName());
+            if (null != value || jsonObject.containsKey(property.getName())) {
+                set(property, bean, value, ignoreError);
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * 从{@link JSONReader}读取一个JSON对象并注入新建的Bean，不构建JSONObject，不存在的属性的值直接跳过，不转换为对象
+     *
+     * @param reader      {@link JSONReader}，下一个标记为对象开始
+     * @param ignoreError 是否忽略转换或注入错误
+     * @return Bean对象
+     * @throws JSONException JSON语法错误
+     * @throws UtilException 转换或注入错误
+     */
+    Object read(JSONReader reader, boolean ignoreError) throws JSONException, UtilException {
+        final Object bean = newInstance();
+        reader.beginObject();
+        PropDesc property;
+        Object value;
+        while (reader.hasNext()) {
+            property = writablePropertyMap.get(reader.nextName());
+            if (null == property) {
+                reader.skipValue();
+                continue;
+            }
+            value = readValue(reader, property.getFieldType(), rawType(property), ignoreError);
+            set(property, bean, value, ignoreError);
+        }
+        reader.endObject();
+        return bean;
+    }
+
+    /**
+     * 从{@link JSONReader}读取一个值并转换为目标类型，Bean、Bean的数组及集合直接读取，其它值读取为JSON值后转换
+     *
+     * @param reader      {@link JSONReader}
+     * @param type        目标类型
+     * @param ignoreError 是否忽略转换或注入错误
+     * @return 值
+     * @throws JSONException JSON语法错误
+     * @throws UtilException 转换或注入错误
+     */
+    static Object read(JSONReader reader, Type type, boolean ignoreError) throws JSONException, UtilException {
+        final Class<?> rawType = rawType(type, Object.class);
+        final Object value = readValue(reader, type, rawType, ignoreError);
+        try {
+            return convert(value, type, rawType, ignoreError);
+        } catch (Exception e) {
+            throw new UtilException(e, "Convert to [{}] error!", rawType.getName());
+        }
+    }
+
+    // ------------------------------------------------------------------------------------ Private method start
+
+    /**
+     * 从{@link JSONReader}读取一个值
+     *
+     * @param reader      {@link JSONReader}
+     * @param type        目标类型
+     * @param rawType     目标类型的原始类
+     * @param ignoreError 是否忽略转换或注入错误
+     * @return 值，未转换为目标类型
+     */
+    private static Object readValue(JSONReader reader, Type type, Class<?> rawType, boolean ignoreError) {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                final BeanBinder binder = of(rawType);
+                if (binder.bindable) {
+                    return binder.read(reader, ignoreError);
+                }
+                break;
+            case BEGIN_ARRAY:
+                if (rawType.isArray()) {
+                    final Class<?> componentType = rawType.getComponentType();
+                    final List<Object> list = readList(reader, componentType, componentType, ignoreError);
+                    final Object array = Array.newInstance(componentType, list.size());
+                    Object element;
+                    for (int i = 0; i < list.size(); i++) {
+                        element = list.get(i);
+                        // 原始类型数组的null元素保持默认值
+                        if (null != element || false == componentType.isPrimitive()) {
+                            Array.set(array, i, element);
+                        }
+                    }
+                    return array;
+                } else if (Collection.class.isAssignableFrom(rawType)) {
+                    final Type elementType = TypeUtil.getTypeArgument(type);
+                    if (null != elementType) {
+                        final Collection<Object> collection = CollectionUtil.create(rawType);
+                        collection.addAll(readList(reader, elementType, rawType(elementType, Object.class), ignoreError));
+                        return collection;
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+        return reader.nextValue();
+    }
+
+    /**
+     * 读取JSON数组为指定元素类型的列表
+     *
+     * @param reader         {@link JSONReader}，下一个标记为数组开始
+     * @param elementType    元素类型
+     * @param elementRawType 元素类型的原始类
+     * @param ignoreError    是否忽略转换或注入错误
+     * @return 列表
+     */
+    private static List<Object> readList(JSONReader reader, Type elementType, Class<?> elementRawType, boolean ignoreError) {
+        final List<Object> list = new ArrayList<>();
+        Object element;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            element = readValue(reader, elementType, elementRawType, ignoreError);
+            try {
+                element = convert(element, elementType, elementRawType, ignoreError);
+            } catch (Exception e) {
+                if (false == ignoreError) {
+                    throw new UtilException(e, "Convert element to [{}] error!", elementRawType.getName());
+                }
+                element = null;
+            }
+            list.add(element);
+        }
+        reader.endArray();
+        return list;
+    }
+
+    /**
+     * 转换值为目标类型，规则与{@link InternalJSONUtil#jsonConvert(Type, Object, boolean)}一致
+     *
+     * @param value       值
+     * @param type        目标类型
+     * @param rawType     目标类型的原始类
+     * @param ignoreError 是否忽略转换或注入错误
+     * @return 转换后的值
+     */
+    private static Object convert(Object value, Type type, Class<?> rawType, boolean ignoreError) {
+        if (null == value || value instanceof JSONNull) {
+            return null;
+        }
+        final Class<?> instanceType = BasicType.wrap(rawType);
+        if (instanceType.isInstance(value) && (false == value instanceof JSON || type == rawType)) {
+            // 类型相同且无泛型参数时直接使用
+            return value;
+        }
+        value = InternalJSONUtil.jsonConvert((null == TypeUtil.getRowType(type)) ? rawType : type, value, ignoreError);
+        if (false == instanceType.isInstance(value)) {
+            value = Convert.convert(rawType, value);
+        }
+        return value;
+    }
+
+    /**
+     * 创建Bean对象
+     *
+     * @return Bean对象
+     */
+    private Object newInstance() {
+        try {
+            return constructor.newInstance();
+        } catch (Exception e) {
+            throw new UtilException(e, "Instance class [{}] error!", constructor.getDeclaringClass().getName());
+        }
+    }
+
+    /**
+     * 获取类型的原始类，无法获取时（如泛型变量）返回默认值
+     *
+     * @param type         类型
+     * @param defaultClass 默认类
+     * @return 原始类
+     */
+    private static Class<?> rawType(Type type, Class<?> defaultClass) {
+        final Class<?> rawType = TypeUtil.getRowType(type);
+        return (null == rawType) ? defaultClass : rawType;
+    }
+
+    /**
+     * 获取属性的原始类，即setter参数的原始类
+     *
+     * @param property 属性
+     * @return 原始类
+     */
+    private static Class<?> rawType(PropDesc property) {
+        return rawType(property.getFieldType(), (null == property.getFieldClass()) ? Object.class : property.getFieldClass());
+    }
+
+    /**
+     * 转换值并通过setter注入
+     *
+     * @param property    属性
+     * @param bean        Bean对象
+     * @param value       JSON中的值
+     * @param ignoreError 是否忽略转换或注入错误
+     */
+    private static void set(PropDesc property, Object bean, Object value, boolean ignoreError) {
+        try {
+            value = convert(value, property.getFieldType(), rawType(property), ignoreError);
+            property.getSetter().invoke(bean, value);
+        } catch (Exception e) {
+            if (false == ignoreError) {
+                throw new UtilException(e, "Inject [{}] error!", property.getName());
+            }
+        }
+    }
+    // ------------------------------------------------------------------------------------ Private method end
+}
@@ -0,0 +1,883 @@
+package com.xiaoleilu.hutool.json;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import com.xiaoleilu.hutool.util.StrUtil;
+
+/**
+ * 紧凑JSON解析<br>
+ * 解析时只记录键和值在原始字符串中的位置，不创建任何值对象：
+ * <ul>
+ * <li>字符串、数字等值在被访问时才从原始字符串中解码</li>
+ * <li>嵌套的对象和数组在被访问时才解析并缓存</li>
+ * <li>对象的键使用开放寻址的int数组散列表查找，键不含转义符时直接与原始字符串比较，无需创建键字符串</li>
+ * </ul>
+ * 解析结果为普通的{@link JSONObject}和{@link JSONArray}，读取方法与普通解析完全一致；首次修改（put、remove等）时转为普通Map或List。<br>
+ * 未修改前，keySet、values、entrySet等视图只读。
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+final class CompactJSON {
+
+    private CompactJSON() {
+    }
+
+    /**
+     * 紧凑模式解析JSON对象
+     *
+     * @param source JSON字符串
+     * @return JSONObject
+     * @throws JSONException 语法错误
+     */
+    static JSONObject parseObj(String source) throws JSONException {
+        final int start = skipWhitespace(source, 0);
+        if (charAt(source, start) != '{') {
+            throw syntaxError("A JSONObject text must begin with '{'", start);
+        }
+        return new JSONObject(new ObjectMap(source, start));
+    }
+
+    /**
+     * 紧凑模式解析JSON数组
+     *
+     * @param source JSON字符串
+     * @return JSONArray
+     * @throws JSONException 语法错误
+     */
+    static JSONArray parseArray(String source) throws JSONException {
+        final int start = skipWhitespace(source, 0);
+        if (charAt(source, start) != '[') {
+            throw syntaxError("A JSONArray text must start with '['", start);
+        }
+        return new JSONArray(new ElementList(source, start));
+    }
+
+    // ------------------------------------------------------------------------------------------- Scan start
+
+    /**
+     * 扫描对象，语法与{@link JSONObject#JSONObject(JSONTokener)}一致
+     *
+     * @param source 原始字符串
+     * @param pos    '{'的位置
+     * @param target 记录键值位置的对象，<code>null</code>表示只跳过
+     * @return 对象结束后的位置
+     */
+    private static int scanObject(String source, int pos, ObjectMap target) {
+        int keyStart;
+        int keyEnd;
+        int valueStart;
+        int valueEnd;
+        char c;
+
+        pos = skipWhitespace(source, pos + 1);
+        for (; ; ) {
+            c = charAt(source, pos);
+            if (0 == c) {
+                throw syntaxError("A JSONObject text must end with '}'", pos);
+            } else if ('}' == c) {
+                return pos + 1;
+            }
+
+            keyStart = pos;
+            keyEnd = trimEnd(source, keyStart, skipValue(source, keyStart));
+            pos = skipWhitespace(source, keyEnd);
+            if (charAt(source, pos) != ':') {
+                throw syntaxError("Expected a ':' after a key", pos);
+            }
+
+            valueStart = skipWhitespace(source, pos + 1);
+            valueEnd = trimEnd(source, valueStart, skipValue(source, valueStart));
+            if (null != target) {
+                target.add(keyStart, keyEnd, valueStart, valueEnd);
+            }
+
+            pos = skipWhitespace(source, valueEnd);
+            switch (charAt(source, pos)) {
+                case ';':
+                case ',':
+                    pos = skipWhitespace(source, pos + 1);
+                    if (charAt(source, pos) == '}') {
+                        return pos + 1;
+                    }
+                    break;
+                case '}':
+                    return pos + 1;
+                default:
+                    throw syntaxError("Expected a ',' or '}'", pos);
+            }
+        }
+    }
+
+    /**
+     * 扫描数组，语法与{@link JSONArray#JSONArray(JSONTokener)}一致，连续的逗号表示null元素
+     *
+     * @param source 原始字符串
+     * @param pos    '['的位置
+     * @param target 记录元素位置的列表，<code>null</code>表示只跳过
+     * @return 数组结束后的位置
+     */
+    private static int scanArray(String source, int pos, ElementList target) {
+        int valueStart;
+        int valueEnd;
+
+        pos = skipWhitespace(source, pos + 1);
+        if (charAt(source, pos) == ']') {
+            return pos + 1;
+        }
+        for (; ; ) {
+            valueStart = pos;
+            if (charAt(source, pos) == ',') {
+                valueEnd = valueStart;
+            } else {
+                valueEnd = trimEnd(source, valueStart, skipValue(source, valueStart));
+            }
+            if (null != target) {
+                target.add(valueStart, valueEnd);
+            }
+
+            pos = skipWhitespace(source, valueEnd);
+            switch (charAt(source, pos)) {
+                case ',':
+                    pos = skipWhitespace(source, pos + 1);
+                    if (charAt(source, pos) == ']') {
+                        return pos + 1;
+                    }
+                    break;
+                case ']':
+                    return pos + 1;
+                default:
+                    throw syntaxError("Expected a ',' or ']'", pos);
+            }
+        }
+    }
+
+    /**
+     * 跳过一个值，语法与{@link JSONTokener#nextValue()}一致
+     *
+     * @param source 原始字符串
+     * @param pos    值开始位置
+     * @return 值结束后的位置，非引号包围的值包括末尾空白
+     */
+    private static int skipValue(String source, int pos) {
+        char c = charAt(source, pos);
+        switch (c) {
+            case '"':
+            case '\'':
+                return skipString(source, pos);
+            case '{':
+                return scanObject(source, pos, null);
+            case '[':
+                return scanArray(source, pos, null);
+        }
+
+        final int start = pos;
+        while (c >= ' ' && ",:]}/\\\"[{;=#".indexOf(c) < 0) {
+            c = charAt(source, ++pos);
+        }
+        if (trimEnd(source, start, pos) == start) {
+            throw syntaxError("Missing value", start);
+        }
+        return pos;
+    }
+
+    /**
+     * 跳过字符串，并检查转义符
+     *
+     * @param source 原始字符串
+     * @param pos    开始引号的位置
+     * @return 结束引号之后的位置
+     */
+    private static int skipString(String source, int pos) {
+        final char quote = source.charAt(pos);
+        char c;
+        for (; ; ) {
+            c = charAt(source, ++pos);
+            switch (c) {
+                case 0:
+                case '\n':
+                case '\r':
+                    throw syntaxError("Unterminated string", pos);
+                case '\\':
+                    c = charAt(source, ++pos);
+                    if ('u' == c) {
+                        for (int i = 0; i < 4; i++) {
+                            if (JSONTokener.dehexchar(charAt(source, ++pos)) < 0) {
+                                throw syntaxError("Illegal escape.", pos);
+                            }
+                        }
+                    } else if ("btnfr\"'\\/".indexOf(c) < 0) {
+                        throw syntaxError("Illegal escape.", pos);
+                    }
+                    break;
+                default:
+                    if (c == quote) {
+                        return pos + 1;
+                    }
+            }
+        }
+    }
+    // ------------------------------------------------------------------------------------------- Scan end
+
+    // ------------------------------------------------------------------------------------------- Decode start
+
+    /**
+     * 解码值，结果与{@link JSONTokener#nextValue()}一致
+     *
+     * @param source 原始字符串
+     * @param start  开始位置
+     * @param end    结束位置（不包括）
+     * @return 值
+     */
+    private static Object decode(String source, int start, int end) {
+        if (start == end) {
+            return JSONNull.NULL;
+        }
+        switch (source.charAt(start)) {
+            case '"':
+            case '\'':
+                return decodeString(source, start, end);
+            case '{':
+                return new JSONObject(new ObjectMap(source, start));
+            case '[':
+                return new JSONArray(new ElementList(source, start));
+            default:
+                return decodeLiteral(source, start, end);
+        }
+    }
+
+    /**
+     * 解码引号包围的字符串，不含转义符时直接截取
+     *
+     * @param source 原始字符串
+     * @param start  开始引号位置
+     * @param end    结束引号之后的位置
+     * @return 字符串
+     */
+    private static String decodeString(String source, int start, int end) {
+        final int contentEnd = end - 1;
+        if (false == hasEscape(source, start + 1, contentEnd)) {
+            return source.substring(start + 1, contentEnd);
+        }
+
+        final StringBuilder sb = new StringBuilder(contentEnd - start);
+        char c;
+        for (int i = start + 1; i < contentEnd; i++) {
+            c = source.charAt(i);
+            if ('\\' != c) {
+                sb.append(c);
+                continue;
+            }
+            c = source.charAt(++i);
+            switch (c) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 'u':
+                    sb.append((char) ((JSONTokener.dehexchar(source.charAt(i + 1)) << 12) //
+                            | (JSONTokener.dehexchar(source.charAt(i + 2)) << 8) //
+                            | (JSONTokener.dehexchar(source.charAt(i + 3)) << 4) //
+                            | JSONTokener.dehexchar(source.charAt(i + 4))));
+                    i += 4;
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 解码非引号包围的值，结果与{@link InternalJSONUtil#stringToValue(String)}一致<br>
+     * 常见的整数直接从原始字符串计算，不创建中间字符串
+     *
+     * @param source 原始字符串
+     * @param start  开始位置
+     * @param end    结束位置（不包括）
+     * @return 值
+     */
+    private static Object decodeLiteral(String source, int start, int end) {
+        final boolean negative = source.charAt(start) == '-';
+        int i = negative ? start + 1 : start;
+        final int digits = end - i;
+        // 18位以内不会溢出，以0开头的多位数及-0按照字符串处理
+        if (digits > 0 && digits <= 18 && (source.charAt(i) != '0' || (digits == 1 && false == negative))) {
+            long value = 0;
+            char c;
+            for (; i < end; i++) {
+                c = source.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+            }
+            if (i == end) {
+                value = negative ? -value : value;
+                if (value == (int) value) {
+                    return (int) value;
+                }
+                return value;
+            }
+        }
+        return InternalJSONUtil.stringToValue(source.substring(start, end));
+    }
+    // ------------------------------------------------------------------------------------------- Decode end
+
+    // ------------------------------------------------------------------------------------------- Util start
+
+    /**
+     * 获取字符，越界返回0
+     *
+     * @param source 字符串
+     * @param index  位置
+     * @return 字符
+     */
+    private static char charAt(String source, int index) {
+        return index < source.length() ? source.charAt(index) : 0;
+    }
+
+    /**
+     * 指定范围内是否包含转义符
+     *
+     * @param source 字符串
+     * @param start  开始位置
+     * @param end    结束位置（不包括）
+     * @return 是否包含转义符
+     */
+    private static boolean hasEscape(String source, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (source.charAt(i) == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 跳过空白符（包括控制字符）
+     *
+     * @param source 字符串
+     * @param pos    开始位置
+     * @return 第一个非空白符的位置
+     */
+    private static int skipWhitespace(String source, int pos) {
+        final int length = source.length();
+        while (pos < length && source.charAt(pos) <= ' ') {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * 去除末尾空白符
+     *
+     * @param source 字符串
+     * @param start  开始位置
+     * @param end    结束位置（不包括）
+     * @return 去除末尾空白符后的结束位置
+     */
+    private static int trimEnd(String source, int start, int end) {
+        while (end > start && source.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * 构建语法错误异常
+     *
+     * @param message 错误信息
+     * @param pos     错误位置
+     * @return {@link JSONException}
+     */
+    private static JSONException syntaxError(String message, int pos) {
+        return new JSONException(StrUtil.format("{} at {}", message, pos));
+    }
+    // ------------------------------------------------------------------------------------------- Util end
+
+    /**
+     * 紧凑的JSON对象存储，保持原始顺序
+     */
+    static final class ObjectMap extends AbstractMap<String, Object> {
+        /**
+         * 每个键值对在slots中占用的int数：键开始、键结束、值开始、值结束
+         */
+        private static final int STRIDE = 4;
+
+        private String source;
+        private int[] slots;
+        private int size;
+        /**
+         * 开放寻址散列表，值为键值对序号+1，0表示空位
+         */
+        private int[] table;
+        /**
+         * 需要解码的键（含转义符或无引号），其它键直接与原始字符串比较
+         */
+        private String[] decodedKeys;
+        /**
+         * 已解析的嵌套对象和数组
+         */
+        private Object[] children;
+        /**
+         * 修改后转为的普通Map
+         */
+        private Map<String, Object> inflated;
+
+        /**
+         * 构造
+         *
+         * @param source 原始字符串
+         * @param start  '{'的位置
+         */
+        ObjectMap(String source, int start) {
+            this.source = source;
+            this.slots = new int[STRIDE * 8];
+            scanObject(source, start, this);
+            buildTable();
+        }
+
+        @Override
+        public int size() {
+            return (null != inflated) ? inflated.size() : size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return 0 == size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (null != inflated) {
+                return inflated.containsKey(key);
+            }
+            return (key instanceof String) && indexOf((String) key) > -1;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (null != inflated) {
+                return inflated.get(key);
+            }
+            if (false == key instanceof String) {
+                return null;
+            }
+            final int index = indexOf((String) key);
+            return (index < 0) ? null : valueAt(index);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return inflate().put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return inflate().remove(key);
+        }
+
+        @Override
+        public void clear() {
+            inflate().clear();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            if (null != inflated) {
+                return inflated.entrySet();
+            }
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    if (null != inflated) {
+                        return inflated.entrySet().iterator();
+                    }
+                    return new Iterator<Entry<String, Object>>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < size;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (index >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            final Entry<String, Object> entry = new SimpleImmutableEntry<>(keyAt(index), valueAt(index));
+                            index++;
+                            return entry;
+                        }
+
+                        @Override
+                        public void remove() {
+                            throw new UnsupportedOperationException("remove");
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return ObjectMap.this.size();
+                }
+            };
+        }
+
+        /**
+         * 记录一个键值对的位置
+         *
+         * @param keyStart   键开始位置
+         * @param keyEnd     键结束位置
+         * @param valueStart 值开始位置
+         * @param valueEnd   值结束位置
+         */
+        private void add(int keyStart, int keyEnd, int valueStart, int valueEnd) {
+            final int offset = size * STRIDE;
+            if (offset == slots.length) {
+                final int[] newSlots = new int[slots.length << 1];
+                System.arraycopy(slots, 0, newSlots, 0, offset);
+                slots = newSlots;
+            }
+            slots[offset] = keyStart;
+            slots[offset + 1] = keyEnd;
+            slots[offset + 2] = valueStart;
+            slots[offset + 3] = valueEnd;
+
+            final char c = source.charAt(keyStart);
+            if ((c != '"' && c != '\'') || hasEscape(source, keyStart + 1, keyEnd - 1)) {
+                if (null == decodedKeys) {
+                    decodedKeys = new String[slots.length / STRIDE];
+                } else if (decodedKeys.length <= size) {
+                    final String[] newKeys = new String[slots.length / STRIDE];
+                    System.arraycopy(decodedKeys, 0, newKeys, 0, decodedKeys.length);
+                    decodedKeys = newKeys;
+                }
+                decodedKeys[size] = decode(source, keyStart, keyEnd).toString();
+            }
+            size++;
+        }
+
+        /**
+         * 构建键的散列表，并检查重复的键
+         */
+        private void buildTable() {
+            int capacity = 2;
+            while (capacity < size * 2) {
+                capacity <<= 1;
+            }
+            table = new int[capacity];
+            final int mask = capacity - 1;
+            int slot;
+            for (int i = 0; i < size; i++) {
+                slot = hash(i) & mask;
+                while (0 != table[slot]) {
+                    if (keyEquals(table[slot] - 1, i)) {
+                        throw new JSONException(StrUtil.format("Duplicate key \"{}\"", keyAt(i)));
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = i + 1;
+            }
+        }
+
+        /**
+         * 查找键的序号
+         *
+         * @param key 键
+         * @return 序号，不存在返回-1
+         */
+        private int indexOf(String key) {
+            final int mask = table.length - 1;
+            int slot = spread(key.hashCode()) & mask;
+            int index;
+            while (0 != (index = table[slot])) {
+                index--;
+                if (keyEquals(index, key)) {
+                    return index;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * 计算第index个键的hash，与键字符串的{@link String#hashCode()}一致
+         *
+         * @param index 序号
+         * @return hash
+         */
+        private int hash(int index) {
+            final String decodedKey = decodedKey(index);
+            if (null != decodedKey) {
+                return spread(decodedKey.hashCode());
+            }
+            final int end = slots[index * STRIDE + 1] - 1;
+            int h = 0;
+            for (int i = slots[index * STRIDE] + 1; i < end; i++) {
+                h = 31 * h + source.charAt(i);
+            }
+            return spread(h);
+        }
+
+        /**
+         * 比较第index个键与给定键是否相同
+         *
+         * @param index 序号
+         * @param key   键
+         * @return 是否相同
+         */
+        private boolean keyEquals(int index, String key) {
+            final String decodedKey = decodedKey(index);
+            if (null != decodedKey) {
+                return decodedKey.equals(key);
+            }
+            final int start = slots[index * STRIDE] + 1;
+            final int length = slots[index * STRIDE + 1] - 1 - start;
+            return key.length() == length && source.regionMatches(start, key, 0, length);
+        }
+
+        /**
+         * 比较两个键是否相同
+         *
+         * @param index1 序号1
+         * @param index2 序号2
+         * @return 是否相同
+         */
+        private boolean keyEquals(int index1, int index2) {
+            return keyEquals(index1, keyAt(index2));
+        }
+
+        /**
+         * 获取第index个键
+         *
+         * @param index 序号
+         * @return 键
+         */
+        private String keyAt(int index) {
+            final String decodedKey = decodedKey(index);
+            if (null != decodedKey) {
+                return decodedKey;
+            }
+            return source.substring(slots[index * STRIDE] + 1, slots[index * STRIDE + 1] - 1);
+        }
+
+        /**
+         * 获取第index个解码后的键
+         *
+         * @param index 序号
+         * @return 解码后的键，无需解码的键返回<code>null</code>
+         */
+        private String decodedKey(int index) {
+            return (null != decodedKeys && index < decodedKeys.length) ? decodedKeys[index] : null;
+        }
+
+        /**
+         * 获取第index个值，嵌套的对象和数组解析后缓存
+         *
+         * @param index 序号
+         * @return 值
+         */
+        private Object valueAt(int index) {
+            final int start = slots[index * STRIDE + 2];
+            final int end = slots[index * STRIDE + 3];
+            final char c = (start < end) ? source.charAt(start) : 0;
+            if (c != '{' && c != '[') {
+                return decode(source, start, end);
+            }
+            if (null == children) {
+                children = new Object[size];
+            }
+            Object child = children[index];
+            if (null == child) {
+                child = decode(source, start, end);
+                children[index] = child;
+            }
+            return child;
+        }
+
+        /**
+         * 转为普通Map，之后所有操作由普通Map完成，并释放原始字符串
+         *
+         * @return 普通Map
+         */
+        private Map<String, Object> inflate() {
+            if (null == inflated) {
+                final Map<String, Object> map = new LinkedHashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+                for (int i = 0; i < size; i++) {
+                    map.put(keyAt(i), valueAt(i));
+                }
+                inflated = map;
+                source = null;
+                slots = null;
+                table = null;
+                decodedKeys = null;
+                children = null;
+            }
+            return inflated;
+        }
+
+        /**
+         * 打散hash的高位，使低位参与寻址
+         *
+         * @param h hash
+         * @return 打散后的hash
+         */
+        private static int spread(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * 紧凑的JSON数组存储
+     */
+    static final class ElementList extends AbstractList<Object> implements RandomAccess {
+        private String source;
+        /**
+         * 每个元素占用两个int：开始、结束位置，相同表示null元素
+         */
+        private int[] spans;
+        private int size;
+        /**
+         * 已解析的嵌套对象和数组
+         */
+        private Object[] children;
+        /**
+         * 修改后转为的普通List
+         */
+        private List<Object> inflated;
+
+        /**
+         * 构造
+         *
+         * @param source 原始字符串
+         * @param start  '['的位置
+         */
+        ElementList(String source, int start) {
+            this.source = source;
+            this.spans = new int[16];
+            scanArray(source, start, this);
+        }
+
+        @Override
+        public Object get(int index) {
+            if (null != inflated) {
+                return inflated.get(index);
+            }
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(StrUtil.format("Index: {}, Size: {}", index, size));
+            }
+            final int start = spans[index << 1];
+            final int end = spans[(index << 1) + 1];
+            final char c = (start < end) ? source.charAt(start) : 0;
+            if (c != '{' && c != '[') {
+                return decode(source, start, end);
+            }
+            if (null == children) {
+                children = new Object[size];
+            }
+            Object child = children[index];
+            if (null == child) {
+                child = decode(source, start, end);
+                children[index] = child;
+            }
+            return child;
+        }
+
+        @Override
+        public int size() {
+            return (null != inflated) ? inflated.size() : size;
+        }
+
+        @Override
+        public Object set(int index, Object element) {
+            return inflate().set(index, element);
+        }
+
+        @Override
+        public void add(int index, Object element) {
+            inflate().add(index, element);
+            modCount++;
+        }
+
+        @Override
+        public Object remove(int index) {
+            final Object removed = inflate().remove(index);
+            modCount++;
+            return removed;
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends Object> c) {
+            modCount++;
+            return inflate().addAll(index, c);
+        }
+
+        @Override
+        public void clear() {
+            inflate().clear();
+            modCount++;
+        }
+
+        /**
+         * 记录一个元素的位置
+         *
+         * @param start 开始位置
+         * @param end   结束位置
+         */
+        private void add(int start, int end) {
+            final int offset = size << 1;
+            if (offset == spans.length) {
+                final int[] newSpans = new int[spans.length << 1];
+                System.arraycopy(spans, 0, newSpans, 0, offset);
+                spans = newSpans;
+            }
+            spans[offset] = start;
+            spans[offset + 1] = end;
+            size++;
+        }
+
+        /**
+         * 转为普通List，之后所有操作由普通List完成，并释放原始字符串
+         *
+         * @return 普通List
+         */
+        private List<Object> inflate() {
+            if (null == inflated) {
+                final List<Object> list = new ArrayList<>(size + 1);
+                for (int i = 0; i < size; i++) {
+                    list.add(get(i));
+                }
+                inflated = list;
+                source = null;
+                spans = null;
+                children = null;
+            }
+            return inflated;
+        }
+    }
+}
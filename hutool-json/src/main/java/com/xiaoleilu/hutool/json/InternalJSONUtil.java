@@ -5,8 +5,6 @@ import com.xiaoleilu.hutool.convert.ConvertException;
 import com.xiaoleilu.hutool.convert.ConverterRegistry;
 import com.xiaoleilu.hutool.convert.impl.CollectionConverter;
 import com.xiaoleilu.hutool.util.ArrayUtil;
-import com.xiaoleilu.hutool.util.BeanUtil;
-import com.xiaoleilu.hutool.util.BeanUtil.CopyOptions;
 import com.xiaoleilu.hutool.util.NumberUtil;
 import com.xiaoleilu.hutool.util.ObjectUtil;
 import com.xiaoleilu.hutool.util.StrUtil;
@@ -208,7 +206,7 @@ final class InternalJSONUtil {
     }
 
     /**
-     * JSON或者
+     * JSONObject注入Bean，Bean的属性信息解析一次后缓存
      *
      * @param jsonObject  JSON对象
      * @param bean        目标Bean
@@ -216,19 +214,7 @@ final class InternalJSONUtil {
      * @return 目标Bean
      */
     protected static <T> T toBean(final JSONObject jsonObject, T bean, final boolean ignoreError) {
-        return BeanUtil.fillBean(bean, new BeanUtil.ValueProvider<String>() {
-
-            @Override
-            public Object value(String key, Type valueType) {
-                return jsonConvert(valueType, jsonObject.get(key), ignoreError);
-            }
-
-            @Override
-            public boolean containsKey(String key) {
-                return jsonObject.containsKey(key);
-            }
-
-        }, CopyOptions.create().setIgnoreError(ignoreError));
+        return BeanBinder.of(bean.getClass()).fill(jsonObject, bean, ignoreError);
     }
 
     /**
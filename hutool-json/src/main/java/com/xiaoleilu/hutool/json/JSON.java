@@ -1,7 +1,5 @@
 package com.xiaoleilu.hutool.json;
 
-import com.xiaoleilu.hutool.bean.BeanResolver;
-
 import java.io.Writer;
 
 /**
@@ -16,6 +14,7 @@ public interface JSON {
      * <ol>
      * <li>.表达式，可以获取Bean对象中的属性（字段）值或者Map中key对应的值</li>
      * <li>[]表达式，可以获取集合等对象中对应index的值</li>
+     * <li>*通配符和[?()]过滤器，返回所有匹配值的列表</li>
      * </ol>
      * <p>
      * 表达式栗子：
@@ -25,11 +24,12 @@ public interface JSON {
      * persion.name
      * persons[3]
      * person.friends[5].name
+     * persons[?(@.age &gt;= 18)].name
      * </pre>
      *
      * @param expression 表达式
      * @return 对象
-     * @see BeanResolver#resolveBean(Object, String)
+     * @see JSONPath
      */
     public Object getByExp(String expression);
 
@@ -38,6 +38,7 @@ public interface JSON {
      * <ol>
      * <li>.表达式，可以获取Bean对象中的属性（字段）值或者Map中key对应的值</li>
      * <li>[]表达式，可以获取集合等对象中对应index的值</li>
+     * <li>*通配符和[?()]过滤器，返回所有匹配值的列表</li>
      * </ol>
      * <p>
      * 表达式栗子：
@@ -47,6 +48,7 @@ public interface JSON {
      * persion.name
      * persons[3]
      * person.friends[5].name
+     * persons[?(@.age &gt;= 18)].name
      * </pre>
      * <p>
      * 获取表达式对应值后转换为对应类型的值
@@ -55,7 +57,7 @@ public interface JSON {
      * @param expression 表达式
      * @param resultType 返回值类型
      * @return 对象
-     * @see BeanResolver#resolveBean(Object, String)
+     * @see JSONPath
      * @since 3.1.0
      */
     public <T> T getByExp(String expression, Class<T> resultType);
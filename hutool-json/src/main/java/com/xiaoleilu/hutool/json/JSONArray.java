@@ -1,6 +1,5 @@
 package com.xiaoleilu.hutool.json;
 
-import com.xiaoleilu.hutool.bean.BeanResolver;
 import com.xiaoleilu.hutool.convert.Convert;
 import com.xiaoleilu.hutool.convert.impl.CollectionConverter;
 
@@ -163,7 +162,7 @@ public class JSONArray extends JSONGetter<Integer> implements JSON, List<Object>
 
     @Override
     public Object getByExp(String expression) {
-        return BeanResolver.resolveBean(this, expression);
+        return JSONPath.compile(expression).eval(this);
     }
 
     @Override
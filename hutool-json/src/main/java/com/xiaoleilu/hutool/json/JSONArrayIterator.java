@@ -0,0 +1,90 @@
+package com.xiaoleilu.hutool.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.xiaoleilu.hutool.io.IoUtil;
+
+/**
+ * JSON数组流式迭代器，通过{@link JSONReader}逐个读取数组元素，不构建整个JSONArray<br>
+ * 同一时刻内存中只有一个元素，适用于逐条处理很大的JSON数组文件。迭代结束后自动关闭Reader，中途退出时需手动关闭。
+ *
+ * @param <T> 元素类型
+ * @author Looly
+ * @since 3.1.0
+ */
+public class JSONArrayIterator<T> implements Iterator<T>, Iterable<T>, Closeable {
+
+    private final JSONReader reader;
+    private final Class<T> elementType;
+    /**
+     * 是否已读取数组开始标记
+     */
+    private boolean begun;
+    /**
+     * 是否已读取数组结束标记
+     */
+    private boolean finished;
+
+    /**
+     * 构造
+     *
+     * @param reader      {@link JSONReader}，下一个标记为数组开始
+     * @param elementType 元素类型，<code>null</code>或Object.class表示不转换，元素为JSONObject、JSONArray或原始值；Bean类型的元素直接从流中注入，不构建JSONObject
+     */
+    public JSONArrayIterator(JSONReader reader, Class<T> elementType) {
+        this.reader = reader;
+        this.elementType = elementType;
+    }
+
+    @Override
+    public boolean hasNext() throws JSONException {
+        if (finished) {
+            return false;
+        }
+        if (false == begun) {
+            reader.beginArray();
+            begun = true;
+        }
+        if (reader.hasNext()) {
+            return true;
+        }
+        reader.endArray();
+        finished = true;
+        IoUtil.close(reader);
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T next() throws JSONException {
+        if (false == hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (null == elementType || Object.class == elementType) {
+            return (T) reader.nextValue();
+        }
+        return reader.nextBean(elementType);
+    }
+
+    /**
+     * 不支持删除
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        reader.close();
+    }
+}
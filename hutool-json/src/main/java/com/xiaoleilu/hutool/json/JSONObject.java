@@ -1,14 +1,12 @@
 package com.xiaoleilu.hutool.json;
 
-import com.xiaoleilu.hutool.bean.BeanResolver;
+import com.xiaoleilu.hutool.bean.BeanDesc.PropDesc;
 import com.xiaoleilu.hutool.convert.Convert;
-import com.xiaoleilu.hutool.util.BeanUtil;
 import com.xiaoleilu.hutool.util.ClassUtil;
 import com.xiaoleilu.hutool.util.CollectionUtil;
 import com.xiaoleilu.hutool.util.StrUtil;
 import com.xiaoleilu.hutool.util.TypeUtil;
 
-import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
@@ -74,6 +72,15 @@ public class JSONObject extends JSONGetter<String> implements JSON, Map<String,
         this.rawHashMap = isOrder ? new LinkedHashMap<String, Object>(capacity) : new HashMap<String, Object>(capacity);
     }
 
+    /**
+     * 使用紧凑存储构造，见{@link CompactJSON}
+     *
+     * @param compactMap 紧凑存储的键值对
+     */
+    JSONObject(CompactJSON.ObjectMap compactMap) {
+        this.rawHashMap = compactMap;
+    }
+
     /**
      * 使用其他<code>JSONObject</code>构造新的<code>JSONObject</code>，并只加入指定name对应的键值对。<br>
      * 此构造方法并不忽略空值
@@ -319,7 +326,7 @@ public class JSONObject extends JSONGetter<String> implements JSON, Map<String,
 
     @Override
     public Object getByExp(String expression) {
-        return BeanResolver.resolveBean(this, expression);
+        return JSONPath.compile(expression).eval(this);
     }
 
     @Override
@@ -573,7 +580,7 @@ public class JSONObject extends JSONGetter<String> implements JSON, Map<String,
 
             if (length == 1) {
                 Object key = keys.next();
-                writer.write(JSONUtil.quote(key.toString()));
+                JSONUtil.quote(key.toString(), writer);
                 writer.write(':');
                 if (indentFactor > 0) {
                     writer.write(' ');
@@ -590,7 +597,7 @@ public class JSONObject extends JSONGetter<String> implements JSON, Map<String,
                         writer.write('\n');
                     }
                     InternalJSONUtil.indent(writer, newindent);
-                    writer.write(JSONUtil.quote(key.toString()));
+                    JSONUtil.quote(key.toString(), writer);
                     writer.write(':');
                     if (indentFactor > 0) {
                         writer.write(' ');
@@ -619,28 +626,21 @@ public class JSONObject extends JSONGetter<String> implements JSON, Map<String,
      * @param ignoreNullValue 是否忽略空值
      */
     private void populateMap(Object bean, boolean ignoreNullValue) {
-        try {
-            final PropertyDescriptor[] propertyDescriptors = BeanUtil.getPropertyDescriptors(bean.getClass());
-
-            String key;
-            Object value;
-            for (PropertyDescriptor property : propertyDescriptors) {
-                key = property.getName();
-                // 过滤class属性
-                if (false == key.equals("class") && false == key.equals("declaringClass")) {
-                    // 得到property对应的getter方法
-                    value = property.getReadMethod().invoke(bean);
-                    if (null == value) {
-                        if (false == ignoreNullValue) {
-                            this.rawHashMap.put(key, JSONUtil.wrap(value));
-                        }
-                    } else if (false == value.equals(bean)) {
-                        this.rawHashMap.put(key, JSONUtil.wrap(value));
-                    }
+        Object value;
+        for (PropDesc property : BeanBinder.of(bean.getClass()).getReadableProperties()) {
+            try {
+                value = property.getGetter().invoke(bean);
+            } catch (Exception ignore) {
+                //忽略失败的属性
+                continue;
+            }
+            if (null == value) {
+                if (false == ignoreNullValue) {
+                    this.rawHashMap.put(property.getName(), JSONUtil.wrap(value));
                 }
+            } else if (false == value.equals(bean)) {
+                this.rawHashMap.put(property.getName(), JSONUtil.wrap(value));
             }
-        } catch (Exception ignore) {
-            //忽略失败的对象
         }
     }
 
@@ -0,0 +1,805 @@
+package com.xiaoleilu.hutool.json;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.xiaoleilu.hutool.bean.BeanDesc.PropDesc;
+import com.xiaoleilu.hutool.convert.Convert;
+import com.xiaoleilu.hutool.util.BeanUtil;
+import com.xiaoleilu.hutool.util.ClassUtil;
+import com.xiaoleilu.hutool.util.StrUtil;
+
+/**
+ * 编译后的JSON路径表达式，线程安全<br>
+ * 表达式只解析一次，求值时按照预先解析的路径段逐级查找，不创建中间字符串。表达式支持：
+ * <ul>
+ * <li>.表达式，可以获取Bean对象中的属性值或者Map中key对应的值，如：person.name</li>
+ * <li>[]表达式，可以获取集合、数组中对应index的值，负数表示从末尾开始，如：persons[3]、persons[-1]</li>
+ * <li>['key']表达式，key中可以包含.等特殊字符，如：map['a.b']</li>
+ * <li>通配符*，表示所有子元素，如：persons[*].name、person.*</li>
+ * <li>过滤器[?()]，筛选满足条件的子元素，支持==、!=、&lt;、&lt;=、&gt;、&gt;=、&amp;&amp;、||，如：persons[?(@.age &gt;= 18 &amp;&amp; @.name != 'Tom')]</li>
+ * </ul>
+ * 表达式可以以$开头表示根对象。不含通配符和过滤器的表达式返回单个值，否则返回所有匹配值的列表。
+ *
+ * <pre>
+ * JSONPath path = JSONPath.compile("person.friends[5].name");
+ * Object name = path.eval(json);
+ * </pre>
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public final class JSONPath {
+
+    /**
+     * 缓存的表达式数上限，达到上限后清空缓存重新积累，读取无锁
+     */
+    private static final int CACHE_LIMIT = 1024;
+    private static final Map<String, JSONPath> CACHE = new ConcurrentHashMap<>();
+
+    // ------------------------------------------------------------------------------------------- 路径段类型
+    /**
+     * 属性名或Map的key
+     */
+    private static final int NAME = 0;
+    /**
+     * 下标
+     */
+    private static final int INDEX = 1;
+    /**
+     * 所有子元素
+     */
+    private static final int WILDCARD = 2;
+    /**
+     * 满足条件的子元素
+     */
+    private static final int FILTER = 3;
+
+    private final String expression;
+    private final Segment[] segments;
+    /**
+     * 是否只匹配单个值（不含通配符和过滤器）
+     */
+    private final boolean definite;
+
+    // ------------------------------------------------------------------------------------ Static method start
+
+    /**
+     * 编译表达式，编译结果会被缓存
+     *
+     * @param expression 表达式，例如：person.friend[5].name
+     * @return JSONPath
+     * @throws IllegalArgumentException 表达式错误
+     */
+    public static JSONPath compile(String expression) throws IllegalArgumentException {
+        JSONPath path = CACHE.get(expression);
+        if (null == path) {
+            // 并发编译同一表达式时结果等价，后放入者覆盖即可
+            path = new JSONPath(expression);
+            if (CACHE.size() >= CACHE_LIMIT) {
+                // 表达式过多时清空，使常用的表达式重新进入缓存，而不是只保留最早的表达式
+                CACHE.clear();
+            }
+            CACHE.put(expression, path);
+        }
+        return path;
+    }
+
+    /**
+     * 编译表达式并求值
+     *
+     * @param root       根对象，支持JSONObject、JSONArray、Map、集合、数组及Bean
+     * @param expression 表达式
+     * @return 值，见{@link #eval(Object)}
+     * @throws IllegalArgumentException 表达式错误
+     */
+    public static Object eval(Object root, String expression) throws IllegalArgumentException {
+        return compile(expression).eval(root);
+    }
+    // ------------------------------------------------------------------------------------ Static method end
+
+    /**
+     * 构造
+     *
+     * @param expression 表达式
+     */
+    private JSONPath(String expression) {
+        if (null == expression) {
+            throw new NullPointerException("Expression must not be null");
+        }
+        this.expression = expression;
+        this.segments = new Parser(expression).parsePath(0, expression.length());
+        boolean isDefinite = true;
+        for (Segment segment : segments) {
+            if (segment.type == WILDCARD || segment.type == FILTER) {
+                isDefinite = false;
+            }
+        }
+        this.definite = isDefinite;
+    }
+
+    /**
+     * 表达式是否只匹配单个值，即不含通配符和过滤器
+     *
+     * @return 是否只匹配单个值
+     */
+    public boolean isDefinite() {
+        return definite;
+    }
+
+    /**
+     * 求值<br>
+     * 表达式只匹配单个值时返回该值，路径不存在返回<code>null</code>；否则返回所有匹配值的列表，无匹配时为空列表
+     *
+     * @param root 根对象，支持JSONObject、JSONArray、Map、集合、数组及Bean
+     * @return 值或值的列表
+     */
+    public Object eval(Object root) {
+        if (definite) {
+            return evalDefinite(root);
+        }
+        final List<Object> result = new ArrayList<>();
+        collect(root, 0, result);
+        return result;
+    }
+
+    /**
+     * 求值并转换为指定类型
+     *
+     * @param <T>        结果类型
+     * @param root       根对象
+     * @param resultType 结果类型
+     * @return 值
+     */
+    public <T> T eval(Object root, Class<T> resultType) {
+        return Convert.convert(resultType, eval(root));
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    // ------------------------------------------------------------------------------------ Private method start
+
+    /**
+     * 不含通配符和过滤器的表达式求值，不创建任何对象
+     *
+     * @param root 根对象
+     * @return 值
+     */
+    private Object evalDefinite(Object root) {
+        Object current = root;
+        Segment segment;
+        for (int i = 0; i < segments.length; i++) {
+            segment = segments[i];
+            current = child(current, segment);
+            if (null == current) {
+                //支持表达式的第一个对象为Bean本身
+                if (0 == i && segment.type == NAME && null != root && ClassUtil.getClassName(root, true).equals(StrUtil.upperFirst(segment.name))) {
+                    current = root;
+                } else {
+                    return null;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 收集所有匹配的值
+     *
+     * @param current 当前对象
+     * @param index   路径段序号
+     * @param result  结果列表
+     */
+    private void collect(Object current, int index, List<Object> result) {
+        if (index == segments.length) {
+            result.add(current);
+            return;
+        }
+        if (null == current || current instanceof JSONNull) {
+            return;
+        }
+        final Segment segment = segments[index];
+        switch (segment.type) {
+            case WILDCARD:
+                for (Object child : children(current)) {
+                    if (null != child) {
+                        collect(child, index + 1, result);
+                    }
+                }
+                break;
+            case FILTER:
+                if (isContainer(current)) {
+                    for (Object child : children(current)) {
+                        if (null != child && segment.filter.test(child)) {
+                            collect(child, index + 1, result);
+                        }
+                    }
+                } else if (segment.filter.test(current)) {
+                    collect(current, index + 1, result);
+                }
+                break;
+            default:
+                final Object child = child(current, segment);
+                if (null != child) {
+                    collect(child, index + 1, result);
+                }
+                break;
+        }
+    }
+
+    /**
+     * 获取名称或下标对应的子对象
+     *
+     * @param bean    父对象
+     * @param segment 名称或下标路径段
+     * @return 子对象，不存在返回<code>null</code>
+     */
+    private static Object child(Object bean, Segment segment) {
+        if (null == bean || bean instanceof JSONNull) {
+            return null;
+        }
+        if (bean instanceof Map) {
+            return ((Map<?, ?>) bean).get(segment.name);
+        }
+        if (segment.type == INDEX || (segment.index != Integer.MIN_VALUE && isContainer(bean))) {
+            return elementAt(bean, segment.index);
+        }
+        if (isContainer(bean)) {
+            return null;
+        }
+        final PropDesc property = BeanBinder.of(bean.getClass()).getReadableProperty(segment.name);
+        if (null != property) {
+            try {
+                return property.getGetter().invoke(bean);
+            } catch (Exception e) {
+                throw new JSONException(e, "Get property [{}] error!", segment.name);
+            }
+        }
+        // 无getter的字段
+        return BeanUtil.getFieldValue(bean, segment.name);
+    }
+
+    /**
+     * 获取集合或数组中指定下标的元素
+     *
+     * @param container 集合或数组
+     * @param index     下标，负数表示从末尾开始
+     * @return 元素，越界或非集合返回<code>null</code>
+     */
+    private static Object elementAt(Object container, int index) {
+        if (container instanceof List) {
+            final List<?> list = (List<?>) container;
+            final int i = (index < 0) ? list.size() + index : index;
+            return (i >= 0 && i < list.size()) ? list.get(i) : null;
+        } else if (container.getClass().isArray()) {
+            final int length = Array.getLength(container);
+            final int i = (index < 0) ? length + index : index;
+            return (i >= 0 && i < length) ? Array.get(container, i) : null;
+        } else if (container instanceof Collection) {
+            final Collection<?> collection = (Collection<?>) container;
+            int i = (index < 0) ? collection.size() + index : index;
+            if (i >= 0 && i < collection.size()) {
+                final Iterator<?> iterator = collection.iterator();
+                while (i-- > 0) {
+                    iterator.next();
+                }
+                return iterator.next();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取所有子元素：Map的值、集合和数组的元素、Bean的属性值
+     *
+     * @param bean 父对象
+     * @return 子元素
+     */
+    private static Iterable<?> children(Object bean) {
+        if (bean instanceof Map) {
+            return ((Map<?, ?>) bean).values();
+        } else if (bean instanceof Iterable) {
+            return (Iterable<?>) bean;
+        }
+        final List<Object> children = new ArrayList<>();
+        if (bean.getClass().isArray()) {
+            final int length = Array.getLength(bean);
+            for (int i = 0; i < length; i++) {
+                children.add(Array.get(bean, i));
+            }
+        } else if (false == ClassUtil.isSimpleValueType(bean.getClass())) {
+            for (PropDesc property : BeanBinder.of(bean.getClass()).getReadableProperties()) {
+                try {
+                    children.add(property.getGetter().invoke(bean));
+                } catch (Exception e) {
+                    throw new JSONException(e, "Get property [{}] error!", property.getName());
+                }
+            }
+        }
+        return children;
+    }
+
+    /**
+     * 是否为Map、集合或数组
+     *
+     * @param bean 对象
+     * @return 是否容器
+     */
+    private static boolean isContainer(Object bean) {
+        return bean instanceof Map || bean instanceof Iterable || bean.getClass().isArray();
+    }
+    // ------------------------------------------------------------------------------------ Private method end
+
+    /**
+     * 路径段
+     */
+    private static final class Segment {
+        final int type;
+        /**
+         * 名称，下标路径段为下标的字符串形式，用于从Map中获取
+         */
+        final String name;
+        /**
+         * 下标，名称非数字时为{@link Integer#MIN_VALUE}
+         */
+        final int index;
+        final Filter filter;
+
+        Segment(int type, String name, int index, Filter filter) {
+            this.type = type;
+            this.name = name;
+            this.index = index;
+            this.filter = filter;
+        }
+    }
+
+    /**
+     * 过滤条件，多个条件使用&amp;&amp;和||连接，&amp;&amp;优先
+     */
+    private static final class Filter {
+        /**
+         * 以||分隔的条件组，组内的条件以&amp;&amp;连接
+         */
+        final Condition[][] groups;
+
+        Filter(Condition[][] groups) {
+            this.groups = groups;
+        }
+
+        /**
+         * 检查对象是否满足条件
+         *
+         * @param bean 对象
+         * @return 是否满足
+         */
+        boolean test(Object bean) {
+            for (Condition[] group : groups) {
+                boolean matched = true;
+                for (Condition condition : group) {
+                    if (false == condition.test(bean)) {
+                        matched = false;
+                        break;
+                    }
+                }
+                if (matched) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 单个比较条件，如 @.age &gt;= 18
+     */
+    private static final class Condition {
+        /**
+         * 相对于当前元素的路径，只能为单值路径
+         */
+        final JSONPath path;
+        /**
+         * 比较符，<code>null</code>表示值存在且不为false
+         */
+        final String operator;
+        /**
+         * 比较的值：String、Number、Boolean或<code>null</code>
+         */
+        final Object operand;
+
+        Condition(JSONPath path, String operator, Object operand) {
+            this.path = path;
+            this.operator = operator;
+            this.operand = operand;
+        }
+
+        /**
+         * 检查对象是否满足条件
+         *
+         * @param bean 对象
+         * @return 是否满足
+         */
+        boolean test(Object bean) {
+            Object value = path.evalDefinite(bean);
+            if (value instanceof JSONNull) {
+                value = null;
+            }
+            if (null == operator) {
+                return null != value && false == Boolean.FALSE.equals(value);
+            }
+            switch (operator) {
+                case "==":
+                    return isEqual(value, operand);
+                case "!=":
+                    return false == isEqual(value, operand);
+                default:
+                    final int compare;
+                    if (value instanceof Number && operand instanceof Number) {
+                        compare = compareNumber((Number) value, (Number) operand);
+                    } else if (value instanceof CharSequence && operand instanceof String) {
+                        compare = value.toString().compareTo((String) operand);
+                    } else {
+                        return false;
+                    }
+                    switch (operator) {
+                        case "<":
+                            return compare < 0;
+                        case "<=":
+                            return compare <= 0;
+                        case ">":
+                            return compare > 0;
+                        default:
+                            return compare >= 0;
+                    }
+            }
+        }
+
+        /**
+         * 比较值是否相等，数字按照数值比较，字符串与字符按照字符串比较
+         *
+         * @param value   值
+         * @param operand 比较的值
+         * @return 是否相等
+         */
+        private static boolean isEqual(Object value, Object operand) {
+            if (null == value || null == operand) {
+                return value == operand;
+            }
+            if (value instanceof Number && operand instanceof Number) {
+                return 0 == compareNumber((Number) value, (Number) operand);
+            }
+            if (operand instanceof String && (value instanceof CharSequence || value instanceof Character || value instanceof Enum)) {
+                return operand.equals(value.toString());
+            }
+            return operand.equals(value);
+        }
+
+        /**
+         * 比较数字，整数按照long比较，其它按照double比较
+         *
+         * @param a 数字1
+         * @param b 数字2
+         * @return 比较结果
+         */
+        private static int compareNumber(Number a, Number b) {
+            if (isIntegral(a) && isIntegral(b)) {
+                final long x = a.longValue();
+                final long y = b.longValue();
+                return (x < y) ? -1 : ((x == y) ? 0 : 1);
+            }
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        }
+
+        /**
+         * @param number 数字
+         * @return 是否为long范围内的整数类型
+         */
+        private static boolean isIntegral(Number number) {
+            return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+        }
+    }
+
+    /**
+     * 表达式解析器
+     */
+    private static final class Parser {
+        private final String expression;
+
+        Parser(String expression) {
+            this.expression = expression;
+        }
+
+        /**
+         * 解析路径
+         *
+         * @param start 开始位置（包括）
+         * @param end   结束位置（不包括）
+         * @return 路径段
+         */
+        Segment[] parsePath(int start, int end) {
+            final List<Segment> segments = new ArrayList<>();
+            int i = start;
+            // 根对象标识
+            if (i < end && expression.charAt(i) == '$' && (i + 1 == end || expression.charAt(i + 1) == '.' || expression.charAt(i + 1) == '[')) {
+                i++;
+            }
+            char c;
+            int nameStart;
+            while (i < end) {
+                c = expression.charAt(i);
+                if (c == '.') {
+                    i++;
+                } else if (c == '[') {
+                    i = parseBracket(i, end, segments);
+                } else if (c == ']') {
+                    throw error(i, "we find ']' but no '[' !");
+                } else {
+                    nameStart = i;
+                    while (i < end && (c = expression.charAt(i)) != '.' && c != '[' && c != ']') {
+                        i++;
+                    }
+                    final String name = expression.substring(nameStart, i);
+                    if ("*".equals(name)) {
+                        segments.add(new Segment(WILDCARD, name, Integer.MIN_VALUE, null));
+                    } else {
+                        segments.add(new Segment(NAME, name, parseIndex(name), null));
+                    }
+                }
+            }
+            return segments.toArray(new Segment[segments.size()]);
+        }
+
+        /**
+         * 解析[]表达式
+         *
+         * @param start    [的位置
+         * @param end      表达式结束位置
+         * @param segments 路径段列表
+         * @return ]之后的位置
+         */
+        private int parseBracket(int start, int end, List<Segment> segments) {
+            int i = start + 1;
+            if (i >= end) {
+                throw error(start, "we find '[' but no ']' !");
+            }
+            final char c = expression.charAt(i);
+            if (c == '\'' || c == '"') {
+                // ['key']
+                final int close = expression.indexOf(c, i + 1);
+                if (close < 0 || close + 1 >= end || expression.charAt(close + 1) != ']') {
+                    throw error(start, "we find '[' but no ']' !");
+                }
+                final String name = expression.substring(i + 1, close);
+                segments.add(new Segment(NAME, name, Integer.MIN_VALUE, null));
+                return close + 2;
+            } else if (c == '?') {
+                // [?(filter)]
+                if (i + 1 >= end || expression.charAt(i + 1) != '(') {
+                    throw error(i, "filter must be like [?(...)] !");
+                }
+                final int close = findFilterEnd(i + 2, end);
+                segments.add(new Segment(FILTER, null, Integer.MIN_VALUE, parseFilter(i + 2, close)));
+                if (close + 1 >= end || expression.charAt(close + 1) != ']') {
+                    throw error(close, "we find '[' but no ']' !");
+                }
+                return close + 2;
+            }
+
+            final int close = expression.indexOf(']', i);
+            if (close < 0 || close > end) {
+                throw error(end - 1, "we find '[' but no ']' !");
+            }
+            final String content = expression.substring(i, close).trim();
+            if ("*".equals(content)) {
+                segments.add(new Segment(WILDCARD, content, Integer.MIN_VALUE, null));
+            } else {
+                final int index = parseIndex(content);
+                if (index == Integer.MIN_VALUE) {
+                    throw error(i, StrUtil.format("it must number between '[' and ']', but contains '{}' !", content));
+                }
+                segments.add(new Segment(INDEX, content, index, null));
+            }
+            return close + 1;
+        }
+
+        /**
+         * 查找过滤器的结束括号，忽略引号中的括号
+         *
+         * @param start 过滤器内容开始位置
+         * @param end   表达式结束位置
+         * @return 结束括号位置
+         */
+        private int findFilterEnd(int start, int end) {
+            int depth = 0;
+            char quote = 0;
+            char c;
+            for (int i = start; i < end; i++) {
+                c = expression.charAt(i);
+                if (0 != quote) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '\'' || c == '"') {
+                    quote = c;
+                } else if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    if (0 == depth) {
+                        return i;
+                    }
+                    depth--;
+                }
+            }
+            throw error(start, "filter is not closed by ')' !");
+        }
+
+        /**
+         * 解析过滤条件
+         *
+         * @param start 开始位置（包括）
+         * @param end   结束位置（不包括）
+         * @return 过滤器
+         */
+        private Filter parseFilter(int start, int end) {
+            final List<Condition[]> groups = new ArrayList<>();
+            final List<Condition> group = new ArrayList<>();
+            int conditionStart = start;
+            char quote = 0;
+            char c;
+            for (int i = start; i <= end; i++) {
+                c = (i < end) ? expression.charAt(i) : 0;
+                if (0 != quote) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                    continue;
+                }
+                if (c == '\'' || c == '"') {
+                    quote = c;
+                } else if (i == end || ((c == '&' || c == '|') && i + 1 < end && expression.charAt(i + 1) == c)) {
+                    group.add(parseCondition(conditionStart, i));
+                    if (i == end || c == '|') {
+                        groups.add(group.toArray(new Condition[group.size()]));
+                        group.clear();
+                    }
+                    conditionStart = i + 2;
+                    i++;
+                }
+            }
+            return new Filter(groups.toArray(new Condition[groups.size()][]));
+        }
+
+        /**
+         * 解析单个条件，如 @.age &gt;= 18
+         *
+         * @param start 开始位置（包括）
+         * @param end   结束位置（不包括）
+         * @return 条件
+         */
+        private Condition parseCondition(int start, int end) {
+            while (start < end && expression.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && expression.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (start >= end || expression.charAt(start) != '@') {
+                throw error(start, "filter condition must start with '@' !");
+            }
+            int opStart = start + 1;
+            char quote = 0;
+            char c;
+            while (opStart < end) {
+                c = expression.charAt(opStart);
+                if (0 != quote) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '\'' || c == '"') {
+                    quote = c;
+                } else if (c == '=' || c == '!' || c == '<' || c == '>' || c <= ' ') {
+                    break;
+                }
+                opStart++;
+            }
+            final JSONPath path = new JSONPath(expression.substring(start + 1, opStart));
+            if (false == path.definite) {
+                throw error(start, "filter path must not contain wildcard or filter !");
+            }
+            while (opStart < end && expression.charAt(opStart) <= ' ') {
+                opStart++;
+            }
+            if (opStart == end) {
+                return new Condition(path, null, null);
+            }
+
+            int opEnd = opStart;
+            while (opEnd < end && "=!<>".indexOf(expression.charAt(opEnd)) > -1) {
+                opEnd++;
+            }
+            final String operator = expression.substring(opStart, opEnd);
+            switch (operator) {
+                case "==":
+                case "!=":
+                case "<":
+                case "<=":
+                case ">":
+                case ">=":
+                    break;
+                default:
+                    throw error(opStart, StrUtil.format("unsupported operator '{}' !", operator));
+            }
+            return new Condition(path, operator, parseOperand(expression.substring(opEnd, end).trim()));
+        }
+
+        /**
+         * 解析比较的值
+         *
+         * @param literal 值的字面量
+         * @return 值
+         */
+        private Object parseOperand(String literal) {
+            if (literal.length() >= 2 && (literal.charAt(0) == '\'' || literal.charAt(0) == '"') && literal.charAt(literal.length() - 1) == literal.charAt(0)) {
+                return literal.substring(1, literal.length() - 1);
+            }
+            final Object value = InternalJSONUtil.stringToValue(literal);
+            if (value instanceof JSONNull) {
+                return null;
+            }
+            if (value instanceof String) {
+                throw error(0, StrUtil.format("invalid value '{}' in filter !", literal));
+            }
+            return value;
+        }
+
+        /**
+         * 解析下标
+         *
+         * @param name 名称
+         * @return 下标，非整数或超出int范围返回{@link Integer#MIN_VALUE}，此时作为普通名称
+         */
+        private static int parseIndex(String name) {
+            final int length = name.length();
+            final boolean negative = length > 0 && name.charAt(0) == '-';
+            int i = negative ? 1 : 0;
+            // 超过10位的数字必然超出int范围
+            if (i == length || length - i > 10) {
+                return Integer.MIN_VALUE;
+            }
+            long value = 0;
+            char c;
+            for (; i < length; i++) {
+                c = name.charAt(i);
+                if (c < '0' || c > '9') {
+                    return Integer.MIN_VALUE;
+                }
+                value = value * 10 + (c - '0');
+            }
+            if (negative) {
+                value = -value;
+            }
+            if (value > Integer.MAX_VALUE || value <= Integer.MIN_VALUE) {
+                return Integer.MIN_VALUE;
+            }
+            return (int) value;
+        }
+
+        /**
+         * 表达式错误
+         *
+         * @param index   错误位置
+         * @param message 错误信息
+         * @return 异常
+         */
+        private IllegalArgumentException error(int index, String message) {
+            return new IllegalArgumentException(StrUtil.format("Bad expression '{}':{}, {}", expression, index, message));
+        }
+    }
+}
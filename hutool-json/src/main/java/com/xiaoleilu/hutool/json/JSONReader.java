@@ -0,0 +1,1005 @@
+package com.xiaoleilu.hutool.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import com.xiaoleilu.hutool.util.StrUtil;
+
+/**
+ * JSON流式读取器（拉模式），按标记逐个读取，不构建完整的JSONObject或JSONArray<br>
+ * <ul>
+ *     <li>从Reader批量读取到char[]缓冲区中解析，不逐字符调用{@link Reader#read()}</li>
+ *     <li>{@link #skipValue()}跳过整个对象或数组时不创建任何对象</li>
+ *     <li>可以只将关心的部分通过{@link #nextValue()}读取为JSONObject或JSONArray，其它部分跳过，内存占用与文件大小无关</li>
+ * </ul>
+ * 语法宽松程度与{@link JSONTokener}一致：允许单引号字符串，允许不带引号的键和值，允许末尾多余的逗号，数组中的空元素为null。
+ *
+ * <pre>
+ * JSONReader reader = new JSONReader(fileReader);
+ * reader.beginArray();
+ * while (reader.hasNext()) {
+ *     JSONObject row = (JSONObject) reader.nextValue();
+ * }
+ * reader.endArray();
+ * </pre>
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public class JSONReader implements Closeable {
+
+    /**
+     * 默认缓冲区大小
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    // ------------------------------------------------------------------------------------------- 作用域
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    /**
+     * 已读取键，等待值
+     */
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    // ------------------------------------------------------------------------------------------- 预读的标记
+    private static final int PEEKED_NONE = 0;
+    private static final int PEEKED_BEGIN_OBJECT = 1;
+    private static final int PEEKED_END_OBJECT = 2;
+    private static final int PEEKED_BEGIN_ARRAY = 3;
+    private static final int PEEKED_END_ARRAY = 4;
+    private static final int PEEKED_QUOTED_NAME = 5;
+    private static final int PEEKED_UNQUOTED_NAME = 6;
+    private static final int PEEKED_QUOTED = 7;
+    private static final int PEEKED_UNQUOTED = 8;
+    /**
+     * 数组中的空元素，不占用字符
+     */
+    private static final int PEEKED_EMPTY_ELEMENT = 9;
+    private static final int PEEKED_EOF = 10;
+
+    private final Reader reader;
+    private char[] buffer;
+    /**
+     * 缓冲区中下一个字符的位置
+     */
+    private int pos;
+    /**
+     * 缓冲区中有效字符的结束位置
+     */
+    private int limit;
+    /**
+     * 缓冲区之前已读取的字符数
+     */
+    private long bufferOffset;
+
+    /**
+     * 预读的标记
+     */
+    private int peeked = PEEKED_NONE;
+    /**
+     * 预读到字符串时的引号
+     */
+    private char quote;
+    /**
+     * 预读到不带引号的键或值时的长度（已去除末尾空白）
+     */
+    private int unquotedLength;
+    /**
+     * 不带引号的值转换后的值，延迟计算
+     */
+    private Object unquotedValue;
+
+    /**
+     * 作用域栈
+     */
+    private int[] stack = new int[32];
+    private int stackSize;
+
+    // ------------------------------------------------------------------------------------ Constructor start
+
+    /**
+     * 构造
+     *
+     * @param reader Reader
+     */
+    public JSONReader(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 构造
+     *
+     * @param reader     Reader
+     * @param bufferSize 缓冲区大小，遇到更长的不带引号的值时自动扩大
+     */
+    public JSONReader(Reader reader, int bufferSize) {
+        if (null == reader) {
+            throw new NullPointerException("Reader must not be null");
+        }
+        this.reader = reader;
+        this.buffer = new char[Math.max(16, bufferSize)];
+        this.stack[stackSize++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * 从字符串构造
+     *
+     * @param json JSON字符串
+     */
+    public JSONReader(String json) {
+        this(new StringReader(json), Math.min(DEFAULT_BUFFER_SIZE, json.length() + 1));
+    }
+    // ------------------------------------------------------------------------------------ Constructor end
+
+    /**
+     * 查看下一个标记的类型，不消费
+     *
+     * @return 标记类型
+     * @throws JSONException 语法错误或IO异常
+     */
+    public JSONToken peek() throws JSONException {
+        switch (doPeek()) {
+            case PEEKED_BEGIN_OBJECT:
+                return JSONToken.BEGIN_OBJECT;
+            case PEEKED_END_OBJECT:
+                return JSONToken.END_OBJECT;
+            case PEEKED_BEGIN_ARRAY:
+                return JSONToken.BEGIN_ARRAY;
+            case PEEKED_END_ARRAY:
+                return JSONToken.END_ARRAY;
+            case PEEKED_QUOTED_NAME:
+            case PEEKED_UNQUOTED_NAME:
+                return JSONToken.NAME;
+            case PEEKED_QUOTED:
+                return JSONToken.STRING;
+            case PEEKED_EMPTY_ELEMENT:
+                return JSONToken.NULL;
+            case PEEKED_UNQUOTED:
+                final Object value = unquotedValue();
+                if (value instanceof JSONNull) {
+                    return JSONToken.NULL;
+                } else if (value instanceof Boolean) {
+                    return JSONToken.BOOLEAN;
+                } else if (value instanceof Number) {
+                    return JSONToken.NUMBER;
+                }
+                return JSONToken.STRING;
+            default:
+                return JSONToken.END_DOCUMENT;
+        }
+    }
+
+    /**
+     * 当前对象或数组是否还有元素
+     *
+     * @return 是否还有元素
+     * @throws JSONException 语法错误或IO异常
+     */
+    public boolean hasNext() throws JSONException {
+        final int p = doPeek();
+        return p != PEEKED_END_OBJECT && p != PEEKED_END_ARRAY && p != PEEKED_EOF;
+    }
+
+    /**
+     * 读取对象开始标记 {
+     *
+     * @throws JSONException 下一个标记不是对象开始
+     */
+    public void beginObject() throws JSONException {
+        expect(PEEKED_BEGIN_OBJECT, JSONToken.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+        peeked = PEEKED_NONE;
+    }
+
+    /**
+     * 读取对象结束标记 }
+     *
+     * @throws JSONException 下一个标记不是对象结束
+     */
+    public void endObject() throws JSONException {
+        expect(PEEKED_END_OBJECT, JSONToken.END_OBJECT);
+        stackSize--;
+        peeked = PEEKED_NONE;
+    }
+
+    /**
+     * 读取数组开始标记 [
+     *
+     * @throws JSONException 下一个标记不是数组开始
+     */
+    public void beginArray() throws JSONException {
+        expect(PEEKED_BEGIN_ARRAY, JSONToken.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+        peeked = PEEKED_NONE;
+    }
+
+    /**
+     * 读取数组结束标记 ]
+     *
+     * @throws JSONException 下一个标记不是数组结束
+     */
+    public void endArray() throws JSONException {
+        expect(PEEKED_END_ARRAY, JSONToken.END_ARRAY);
+        stackSize--;
+        peeked = PEEKED_NONE;
+    }
+
+    /**
+     * 读取对象的键
+     *
+     * @return 键
+     * @throws JSONException 下一个标记不是键
+     */
+    public String nextName() throws JSONException {
+        final int p = doPeek();
+        final String name;
+        if (p == PEEKED_QUOTED_NAME) {
+            name = readQuoted();
+        } else if (p == PEEKED_UNQUOTED_NAME) {
+            name = new String(buffer, pos, unquotedLength);
+            pos += unquotedLength;
+        } else {
+            throw unexpected(JSONToken.NAME);
+        }
+        peeked = PEEKED_NONE;
+        return name;
+    }
+
+    /**
+     * 读取字符串值，数字和布尔值返回其原始文本
+     *
+     * @return 字符串
+     * @throws JSONException 下一个标记不是字符串、数字或布尔值
+     */
+    public String nextString() throws JSONException {
+        final int p = doPeek();
+        final String value;
+        if (p == PEEKED_QUOTED) {
+            value = readQuoted();
+        } else if (p == PEEKED_UNQUOTED && false == (unquotedValue() instanceof JSONNull)) {
+            value = new String(buffer, pos, unquotedLength);
+            pos += unquotedLength;
+        } else {
+            throw unexpected(JSONToken.STRING);
+        }
+        peeked = PEEKED_NONE;
+        return value;
+    }
+
+    /**
+     * 读取布尔值
+     *
+     * @return 布尔值
+     * @throws JSONException 下一个标记不是布尔值
+     */
+    public boolean nextBoolean() throws JSONException {
+        if (doPeek() != PEEKED_UNQUOTED || false == (unquotedValue() instanceof Boolean)) {
+            throw unexpected(JSONToken.BOOLEAN);
+        }
+        final boolean value = (Boolean) unquotedValue;
+        consumeUnquoted();
+        return value;
+    }
+
+    /**
+     * 读取null值
+     *
+     * @throws JSONException 下一个标记不是null
+     */
+    public void nextNull() throws JSONException {
+        final int p = doPeek();
+        if (p == PEEKED_UNQUOTED && unquotedValue() instanceof JSONNull) {
+            consumeUnquoted();
+        } else if (p == PEEKED_EMPTY_ELEMENT) {
+            peeked = PEEKED_NONE;
+        } else {
+            throw unexpected(JSONToken.NULL);
+        }
+    }
+
+    /**
+     * 读取long值，整数直接在缓冲区中解析，带引号的数字字符串同样可以读取<br>
+     * 整数在整个long范围内精确解析，只有小数或科学计数法才按double解析
+     *
+     * @return long值
+     * @throws JSONException 下一个标记不是数字、不是整数或超出long范围
+     */
+    public long nextLong() throws JSONException {
+        final int p = doPeek();
+        final String text;
+        if (p == PEEKED_UNQUOTED) {
+            final long value = parseLong(pos, unquotedLength);
+            if (value != Long.MIN_VALUE) {
+                consumeUnquoted();
+                return value;
+            }
+            text = new String(buffer, pos, unquotedLength);
+            consumeUnquoted();
+        } else if (p == PEEKED_QUOTED) {
+            text = readQuoted();
+            peeked = PEEKED_NONE;
+        } else {
+            throw unexpected(JSONToken.NUMBER);
+        }
+        return toLong(text);
+    }
+
+    /**
+     * 读取int值
+     *
+     * @return int值
+     * @throws JSONException 下一个标记不是数字或超出int范围
+     */
+    public int nextInt() throws JSONException {
+        final long value = nextLong();
+        if (value != (int) value) {
+            throw new JSONException(StrUtil.format("Expected an int but was {}{}", value, location()));
+        }
+        return (int) value;
+    }
+
+    /**
+     * 读取double值，带引号的数字字符串同样可以读取
+     *
+     * @return double值
+     * @throws JSONException 下一个标记不是数字
+     */
+    public double nextDouble() throws JSONException {
+        final int p = doPeek();
+        final String text;
+        if (p == PEEKED_QUOTED) {
+            text = readQuoted();
+            peeked = PEEKED_NONE;
+        } else if (p == PEEKED_UNQUOTED) {
+            text = new String(buffer, pos, unquotedLength);
+            consumeUnquoted();
+        } else {
+            throw unexpected(JSONToken.NUMBER);
+        }
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new JSONException(StrUtil.format("Expected a number but was \"{}\"{}", text, location()));
+        }
+    }
+
+    /**
+     * 数字字符串转为long，整数使用{@link Long#parseLong(String)}精确转换，避免经过double丢失精度
+     *
+     * @param text 数字字符串
+     * @return long值
+     * @throws JSONException 不是数字、不是整数或超出long范围
+     */
+    private long toLong(String text) throws JSONException {
+        if (isInteger(text)) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                throw new JSONException(StrUtil.format("Expected a long but was {}{}", text, location()));
+            }
+        }
+        final double value;
+        try {
+            value = Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new JSONException(StrUtil.format("Expected a number but was \"{}\"{}", text, location()));
+        }
+        // Long.MAX_VALUE转为double后为2^63，2^63及以上强转后均为Long.MAX_VALUE，需单独判断范围
+        if (value >= Long.MAX_VALUE || value != (long) value) {
+            throw new JSONException(StrUtil.format("Expected a long but was {}{}", text, location()));
+        }
+        return (long) value;
+    }
+
+    /**
+     * 是否为十进制整数字符串，允许负号开头
+     *
+     * @param text 字符串
+     * @return 是否为整数
+     */
+    private static boolean isInteger(String text) {
+        final int length = text.length();
+        int i = (length > 0 && text.charAt(0) == '-') ? 1 : 0;
+        if (i == length) {
+            return false;
+        }
+        char c;
+        for (; i < length; i++) {
+            c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 读取下一个值，对象和数组读取为{@link JSONObject}和{@link JSONArray}<br>
+     * 值的类型与{@link JSONTokener#nextValue()}一致：Boolean, Double, Integer, Long, String, JSONNull, JSONObject, JSONArray
+     *
+     * @return 值
+     * @throws JSONException 语法错误或下一个标记不是值
+     */
+    public Object nextValue() throws JSONException {
+        switch (doPeek()) {
+            case PEEKED_BEGIN_OBJECT:
+                final JSONObject jsonObject = new JSONObject();
+                beginObject();
+                while (hasNext()) {
+                    jsonObject.putOnce(nextName(), nextValue());
+                }
+                endObject();
+                return jsonObject;
+            case PEEKED_BEGIN_ARRAY:
+                final JSONArray jsonArray = new JSONArray();
+                beginArray();
+                while (hasNext()) {
+                    jsonArray.add(nextValue());
+                }
+                endArray();
+                return jsonArray;
+            case PEEKED_QUOTED:
+                final String value = readQuoted();
+                peeked = PEEKED_NONE;
+                return value;
+            case PEEKED_UNQUOTED:
+                final Object unquoted = unquotedValue();
+                consumeUnquoted();
+                return unquoted;
+            case PEEKED_EMPTY_ELEMENT:
+                peeked = PEEKED_NONE;
+                return JSONNull.NULL;
+            default:
+                throw syntaxError("Expected a value but was " + peek());
+        }
+    }
+
+    /**
+     * 读取下一个值并转换为Bean，转换错误将被抛出
+     *
+     * @param <T>       Bean类型
+     * @param beanClass Bean类
+     * @return Bean，值为null时返回<code>null</code>
+     * @throws JSONException 语法错误
+     * @see #nextBean(Class, boolean)
+     */
+    public <T> T nextBean(Class<T> beanClass) throws JSONException {
+        return nextBean(beanClass, false);
+    }
+
+    /**
+     * 读取下一个值并转换为Bean<br>
+     * 对象直接注入新建的Bean，Bean中不存在的属性被跳过，不构建JSONObject；Bean的数组及集合同样直接读取
+     *
+     * @param <T>         Bean类型
+     * @param beanClass   Bean类
+     * @param ignoreError 是否忽略转换过程中某个字段的转换异常
+     * @return Bean，值为null时返回<code>null</code>
+     * @throws JSONException 语法错误
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T nextBean(Class<T> beanClass, boolean ignoreError) throws JSONException {
+        return (T) BeanBinder.read(this, beanClass, ignoreError);
+    }
+
+    /**
+     * 跳过下一个值（包括整个对象或数组），不创建任何对象；下一个标记为键时，跳过键和值
+     *
+     * @throws JSONException 语法错误或已到文档结束
+     */
+    public void skipValue() throws JSONException {
+        int depth = 0;
+        do {
+            switch (doPeek()) {
+                case PEEKED_BEGIN_OBJECT:
+                    push(EMPTY_OBJECT);
+                    depth++;
+                    break;
+                case PEEKED_BEGIN_ARRAY:
+                    push(EMPTY_ARRAY);
+                    depth++;
+                    break;
+                case PEEKED_END_OBJECT:
+                case PEEKED_END_ARRAY:
+                    if (0 == depth) {
+                        throw syntaxError("Expected a value but was " + peek());
+                    }
+                    stackSize--;
+                    depth--;
+                    break;
+                case PEEKED_QUOTED_NAME:
+                    skipQuoted();
+                    peeked = PEEKED_NONE;
+                    if (0 == depth) {
+                        // 位于键上时，跳过键后还需跳过其值
+                        skipValue();
+                        return;
+                    }
+                    break;
+                case PEEKED_UNQUOTED_NAME:
+                    pos += unquotedLength;
+                    peeked = PEEKED_NONE;
+                    if (0 == depth) {
+                        skipValue();
+                        return;
+                    }
+                    break;
+                case PEEKED_QUOTED:
+                    skipQuoted();
+                    break;
+                case PEEKED_UNQUOTED:
+                    pos += unquotedLength;
+                    break;
+                case PEEKED_EMPTY_ELEMENT:
+                    break;
+                default:
+                    throw syntaxError("Expected a value but was " + JSONToken.END_DOCUMENT);
+            }
+            peeked = PEEKED_NONE;
+            unquotedValue = null;
+        } while (depth > 0);
+    }
+
+    /**
+     * @return 已读取的字符数
+     */
+    public long position() {
+        return bufferOffset + pos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        peeked = PEEKED_NONE;
+        stackSize = 0;
+        reader.close();
+    }
+
+    @Override
+    public String toString() {
+        return "JSONReader" + location();
+    }
+
+    // ------------------------------------------------------------------------------------ Private method start
+
+    /**
+     * 预读下一个标记，同时更新作用域
+     *
+     * @return 预读的标记
+     */
+    private int doPeek() {
+        if (peeked != PEEKED_NONE) {
+            return peeked;
+        }
+        if (0 == stackSize) {
+            throw new JSONException("JSONReader is closed");
+        }
+
+        final int scope = stack[stackSize - 1];
+        int c;
+        switch (scope) {
+            case EMPTY_ARRAY:
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                c = peekClean();
+                if (c == ']') {
+                    pos++;
+                    return peeked = PEEKED_END_ARRAY;
+                } else if (c == ',') {
+                    return peeked = PEEKED_EMPTY_ELEMENT;
+                }
+                break;
+            case NONEMPTY_ARRAY:
+                c = peekClean();
+                if (c == ']') {
+                    pos++;
+                    return peeked = PEEKED_END_ARRAY;
+                } else if (c != ',') {
+                    throw syntaxError("Expected a ',' or ']'");
+                }
+                pos++;
+                c = peekClean();
+                if (c == ']') {
+                    // 末尾多余的逗号
+                    pos++;
+                    return peeked = PEEKED_END_ARRAY;
+                } else if (c == ',') {
+                    return peeked = PEEKED_EMPTY_ELEMENT;
+                }
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = peekClean();
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c == ',' || c == ';') {
+                        pos++;
+                        c = peekClean();
+                    } else if (c != '}') {
+                        throw syntaxError("Expected a ',' or '}'");
+                    }
+                }
+                if (c == '}') {
+                    pos++;
+                    return peeked = PEEKED_END_OBJECT;
+                } else if (c == -1) {
+                    throw syntaxError("A JSONObject text must end with '}'");
+                }
+                stack[stackSize - 1] = DANGLING_NAME;
+                if (c == '"' || c == '\'') {
+                    quote = (char) c;
+                    pos++;
+                    return peeked = PEEKED_QUOTED_NAME;
+                }
+                unquotedLength = scanUnquoted();
+                if (0 == unquotedLength) {
+                    throw syntaxError("Missing key");
+                }
+                return peeked = PEEKED_UNQUOTED_NAME;
+            case DANGLING_NAME:
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                if (peekClean() != ':') {
+                    throw syntaxError("Expected a ':' after a key");
+                }
+                pos++;
+                break;
+            case EMPTY_DOCUMENT:
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                break;
+            default:
+                // 多个顶层值依次读取
+                if (peekClean() == -1) {
+                    return peeked = PEEKED_EOF;
+                }
+                break;
+        }
+
+        c = peekClean();
+        switch (c) {
+            case '{':
+                pos++;
+                return peeked = PEEKED_BEGIN_OBJECT;
+            case '[':
+                pos++;
+                return peeked = PEEKED_BEGIN_ARRAY;
+            case '"':
+            case '\'':
+                quote = (char) c;
+                pos++;
+                return peeked = PEEKED_QUOTED;
+            case -1:
+                if (scope == EMPTY_DOCUMENT) {
+                    return peeked = PEEKED_EOF;
+                }
+                throw syntaxError("Missing value");
+            default:
+                unquotedLength = scanUnquoted();
+                if (0 == unquotedLength) {
+                    throw syntaxError("Missing value");
+                }
+                unquotedValue = null;
+                return peeked = PEEKED_UNQUOTED;
+        }
+    }
+
+    /**
+     * 跳过空白符，返回下一个字符但不消费
+     *
+     * @return 下一个字符，结尾返回-1
+     */
+    private int peekClean() {
+        while (true) {
+            if (pos == limit && false == fill(1)) {
+                return -1;
+            }
+            final char c = buffer[pos];
+            if (c > ' ') {
+                return c;
+            }
+            pos++;
+        }
+    }
+
+    /**
+     * 计算不带引号的键或值的长度，规则与{@link JSONTokener#nextValue()}一致，末尾空白不计入
+     *
+     * @return 长度
+     */
+    private int scanUnquoted() {
+        int i = 0;
+        char c;
+        while (true) {
+            if (pos + i == limit && false == fill(i + 1)) {
+                break;
+            }
+            c = buffer[pos + i];
+            if (c < ' ' || isDelimiter(c)) {
+                break;
+            }
+            i++;
+        }
+        while (i > 0 && buffer[pos + i - 1] == ' ') {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * 不带引号的值转换后的值
+     *
+     * @return 值
+     */
+    private Object unquotedValue() {
+        if (null == unquotedValue) {
+            unquotedValue = InternalJSONUtil.stringToValue(new String(buffer, pos, unquotedLength));
+        }
+        return unquotedValue;
+    }
+
+    /**
+     * 消费预读的不带引号的值
+     */
+    private void consumeUnquoted() {
+        pos += unquotedLength;
+        unquotedValue = null;
+        peeked = PEEKED_NONE;
+    }
+
+    /**
+     * 在缓冲区中解析十进制整数，与{@link Long#parseLong(String)}相同，使用负数累加并检查溢出
+     *
+     * @param start 起始位置
+     * @param length 长度
+     * @return 整数，非整数或超出long范围返回{@link Long#MIN_VALUE}（Long.MIN_VALUE本身也由调用方慢速解析）
+     */
+    private long parseLong(int start, int length) {
+        final boolean negative = buffer[start] == '-';
+        final int digitStart = negative ? start + 1 : start;
+        final int end = start + length;
+        if (end == digitStart) {
+            return Long.MIN_VALUE;
+        }
+        final long min = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multMin = min / 10;
+        long value = 0;
+        int digit;
+        for (int i = digitStart; i < end; i++) {
+            digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9 || value < multMin) {
+                return Long.MIN_VALUE;
+            }
+            value *= 10;
+            if (value < min + digit) {
+                return Long.MIN_VALUE;
+            }
+            value -= digit;
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * 读取带引号的字符串，开始引号已消费<br>
+     * 字符串在缓冲区中且无转义符时直接创建，否则使用StringBuilder拼接
+     *
+     * @return 字符串
+     */
+    private String readQuoted() {
+        StringBuilder builder = null;
+        while (true) {
+            int p = pos;
+            int start = p;
+            char c;
+            while (p < limit) {
+                c = buffer[p++];
+                if (c == quote) {
+                    pos = p;
+                    if (null == builder) {
+                        return new String(buffer, start, p - start - 1);
+                    }
+                    builder.append(buffer, start, p - start - 1);
+                    return builder.toString();
+                } else if (c == '\\') {
+                    pos = p;
+                    if (null == builder) {
+                        builder = new StringBuilder(Math.max(16, (p - start) * 2));
+                    }
+                    builder.append(buffer, start, p - start - 1);
+                    builder.append(readEscape());
+                    p = pos;
+                    start = p;
+                } else if (c == '\n' || c == '\r' || c == 0) {
+                    pos = p;
+                    throw syntaxError("Unterminated string");
+                }
+            }
+            if (null == builder) {
+                builder = new StringBuilder(Math.max(16, (p - start) * 2));
+            }
+            builder.append(buffer, start, p - start);
+            pos = p;
+            if (false == fill(1)) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    /**
+     * 跳过带引号的字符串，开始引号已消费
+     */
+    private void skipQuoted() {
+        char c;
+        while (true) {
+            while (pos < limit) {
+                c = buffer[pos++];
+                if (c == quote) {
+                    return;
+                } else if (c == '\\') {
+                    readEscape();
+                } else if (c == '\n' || c == '\r' || c == 0) {
+                    throw syntaxError("Unterminated string");
+                }
+            }
+            if (false == fill(1)) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    /**
+     * 读取转义字符，反斜杠已消费
+     *
+     * @return 转义后的字符
+     */
+    private char readEscape() {
+        if (pos == limit && false == fill(1)) {
+            throw syntaxError("Unterminated string");
+        }
+        final char c = buffer[pos++];
+        switch (c) {
+            case 'b':
+                return '\b';
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'f':
+                return '\f';
+            case 'r':
+                return '\r';
+            case 'u':
+                if (limit - pos < 4 && false == fill(4)) {
+                    throw syntaxError("Substring bounds error");
+                }
+                int value = 0;
+                int digit;
+                for (int i = 0; i < 4; i++) {
+                    digit = JSONTokener.dehexchar(buffer[pos++]);
+                    if (digit < 0) {
+                        throw syntaxError("Illegal escape.");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            case '"':
+            case '\'':
+            case '\\':
+            case '/':
+                return c;
+            default:
+                throw syntaxError("Illegal escape.");
+        }
+    }
+
+    /**
+     * 保证缓冲区中至少有minimum个未读字符，未读字符移到缓冲区开头，不够时扩大缓冲区
+     *
+     * @param minimum 最少字符数
+     * @return 是否满足，到达结尾时返回<code>false</code>
+     */
+    private boolean fill(int minimum) {
+        if (pos > 0) {
+            bufferOffset += pos;
+            limit -= pos;
+            System.arraycopy(buffer, pos, buffer, 0, limit);
+            pos = 0;
+        }
+        if (minimum > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, minimum));
+        }
+        int read;
+        try {
+            while (limit < minimum) {
+                read = reader.read(buffer, limit, buffer.length - limit);
+                if (read < 0) {
+                    return false;
+                }
+                limit += read;
+            }
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+        return true;
+    }
+
+    /**
+     * 作用域入栈
+     *
+     * @param scope 作用域
+     */
+    private void push(int scope) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize << 1);
+        }
+        stack[stackSize++] = scope;
+    }
+
+    /**
+     * 检查下一个标记
+     *
+     * @param expected 期望的预读标记
+     * @param token    期望的标记类型
+     */
+    private void expect(int expected, JSONToken token) {
+        if (doPeek() != expected) {
+            throw unexpected(token);
+        }
+    }
+
+    /**
+     * 是否为不带引号的值的结束字符，与{@link JSONTokener#nextValue()}一致
+     *
+     * @param c 字符
+     * @return 是否结束字符
+     */
+    private static boolean isDelimiter(char c) {
+        switch (c) {
+            case ',':
+            case ':':
+            case ']':
+            case '}':
+            case '/':
+            case '\\':
+            case '"':
+            case '[':
+            case '{':
+            case ';':
+            case '=':
+            case '#':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 标记类型不符的异常
+     *
+     * @param expected 期望的标记类型
+     * @return 异常
+     */
+    private JSONException unexpected(JSONToken expected) {
+        return syntaxError(StrUtil.format("Expected {} but was {}", expected, peek()));
+    }
+
+    /**
+     * 语法错误异常
+     *
+     * @param message 消息
+     * @return 异常
+     */
+    private JSONException syntaxError(String message) {
+        return new JSONException(message + location());
+    }
+
+    /**
+     * @return 当前位置描述
+     */
+    private String location() {
+        return " at " + position();
+    }
+    // ------------------------------------------------------------------------------------ Private method end
+}
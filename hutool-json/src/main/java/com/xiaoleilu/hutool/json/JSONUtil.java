@@ -1,5 +1,6 @@
 package com.xiaoleilu.hutool.json;
 
+import com.xiaoleilu.hutool.io.FileUtil;
 import com.xiaoleilu.hutool.io.IORuntimeException;
 import com.xiaoleilu.hutool.io.file.FileReader;
 import com.xiaoleilu.hutool.util.ArrayUtil;
@@ -8,6 +9,9 @@ import com.xiaoleilu.hutool.util.StrUtil;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
@@ -81,6 +85,19 @@ public final class JSONUtil {
         return new JSONObject(obj, ignoreNullValue);
     }
 
+    /**
+     * JSON字符串紧凑模式转JSONObject对象<br>
+     * 解析时只记录键值在字符串中的位置，值在读取时才解码，适用于只读取少量字段的大JSON。<br>
+     * 读取方法与{@link #parseObj(String)}一致，首次修改时转为普通存储。
+     *
+     * @param jsonStr JSON字符串
+     * @return JSONObject
+     * @since 3.1.0
+     */
+    public static JSONObject parseObjCompact(String jsonStr) {
+        return CompactJSON.parseObj(jsonStr);
+    }
+
     /**
      * JSON字符串转JSONArray
      *
@@ -91,6 +108,19 @@ public final class JSONUtil {
         return new JSONArray(jsonStr);
     }
 
+    /**
+     * JSON字符串紧凑模式转JSONArray<br>
+     * 解析时只记录元素在字符串中的位置，元素在读取时才解码。<br>
+     * 读取方法与{@link #parseArray(String)}一致，首次修改时转为普通存储。
+     *
+     * @param jsonStr JSON字符串
+     * @return JSONArray
+     * @since 3.1.0
+     */
+    public static JSONArray parseArrayCompact(String jsonStr) {
+        return CompactJSON.parseArray(jsonStr);
+    }
+
     /**
      * JSON字符串转JSONArray
      *
@@ -212,6 +242,52 @@ public final class JSONUtil {
     public static JSONArray readJSONArray(File file, Charset charset) throws IORuntimeException {
         return parseArray(FileReader.create(file, charset).readString());
     }
+
+    /**
+     * 流式迭代JSON数组的元素，元素逐个读取，不读取整个数组<br>
+     * 元素为JSONObject、JSONArray或原始值，迭代结束后关闭Reader
+     *
+     * @param reader JSON数组的Reader
+     * @return 元素迭代器
+     * @since 3.1.0
+     */
+    public static JSONArrayIterator<Object> arrayIterator(Reader reader) {
+        return arrayIterator(reader, Object.class);
+    }
+
+    /**
+     * 流式迭代JSON数组的元素，元素逐个读取并转换为指定类型，迭代结束后关闭Reader
+     *
+     * <pre>
+     * for (User user : JSONUtil.arrayIterator(reader, User.class)) {
+     *     ...
+     * }
+     * </pre>
+     *
+     * @param <T>         元素类型
+     * @param reader      JSON数组的Reader
+     * @param elementType 元素类型
+     * @return 元素迭代器
+     * @since 3.1.0
+     */
+    public static <T> JSONArrayIterator<T> arrayIterator(Reader reader, Class<T> elementType) {
+        return new JSONArrayIterator<>(new JSONReader(reader), elementType);
+    }
+
+    /**
+     * 流式迭代JSON数组文件的元素，元素逐个读取并转换为指定类型，迭代结束后关闭文件
+     *
+     * @param <T>         元素类型
+     * @param file        JSON文件
+     * @param charset     编码
+     * @param elementType 元素类型
+     * @return 元素迭代器
+     * @throws IORuntimeException IO异常
+     * @since 3.1.0
+     */
+    public static <T> JSONArrayIterator<T> arrayIterator(File file, Charset charset, Class<T> elementType) throws IORuntimeException {
+        return arrayIterator(FileUtil.getReader(file, charset), elementType);
+    }
     //-------------------------------------------------------------------- Read end
 
     //-------------------------------------------------------------------- toString start
@@ -257,7 +333,12 @@ public final class JSONUtil {
         if (obj instanceof String) {
             return (String) obj;
         }
-        return toJsonStr(parse(obj));
+        if (null == obj) {
+            return toJsonStr(parse(obj));
+        }
+        final StringWriter writer = new StringWriter();
+        write(obj, writer);
+        return writer.toString();
     }
 
     /**
@@ -270,6 +351,52 @@ public final class JSONUtil {
         return toJsonPrettyStr(parse(obj));
     }
 
+    /**
+     * 将对象转换为JSON后直接写出到Writer，Bean、Map、集合和数组边遍历边写出，不构建中间的JSONObject或JSONArray<br>
+     * 结果与{@link #toJsonStr(Object)}一致，Writer不关闭
+     *
+     * @param obj    被转为JSON的对象，字符串按照JSON解析后写出
+     * @param writer Writer
+     * @throws JSONException IO异常
+     * @since 3.1.0
+     */
+    public static void write(Object obj, Writer writer) throws JSONException {
+        if (obj instanceof String) {
+            parse(obj).write(writer);
+            return;
+        }
+        final JSONWriter jsonWriter = new JSONWriter(writer);
+        try {
+            if (obj instanceof Map || obj instanceof Collection || ArrayUtil.isArray(obj)) {
+                jsonWriter.value(obj);
+            } else {
+                // 与parse(Object)一致，其它对象均作为Bean
+                jsonWriter.bean(obj);
+            }
+        } finally {
+            jsonWriter.finish();
+        }
+    }
+
+    /**
+     * 将对象转换为JSON后直接写出到流，OutputStream不关闭
+     *
+     * @param obj     被转为JSON的对象
+     * @param out     输出流
+     * @param charset 编码
+     * @throws JSONException IO异常
+     * @since 3.1.0
+     */
+    public static void write(Object obj, OutputStream out, Charset charset) throws JSONException {
+        final Writer writer = new OutputStreamWriter(out, charset);
+        write(obj, writer);
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+    }
+
     /**
      * 转换为XML字符串
      *
@@ -307,6 +434,48 @@ public final class JSONUtil {
     public static <T> T toBean(JSONObject json, Class<T> beanClass, boolean ignoreError) {
         return null == json ? null : json.toBean(beanClass, ignoreError);
     }
+
+    /**
+     * JSON字符串直接转为实体类对象，不构建中间的JSONObject，转换异常将被抛出
+     *
+     * @param <T>       Bean类型
+     * @param jsonStr   JSON字符串
+     * @param beanClass 实体类对象
+     * @return 实体类对象
+     * @since 3.1.0
+     */
+    public static <T> T toBean(String jsonStr, Class<T> beanClass) {
+        return toBean(jsonStr, beanClass, false);
+    }
+
+    /**
+     * JSON字符串直接转为实体类对象，不构建中间的JSONObject<br>
+     * JSON中Bean不存在的属性直接跳过，嵌套的Bean及Bean的集合同样直接注入
+     *
+     * @param <T>         Bean类型
+     * @param jsonStr     JSON字符串
+     * @param beanClass   实体类对象
+     * @param ignoreError 是否忽略转换过程中某个字段的转换异常
+     * @return 实体类对象
+     * @since 3.1.0
+     */
+    public static <T> T toBean(String jsonStr, Class<T> beanClass, boolean ignoreError) {
+        return null == jsonStr ? null : new JSONReader(jsonStr).nextBean(beanClass, ignoreError);
+    }
+
+    /**
+     * 从Reader中读取JSON直接转为实体类对象，不构建中间的JSONObject，Reader不关闭
+     *
+     * @param <T>         Bean类型
+     * @param reader      Reader
+     * @param beanClass   实体类对象
+     * @param ignoreError 是否忽略转换过程中某个字段的转换异常
+     * @return 实体类对象
+     * @since 3.1.0
+     */
+    public static <T> T toBean(Reader reader, Class<T> beanClass, boolean ignoreError) {
+        return new JSONReader(reader).nextBean(beanClass, ignoreError);
+    }
     //-------------------------------------------------------------------- toBean end
 
     /**
@@ -369,56 +538,7 @@ public final class JSONUtil {
             writer.write("\"\"");
             return writer;
         }
-
-        char   b;        //back char
-        char   c   = 0; //current char
-        String hhhh;
-        int    i;
-        int    len = string.length();
-
-        writer.write('"');
-        for (i = 0; i < len; i++) {
-            b = c;
-            c = string.charAt(i);
-            switch (c) {
-                case '\\':
-                case '"':
-                    writer.write('\\');
-                    writer.write(c);
-                    break;
-                case '/':
-                    if (b == '<') {
-                        writer.write('\\');
-                    }
-                    writer.write(c);
-                    break;
-                case '\b':
-                    writer.write("\\b");
-                    break;
-                case '\t':
-                    writer.write("\\t");
-                    break;
-                case '\n':
-                    writer.write("\\n");
-                    break;
-                case '\f':
-                    writer.write("\\f");
-                    break;
-                case '\r':
-                    writer.write("\\r");
-                    break;
-                default:
-                    if (c < ' ' || (c >= '\u0080' && c < '\u00a0') || (c >= '\u2000' && c < '\u2100')) {
-                        writer.write("\\u");
-                        hhhh = Integer.toHexString(c);
-                        writer.write("0000", 0, 4 - hhhh.length());
-                        writer.write(hhhh);
-                    } else {
-                        writer.write(c);
-                    }
-            }
-        }
-        writer.write('"');
+        JSONWriter.writeQuoted(string, writer);
         return writer;
     }
 
@@ -0,0 +1,743 @@
+package com.xiaoleilu.hutool.json;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.xiaoleilu.hutool.bean.BeanDesc.PropDesc;
+import com.xiaoleilu.hutool.convert.Convert;
+import com.xiaoleilu.hutool.util.NumberUtil;
+import com.xiaoleilu.hutool.util.ObjectUtil;
+
+/**
+ * JSON流式写出器，非线程安全<br>
+ * <ul>
+ *     <li>通过beginObject、name、value等方法逐个写出标记，不构建JSONObject或JSONArray</li>
+ *     <li>{@link #value(Object)}直接遍历Bean、Map、集合和数组写出，规则与{@link JSONUtil#wrap(Object)}一致</li>
+ *     <li>写出的字符先放入缓冲区，缓冲区满时批量写出，缓冲区在线程内复用</li>
+ *     <li>字符串转义使用预先计算的转义表，无需转义的连续字符批量复制</li>
+ * </ul>
+ * 格式化输出时，非空的对象和数组的每个元素都单独一行。
+ *
+ * <pre>
+ * JSONWriter writer = new JSONWriter(out);
+ * writer.beginObject().name("id").value(1).name("user").value(user).endObject();
+ * writer.close();
+ * </pre>
+ *
+ * @author Looly
+ * @since 3.1.0
+ */
+public class JSONWriter implements Closeable, Flushable {
+
+    /**
+     * 缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 8192;
+    /**
+     * 线程内复用的缓冲区，使用中的缓冲区从中取出，同一线程嵌套使用时新建缓冲区
+     */
+    private static final ThreadLocal<char[]> BUFFER_POOL = new ThreadLocal<>();
+
+    /**
+     * 转义表大小，包括ASCII字符及0x80到0x9f的控制字符
+     */
+    private static final int ESCAPE_TABLE_SIZE = 0xa0;
+    /**
+     * 转义表，<code>null</code>表示无需转义
+     */
+    private static final String[] ESCAPE_TABLE = new String[ESCAPE_TABLE_SIZE];
+    /**
+     * 0x2000到0x20ff之间字符（常用标点、货币符号等）的转义表
+     */
+    private static final String[] UNICODE_ESCAPE_TABLE = new String[0x100];
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    static {
+        for (int c = 0; c < ' '; c++) {
+            ESCAPE_TABLE[c] = unicodeEscape((char) c);
+        }
+        for (int c = 0x80; c < ESCAPE_TABLE_SIZE; c++) {
+            ESCAPE_TABLE[c] = unicodeEscape((char) c);
+        }
+        for (int i = 0; i < UNICODE_ESCAPE_TABLE.length; i++) {
+            UNICODE_ESCAPE_TABLE[i] = unicodeEscape((char) ('\u2000' + i));
+        }
+        ESCAPE_TABLE['"'] = "\\\"";
+        ESCAPE_TABLE['\\'] = "\\\\";
+        ESCAPE_TABLE['\b'] = "\\b";
+        ESCAPE_TABLE['\t'] = "\\t";
+        ESCAPE_TABLE['\n'] = "\\n";
+        ESCAPE_TABLE['\f'] = "\\f";
+        ESCAPE_TABLE['\r'] = "\\r";
+    }
+
+    // ------------------------------------------------------------------------------------------- 作用域
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    /**
+     * 已写出键，等待值
+     */
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private final Writer out;
+    /**
+     * 每层缩进空格数，0表示不格式化
+     */
+    private final int indentFactor;
+
+    private char[] buffer;
+    private int pos;
+
+    /**
+     * 作用域栈
+     */
+    private int[] stack = new int[32];
+    private int stackSize;
+
+    // ------------------------------------------------------------------------------------ Constructor start
+
+    /**
+     * 构造，不格式化
+     *
+     * @param out 目标Writer
+     */
+    public JSONWriter(Writer out) {
+        this(out, 0);
+    }
+
+    /**
+     * 构造
+     *
+     * @param out          目标Writer
+     * @param indentFactor 每层缩进空格数，0表示不格式化
+     */
+    public JSONWriter(Writer out, int indentFactor) {
+        if (null == out) {
+            throw new NullPointerException("Writer must not be null");
+        }
+        this.out = out;
+        this.indentFactor = indentFactor;
+        this.buffer = BUFFER_POOL.get();
+        if (null == this.buffer) {
+            this.buffer = new char[BUFFER_SIZE];
+        } else {
+            BUFFER_POOL.remove();
+        }
+        this.stack[stackSize++] = EMPTY_DOCUMENT;
+    }
+    // ------------------------------------------------------------------------------------ Constructor end
+
+    /**
+     * 写出对象开始标记 {
+     *
+     * @return this
+     * @throws JSONException 标记位置错误或IO异常
+     */
+    public JSONWriter beginObject() throws JSONException {
+        beforeValue();
+        write('{');
+        push(EMPTY_OBJECT);
+        return this;
+    }
+
+    /**
+     * 写出对象结束标记 }
+     *
+     * @return this
+     * @throws JSONException 标记位置错误或IO异常
+     */
+    public JSONWriter endObject() throws JSONException {
+        return close(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+    }
+
+    /**
+     * 写出数组开始标记 [
+     *
+     * @return this
+     * @throws JSONException 标记位置错误或IO异常
+     */
+    public JSONWriter beginArray() throws JSONException {
+        beforeValue();
+        write('[');
+        push(EMPTY_ARRAY);
+        return this;
+    }
+
+    /**
+     * 写出数组结束标记 ]
+     *
+     * @return this
+     * @throws JSONException 标记位置错误或IO异常
+     */
+    public JSONWriter endArray() throws JSONException {
+        return close(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+    }
+
+    /**
+     * 写出对象的键
+     *
+     * @param name 键
+     * @return this
+     * @throws JSONException 标记位置错误或IO异常
+     */
+    public JSONWriter name(String name) throws JSONException {
+        if (null == name) {
+            throw new NullPointerException("Name must not be null");
+        }
+        final int scope = peekScope();
+        if (scope == NONEMPTY_OBJECT) {
+            write(',');
+        } else if (scope != EMPTY_OBJECT) {
+            throw new JSONException("Nesting problem: name must be in an object");
+        }
+        newline();
+        writeQuoted(name);
+        write(':');
+        if (indentFactor > 0) {
+            write(' ');
+        }
+        stack[stackSize - 1] = DANGLING_NAME;
+        return this;
+    }
+
+    /**
+     * 写出字符串值
+     *
+     * @param value 字符串，<code>null</code>写出null
+     * @return this
+     * @throws JSONException 标记位置错误或IO异常
+     */
+    public JSONWriter value(String value) throws JSONException {
+        if (null == value) {
+            return nullValue();
+        }
+        beforeValue();
+        writeQuoted(value);
+        return this;
+    }
+
+    /**
+     * 写出整数值
+     *
+     * @param value 整数
+     * @return this
+     * @throws JSONException 标记位置错误或IO异常
+     */
+    public JSONWriter value(long value) throws JSONException {
+        beforeValue();
+        writeLong(value);
+        return this;
+    }
+
+    /**
+     * 写出小数值，规则与{@link NumberUtil#toStr(Number)}一致
+     *
+     * @param value 小数
+     * @return this
+     * @throws JSONException 非有限数字、标记位置错误或IO异常
+     */
+    public JSONWriter value(double value) throws JSONException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new JSONException("JSON does not allow non-finite numbers.");
+        }
+        beforeValue();
+        write(NumberUtil.toStr(value));
+        return this;
+    }
+
+    /**
+     * 写出布尔值
+     *
+     * @param value 布尔值
+     * @return this
+     * @throws JSONException 标记位置错误或IO异常
+     */
+    public JSONWriter value(boolean value) throws JSONException {
+        beforeValue();
+        write(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * 写出数字值
+     *
+     * @param value 数字，<code>null</code>写出null
+     * @return this
+     * @throws JSONException 非有限数字、标记位置错误或IO异常
+     */
+    public JSONWriter value(Number value) throws JSONException {
+        if (null == value) {
+            return nullValue();
+        }
+        if (false == ObjectUtil.isValidIfNumber(value)) {
+            throw new JSONException("JSON does not allow non-finite numbers.");
+        }
+        beforeValue();
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeLong(value.longValue());
+        } else {
+            write(NumberUtil.toStr(value));
+        }
+        return this;
+    }
+
+    /**
+     * 写出null
+     *
+     * @return this
+     * @throws JSONException 标记位置错误或IO异常
+     */
+    public JSONWriter nullValue() throws JSONException {
+        beforeValue();
+        write("null");
+        return this;
+    }
+
+    /**
+     * 写出已经是JSON格式的值，不做任何转义
+     *
+     * @param json JSON格式的值
+     * @return this
+     * @throws JSONException 标记位置错误或IO异常
+     */
+    public JSONWriter rawValue(String json) throws JSONException {
+        beforeValue();
+        write(json);
+        return this;
+    }
+
+    /**
+     * 写出任意对象，不构建中间的JSONObject或JSONArray，规则与{@link JSONUtil#wrap(Object)}一致：
+     * <ul>
+     * <li><code>null</code>和{@link JSONNull} =》 null</li>
+     * <li>{@link JSONString} =》 {@link JSONString#toJSONString()}的结果</li>
+     * <li>字符串、数字、布尔值 =》 原值</li>
+     * <li>Map =》 对象，忽略null值</li>
+     * <li>集合和数组 =》 数组</li>
+     * <li>Date和Calendar =》 毫秒数</li>
+     * <li>来自于java包 =》 字符串</li>
+     * <li>其它 =》 对象，调用getter方法获取属性值，忽略null值</li>
+     * </ul>
+     *
+     * @param value 对象
+     * @return this
+     * @throws JSONException 非有限数字、标记位置错误或IO异常
+     */
+    public JSONWriter value(Object value) throws JSONException {
+        if (null == value || value instanceof JSONNull) {
+            return nullValue();
+        } else if (value instanceof CharSequence) {
+            return value(value.toString());
+        } else if (value instanceof Number) {
+            return value((Number) value);
+        } else if (value instanceof Boolean) {
+            return value(((Boolean) value).booleanValue());
+        } else if (value instanceof JSONString) {
+            final String json;
+            try {
+                json = ((JSONString) value).toJSONString();
+            } catch (Exception e) {
+                throw new JSONException(e);
+            }
+            return (null == json) ? value(value.toString()) : rawValue(json);
+        } else if (value instanceof Map) {
+            return map((Map<?, ?>) value);
+        } else if (value instanceof Iterable) {
+            beginArray();
+            for (Object element : (Iterable<?>) value) {
+                value(element);
+            }
+            return endArray();
+        } else if (value.getClass().isArray()) {
+            beginArray();
+            final int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                value(Array.get(value, i));
+            }
+            return endArray();
+        } else if (value instanceof Date) {
+            return value(((Date) value).getTime());
+        } else if (value instanceof Calendar) {
+            return value(((Calendar) value).getTimeInMillis());
+        } else if (isJdkType(value.getClass())) {
+            // 包括Character
+            return value(value.toString());
+        }
+        return bean(value);
+    }
+
+    /**
+     * 将对象按照Bean写出为JSON对象，调用getter方法获取属性值，忽略null值和值为对象本身的属性，规则与{@link JSONObject#JSONObject(Object)}一致
+     *
+     * @param bean Bean对象
+     * @return this
+     * @throws JSONException 标记位置错误或IO异常
+     */
+    public JSONWriter bean(Object bean) throws JSONException {
+        beginObject();
+        if (bean instanceof Number) {
+            // 与JSONObject一致，数字不作为Bean
+            return endObject();
+        }
+
+        Object value;
+        for (PropDesc property : BeanBinder.of(bean.getClass()).getReadableProperties()) {
+            try {
+                value = property.getGetter().invoke(bean);
+            } catch (Exception e) {
+                //忽略失败的属性
+                continue;
+            }
+            if (null != value && false == value.equals(bean)) {
+                name(property.getName());
+                value(value);
+            }
+        }
+        return endObject();
+    }
+
+    /**
+     * 写出缓冲区中的内容并flush目标Writer
+     *
+     * @throws JSONException IO异常
+     */
+    @Override
+    public void flush() throws JSONException {
+        flushBuffer();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+    }
+
+    /**
+     * 写出缓冲区中的内容，归还缓冲区，并关闭目标Writer
+     *
+     * @throws IOException IO异常
+     */
+    @Override
+    public void close() throws IOException {
+        finish();
+        out.close();
+    }
+
+    // ------------------------------------------------------------------------------------ Package method start
+
+    /**
+     * 写出缓冲区中的内容并归还缓冲区，不关闭目标Writer，之后不可再写出
+     *
+     * @throws JSONException IO异常
+     */
+    void finish() throws JSONException {
+        if (null == buffer) {
+            return;
+        }
+        flush();
+        if (buffer.length == BUFFER_SIZE) {
+            BUFFER_POOL.set(buffer);
+        }
+        buffer = null;
+        stackSize = 0;
+    }
+
+    /**
+     * 将字符串加引号并转义后写出到Writer，规则与{@link JSONUtil#quote(String, Writer)}一致
+     *
+     * @param string 字符串
+     * @param writer Writer
+     * @throws IOException IO异常
+     */
+    static void writeQuoted(String string, Writer writer) throws IOException {
+        writer.write('"');
+        final int length = string.length();
+        int last = 0;
+        String replacement;
+        for (int i = 0; i < length; i++) {
+            replacement = escape(string, i);
+            if (null != replacement) {
+                if (last < i) {
+                    writer.write(string, last, i - last);
+                }
+                writer.write(replacement);
+                last = i + 1;
+            }
+        }
+        if (last < length) {
+            writer.write(string, last, length - last);
+        }
+        writer.write('"');
+    }
+    // ------------------------------------------------------------------------------------ Package method end
+
+    // ------------------------------------------------------------------------------------ Private method start
+
+    /**
+     * 写出Map，忽略null值
+     *
+     * @param map Map
+     * @return this
+     */
+    private JSONWriter map(Map<?, ?> map) {
+        beginObject();
+        Object value;
+        for (Entry<?, ?> entry : map.entrySet()) {
+            value = entry.getValue();
+            if (null != value) {
+                name(Convert.toStr(entry.getKey()));
+                value(value);
+            }
+        }
+        return endObject();
+    }
+
+    /**
+     * 写出值之前的处理：逗号、缩进及作用域检查
+     */
+    private void beforeValue() {
+        if (null == buffer) {
+            throw new JSONException("JSONWriter is closed");
+        }
+        switch (stack[stackSize - 1]) {
+            case EMPTY_DOCUMENT:
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                break;
+            case NONEMPTY_DOCUMENT:
+                throw new JSONException("JSON must have only one top-level value");
+            case EMPTY_ARRAY:
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                newline();
+                break;
+            case NONEMPTY_ARRAY:
+                write(',');
+                newline();
+                break;
+            case DANGLING_NAME:
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                break;
+            default:
+                throw new JSONException("Nesting problem: value in an object must follow a name");
+        }
+    }
+
+    /**
+     * 结束对象或数组
+     *
+     * @param empty    空作用域
+     * @param nonempty 非空作用域
+     * @param c        结束字符
+     * @return this
+     */
+    private JSONWriter close(int empty, int nonempty, char c) {
+        final int scope = peekScope();
+        if (scope != empty && scope != nonempty) {
+            throw new JSONException("Nesting problem: unexpected '" + c + "'");
+        }
+        stackSize--;
+        if (scope == nonempty) {
+            newline();
+        }
+        write(c);
+        return this;
+    }
+
+    /**
+     * 格式化输出时换行并缩进
+     */
+    private void newline() {
+        if (indentFactor > 0) {
+            write('\n');
+            for (int i = (stackSize - 1) * indentFactor; i > 0; i--) {
+                write(' ');
+            }
+        }
+    }
+
+    /**
+     * @return 当前作用域
+     */
+    private int peekScope() {
+        if (0 == stackSize || null == buffer) {
+            throw new JSONException("JSONWriter is closed");
+        }
+        return stack[stackSize - 1];
+    }
+
+    /**
+     * 作用域入栈
+     *
+     * @param scope 作用域
+     */
+    private void push(int scope) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize << 1);
+        }
+        stack[stackSize++] = scope;
+    }
+
+    /**
+     * 加引号并转义后写出字符串
+     *
+     * @param string 字符串
+     */
+    private void writeQuoted(String string) {
+        write('"');
+        final int length = string.length();
+        int last = 0;
+        String replacement;
+        for (int i = 0; i < length; i++) {
+            replacement = escape(string, i);
+            if (null != replacement) {
+                write(string, last, i);
+                write(replacement);
+                last = i + 1;
+            }
+        }
+        write(string, last, length);
+        write('"');
+    }
+
+    /**
+     * 直接在缓冲区中写出整数的各位数字
+     *
+     * @param value 整数
+     */
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            write(Long.toString(value));
+            return;
+        }
+        if (buffer.length - pos < 20) {
+            flushBuffer();
+        }
+        if (value < 0) {
+            buffer[pos++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int p = pos + digits;
+        pos = p;
+        do {
+            buffer[--p] = (char) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+    }
+
+    /**
+     * 写出一个字符
+     *
+     * @param c 字符
+     */
+    private void write(char c) {
+        if (pos == buffer.length) {
+            flushBuffer();
+        }
+        buffer[pos++] = c;
+    }
+
+    /**
+     * 写出字符串
+     *
+     * @param string 字符串
+     */
+    private void write(String string) {
+        write(string, 0, string.length());
+    }
+
+    /**
+     * 写出字符串的一部分，超出缓冲区时分段写出
+     *
+     * @param string 字符串
+     * @param start  开始位置（包括）
+     * @param end    结束位置（不包括）
+     */
+    private void write(String string, int start, int end) {
+        int count;
+        while (start < end) {
+            if (pos == buffer.length) {
+                flushBuffer();
+            }
+            count = Math.min(end - start, buffer.length - pos);
+            string.getChars(start, start + count, buffer, pos);
+            pos += count;
+            start += count;
+        }
+    }
+
+    /**
+     * 将缓冲区中的内容写出到目标Writer
+     */
+    private void flushBuffer() {
+        if (pos > 0) {
+            try {
+                out.write(buffer, 0, pos);
+            } catch (IOException e) {
+                throw new JSONException(e);
+            }
+            pos = 0;
+        }
+    }
+
+    /**
+     * 获取指定位置字符的转义字符串<br>
+     * 为了能在HTML中较好的显示，&lt;/中的/被转义
+     *
+     * @param string 字符串
+     * @param index  位置
+     * @return 转义字符串，无需转义返回<code>null</code>
+     */
+    private static String escape(String string, int index) {
+        final char c = string.charAt(index);
+        if (c < ESCAPE_TABLE_SIZE) {
+            if (c == '/' && index > 0 && string.charAt(index - 1) == '<') {
+                return "\\/";
+            }
+            return ESCAPE_TABLE[c];
+        }
+        if (c >= '\u2000' && c < '\u2100') {
+            return UNICODE_ESCAPE_TABLE[c - '\u2000'];
+        }
+        return null;
+    }
+
+    /**
+     * 字符的Unicode转义形式，如\\u001f
+     *
+     * @param c 字符
+     * @return 转义字符串
+     */
+    private static String unicodeEscape(char c) {
+        return new String(new char[]{'\\', 'u', HEX_DIGITS[(c >> 12) & 0xf], HEX_DIGITS[(c >> 8) & 0xf], HEX_DIGITS[(c >> 4) & 0xf], HEX_DIGITS[c & 0xf]});
+    }
+
+    /**
+     * 是否为JDK中的类，此类对象按照字符串写出
+     *
+     * @param clazz 类
+     * @return 是否JDK中的类
+     */
+    private static boolean isJdkType(Class<?> clazz) {
+        if (null == clazz.getClassLoader()) {
+            return true;
+        }
+        final Package objectPackage = clazz.getPackage();
+        final String objectPackageName = objectPackage != null ? objectPackage.getName() : "";
+        return objectPackageName.startsWith("java.") || objectPackageName.startsWith("javax.");
+    }
+    // ------------------------------------------------------------------------------------ Private method end
+}
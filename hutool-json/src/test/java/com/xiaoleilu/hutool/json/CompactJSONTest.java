@@ -0,0 +1,91 @@
+package com.xiaoleilu.hutool.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xiaoleilu.hutool.json.test.bean.UserA;
+
+/**
+ * 紧凑模式解析单元测试
+ * @author Looly
+ *
+ */
+public class CompactJSONTest {
+
+	private static final String JSON_STR = "{\"id\":12, \"big\":12345678901, \"neg\":-7, \"zero\":0, \"mzero\":-0, \"lead\":007, \"price\":9.50,"//
+			+ "\"name\":\"a\\\"b\\u4e2d\\n\", 'single':'x', unquoted : some text , \"ok\":true, \"none\":null, \"empty\":\"\","//
+			+ "\"esc\\u0041\":1, \"obj\":{\"k\":[1,,{\"deep\":\"v\"},],\"e\":{}}, \"arr\":[]; \"last\":\"end\"}";
+
+	@Test
+	public void sameAsTreeTest() {
+		JSONObject tree = JSONUtil.parseObj(JSON_STR);
+		JSONObject compact = JSONUtil.parseObjCompact(JSON_STR);
+
+		Assert.assertEquals(tree, compact);
+		Assert.assertEquals(compact, tree);
+		Assert.assertEquals(tree.hashCode(), compact.hashCode());
+		Assert.assertEquals(tree.size(), compact.size());
+		for (String key : tree.keySet()) {
+			Assert.assertTrue(key, compact.containsKey(key));
+			Assert.assertEquals(key, tree.get(key), compact.get(key));
+		}
+		Assert.assertEquals(JSONUtil.parseObj(tree.toString()), JSONUtil.parseObj(compact.toString()));
+	}
+
+	@Test
+	public void readTest() {
+		JSONObject json = JSONUtil.parseObjCompact(JSON_STR);
+		Assert.assertEquals(Integer.valueOf(12), json.get("id"));
+		Assert.assertEquals(Long.valueOf(12345678901L), json.get("big"));
+		Assert.assertEquals("-0", json.get("mzero"));
+		Assert.assertEquals("007", json.get("lead"));
+		Assert.assertEquals(9.5, json.getDouble("price"), 0);
+		Assert.assertEquals("a\"b中\n", json.getStr("name"));
+		Assert.assertEquals("some text", json.getStr("unquoted"));
+		Assert.assertEquals(JSONNull.NULL, json.get("none"));
+		Assert.assertEquals(Integer.valueOf(1), json.getInt("escA"));
+		Assert.assertNull(json.get("notExist"));
+		Assert.assertNull(json.get(1));
+
+		// 嵌套对象只解析一次
+		JSONObject obj = json.getJSONObject("obj");
+		Assert.assertSame(obj, json.getJSONObject("obj"));
+		JSONArray k = obj.getJSONArray("k");
+		Assert.assertEquals(3, k.size());
+		Assert.assertEquals(JSONNull.NULL, k.get(1));
+		Assert.assertEquals("v", json.getByExp("obj.k[2].deep"));
+	}
+
+	@Test
+	public void modifyTest() {
+		JSONObject json = JSONUtil.parseObjCompact(JSON_STR);
+		JSONObject obj = json.getJSONObject("obj");
+		json.put("id", 13);
+		json.remove("big");
+		Assert.assertEquals(Integer.valueOf(13), json.getInt("id"));
+		Assert.assertFalse(json.containsKey("big"));
+		Assert.assertSame(obj, json.getJSONObject("obj"));
+
+		JSONArray array = JSONUtil.parseArrayCompact("[1, \"a\", {\"b\":2}]");
+		array.add(3);
+		array.remove(0);
+		Assert.assertEquals("[\"a\",{\"b\":2},3]", array.toString());
+	}
+
+	@Test
+	public void toBeanTest() {
+		UserA user = JSONUtil.parseObjCompact("{\"name\":\"n\",\"sqs\":[{\"seq\":\"1\"}]}").toBean(UserA.class);
+		Assert.assertEquals("n", user.getName());
+		Assert.assertEquals("1", user.getSqs().get(0).getSeq());
+	}
+
+	@Test(expected = JSONException.class)
+	public void duplicateKeyTest() {
+		JSONUtil.parseObjCompact("{\"a\":1,\"b\":2,\"a\":3}");
+	}
+
+	@Test(expected = JSONException.class)
+	public void nestedSyntaxErrorTest() {
+		JSONUtil.parseObjCompact("{\"a\":{\"b\":[1,2}}");
+	}
+}
@@ -87,4 +87,23 @@ public class JSONConvertTest {
 		Assert.assertNull(userInfoDict2.getId());
 	}
 
+	@Test
+	public void testJson2BeanStream() {
+		String jsonStr = "{\"id\":2, \"unknown\":{\"a\":[1,2]}, \"realName\":\"质量过关\", \"examInfoDict\":[{\"answerIs\":1, \"id\":null}, {\"id\":\"3\"}]}";
+		UserInfoDict treeBean = JSONUtil.parseObj(jsonStr).toBean(UserInfoDict.class);
+		UserInfoDict streamBean = JSONUtil.toBean(jsonStr, UserInfoDict.class);
+
+		Assert.assertEquals(treeBean.getId(), streamBean.getId());
+		Assert.assertEquals("质量过关", streamBean.getRealName());
+		List<ExamInfoDict> examInfoDicts = streamBean.getExamInfoDict();
+		Assert.assertEquals(2, examInfoDicts.size());
+		Assert.assertEquals(new Integer(1), examInfoDicts.get(0).getAnswerIs());
+		Assert.assertNull(examInfoDicts.get(0).getId());
+		Assert.assertEquals(new Integer(3), examInfoDicts.get(1).getId());
+		Assert.assertEquals(treeBean.getExamInfoDict().get(1).getId(), examInfoDicts.get(1).getId());
+
+		// 转换后再转回
+		Assert.assertEquals(JSONUtil.parseObj(JSONUtil.toJsonStr(treeBean)), JSONUtil.parseObj(JSONUtil.toJsonStr(streamBean)));
+	}
+
 }
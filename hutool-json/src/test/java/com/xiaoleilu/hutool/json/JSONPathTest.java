@@ -0,0 +1,90 @@
+package com.xiaoleilu.hutool.json;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xiaoleilu.hutool.json.test.bean.Seq;
+import com.xiaoleilu.hutool.json.test.bean.UserA;
+import com.xiaoleilu.hutool.util.CollectionUtil;
+
+/**
+ * JSONPath单元测试
+ * @author Looly
+ *
+ */
+public class JSONPathTest {
+
+	private static final String JSON_STR = "{\"store\":{\"name\":\"s1\",\"a.b\":\"dot\",\"books\":["//
+			+ "{\"title\":\"t1\",\"price\":8.95,\"tags\":[\"x\",\"y\"]},"//
+			+ "{\"title\":\"t2\",\"price\":12,\"isbn\":\"001\"},"//
+			+ "{\"title\":\"t3\",\"price\":22.99,\"isbn\":null}]}}";
+
+	@Test
+	public void definiteTest() {
+		JSONObject json = JSONUtil.parseObj(JSON_STR);
+		Assert.assertEquals("s1", json.getByExp("store.name"));
+		Assert.assertEquals("t2", json.getByExp("$.store.books[1].title"));
+		Assert.assertEquals("t3", json.getByExp("store.books[-1].title"));
+		Assert.assertEquals("y", json.getByExp("store['books'][0].tags[1]"));
+		Assert.assertEquals("dot", json.getByExp("store['a.b']"));
+		Assert.assertEquals(Integer.valueOf(12), json.getByExp("store.books.1.price", Integer.class));
+		Assert.assertNull(json.getByExp("store.books[5].title"));
+		Assert.assertNull(json.getByExp("store.none.title"));
+
+		JSONPath path = JSONPath.compile("store.books[0].title");
+		Assert.assertTrue(path.isDefinite());
+		Assert.assertSame(path, JSONPath.compile("store.books[0].title"));
+	}
+
+	@Test
+	public void wildcardTest() {
+		JSONObject json = JSONUtil.parseObj(JSON_STR);
+		Assert.assertEquals(CollectionUtil.newArrayList("t1", "t2", "t3"), json.getByExp("store.books[*].title"));
+		Assert.assertEquals(CollectionUtil.newArrayList((Object) "001", JSONNull.NULL), json.getByExp("store.books.*.isbn"));
+		Assert.assertFalse(JSONPath.compile("store.*").isDefinite());
+	}
+
+	@Test
+	public void filterTest() {
+		JSONObject json = JSONUtil.parseObj(JSON_STR);
+		Assert.assertEquals(CollectionUtil.newArrayList("t1", "t2"), json.getByExp("store.books[?(@.price < 20)].title"));
+		Assert.assertEquals(CollectionUtil.newArrayList("t2"), json.getByExp("store.books[?(@.price == 12.0)].title"));
+		Assert.assertEquals(CollectionUtil.newArrayList("t2"), json.getByExp("store.books[?(@.isbn)].title"));
+		Assert.assertEquals(CollectionUtil.newArrayList("t1", "t3"), json.getByExp("store.books[?(@.title == 't1' || @.price > 20 && @.title != 'x')].title"));
+		Assert.assertEquals(CollectionUtil.newArrayList("t1"), json.getByExp("store.books[?(@.tags[0] == \"x\")].title"));
+	}
+
+	@Test
+	public void beanTest() {
+		UserA user = new UserA();
+		user.setName("user");
+		user.setSqs(CollectionUtil.newArrayList(new Seq("1"), new Seq("2")));
+
+		Assert.assertEquals("2", JSONPath.eval(user, "sqs[1].seq"));
+		Assert.assertEquals("user", JSONPath.eval(user, "userA.name"));
+		@SuppressWarnings("unchecked")
+		List<Object> seqs = (List<Object>) JSONPath.eval(user, "sqs[?(@.seq != '1')].seq");
+		Assert.assertEquals(CollectionUtil.newArrayList("2"), seqs);
+	}
+
+	@Test
+	public void numberNameTest() {
+		// 超出int范围的数字作为普通名称
+		JSONObject json = JSONUtil.parseObj("{\"a\":{\"9999999999\":5, \"-2147483649\":6, \"2\":7}}");
+		Assert.assertEquals(5, json.getByExp("a.9999999999"));
+		Assert.assertEquals(6, json.getByExp("a.-2147483649"));
+		Assert.assertEquals(7, json.getByExp("a.2"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void badIndexTest() {
+		JSONPath.compile("a[b");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void badFilterTest() {
+		JSONPath.compile("a[?(@.b =~ 1)]");
+	}
+}
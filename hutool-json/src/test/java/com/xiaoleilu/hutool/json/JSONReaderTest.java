@@ -0,0 +1,132 @@
+package com.xiaoleilu.hutool.json;
+
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xiaoleilu.hutool.json.test.bean.UserA;
+
+/**
+ * JSONReader单元测试
+ * @author Looly
+ *
+ */
+public class JSONReaderTest {
+
+	@Test
+	public void tokenTest() {
+		JSONReader reader = new JSONReader("{\"a\":[1, 2.5, true, null, 'str'], b : abc, \"c\":{}}");
+		reader.beginObject();
+		Assert.assertEquals(JSONToken.NAME, reader.peek());
+		Assert.assertEquals("a", reader.nextName());
+		reader.beginArray();
+		Assert.assertEquals(JSONToken.NUMBER, reader.peek());
+		Assert.assertEquals(1, reader.nextInt());
+		Assert.assertEquals(2.5, reader.nextDouble(), 0);
+		Assert.assertEquals(JSONToken.BOOLEAN, reader.peek());
+		Assert.assertTrue(reader.nextBoolean());
+		Assert.assertEquals(JSONToken.NULL, reader.peek());
+		reader.nextNull();
+		Assert.assertEquals(JSONToken.STRING, reader.peek());
+		Assert.assertEquals("str", reader.nextString());
+		Assert.assertFalse(reader.hasNext());
+		reader.endArray();
+		Assert.assertEquals("b", reader.nextName());
+		Assert.assertEquals("abc", reader.nextString());
+		Assert.assertEquals("c", reader.nextName());
+		reader.beginObject();
+		reader.endObject();
+		reader.endObject();
+		Assert.assertEquals(JSONToken.END_DOCUMENT, reader.peek());
+	}
+
+	@Test
+	public void nextValueTest() {
+		String json = "{\"id\":12, \"name\":\"a\\\"b\\u4e2d\", \"list\":[1,,2,], \"sub\":{'x':-1.5e3; \"y\":9999999999}, \"n\":null,}";
+		Object value = new JSONReader(json).nextValue();
+		Assert.assertEquals(JSONUtil.parseObj(json), value);
+		Assert.assertEquals(JSONUtil.parseObj(json).toString(), value.toString());
+	}
+
+	@Test
+	public void skipValueTest() {
+		JSONReader reader = new JSONReader("{\"skip\":{\"a\":[1,{\"b\":\"]}\"}],\"c\":'x'}, \"keep\":3}");
+		reader.beginObject();
+		Assert.assertEquals("skip", reader.nextName());
+		reader.skipValue();
+		Assert.assertEquals("keep", reader.nextName());
+		Assert.assertEquals(3L, reader.nextLong());
+		reader.endObject();
+	}
+
+	@Test
+	public void skipNameTest() {
+		// 位于键上时跳过键和值
+		JSONReader reader = new JSONReader("{\"a\":[1],\"b\":2, c:{\"d\":3}, \"e\":4}");
+		reader.beginObject();
+		reader.skipValue();
+		Assert.assertEquals(JSONToken.NAME, reader.peek());
+		Assert.assertEquals("b", reader.nextName());
+		Assert.assertEquals(2, reader.nextInt());
+		reader.skipValue();
+		Assert.assertEquals("e", reader.nextName());
+		Assert.assertEquals(4, reader.nextInt());
+		reader.endObject();
+	}
+
+	@Test
+	public void nextLongTest() {
+		JSONReader reader = new JSONReader("[9223372036854775807, -9223372036854775808, 1234567890123456789, \"1234567890123456789\", 1.5e3]");
+		reader.beginArray();
+		Assert.assertEquals(Long.MAX_VALUE, reader.nextLong());
+		Assert.assertEquals(Long.MIN_VALUE, reader.nextLong());
+		Assert.assertEquals(1234567890123456789L, reader.nextLong());
+		Assert.assertEquals(1234567890123456789L, reader.nextLong());
+		Assert.assertEquals(1500L, reader.nextLong());
+		reader.endArray();
+	}
+
+	@Test(expected = JSONException.class)
+	public void nextLongOverflowTest() {
+		JSONReader reader = new JSONReader("[9223372036854775808]");
+		reader.beginArray();
+		reader.nextLong();
+	}
+
+	@Test
+	public void bufferBoundaryTest() {
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < 200; i++) {
+			builder.append("{\"key").append(i).append("\":\"value\\n").append(i).append("\",\"num\":").append(i * 1000L).append("},");
+		}
+		builder.append("]");
+		String json = builder.toString();
+
+		// 缓冲区小于单个元素，字符串和数字跨越缓冲区边界
+		JSONReader reader = new JSONReader(new StringReader(json), 16);
+		Assert.assertEquals(JSONUtil.parseArray(json), reader.nextValue());
+		Assert.assertEquals(json.length(), reader.position());
+	}
+
+	@Test(expected = JSONException.class)
+	public void syntaxErrorTest() {
+		new JSONReader("{\"a\":1 \"b\":2}").nextValue();
+	}
+
+	@Test
+	public void arrayIteratorTest() {
+		String json = "[{\"name\":\"a\"}, {\"name\":\"b\"}, {\"name\":\"c\"}]";
+		StringBuilder names = new StringBuilder();
+		for (UserA user : JSONUtil.arrayIterator(new StringReader(json), UserA.class)) {
+			names.append(user.getName());
+		}
+		Assert.assertEquals("abc", names.toString());
+
+		JSONArrayIterator<Object> iterator = JSONUtil.arrayIterator(new StringReader("[1, \"2\", [3]]"));
+		Assert.assertEquals(1, iterator.next());
+		Assert.assertEquals("2", iterator.next());
+		Assert.assertEquals(new JSONArray("[3]"), iterator.next());
+		Assert.assertFalse(iterator.hasNext());
+	}
+}
@@ -0,0 +1,90 @@
+package com.xiaoleilu.hutool.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xiaoleilu.hutool.json.test.bean.Seq;
+import com.xiaoleilu.hutool.json.test.bean.UserA;
+import com.xiaoleilu.hutool.util.CharsetUtil;
+import com.xiaoleilu.hutool.util.CollectionUtil;
+
+/**
+ * JSONWriter单元测试
+ * @author Looly
+ *
+ */
+public class JSONWriterTest {
+
+	@Test
+	public void writeTokenTest() {
+		StringWriter out = new StringWriter();
+		JSONWriter writer = new JSONWriter(out);
+		writer.beginObject()
+			.name("id").value(-123)
+			.name("price").value(12.50)
+			.name("ok").value(true)
+			.name("none").nullValue()
+			.name("list").beginArray().value("a\"b").value(1L).beginObject().endObject().endArray()
+			.endObject();
+		writer.finish();
+		Assert.assertEquals("{\"id\":-123,\"price\":12.5,\"ok\":true,\"none\":null,\"list\":[\"a\\\"b\",1,{}]}", out.toString());
+	}
+
+	@Test
+	public void prettyTest() {
+		StringWriter out = new StringWriter();
+		JSONWriter writer = new JSONWriter(out, 2);
+		writer.beginObject().name("a").beginArray().value(1).value(2).endArray().name("b").beginArray().endArray().endObject();
+		writer.finish();
+		Assert.assertEquals("{\n  \"a\": [\n    1,\n    2\n  ],\n  \"b\": []\n}", out.toString());
+	}
+
+	@Test(expected = JSONException.class)
+	public void nestingErrorTest() {
+		new JSONWriter(new StringWriter()).beginObject().value(1);
+	}
+
+	@Test
+	public void quoteTest() {
+		String str = "a\"b\\c/</d\b\t\n\f\r\u0001\u0085\u2028中文";
+		Assert.assertEquals("\"a\\\"b\\\\c/<\\/d\\b\\t\\n\\f\\r\\u0001\\u0085\\u2028中文\"", JSONUtil.quote(str));
+		Assert.assertEquals("\"\"", JSONUtil.quote(""));
+	}
+
+	@Test
+	public void toJsonStrTest() {
+		UserA user = new UserA();
+		user.setName("name\n1");
+		user.setDate(new Date(1500000000000L));
+		user.setSqs(CollectionUtil.newArrayList(new Seq("1"), new Seq(null)));
+
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("total", 2);
+		map.put("empty", null);
+		map.put("rows", CollectionUtil.newArrayList(user, null));
+		map.put("ints", new int[]{1, 2});
+
+		String json = JSONUtil.toJsonStr(map);
+		Assert.assertEquals(new JSONObject(map), JSONUtil.parseObj(json));
+		Assert.assertEquals("{\"total\":2,\"rows\":[{\"date\":1500000000000,\"name\":\"name\\n1\",\"sqs\":[{\"seq\":\"1\"},{}]},null],\"ints\":[1,2]}", json);
+	}
+
+	@Test
+	public void writeStreamTest() {
+		HashMap<String, Object> map = new HashMap<>();
+		map.put("name", "中文");
+		ArrayList<Object> list = CollectionUtil.newArrayList((Object) map, 1.0, "s");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		JSONUtil.write(list, out, CharsetUtil.CHARSET_UTF_8);
+		Assert.assertEquals("[{\"name\":\"中文\"},1,\"s\"]", new String(out.toByteArray(), CharsetUtil.CHARSET_UTF_8));
+	}
+}